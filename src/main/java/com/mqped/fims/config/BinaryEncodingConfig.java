@@ -0,0 +1,73 @@
+package com.mqped.fims.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the API for bandwidth-constrained field devices.
+ * <p>
+ * Besides JSON, which stays the default, every endpoint reads and writes
+ * Smile ({@code application/x-jackson-smile}) and CBOR
+ * ({@code application/cbor}), chosen through the {@code Accept} and
+ * {@code Content-Type} headers. Both mappers are built from the application's
+ * {@link Jackson2ObjectMapperBuilder}, so they share the serializers and
+ * settings of {@link JacksonConfig}.
+ * </p>
+ * <p>
+ * Repeated short strings, among them every enum value, are written once and
+ * then referenced by index: Smile with shared string values, CBOR with
+ * string references (tag 256). In list responses the {@code id} of each DTO
+ * is written as the difference from the previous one; see
+ * {@link DtoSerializers}.
+ * </p>
+ *
+ * @since 1.0
+ */
+@Configuration
+public class BinaryEncodingConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+    }
+
+    /**
+     * Builds the Smile mapper.
+     *
+     * @param builder the application's object mapper builder
+     * @return a mapper writing Smile with shared names and string values
+     */
+    public static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build())
+                .build();
+    }
+
+    /**
+     * Builds the CBOR mapper.
+     *
+     * @param builder the application's object mapper builder
+     * @return a mapper writing CBOR with string references
+     */
+    public static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(CBORFactory.builder()
+                .enable(CBORGenerator.Feature.STRINGREF)
+                .build())
+                .build();
+    }
+}
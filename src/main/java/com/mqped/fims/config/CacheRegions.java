@@ -0,0 +1,58 @@
+package com.mqped.fims.config;
+
+import java.util.List;
+
+/**
+ * Names of the Hibernate second-level cache regions used by the application.
+ * <p>
+ * Region names are shared between the entity mappings, the repository query
+ * hints, the Caffeine configuration in {@code caffeine.conf} and the cache
+ * metrics, so they are kept in a single place. Names must not contain dots:
+ * the Caffeine provider looks them up as configuration paths.
+ * </p>
+ *
+ * <h2>Regions</h2>
+ * <ul>
+ * <li>{@link #ADDRESS}, {@link #INSTALLATION}, {@link #ROLE} — entity
+ * regions for reference-style data that is read far more often than it is
+ * written.</li>
+ * <li>{@link #ADDRESS_BY_ADDRESS_ID}, {@link #INSTALLATIONS_BY_ADDRESS_ID},
+ * {@link #ROLE_BY_NAME} — query result regions for the hot lookups performed
+ * by the loaders, the installation endpoints and the signup flow.</li>
+ * </ul>
+ *
+ * @see SecondLevelCacheMetrics
+ * @since 1.0
+ */
+public final class CacheRegions {
+
+    /** Entity region for {@code Address}. */
+    public static final String ADDRESS = "address";
+
+    /** Entity region for {@code Installation}. */
+    public static final String INSTALLATION = "installation";
+
+    /** Entity region for {@code Role}. */
+    public static final String ROLE = "role";
+
+    /** Query region for {@code AddressRepository.findByAddressId}. */
+    public static final String ADDRESS_BY_ADDRESS_ID = "query-address-by-address-id";
+
+    /** Query region for {@code InstallationRepository.findByAddress_AddressId}. */
+    public static final String INSTALLATIONS_BY_ADDRESS_ID = "query-installations-by-address-id";
+
+    /** Query region for {@code RoleRepository.findByName}. */
+    public static final String ROLE_BY_NAME = "query-role-by-name";
+
+    /** Every region exposed through the cache metrics. */
+    public static final List<String> ALL = List.of(
+            ADDRESS,
+            INSTALLATION,
+            ROLE,
+            ADDRESS_BY_ADDRESS_ID,
+            INSTALLATIONS_BY_ADDRESS_ID,
+            ROLE_BY_NAME);
+
+    private CacheRegions() {
+    }
+}
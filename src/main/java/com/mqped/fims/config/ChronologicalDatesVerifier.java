@@ -0,0 +1,47 @@
+package com.mqped.fims.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import com.mqped.fims.validation.validator.ChronologicalDatesValidator;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.validation.ConstraintDeclarationException;
+
+/**
+ * Checks every {@code @ChronologicalDates} declaration on JPA entities while
+ * the application context starts.
+ * <p>
+ * A declaration that names a missing field, or a field that is not a
+ * comparable date-time, fails startup with a
+ * {@link ConstraintDeclarationException} instead of surfacing on the first
+ * persist. Resolving the declarations here also warms the validator's
+ * accessor cache.
+ * </p>
+ *
+ * @see ChronologicalDatesValidator
+ * @since 1.0
+ */
+@Component
+public class ChronologicalDatesVerifier implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ChronologicalDatesVerifier.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ChronologicalDatesVerifier(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int checked = 0;
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            checked += ChronologicalDatesValidator.verify(entity.getJavaType());
+        }
+        log.info("Verified {} @ChronologicalDates declarations", checked);
+    }
+}
@@ -0,0 +1,121 @@
+package com.mqped.fims.config;
+
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.mqped.fims.controller.ConditionalGet;
+import com.mqped.fims.event.ResourceVersions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Answers conditional {@code GET}s of {@link ConditionalGet} endpoints before
+ * the handler runs.
+ * <p>
+ * The strong ETag of a response is
+ * {@code "<epoch>-<version>-<representation>"}: the epoch and the largest
+ * version among the endpoint's types (or its entity) from
+ * {@link ResourceVersions}, and the hash of the {@code Accept} header, since
+ * JSON, Smile and CBOR bodies of the same resource differ. A request whose
+ * {@code If-None-Match} holds the current tag gets {@code 304 Not Modified}
+ * with no repository call; any other request carries the tag on its
+ * response. While {@link ResourceVersions#isSynchronized()} is false the
+ * versions may miss other instances' changes, so requests pass through
+ * untagged.
+ * </p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ * <li>{@code fims.http.conditional.requests} — requests to conditional
+ * endpoints, tagged with {@code resource} (the entity type) and
+ * {@code result}: {@code hit} for a {@code 304}, {@code miss} for a stale
+ * {@code If-None-Match}, {@code unconditional} without one</li>
+ * </ul>
+ *
+ * @see WebConfig
+ * @since 1.0
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final String METRIC = "fims.http.conditional.requests";
+
+    private final ResourceVersions versions;
+    private final MeterRegistry meterRegistry;
+
+    public ConditionalGetInterceptor(ResourceVersions versions, MeterRegistry meterRegistry) {
+        this.versions = versions;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)
+                || !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod()))) {
+            return true;
+        }
+        ConditionalGet conditional = method.getMethodAnnotation(ConditionalGet.class);
+        if (conditional == null || !versions.isSynchronized()) {
+            return true;
+        }
+        String etag = etag(conditional, request);
+        if (etag == null) {
+            return true;
+        }
+
+        boolean conditionalRequest = request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+        boolean notModified = new ServletWebRequest(request, response).checkNotModified(etag);
+        String result = notModified ? "hit" : conditionalRequest ? "miss" : "unconditional";
+        meterRegistry.counter(METRIC, "resource", conditional.value()[0].getSimpleName(), "result", result)
+                .increment();
+        return !notModified;
+    }
+
+    /**
+     * @return the current ETag of the request's resource, or {@code null} if
+     *         the entity ID is missing or malformed
+     */
+    private String etag(ConditionalGet conditional, HttpServletRequest request) {
+        Class<?>[] types = conditional.value();
+        long version = 0;
+        int first = 0;
+        if (!conditional.id().isEmpty()) {
+            Integer id = pathId(request, conditional.id());
+            if (id == null) {
+                return null;
+            }
+            version = versions.entityVersion(types[0], id);
+            first = 1;
+        }
+        for (int i = first; i < types.length; i++) {
+            version = Math.max(version, versions.typeVersion(types[i]));
+        }
+        return "\"" + versions.epoch() + "-" + Long.toHexString(version) + "-"
+                + Integer.toHexString(Objects.hashCode(request.getHeader(HttpHeaders.ACCEPT))) + "\"";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Integer pathId(HttpServletRequest request, String variable) {
+        Map<String, String> variables = (Map<String, String>) request
+                .getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String value = variables == null ? null : variables.get(variable);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -46,6 +46,7 @@ public class CorsConfig {
         config.setExposedHeaders(Arrays.asList(
                 "Authorization",
                 "Content-Type",
+                "ETag",
                 "X-Total-Count"));
 
         // Allow credentials (cookies or Authorization headers)
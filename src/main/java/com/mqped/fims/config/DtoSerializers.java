@@ -0,0 +1,349 @@
+package com.mqped.fims.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.mqped.fims.model.dto.AddressDTO;
+import com.mqped.fims.model.dto.ClientDTO;
+import com.mqped.fims.model.dto.ContractAccountDTO;
+import com.mqped.fims.model.dto.InstallationDTO;
+import com.mqped.fims.model.dto.ServiceOrderDTO;
+import com.mqped.fims.model.dto.TargetDTO;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Hand-written Jackson serializers for the DTOs returned in bulk by the list,
+ * search and sync endpoints.
+ * <p>
+ * Each serializer writes the properties of its DTO in declaration order with
+ * pre-encoded names and typed generator calls, replacing the bean serializer's
+ * per-property reflective getter calls and type dispatch. Timestamps go
+ * through {@link TimestampSerializer}. Properties whose value is
+ * {@code null} are omitted.
+ * </p>
+ * <p>
+ * In binary encodings (see {@link BinaryEncodingConfig}), the {@code id} of
+ * a DTO that is an element of an array is written as the difference from the
+ * last {@code id} written in that array, and the first one as is; a client
+ * restores the IDs with a running sum. Small deltas take one or two bytes
+ * where sequential IDs would take up to five. Nested DTOs, and every DTO in
+ * JSON, keep their plain {@code id}.
+ * </p>
+ * <p>
+ * A property added to one of these DTOs must be added to its serializer as
+ * well; {@code DtoSerializersTest} compares every serializer with the bean
+ * serializer.
+ * </p>
+ *
+ * @see JacksonConfig
+ * @since 1.0
+ */
+public final class DtoSerializers {
+
+    private DtoSerializers() {
+    }
+
+    /**
+     * Registers every serializer of this class, and
+     * {@link TimestampSerializer}, on an object mapper builder.
+     *
+     * @param builder the builder
+     */
+    public static void registerAll(Jackson2ObjectMapperBuilder builder) {
+        builder.serializerByType(LocalDateTime.class, TimestampSerializer.INSTANCE);
+        builder.serializerByType(AddressDTO.class, AddressSerializer.INSTANCE);
+        builder.serializerByType(ClientDTO.class, ClientSerializer.INSTANCE);
+        builder.serializerByType(InstallationDTO.class, InstallationSerializer.INSTANCE);
+        builder.serializerByType(ContractAccountDTO.class, ContractAccountSerializer.INSTANCE);
+        builder.serializerByType(TargetDTO.class, TargetSerializer.INSTANCE);
+        builder.serializerByType(ServiceOrderDTO.class, ServiceOrderSerializer.INSTANCE);
+    }
+
+    // ---------------------------------------------------------------------
+    // Property names
+    // ---------------------------------------------------------------------
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString ADDRESS_ID = new SerializedString("addressId");
+    private static final SerializableString STATE = new SerializedString("state");
+    private static final SerializableString MUNICIPALITY = new SerializedString("municipality");
+    private static final SerializableString DISTRICT = new SerializedString("district");
+    private static final SerializableString SUBDISTRICT = new SerializedString("subdistrict");
+    private static final SerializableString NEIGHBORHOOD = new SerializedString("neighborhood");
+    private static final SerializableString STREET = new SerializedString("street");
+    private static final SerializableString STREET_TYPE = new SerializedString("streetType");
+    private static final SerializableString NUMBER = new SerializedString("number");
+    private static final SerializableString COMPLEMENT = new SerializedString("complement");
+    private static final SerializableString ZIP_CODE = new SerializedString("zipCode");
+    private static final SerializableString LATITUDE = new SerializedString("latitude");
+    private static final SerializableString LONGITUDE = new SerializedString("longitude");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString CPF = new SerializedString("cpf");
+    private static final SerializableString BIRTH_DATE = new SerializedString("birthDate");
+    private static final SerializableString MOTHER_NAME = new SerializedString("motherName");
+    private static final SerializableString CNPJ = new SerializedString("cnpj");
+    private static final SerializableString GENRE = new SerializedString("genre");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString DELETED_AT = new SerializedString("deletedAt");
+    private static final SerializableString ADDRESS = new SerializedString("address");
+    private static final SerializableString ACCOUNT_NUMBER = new SerializedString("accountNumber");
+    private static final SerializableString CLIENT_ID = new SerializedString("clientId");
+    private static final SerializableString CLIENT_NAME = new SerializedString("clientName");
+    private static final SerializableString INSTALLATION_ID = new SerializedString("installationId");
+    private static final SerializableString INSTALLATION = new SerializedString("installation");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString STATUS_START = new SerializedString("statusStart");
+    private static final SerializableString STATUS_END = new SerializedString("statusEnd");
+    private static final SerializableString CONTRACT_ACCOUNT_ID = new SerializedString("contractAccountId");
+    private static final SerializableString CONTRACT_ACCOUNT_NUMBER = new SerializedString("contractAccountNumber");
+    private static final SerializableString TYPE = new SerializedString("type");
+    private static final SerializableString SIGNATURE = new SerializedString("signature");
+    private static final SerializableString SCORE = new SerializedString("score");
+    private static final SerializableString EXPECTED_CNR = new SerializedString("expectedCNR");
+    private static final SerializableString EXPECTED_TICKET = new SerializedString("expectedTicket");
+    private static final SerializableString DISTANCE_FROM_BASE = new SerializedString("distanceFromBase");
+    private static final SerializableString ACTIVE = new SerializedString("active");
+    private static final SerializableString TARGET_ID = new SerializedString("targetId");
+    private static final SerializableString ASSIGNEE = new SerializedString("assignee");
+    private static final SerializableString TEAM = new SerializedString("team");
+    private static final SerializableString EXECUTED_AT = new SerializedString("executedAt");
+    private static final SerializableString VERSION = new SerializedString("version");
+
+    // ---------------------------------------------------------------------
+    // Serializers
+    // ---------------------------------------------------------------------
+
+    /** Writes {@link AddressDTO}s. */
+    public static final class AddressSerializer extends StdSerializer<AddressDTO> {
+
+        static final AddressSerializer INSTANCE = new AddressSerializer();
+
+        private AddressSerializer() {
+            super(AddressDTO.class);
+        }
+
+        @Override
+        public void serialize(AddressDTO dto, JsonGenerator g, SerializerProvider provider) throws IOException {
+            g.writeStartObject(dto);
+            writeId(g, dto.getId(), provider);
+            write(g, ADDRESS_ID, dto.getAddressId());
+            write(g, STATE, dto.getState());
+            write(g, MUNICIPALITY, dto.getMunicipality());
+            write(g, DISTRICT, dto.getDistrict());
+            write(g, SUBDISTRICT, dto.getSubdistrict());
+            write(g, NEIGHBORHOOD, dto.getNeighborhood());
+            write(g, STREET, dto.getStreet());
+            write(g, STREET_TYPE, dto.getStreetType());
+            write(g, NUMBER, dto.getNumber());
+            write(g, COMPLEMENT, dto.getComplement());
+            write(g, ZIP_CODE, dto.getZipCode());
+            write(g, LATITUDE, dto.getLatitude());
+            write(g, LONGITUDE, dto.getLongitude());
+            g.writeEndObject();
+        }
+    }
+
+    /** Writes {@link ClientDTO}s. */
+    public static final class ClientSerializer extends StdSerializer<ClientDTO> {
+
+        static final ClientSerializer INSTANCE = new ClientSerializer();
+
+        private ClientSerializer() {
+            super(ClientDTO.class);
+        }
+
+        @Override
+        public void serialize(ClientDTO dto, JsonGenerator g, SerializerProvider provider) throws IOException {
+            g.writeStartObject(dto);
+            writeId(g, dto.getId(), provider);
+            write(g, NAME, dto.getName());
+            write(g, CPF, dto.getCpf());
+            write(g, BIRTH_DATE, dto.getBirthDate(), provider);
+            write(g, MOTHER_NAME, dto.getMotherName());
+            write(g, CNPJ, dto.getCnpj());
+            write(g, GENRE, dto.getGenre());
+            write(g, CREATED_AT, dto.getCreatedAt(), provider);
+            g.writeEndObject();
+        }
+    }
+
+    /** Writes {@link InstallationDTO}s, with their nested address. */
+    public static final class InstallationSerializer extends StdSerializer<InstallationDTO> {
+
+        static final InstallationSerializer INSTANCE = new InstallationSerializer();
+
+        private InstallationSerializer() {
+            super(InstallationDTO.class);
+        }
+
+        @Override
+        public void serialize(InstallationDTO dto, JsonGenerator g, SerializerProvider provider)
+                throws IOException {
+            g.writeStartObject(dto);
+            writeId(g, dto.getId(), provider);
+            write(g, ADDRESS_ID, dto.getAddressId());
+            if (dto.getAddress() != null) {
+                g.writeFieldName(ADDRESS);
+                AddressSerializer.INSTANCE.serialize(dto.getAddress(), g, provider);
+            }
+            write(g, CREATED_AT, dto.getCreatedAt(), provider);
+            write(g, DELETED_AT, dto.getDeletedAt(), provider);
+            g.writeEndObject();
+        }
+    }
+
+    /** Writes {@link ContractAccountDTO}s, with their nested installation. */
+    public static final class ContractAccountSerializer extends StdSerializer<ContractAccountDTO> {
+
+        static final ContractAccountSerializer INSTANCE = new ContractAccountSerializer();
+
+        private ContractAccountSerializer() {
+            super(ContractAccountDTO.class);
+        }
+
+        @Override
+        public void serialize(ContractAccountDTO dto, JsonGenerator g, SerializerProvider provider)
+                throws IOException {
+            g.writeStartObject(dto);
+            writeId(g, dto.getId(), provider);
+            write(g, ACCOUNT_NUMBER, dto.getAccountNumber());
+            write(g, CLIENT_ID, dto.getClientId());
+            write(g, CLIENT_NAME, dto.getClientName());
+            write(g, INSTALLATION_ID, dto.getInstallationId());
+            if (dto.getInstallation() != null) {
+                g.writeFieldName(INSTALLATION);
+                InstallationSerializer.INSTANCE.serialize(dto.getInstallation(), g, provider);
+            }
+            write(g, CREATED_AT, dto.getCreatedAt(), provider);
+            write(g, DELETED_AT, dto.getDeletedAt(), provider);
+            write(g, STATUS, dto.getStatus());
+            write(g, STATUS_START, dto.getStatusStart(), provider);
+            write(g, STATUS_END, dto.getStatusEnd(), provider);
+            g.writeEndObject();
+        }
+    }
+
+    /** Writes {@link TargetDTO}s. */
+    public static final class TargetSerializer extends StdSerializer<TargetDTO> {
+
+        static final TargetSerializer INSTANCE = new TargetSerializer();
+
+        private TargetSerializer() {
+            super(TargetDTO.class);
+        }
+
+        @Override
+        public void serialize(TargetDTO dto, JsonGenerator g, SerializerProvider provider) throws IOException {
+            g.writeStartObject(dto);
+            writeId(g, dto.getId(), provider);
+            write(g, CONTRACT_ACCOUNT_ID, dto.getContractAccountId());
+            write(g, CONTRACT_ACCOUNT_NUMBER, dto.getContractAccountNumber());
+            write(g, TYPE, dto.getType());
+            write(g, SIGNATURE, dto.getSignature());
+            write(g, SCORE, dto.getScore());
+            write(g, EXPECTED_CNR, dto.getExpectedCNR());
+            write(g, EXPECTED_TICKET, dto.getExpectedTicket());
+            write(g, DISTANCE_FROM_BASE, dto.getDistanceFromBase());
+            write(g, CREATED_AT, dto.getCreatedAt(), provider);
+            if (dto.getActive() != null) {
+                g.writeFieldName(ACTIVE);
+                g.writeBoolean(dto.getActive());
+            }
+            g.writeEndObject();
+        }
+    }
+
+    /** Writes {@link ServiceOrderDTO}s. */
+    public static final class ServiceOrderSerializer extends StdSerializer<ServiceOrderDTO> {
+
+        static final ServiceOrderSerializer INSTANCE = new ServiceOrderSerializer();
+
+        private ServiceOrderSerializer() {
+            super(ServiceOrderDTO.class);
+        }
+
+        @Override
+        public void serialize(ServiceOrderDTO dto, JsonGenerator g, SerializerProvider provider)
+                throws IOException {
+            g.writeStartObject(dto);
+            writeId(g, dto.getId(), provider);
+            write(g, TARGET_ID, dto.getTargetId());
+            write(g, STATUS, dto.getStatus());
+            write(g, TYPE, dto.getType());
+            write(g, ASSIGNEE, dto.getAssignee());
+            write(g, TEAM, dto.getTeam());
+            write(g, CREATED_AT, dto.getCreatedAt(), provider);
+            write(g, EXECUTED_AT, dto.getExecutedAt(), provider);
+            if (dto.getVersion() != null) {
+                g.writeFieldName(VERSION);
+                g.writeNumber(dto.getVersion());
+            }
+            g.writeEndObject();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Properties
+    // ---------------------------------------------------------------------
+
+    private static void writeId(JsonGenerator g, Integer id, SerializerProvider provider) throws IOException {
+        JsonStreamContext array = g.getOutputContext().getParent();
+        if (!g.canWriteBinaryNatively() || array == null || !array.inArray()) {
+            write(g, ID, id);
+            return;
+        }
+        // Called after writeStartObject, so the array index is this element's;
+        // the per-call attribute keyed by the array holds the last ID written
+        boolean first = array.getCurrentIndex() == 0;
+        Integer previous = first ? null : (Integer) provider.getAttribute(array);
+        if (id != null) {
+            g.writeFieldName(ID);
+            g.writeNumber(previous == null ? id : id - previous);
+        }
+        if (id != null || first) {
+            provider.setAttribute(array, id);
+        }
+    }
+
+    private static void write(JsonGenerator g, SerializableString name, String value) throws IOException {
+        if (value != null) {
+            g.writeFieldName(name);
+            g.writeString(value);
+        }
+    }
+
+    private static void write(JsonGenerator g, SerializableString name, Integer value) throws IOException {
+        if (value != null) {
+            g.writeFieldName(name);
+            g.writeNumber(value);
+        }
+    }
+
+    private static void write(JsonGenerator g, SerializableString name, Double value) throws IOException {
+        if (value != null) {
+            g.writeFieldName(name);
+            g.writeNumber(value);
+        }
+    }
+
+    private static void write(JsonGenerator g, SerializableString name, Enum<?> value) throws IOException {
+        if (value != null) {
+            g.writeFieldName(name);
+            g.writeString(value.name());
+        }
+    }
+
+    private static void write(JsonGenerator g, SerializableString name, LocalDateTime value,
+            SerializerProvider provider) throws IOException {
+        if (value != null) {
+            g.writeFieldName(name);
+            TimestampSerializer.INSTANCE.serialize(value, g, provider);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.mqped.fims.config;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDateTime;
+
+/**
+ * Customizes the application's Jackson {@code ObjectMapper}.
+ * <p>
+ * Request bodies read {@link LocalDateTime} fields with
+ * {@link TimestampDeserializer}; responses write them with
+ * {@link TimestampSerializer}, and write the bulk DTOs with the serializers of
+ * {@link DtoSerializers}. Serializers and deserializers registered on the
+ * builder take precedence over the ones of the Java time module, which stays
+ * in place for the other {@code java.time} types.
+ * </p>
+ *
+ * @since 1.0
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer timestampDeserializerCustomizer() {
+        return builder -> builder.deserializerByType(LocalDateTime.class, new TimestampDeserializer());
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer dtoSerializersCustomizer() {
+        return DtoSerializers::registerAll;
+    }
+}
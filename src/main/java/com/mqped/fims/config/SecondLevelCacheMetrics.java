@@ -0,0 +1,98 @@
+package com.mqped.fims.config;
+
+import java.util.function.ToLongFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Exposes Hibernate second-level cache statistics per region to Micrometer.
+ * <p>
+ * For every region listed in {@link CacheRegions#ALL} the following meters are
+ * registered, tagged with {@code region}:
+ * </p>
+ * <ul>
+ * <li>{@code fims.cache.l2.hits} — number of lookups answered by the
+ * cache</li>
+ * <li>{@code fims.cache.l2.misses} — number of lookups that went to the
+ * database</li>
+ * <li>{@code fims.cache.l2.puts} — number of entries written to the
+ * region</li>
+ * <li>{@code fims.cache.l2.hit.ratio} — hits / (hits + misses), between 0 and
+ * 1</li>
+ * </ul>
+ * <p>
+ * Values are read lazily at scrape time from {@link Statistics}, which requires
+ * {@code hibernate.generate_statistics=true}. When statistics or the
+ * second-level cache are disabled (e.g. in tests) the meters simply report
+ * zero.
+ * </p>
+ *
+ * @see CacheRegions
+ * @since 1.0
+ */
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (String region : CacheRegions.ALL) {
+            FunctionCounter.builder("fims.cache.l2.hits", statistics,
+                    stats -> regionCount(stats, region, CacheRegionStatistics::getHitCount))
+                    .tag("region", region)
+                    .description("Second-level cache hits")
+                    .register(registry);
+
+            FunctionCounter.builder("fims.cache.l2.misses", statistics,
+                    stats -> regionCount(stats, region, CacheRegionStatistics::getMissCount))
+                    .tag("region", region)
+                    .description("Second-level cache misses")
+                    .register(registry);
+
+            FunctionCounter.builder("fims.cache.l2.puts", statistics,
+                    stats -> regionCount(stats, region, CacheRegionStatistics::getPutCount))
+                    .tag("region", region)
+                    .description("Second-level cache puts")
+                    .register(registry);
+
+            Gauge.builder("fims.cache.l2.hit.ratio", statistics, stats -> hitRatio(stats, region))
+                    .tag("region", region)
+                    .description("Second-level cache hit ratio")
+                    .register(registry);
+        }
+    }
+
+    private static double hitRatio(Statistics statistics, String region) {
+        long hits = regionCount(statistics, region, CacheRegionStatistics::getHitCount);
+        long misses = regionCount(statistics, region, CacheRegionStatistics::getMissCount);
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    private static long regionCount(Statistics statistics, String region,
+            ToLongFunction<CacheRegionStatistics> extractor) {
+        try {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            return regionStatistics == null ? 0L : extractor.applyAsLong(regionStatistics);
+        } catch (IllegalArgumentException e) {
+            // Region not built (second-level cache disabled for this profile)
+            return 0L;
+        }
+    }
+}
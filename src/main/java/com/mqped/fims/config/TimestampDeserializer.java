@@ -0,0 +1,52 @@
+package com.mqped.fims.config;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.mqped.fims.util.TimestampParser;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.time.LocalDateTime;
+
+/**
+ * Reads {@link LocalDateTime} values of request bodies with
+ * {@link TimestampParser}.
+ * <p>
+ * ISO strings ({@code 'T'} separator) in a fixed layout are parsed from the
+ * parser's character buffer; anything else (empty strings, arrays, offsets,
+ * invalid dates, the space-separated layout of the CSV extracts) is handed to
+ * the standard {@link LocalDateTimeDeserializer}, which keeps its coercion
+ * rules and error messages.
+ * </p>
+ *
+ * @see JacksonConfig
+ * @since 1.0
+ */
+public class TimestampDeserializer extends StdScalarDeserializer<LocalDateTime> {
+
+    /** Index of the date-time separator in {@code yyyy-MM-ddTHH:mm}. */
+    private static final int ISO_SEPARATOR = 10;
+
+    public TimestampDeserializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.hasToken(JsonToken.VALUE_STRING)) {
+            int length = parser.getTextLength();
+            CharBuffer text = CharBuffer.wrap(parser.getTextCharacters(), parser.getTextOffset(), length);
+            // The API only accepts ISO timestamps; TimestampParser also reads the CSV layout
+            if (length > ISO_SEPARATOR && text.charAt(ISO_SEPARATOR) == 'T') {
+                LocalDateTime parsed = TimestampParser.parseFixed(text, 0, length);
+                if (parsed != null) {
+                    return parsed;
+                }
+            }
+        }
+        return LocalDateTimeDeserializer.INSTANCE.deserialize(parser, context);
+    }
+}
@@ -0,0 +1,98 @@
+package com.mqped.fims.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes {@link LocalDateTime} values in the layout of
+ * {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}, e.g.
+ * {@code 2024-05-01T08:30:00} or {@code 2024-05-01T08:30:00.25}.
+ * <p>
+ * The digits are written straight into a character array handed to the
+ * generator, instead of going through {@code DateTimeFormatter} and an
+ * intermediate {@code String}. Years outside {@code 0000-9999}, and the
+ * timestamp-array layout when {@link SerializationFeature#WRITE_DATES_AS_TIMESTAMPS}
+ * is enabled, are handed to the standard {@link LocalDateTimeSerializer}.
+ * </p>
+ *
+ * @see JacksonConfig
+ * @since 1.0
+ */
+public class TimestampSerializer extends StdScalarSerializer<LocalDateTime> {
+
+    /** Shared instance; the serializer is stateless. */
+    public static final TimestampSerializer INSTANCE = new TimestampSerializer();
+
+    /** Length of {@code yyyy-MM-ddTHH:mm:ss.nnnnnnnnn}. */
+    private static final int MAX_LENGTH = 29;
+
+    public TimestampSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        int year = value.getYear();
+        if (year < 0 || year > 9999 || provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            LocalDateTimeSerializer.INSTANCE.serialize(value, generator, provider);
+            return;
+        }
+        char[] buffer = new char[MAX_LENGTH];
+        generator.writeString(buffer, 0, format(value, buffer));
+    }
+
+    /**
+     * Formats a timestamp with a year between 0 and 9999.
+     *
+     * @param value  the timestamp
+     * @param buffer at least 29 characters
+     * @return the number of characters written
+     */
+    static int format(LocalDateTime value, char[] buffer) {
+        int year = value.getYear();
+        buffer[0] = digit(year / 1000);
+        buffer[1] = digit(year / 100 % 10);
+        buffer[2] = digit(year / 10 % 10);
+        buffer[3] = digit(year % 10);
+        buffer[4] = '-';
+        twoDigits(buffer, 5, value.getMonthValue());
+        buffer[7] = '-';
+        twoDigits(buffer, 8, value.getDayOfMonth());
+        buffer[10] = 'T';
+        twoDigits(buffer, 11, value.getHour());
+        buffer[13] = ':';
+        twoDigits(buffer, 14, value.getMinute());
+        buffer[16] = ':';
+        twoDigits(buffer, 17, value.getSecond());
+
+        int nano = value.getNano();
+        if (nano == 0) {
+            return 19;
+        }
+        // The fraction keeps its significant digits only, like the formatter
+        buffer[19] = '.';
+        int length = 20;
+        for (int divisor = 100_000_000; nano != 0; divisor /= 10) {
+            buffer[length++] = digit(nano / divisor);
+            nano %= divisor;
+        }
+        return length;
+    }
+
+    private static void twoDigits(char[] buffer, int offset, int value) {
+        buffer[offset] = digit(value / 10);
+        buffer[offset + 1] = digit(value % 10);
+    }
+
+    private static char digit(int value) {
+        return (char) ('0' + value);
+    }
+}
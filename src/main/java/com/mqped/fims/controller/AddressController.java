@@ -1,18 +1,23 @@
 package com.mqped.fims.controller;
 
 import com.mqped.fims.model.dto.AddressDTO;
+import com.mqped.fims.model.dto.SyncPageDTO;
 import com.mqped.fims.model.entity.Address;
 import com.mqped.fims.service.AddressService;
+import com.mqped.fims.service.SyncService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller that manages {@link Address} resources in the system.
@@ -26,9 +31,13 @@ import java.util.List;
  * <ul>
  * <li><b>POST /api/addresses</b> — Create a new address.</li>
  * <li><b>GET /api/addresses</b> — Retrieve all addresses.</li>
+ * <li><b>GET /api/addresses?fields={fields}</b> — Retrieve only the
+ * requested fields of all addresses.</li>
  * <li><b>GET /api/addresses/{id}</b> — Retrieve a specific address by ID.</li>
  * <li><b>PUT /api/addresses/{id}</b> — Update an existing address.</li>
  * <li><b>DELETE /api/addresses/{id}</b> — Delete an address by ID.</li>
+ * <li><b>GET /api/addresses/sync?since={token}</b> — Retrieve the addresses
+ * changed since a previous sync.</li>
  * <li><b>GET /api/addresses/check</b> — Health check endpoint.</li>
  * </ul>
  *
@@ -41,15 +50,18 @@ import java.util.List;
 public class AddressController {
 
     private final AddressService service;
+    private final SyncService syncService;
 
     /**
      * Constructs a new {@code AddressController} with the specified
      * {@link AddressService}.
      *
-     * @param service the service layer used to handle address operations.
+     * @param service     the service layer used to handle address operations.
+     * @param syncService the {@link SyncService} serving incremental sync.
      */
-    public AddressController(AddressService service) {
+    public AddressController(AddressService service, SyncService syncService) {
         this.service = service;
+        this.syncService = syncService;
     }
 
     /**
@@ -79,12 +91,35 @@ public class AddressController {
     @Operation(summary = "Retrieve all addresses", description = "Fetches all address records from the system.", responses = {
             @ApiResponse(responseCode = "200", description = "List of addresses retrieved successfully", content = @Content(schema = @Schema(implementation = AddressDTO.class)))
     })
+    @ConditionalGet(Address.class)
     @GetMapping
     public ResponseEntity<List<AddressDTO>> getAllAddresses() {
-        List<AddressDTO> dtos = service.findAll().stream()
-                .map(AddressDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findAllAsDTO());
+    }
+
+    /**
+     * Retrieves only the requested fields of all addresses.
+     * <p>
+     * Unrequested fields are neither read from the database nor written to the
+     * response, and nested objects are only joined when one of their fields
+     * is requested.
+     * </p>
+     *
+     * @param fields the requested fields, separated by commas; nested fields
+     *               are addressed with dots.
+     * @return a {@link ResponseEntity} containing one object per row with the
+     *         requested fields and HTTP status {@code 200 (OK)}.
+     */
+    @Operation(summary = "Get selected fields of all addresses", description = "Retrieves all addresses with only the requested fields; the id is always included")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Fields retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown field", content = @Content)
+    })
+    @ConditionalGet(Address.class)
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllFields(
+            @Parameter(description = "Fields to return, e.g. municipality,latitude,longitude") @RequestParam String fields) {
+        return ResponseEntity.ok(service.findAllFields(fields));
     }
 
     /**
@@ -100,10 +135,10 @@ public class AddressController {
             @ApiResponse(responseCode = "200", description = "Address found successfully", content = @Content(schema = @Schema(implementation = AddressDTO.class))),
             @ApiResponse(responseCode = "404", description = "Address not found", content = @Content)
     })
+    @ConditionalGet(value = Address.class, id = "id")
     @GetMapping("/{id}")
     public ResponseEntity<AddressDTO> getAddressById(@PathVariable Integer id) {
-        Address address = service.findById(id);
-        return ResponseEntity.ok(AddressDTO.fromEntity(address));
+        return ResponseEntity.ok(service.findByIdAsDTO(id));
     }
 
     /**
@@ -128,22 +163,50 @@ public class AddressController {
     }
 
     /**
-     * Deletes an {@link Address} by its ID.
+     * Deletes an {@link Address} by its ID, with its installations and their
+     * contract accounts.
      *
      * @param id the unique identifier of the address to delete.
      * @return a {@link ResponseEntity} with a {@code 204 No Content} status if
-     *         deletion succeeds.
+     *         deletion succeeds, or {@code 202 Accepted} if a large subtree is
+     *         being deleted in the background.
      * @throws org.springframework.web.server.ResponseStatusException if the address
      *                                                                is not found.
      */
     @Operation(summary = "Delete an address", description = "Deletes an existing address record by its ID.", responses = {
             @ApiResponse(responseCode = "204", description = "Address deleted successfully"),
+            @ApiResponse(responseCode = "202", description = "Address is being deleted in the background"),
+            @ApiResponse(responseCode = "422", description = "A contract account of the address still has targets", content = @Content),
             @ApiResponse(responseCode = "404", description = "Address not found", content = @Content)
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAddress(@PathVariable Integer id) {
-        service.deleteById(id);
-        return ResponseEntity.noContent().build();
+        if (service.deleteByIdAsync(id).isDone()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Retrieves the addresses inserted, updated or deleted since a previous
+     * sync.
+     *
+     * @param since the {@code nextToken} of the previous page; omit for a full
+     *              download.
+     * @param limit maximum number of rows and of deleted IDs.
+     * @return a {@link ResponseEntity} containing the {@link SyncPageDTO} and
+     *         HTTP status {@code 200 (OK)}.
+     */
+    @Operation(summary = "Sync addresses", description = "Retrieves only the addresses changed since the given continuation token, plus the IDs deleted meanwhile")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid token or limit", content = @Content)
+    })
+    @GetMapping("/sync")
+    public ResponseEntity<SyncPageDTO<AddressDTO>> sync(
+            @Parameter(description = "Continuation token from the previous sync") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes") @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(syncService.syncAddresses(since, limit));
     }
 
     /**
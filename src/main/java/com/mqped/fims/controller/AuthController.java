@@ -4,13 +4,15 @@ import com.mqped.fims.exceptions.UnauthorizedException;
 import com.mqped.fims.model.dto.JwtResponseDTO;
 import com.mqped.fims.model.dto.LoginRequestDTO;
 import com.mqped.fims.model.dto.MessageResponseDTO;
+import com.mqped.fims.model.dto.RefreshTokenRequestDTO;
 import com.mqped.fims.model.dto.SignupRequestDTO;
 import com.mqped.fims.model.entity.Role;
 import com.mqped.fims.model.enums.RoleName;
 import com.mqped.fims.model.entity.User;
 import com.mqped.fims.repository.RoleRepository;
 import com.mqped.fims.repository.UserRepository;
-import com.mqped.fims.security.JwtUtil;
+import com.mqped.fims.security.AuthenticatedUser;
+import com.mqped.fims.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -20,18 +22,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -43,16 +43,29 @@ import java.util.stream.Collectors;
  * Spring Security.
  * </p>
  *
+ * <p>
+ * Access tokens are short-lived ({@code jwt.expiration}); clients renew them
+ * with the refresh token returned at login, which skips password hashing.
+ * Password checks run on a bounded pool, so login responses are asynchronous
+ * and a flood of logins gets {@code 503} instead of stalling the API.
+ * </p>
+ *
  * <h2>Available Endpoints</h2>
  * <ul>
  * <li><b>POST /api/auth/login</b> — Authenticate a user and return a JWT
- * token.</li>
+ * token and a refresh token.</li>
+ * <li><b>POST /api/auth/refresh</b> — Exchange a refresh token for new
+ * tokens.</li>
  * <li><b>POST /api/auth/signup</b> — Register a new user with optional role
  * assignment.</li>
- * <li><b>POST /api/auth/logout</b> — Log out the current user (client-side
- * token invalidation).</li>
+ * <li><b>POST /api/auth/logout</b> — Log out the current user, revoking the
+ * access token and the given refresh token.</li>
  * <li><b>GET /api/auth/me</b> — Retrieve details of the currently authenticated
  * user.</li>
+ * <li><b>POST /api/auth/users/{id}/lock</b> — Lock a user's account and revoke
+ * its tokens (admin only).</li>
+ * <li><b>POST /api/auth/users/{id}/unlock</b> — Unlock a user's account (admin
+ * only).</li>
  * </ul>
  *
  * @author Rodrigo
@@ -63,84 +76,86 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/auth")
 public class AuthController {
 
-        private final AuthenticationManager authenticationManager;
+        private final AuthService authService;
         private final UserRepository userRepository;
         private final RoleRepository roleRepository;
         private final PasswordEncoder passwordEncoder;
-        private final JwtUtil jwtUtil;
 
         /**
          * Constructs a new {@code AuthController} with the required authentication and
          * persistence components.
          *
-         * @param authenticationManager the Spring Security authentication manager.
-         * @param userRepository        the repository for {@link User} persistence
-         *                              operations.
-         * @param roleRepository        the repository for {@link Role} management.
-         * @param passwordEncoder       the encoder used to securely hash user
-         *                              passwords.
-         * @param jwtUtil               the utility class for generating and validating
-         *                              JWT tokens.
+         * @param authService     the service issuing and renewing tokens.
+         * @param userRepository  the repository for {@link User} persistence
+         *                        operations.
+         * @param roleRepository  the repository for {@link Role} management.
+         * @param passwordEncoder the encoder used to securely hash user
+         *                        passwords.
          */
         public AuthController(
-                        AuthenticationManager authenticationManager,
+                        AuthService authService,
                         UserRepository userRepository,
                         RoleRepository roleRepository,
-                        PasswordEncoder passwordEncoder,
-                        JwtUtil jwtUtil) {
-                this.authenticationManager = authenticationManager;
+                        PasswordEncoder passwordEncoder) {
+                this.authService = authService;
                 this.userRepository = userRepository;
                 this.roleRepository = roleRepository;
                 this.passwordEncoder = passwordEncoder;
-                this.jwtUtil = jwtUtil;
         }
 
         /**
          * Authenticates a user using their username and password credentials.
          * <p>
-         * Upon successful authentication, this method generates and returns a JWT token
-         * along with user details and assigned roles.
+         * Upon successful authentication, this method returns a JWT token and a
+         * refresh token along with user details and assigned roles. The password
+         * is verified off the request thread.
          * </p>
          *
          * @param loginRequest the {@link LoginRequestDTO} containing username and
          *                     password.
-         * @return a {@link ResponseEntity} containing a {@link JwtResponseDTO} with the
-         *         JWT token and user information.
+         * @return a future {@link ResponseEntity} containing a {@link JwtResponseDTO}
+         *         with the tokens and user information.
          * @throws org.springframework.security.core.AuthenticationException if the
          *                                                                   authentication
          *                                                                   fails.
          */
-        @Operation(summary = "Authenticate user", description = "Logs in a user using username and password and returns a JWT token with user details.")
+        @Operation(summary = "Authenticate user", description = "Logs in a user using username and password and returns a JWT token and a refresh token with user details.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Authentication successful", content = @Content(schema = @Schema(implementation = JwtResponseDTO.class))),
-                        @ApiResponse(responseCode = "401", description = "Invalid credentials", content = @Content)
+                        @ApiResponse(responseCode = "401", description = "Invalid credentials", content = @Content),
+                        @ApiResponse(responseCode = "403", description = "Account disabled or locked", content = @Content),
+                        @ApiResponse(responseCode = "503", description = "Too many logins in progress", content = @Content)
         })
         @PostMapping("/login")
-        public ResponseEntity<JwtResponseDTO> authenticateUser(@Valid @RequestBody LoginRequestDTO loginRequest) {
-                Authentication authentication = authenticationManager.authenticate(
-                                new UsernamePasswordAuthenticationToken(
-                                                loginRequest.getUsername(),
-                                                loginRequest.getPassword()));
-
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-
-                UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-                String jwt = jwtUtil.generateToken(userDetails);
-
-                Set<String> roles = userDetails.getAuthorities().stream()
-                                .map(GrantedAuthority::getAuthority)
-                                .collect(Collectors.toSet());
-
-                User user = userRepository.findByUsername(userDetails.getUsername()).orElseThrow();
-                user.setLastLogin(LocalDateTime.now());
-                userRepository.save(user);
+        public CompletableFuture<ResponseEntity<JwtResponseDTO>> authenticateUser(
+                        @Valid @RequestBody LoginRequestDTO loginRequest) {
+                return authService.login(loginRequest.getUsername(), loginRequest.getPassword())
+                                .thenApply(ResponseEntity::ok);
+        }
 
-                return ResponseEntity.ok(new JwtResponseDTO(
-                                jwt,
-                                user.getId(),
-                                user.getUsername(),
-                                user.getEmail(),
-                                roles));
+        /**
+         * Exchanges a refresh token for a new JWT token and refresh token.
+         * <p>
+         * The presented refresh token is used up. Presenting it again revokes all
+         * of the user's refresh tokens.
+         * </p>
+         *
+         * @param refreshRequest the {@link RefreshTokenRequestDTO} containing the
+         *                       refresh token.
+         * @return a {@link ResponseEntity} containing a {@link JwtResponseDTO} with the
+         *         new tokens and user information.
+         * @throws UnauthorizedException if the refresh token is unknown, expired or
+         *                               already used.
+         */
+        @Operation(summary = "Refresh tokens", description = "Exchanges a refresh token for a new JWT token and refresh token.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Tokens refreshed successfully", content = @Content(schema = @Schema(implementation = JwtResponseDTO.class))),
+                        @ApiResponse(responseCode = "401", description = "Refresh token not accepted", content = @Content),
+                        @ApiResponse(responseCode = "403", description = "Account disabled or locked", content = @Content)
+        })
+        @PostMapping("/refresh")
+        public ResponseEntity<JwtResponseDTO> refreshToken(@Valid @RequestBody RefreshTokenRequestDTO refreshRequest) {
+                return ResponseEntity.ok(authService.refresh(refreshRequest.getRefreshToken()));
         }
 
         /**
@@ -213,20 +228,32 @@ public class AuthController {
         /**
          * Logs out the currently authenticated user.
          * <p>
-         * Since JWT authentication is stateless, this method simply clears the
-         * {@link SecurityContextHolder}, effectively removing authentication data
-         * from the current session.
+         * Clears the {@link SecurityContextHolder}, revokes the access token the
+         * request was authenticated with and, when a refresh token is given,
+         * revokes it so it can no longer be exchanged for new tokens.
          * </p>
          *
+         * @param logoutRequest  optional {@link RefreshTokenRequestDTO} with the
+         *                       refresh token to revoke.
+         * @param authentication the Spring Security {@link Authentication} object,
+         *                       if the request carried an access token.
          * @return a {@link ResponseEntity} with a {@link MessageResponseDTO} confirming
          *         the logout.
          */
-        @Operation(summary = "Logout user", description = "Logs out the current user by clearing the authentication context.")
+        @Operation(summary = "Logout user", description = "Logs out the current user by revoking the access token and the given refresh token.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "User logged out successfully", content = @Content)
         })
         @PostMapping("/logout")
-        public ResponseEntity<MessageResponseDTO> logoutUser() {
+        public ResponseEntity<MessageResponseDTO> logoutUser(
+                        @RequestBody(required = false) RefreshTokenRequestDTO logoutRequest,
+                        Authentication authentication) {
+                authService.logout(
+                                logoutRequest != null ? logoutRequest.getRefreshToken() : null,
+                                authentication != null
+                                                && authentication.getPrincipal() instanceof AuthenticatedUser user
+                                                                ? user
+                                                                : null);
                 SecurityContextHolder.clearContext();
                 return ResponseEntity.ok(new MessageResponseDTO("User logged out successfully!"));
         }
@@ -267,4 +294,48 @@ public class AuthController {
                                 user.getEmail(),
                                 roles));
         }
+
+        /**
+         * Locks a user's account.
+         * <p>
+         * The user can no longer log in or refresh tokens, and the access tokens
+         * already issued are rejected from the next request on.
+         * </p>
+         *
+         * @param id the ID of the user to lock.
+         * @return a {@link ResponseEntity} with a {@link MessageResponseDTO} confirming
+         *         the lock.
+         */
+        @Operation(summary = "Lock user", description = "Locks a user's account and revokes all of its tokens. Requires the ADMIN role.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "User locked successfully", content = @Content(schema = @Schema(implementation = MessageResponseDTO.class))),
+                        @ApiResponse(responseCode = "403", description = "Caller is not an administrator", content = @Content),
+                        @ApiResponse(responseCode = "404", description = "User not found", content = @Content)
+        })
+        @PostMapping("/users/{id}/lock")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<MessageResponseDTO> lockUser(@PathVariable Integer id) {
+                authService.setLocked(id, true);
+                return ResponseEntity.ok(new MessageResponseDTO("User locked successfully!"));
+        }
+
+        /**
+         * Unlocks a user's account.
+         *
+         * @param id the ID of the user to unlock.
+         * @return a {@link ResponseEntity} with a {@link MessageResponseDTO} confirming
+         *         the unlock.
+         */
+        @Operation(summary = "Unlock user", description = "Unlocks a user's account. Requires the ADMIN role.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "User unlocked successfully", content = @Content(schema = @Schema(implementation = MessageResponseDTO.class))),
+                        @ApiResponse(responseCode = "403", description = "Caller is not an administrator", content = @Content),
+                        @ApiResponse(responseCode = "404", description = "User not found", content = @Content)
+        })
+        @PostMapping("/users/{id}/unlock")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<MessageResponseDTO> unlockUser(@PathVariable Integer id) {
+                authService.setLocked(id, false);
+                return ResponseEntity.ok(new MessageResponseDTO("User unlocked successfully!"));
+        }
 }
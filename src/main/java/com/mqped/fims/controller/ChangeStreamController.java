@@ -0,0 +1,208 @@
+package com.mqped.fims.controller;
+
+import com.mqped.fims.event.outbox.SseOutboxSink;
+import com.mqped.fims.model.dto.ChangeEventDTO;
+import com.mqped.fims.model.dto.ConsumerOffsetDTO;
+import com.mqped.fims.service.OutboxService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+/**
+ * REST controller exposing the change stream produced by the transactional
+ * outbox.
+ * <p>
+ * Every committed create, update and delete of an address, client,
+ * installation, contract account, target or service order appears in the
+ * stream with a strictly increasing position. External systems read the
+ * stream instead of polling the list endpoints, either by position or as a
+ * named consumer whose offset is stored by FIMS.
+ * </p>
+ *
+ * <h2>Available Endpoints</h2>
+ * <ul>
+ * <li><b>GET /api/changes?after={position}&amp;limit={n}</b> — Read the stream
+ * after a position.</li>
+ * <li><b>GET /api/changes/aggregates/{type}/{id}</b> — Read the changes of one
+ * entity.</li>
+ * <li><b>GET /api/changes/consumers/{consumer}/events?limit={n}</b> — Read the
+ * events after a consumer's committed offset.</li>
+ * <li><b>GET /api/changes/consumers/{consumer}/offset</b> — Retrieve a
+ * consumer's committed offset.</li>
+ * <li><b>PUT /api/changes/consumers/{consumer}/offset</b> — Commit a
+ * consumer's offset.</li>
+ * <li><b>GET /api/changes/stream</b> — Follow the stream as Server-Sent
+ * Events, resuming after {@code Last-Event-ID}.</li>
+ * <li><b>GET /api/changes/check</b> — API health check.</li>
+ * </ul>
+ *
+ * @author Rodrigo
+ * @since 1.0
+ */
+@Tag(name = "Change Stream API", description = "Ordered stream of committed entity changes, with consumer offsets")
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeStreamController {
+
+    /** Most events replayed to a new SSE subscriber before following live events. */
+    static final int MAX_SSE_REPLAY = 10_000;
+
+    private final OutboxService service;
+    private final SseOutboxSink sseSink;
+
+    /**
+     * Constructs a new {@code ChangeStreamController}.
+     *
+     * @param service the {@link OutboxService} reading the stream
+     * @param sseSink the {@link SseOutboxSink} fanning out live events
+     */
+    public ChangeStreamController(OutboxService service, SseOutboxSink sseSink) {
+        this.service = service;
+        this.sseSink = sseSink;
+    }
+
+    /**
+     * Reads the stream after a position.
+     *
+     * @param after the last position already processed ({@code 0} for the
+     *              beginning)
+     * @param limit maximum number of events
+     * @return a {@link ResponseEntity} containing the events in stream order and
+     *         HTTP status {@code 200 (OK)}
+     */
+    @Operation(summary = "Read changes", description = "Retrieves the changes after the given stream position, oldest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ChangeEventDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid position or limit", content = @Content)
+    })
+    @GetMapping
+    public ResponseEntity<List<ChangeEventDTO>> getChanges(
+            @Parameter(description = "Last position already processed") @RequestParam(defaultValue = "0") long after,
+            @Parameter(description = "Maximum number of events") @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(service.findAfter(after, limit));
+    }
+
+    /**
+     * Reads the changes of one entity.
+     *
+     * @param type the entity type, e.g. {@code ServiceOrder}
+     * @param id   the entity identifier
+     * @return a {@link ResponseEntity} containing the changes, oldest first, and
+     *         HTTP status {@code 200 (OK)}
+     */
+    @Operation(summary = "Read changes of an entity", description = "Retrieves the changes of one entity still kept in the stream, oldest first")
+    @GetMapping("/aggregates/{type}/{id}")
+    public ResponseEntity<List<ChangeEventDTO>> getAggregateChanges(@PathVariable String type,
+            @PathVariable String id) {
+        return ResponseEntity.ok(service.findByAggregate(type, id));
+    }
+
+    /**
+     * Reads the events following a consumer's committed offset.
+     *
+     * @param consumer the consumer name
+     * @param limit    maximum number of events
+     * @return a {@link ResponseEntity} containing the events and HTTP status
+     *         {@code 200 (OK)}
+     */
+    @Operation(summary = "Poll as consumer", description = "Retrieves the changes after the consumer's committed offset; commit the offset once they are processed")
+    @GetMapping("/consumers/{consumer}/events")
+    public ResponseEntity<List<ChangeEventDTO>> pollConsumer(@PathVariable String consumer,
+            @Parameter(description = "Maximum number of events") @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(service.poll(consumer, limit));
+    }
+
+    /**
+     * Retrieves a consumer's committed offset.
+     *
+     * @param consumer the consumer name
+     * @return a {@link ResponseEntity} containing the {@link ConsumerOffsetDTO}
+     *         ({@code 0} if never committed) and HTTP status {@code 200 (OK)}
+     */
+    @Operation(summary = "Get consumer offset", description = "Retrieves the last position committed by a consumer")
+    @GetMapping("/consumers/{consumer}/offset")
+    public ResponseEntity<ConsumerOffsetDTO> getOffset(@PathVariable String consumer) {
+        return ResponseEntity.ok(new ConsumerOffsetDTO(consumer, service.getOffset(consumer)));
+    }
+
+    /**
+     * Commits a consumer's offset.
+     *
+     * @param consumer the consumer name
+     * @param offset   the offset; only {@code position} is read
+     * @return a {@link ResponseEntity} containing the committed
+     *         {@link ConsumerOffsetDTO} and HTTP status {@code 200 (OK)}
+     */
+    @Operation(summary = "Commit consumer offset", description = "Stores the last position processed by a consumer")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Offset committed", content = @Content(schema = @Schema(implementation = ConsumerOffsetDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Reserved consumer name or position outside the stream", content = @Content)
+    })
+    @PutMapping("/consumers/{consumer}/offset")
+    public ResponseEntity<ConsumerOffsetDTO> commitOffset(@PathVariable String consumer,
+            @RequestBody ConsumerOffsetDTO offset) {
+        service.commitOffset(consumer, offset.getPosition());
+        return ResponseEntity.ok(new ConsumerOffsetDTO(consumer, offset.getPosition()));
+    }
+
+    /**
+     * Follows the stream as Server-Sent Events.
+     * <p>
+     * Stored events after the resume position are replayed first. A client
+     * more than {@value #MAX_SSE_REPLAY} events behind receives that many and
+     * the connection is then closed, so it reconnects with the new
+     * {@code Last-Event-ID} and continues; no event is skipped.
+     * </p>
+     *
+     * @param lastEventId the {@code Last-Event-ID} header sent on reconnection
+     * @param after       resume position when no header is sent; defaults to
+     *                    the head of the stream (live events only)
+     * @return the SSE emitter
+     */
+    @Operation(summary = "Follow changes", description = "Streams changes as Server-Sent Events named 'change', with the stream position as event id")
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @Parameter(description = "Resume after this position") @RequestParam(required = false) Long after) {
+        long from = lastEventId != null ? lastEventId : after != null ? after : service.getHead();
+        SseOutboxSink.Subscription subscription = sseSink.subscribe(from);
+        long position = from;
+        int replayed = 0;
+        List<ChangeEventDTO> batch;
+        do {
+            batch = service.findAfter(position, OutboxService.MAX_LIMIT);
+            subscription.replay(batch);
+            if (!batch.isEmpty()) {
+                position = batch.get(batch.size() - 1).getPosition();
+            }
+            replayed += batch.size();
+        } while (batch.size() == OutboxService.MAX_LIMIT && replayed < MAX_SSE_REPLAY);
+        if (batch.size() == OutboxService.MAX_LIMIT) {
+            subscription.close(); // still behind: let the client reconnect for the next chunk
+        } else {
+            subscription.finishReplay();
+        }
+        return subscription.getEmitter();
+    }
+
+    /**
+     * Simple health check endpoint for the Change Stream API.
+     *
+     * @return a {@link ResponseEntity} containing a status message
+     */
+    @Operation(summary = "Health check", description = "Simple endpoint to verify that the Change Stream API is running")
+    @GetMapping("/check")
+    public ResponseEntity<String> check() {
+        return ResponseEntity.ok("Change Stream API is up and running!");
+    }
+}
@@ -1,9 +1,12 @@
 package com.mqped.fims.controller;
 
 import com.mqped.fims.model.dto.ClientDTO;
+import com.mqped.fims.model.dto.ClientDuplicateReportDTO;
 import com.mqped.fims.model.entity.Client;
+import com.mqped.fims.service.ClientDedupService;
 import com.mqped.fims.service.ClientService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller responsible for managing {@link Client} entities.
@@ -28,9 +32,13 @@ import java.util.List;
  * <ul>
  * <li><b>POST /api/clients</b> — Create a new client.</li>
  * <li><b>GET /api/clients</b> — Retrieve all clients.</li>
+ * <li><b>GET /api/clients?fields={fields}</b> — Retrieve only the
+ * requested fields of all clients.</li>
  * <li><b>GET /api/clients/{id}</b> — Retrieve a client by its unique ID.</li>
  * <li><b>PUT /api/clients/{id}</b> — Update an existing client.</li>
  * <li><b>DELETE /api/clients/{id}</b> — Delete a client by ID.</li>
+ * <li><b>GET /api/clients/duplicates</b> — Report clients that are probably
+ * registered more than once.</li>
  * <li><b>GET /api/clients/check</b> — Health check for the client API.</li>
  * </ul>
  *
@@ -50,16 +58,20 @@ import java.util.List;
 public class ClientController {
 
     private final ClientService service;
+    private final ClientDedupService dedupService;
 
     /**
      * Constructs a new {@code ClientController} with the required service
-     * dependency.
+     * dependencies.
      *
-     * @param service the {@link ClientService} used to manage client persistence
-     *                and business logic.
+     * @param service      the {@link ClientService} used to manage client
+     *                     persistence and business logic.
+     * @param dedupService the {@link ClientDedupService} used to find duplicate
+     *                     clients.
      */
-    public ClientController(ClientService service) {
+    public ClientController(ClientService service, ClientDedupService dedupService) {
         this.service = service;
+        this.dedupService = dedupService;
     }
 
     /**
@@ -82,12 +94,35 @@ public class ClientController {
      * @return a {@link ResponseEntity} containing a list of {@link ClientDTO}
      *         objects and HTTP status {@code 200 (OK)}.
      */
+    @ConditionalGet(Client.class)
     @GetMapping
     public ResponseEntity<List<ClientDTO>> getAllClients() {
-        List<ClientDTO> dtos = service.findAll().stream()
-                .map(ClientDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findAllAsDTO());
+    }
+
+    /**
+     * Retrieves only the requested fields of all clients.
+     * <p>
+     * Unrequested fields are neither read from the database nor written to the
+     * response, and nested objects are only joined when one of their fields
+     * is requested.
+     * </p>
+     *
+     * @param fields the requested fields, separated by commas; nested fields
+     *               are addressed with dots.
+     * @return a {@link ResponseEntity} containing one object per row with the
+     *         requested fields and HTTP status {@code 200 (OK)}.
+     */
+    @Operation(summary = "Get selected fields of all clients", description = "Retrieves all clients with only the requested fields; the id is always included")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Fields retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown field", content = @Content)
+    })
+    @ConditionalGet(Client.class)
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllFields(
+            @Parameter(description = "Fields to return, e.g. name,cpf") @RequestParam String fields) {
+        return ResponseEntity.ok(service.findAllFields(fields));
     }
 
     /**
@@ -104,10 +139,10 @@ public class ClientController {
             @ApiResponse(responseCode = "200", description = "Client retrieved successfully", content = @Content(schema = @Schema(implementation = ClientDTO.class))),
             @ApiResponse(responseCode = "404", description = "Client not found", content = @Content)
     })
+    @ConditionalGet(value = Client.class, id = "id")
     @GetMapping("/{id}")
     public ResponseEntity<ClientDTO> getClientById(@PathVariable Integer id) {
-        Client client = service.findById(id);
-        return ResponseEntity.ok(ClientDTO.fromEntity(client));
+        return ResponseEntity.ok(service.findByIdAsDTO(id));
     }
 
     /**
@@ -132,21 +167,53 @@ public class ClientController {
     }
 
     /**
-     * Deletes a client by its ID.
+     * Deletes a client by its ID, with its contract accounts.
      *
      * @param id the unique identifier of the client to delete.
      * @return a {@link ResponseEntity} with no content and HTTP status
-     *         {@code 204 (No Content)}.
+     *         {@code 204 (No Content)}, or {@code 202 (Accepted)} if a large
+     *         subtree is being deleted in the background.
      */
     @Operation(summary = "Delete client", description = "Deletes a client by its unique ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Client deleted successfully", content = @Content),
+            @ApiResponse(responseCode = "202", description = "Client is being deleted in the background", content = @Content),
+            @ApiResponse(responseCode = "422", description = "A contract account of the client still has targets", content = @Content),
             @ApiResponse(responseCode = "404", description = "Client not found", content = @Content)
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteClient(@PathVariable Integer id) {
-        service.deleteById(id);
-        return ResponseEntity.noContent().build();
+        if (service.deleteByIdAsync(id).isDone()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Reports pairs of clients that are probably the same person.
+     * <p>
+     * The report of the last scan is reused unless {@code refresh} is set or a
+     * different threshold is requested; a scan reads every client.
+     * </p>
+     *
+     * @param threshold minimum similarity score, from 0 to 1; the configured
+     *                  default when omitted.
+     * @param limit     maximum number of pairs returned.
+     * @param refresh   whether to rescan the clients.
+     * @return a {@link ResponseEntity} containing the
+     *         {@link ClientDuplicateReportDTO} and HTTP status {@code 200 (OK)}.
+     */
+    @Operation(summary = "Duplicate client report", description = "Finds clients with similar names, mothers' names and birth year, scored with Jaro-Winkler.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Report generated successfully", content = @Content(schema = @Schema(implementation = ClientDuplicateReportDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid threshold or limit", content = @Content)
+    })
+    @GetMapping("/duplicates")
+    public ResponseEntity<ClientDuplicateReportDTO> getDuplicates(
+            @Parameter(description = "Minimum similarity score (0 to 1)") @RequestParam(required = false) Double threshold,
+            @Parameter(description = "Maximum number of pairs returned") @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Rescan clients instead of reusing the last report") @RequestParam(defaultValue = "false") boolean refresh) {
+        return ResponseEntity.ok(dedupService.getReport(threshold, refresh, limit));
     }
 
     /**
@@ -0,0 +1,41 @@
+package com.mqped.fims.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code GET} endpoint whose response only changes when entities of
+ * the listed types do, so it is tagged with a version ETag and answered with
+ * {@code 304 Not Modified} when the client's copy is current.
+ * <p>
+ * The check runs in {@link com.mqped.fims.config.ConditionalGetInterceptor}
+ * before the handler, so an unchanged resource costs no repository call nor
+ * serialization. List the types of every entity the response renders or
+ * filters on, the endpoint's own type first.
+ * </p>
+ *
+ * @see com.mqped.fims.event.ResourceVersions
+ * @since 1.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+    /**
+     * @return the entity types the response depends on, its own type first
+     */
+    Class<?>[] value();
+
+    /**
+     * Name of the path variable holding the ID of the single entity of the
+     * first type the response renders. The ETag then follows that entity
+     * instead of its whole type; the other types are still followed whole.
+     *
+     * @return the path variable name, or empty for collections
+     */
+    String id() default "";
+}
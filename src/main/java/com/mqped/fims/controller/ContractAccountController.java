@@ -1,9 +1,17 @@
 package com.mqped.fims.controller;
 
 import com.mqped.fims.model.dto.ContractAccountDTO;
+import com.mqped.fims.model.dto.ContractStatusHistoryDTO;
+import com.mqped.fims.model.dto.SyncPageDTO;
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.entity.Client;
 import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.Installation;
 import com.mqped.fims.service.ContractAccountService;
+import com.mqped.fims.service.ContractStatusHistoryService;
+import com.mqped.fims.service.SyncService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,7 +21,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller responsible for managing {@link ContractAccount} entities.
@@ -31,6 +41,8 @@ import java.util.List;
  * <li><b>POST /api/contract-accounts</b> — Create a new contract account.</li>
  * <li><b>GET /api/contract-accounts</b> — Retrieve all contract accounts with
  * full details.</li>
+ * <li><b>GET /api/contract-accounts?fields={fields}</b> — Retrieve only the
+ * requested fields of all contract accounts.</li>
  * <li><b>GET /api/contract-accounts/minimal</b> — Retrieve all contract
  * accounts without installation details.</li>
  * <li><b>GET /api/contract-accounts/{id}</b> — Retrieve a contract account by
@@ -39,6 +51,12 @@ import java.util.List;
  * account.</li>
  * <li><b>DELETE /api/contract-accounts/{id}</b> — Delete a contract account by
  * ID.</li>
+ * <li><b>GET /api/contract-accounts/{id}/status-history</b> — Retrieve the
+ * status timeline of a contract account.</li>
+ * <li><b>GET /api/contract-accounts/status-as-of</b> — Retrieve the status of
+ * every contract account in a municipality at a given point in time.</li>
+ * <li><b>GET /api/contract-accounts/sync?since={token}</b> — Retrieve the
+ * contract accounts changed since a previous sync.</li>
  * <li><b>GET /api/contract-accounts/check</b> — Health check for the contract
  * account API.</li>
  * </ul>
@@ -59,16 +77,25 @@ import java.util.List;
 public class ContractAccountController {
 
     private final ContractAccountService service;
+    private final ContractStatusHistoryService historyService;
+    private final SyncService syncService;
 
     /**
      * Constructs a new {@code ContractAccountController} with the required service
-     * dependency.
+     * dependencies.
      *
-     * @param service the {@link ContractAccountService} used to manage contract
-     *                account data.
+     * @param service        the {@link ContractAccountService} used to manage
+     *                       contract account data.
+     * @param historyService the {@link ContractStatusHistoryService} serving the
+     *                       status timeline.
+     * @param syncService    the {@link SyncService} serving incremental sync.
      */
-    public ContractAccountController(ContractAccountService service) {
+    public ContractAccountController(ContractAccountService service,
+            ContractStatusHistoryService historyService,
+            SyncService syncService) {
         this.service = service;
+        this.historyService = historyService;
+        this.syncService = syncService;
     }
 
     /**
@@ -87,8 +114,7 @@ public class ContractAccountController {
     })
     @PostMapping
     public ResponseEntity<ContractAccountDTO> createContractAccount(@RequestBody ContractAccount contractAccount) {
-        ContractAccount saved = service.add(contractAccount);
-        return new ResponseEntity<>(ContractAccountDTO.fromEntity(saved), HttpStatus.CREATED);
+        return new ResponseEntity<>(service.addAsDTO(contractAccount), HttpStatus.CREATED);
     }
 
     /**
@@ -103,12 +129,35 @@ public class ContractAccountController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Contract accounts retrieved successfully", content = @Content(schema = @Schema(implementation = ContractAccountDTO.class)))
     })
+    @ConditionalGet({ContractAccount.class, Client.class, Installation.class, Address.class})
     @GetMapping
     public ResponseEntity<List<ContractAccountDTO>> getAllContractAccounts() {
-        List<ContractAccountDTO> dtos = service.findAll().stream()
-                .map(ContractAccountDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findAllAsDTO());
+    }
+
+    /**
+     * Retrieves only the requested fields of all contract accounts.
+     * <p>
+     * Unrequested fields are neither read from the database nor written to the
+     * response, and nested objects are only joined when one of their fields
+     * is requested.
+     * </p>
+     *
+     * @param fields the requested fields, separated by commas; nested fields
+     *               are addressed with dots.
+     * @return a {@link ResponseEntity} containing one object per row with the
+     *         requested fields and HTTP status {@code 200 (OK)}.
+     */
+    @Operation(summary = "Get selected fields of all contract accounts", description = "Retrieves all contract accounts with only the requested fields; the id is always included")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Fields retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown field", content = @Content)
+    })
+    @ConditionalGet({ContractAccount.class, Client.class, Installation.class, Address.class})
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllFields(
+            @Parameter(description = "Fields to return, e.g. accountNumber,status,installation.address.municipality") @RequestParam String fields) {
+        return ResponseEntity.ok(service.findAllFields(fields));
     }
 
     /**
@@ -121,17 +170,17 @@ public class ContractAccountController {
      * @return a {@link ResponseEntity} containing a simplified list of
      *         {@link ContractAccountDTO}
      *         objects and HTTP status {@code 200 (OK)}.
+     * @deprecated use {@code GET /api/contract-accounts?fields=...} listing the
+     *             fields needed, without {@code installation}.
      */
-    @Operation(summary = "Get all contract accounts (minimal)", description = "Retrieves all contract accounts without installation details, useful for listing or summary views.")
+    @Deprecated
+    @Operation(summary = "Get all contract accounts (minimal)", description = "Retrieves all contract accounts without installation details, useful for listing or summary views.", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Minimal contract accounts retrieved successfully", content = @Content(schema = @Schema(implementation = ContractAccountDTO.class)))
     })
     @GetMapping("/minimal")
     public ResponseEntity<List<ContractAccountDTO>> getAllContractAccountsMinimal() {
-        List<ContractAccountDTO> dtos = service.findAll().stream()
-                .map(ContractAccountDTO::fromEntityWithoutInstallation)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findAllWithoutInstallationAsDTO());
     }
 
     /**
@@ -151,10 +200,10 @@ public class ContractAccountController {
             @ApiResponse(responseCode = "200", description = "Contract account retrieved successfully", content = @Content(schema = @Schema(implementation = ContractAccountDTO.class))),
             @ApiResponse(responseCode = "404", description = "Contract account not found", content = @Content)
     })
+    @ConditionalGet(value = {ContractAccount.class, Client.class, Installation.class, Address.class}, id = "id")
     @GetMapping("/{id}")
     public ResponseEntity<ContractAccountDTO> getContractAccountById(@PathVariable Integer id) {
-        ContractAccount account = service.findById(id);
-        return ResponseEntity.ok(ContractAccountDTO.fromEntity(account));
+        return ResponseEntity.ok(service.findByIdAsDTO(id));
     }
 
     /**
@@ -178,8 +227,7 @@ public class ContractAccountController {
     @PutMapping("/{id}")
     public ResponseEntity<ContractAccountDTO> updateContractAccount(@PathVariable Integer id,
             @RequestBody ContractAccount contractAccount) {
-        ContractAccount updated = service.update(id, contractAccount);
-        return ResponseEntity.ok(ContractAccountDTO.fromEntity(updated));
+        return ResponseEntity.ok(service.updateAsDTO(id, contractAccount));
     }
 
     /**
@@ -200,6 +248,71 @@ public class ContractAccountController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Retrieves the status timeline of a contract account.
+     *
+     * @param id the unique identifier of the contract account.
+     * @return a {@link ResponseEntity} containing the recorded
+     *         {@link ContractStatusHistoryDTO} intervals, oldest first.
+     */
+    @Operation(summary = "Get status history", description = "Retrieves every recorded status interval of a contract account, oldest first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status history retrieved successfully", content = @Content(schema = @Schema(implementation = ContractStatusHistoryDTO.class)))
+    })
+    @GetMapping("/{id}/status-history")
+    public ResponseEntity<List<ContractStatusHistoryDTO>> getStatusHistory(@PathVariable Integer id) {
+        List<ContractStatusHistoryDTO> dtos = historyService.findByContractAccountId(id).stream()
+                .map(ContractStatusHistoryDTO::fromEntity)
+                .toList();
+        return ResponseEntity.ok(dtos);
+    }
+
+    /**
+     * Retrieves the status of every contract account in a municipality at a
+     * given point in time.
+     *
+     * @param municipality the municipality of the contract installations.
+     * @param at           the point in time.
+     * @return a {@link ResponseEntity} containing the intervals in effect at
+     *         {@code at}.
+     */
+    @Operation(summary = "Get statuses as of a date", description = "Retrieves the status in effect at the given date-time for every contract account in a municipality.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statuses retrieved successfully", content = @Content(schema = @Schema(implementation = ContractStatusHistoryDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing municipality or date-time", content = @Content)
+    })
+    @GetMapping("/status-as-of")
+    public ResponseEntity<List<ContractStatusHistoryDTO>> getStatusAsOf(
+            @Parameter(description = "Municipality of the contract installations") @RequestParam String municipality,
+            @Parameter(description = "Point in time, e.g. 2025-01-01T00:00:00") @RequestParam LocalDateTime at) {
+        List<ContractStatusHistoryDTO> dtos = historyService.findAsOf(municipality, at).stream()
+                .map(ContractStatusHistoryDTO::fromEntity)
+                .toList();
+        return ResponseEntity.ok(dtos);
+    }
+
+    /**
+     * Retrieves the contract accounts inserted, updated or deleted since a
+     * previous sync.
+     *
+     * @param since the {@code nextToken} of the previous page; omit for a full
+     *              download.
+     * @param limit maximum number of rows and of deleted IDs.
+     * @return a {@link ResponseEntity} containing the {@link SyncPageDTO} and
+     *         HTTP status {@code 200 (OK)}.
+     */
+    @Operation(summary = "Sync contract accounts", description = "Retrieves only the contract accounts changed since the given continuation token, plus the IDs deleted meanwhile")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid token or limit", content = @Content)
+    })
+    @GetMapping("/sync")
+    public ResponseEntity<SyncPageDTO<ContractAccountDTO>> sync(
+            @Parameter(description = "Continuation token from the previous sync") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes") @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(syncService.syncContractAccounts(since, limit));
+    }
+
     /**
      * Simple health check endpoint for the ContractAccount API.
      * <p>
@@ -0,0 +1,79 @@
+package com.mqped.fims.controller;
+
+import com.mqped.fims.model.dto.DashboardSummaryDTO;
+import com.mqped.fims.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller exposing the pre-aggregated operations dashboard.
+ * <p>
+ * Counts are served from in-memory counters maintained by
+ * {@link DashboardService}, so a dashboard refresh does not hit the database.
+ * </p>
+ *
+ * <h2>Available Endpoints</h2>
+ * <ul>
+ * <li><b>GET /api/dashboard</b> — Retrieve service order, target and contract
+ * account counts. Accepts an optional {@code municipality} filter.</li>
+ * <li><b>GET /api/dashboard/check</b> — API health check.</li>
+ * </ul>
+ *
+ * @author Rodrigo
+ * @since 1.0
+ */
+@Tag(name = "Dashboard API", description = "Pre-aggregated counters for the operations dashboard")
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService service;
+
+    /**
+     * Constructs a new {@code DashboardController}.
+     *
+     * @param service the {@link DashboardService} providing the counters
+     */
+    public DashboardController(DashboardService service) {
+        this.service = service;
+    }
+
+    /**
+     * Retrieves the dashboard counters.
+     *
+     * @param municipality optional municipality used to restrict the contract
+     *                     account counts
+     * @return a {@link ResponseEntity} containing the {@link DashboardSummaryDTO}
+     *         and HTTP status {@code 200 (OK)}
+     */
+    @Operation(summary = "Get dashboard summary", description = "Retrieves service orders by status and type, targets by type and active flag, and contract accounts by municipality and status")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dashboard retrieved successfully", content = @Content(schema = @Schema(implementation = DashboardSummaryDTO.class)))
+    })
+    @GetMapping
+    public ResponseEntity<DashboardSummaryDTO> getSummary(
+            @Parameter(description = "Restrict contract counts to this municipality") @RequestParam(required = false) String municipality) {
+        return ResponseEntity.ok(service.getSummary(municipality));
+    }
+
+    /**
+     * Simple health check endpoint for the Dashboard API.
+     *
+     * @return a {@link ResponseEntity} containing a status message
+     */
+    @Operation(summary = "Health check", description = "Simple endpoint to verify that the Dashboard API is running")
+    @GetMapping("/check")
+    public ResponseEntity<String> check() {
+        return ResponseEntity.ok("Dashboard API is up and running!");
+    }
+}
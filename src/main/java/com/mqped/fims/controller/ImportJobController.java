@@ -0,0 +1,205 @@
+package com.mqped.fims.controller;
+
+import com.mqped.fims.model.dto.ImportJobDTO;
+import com.mqped.fims.model.dto.ImportJobErrorDTO;
+import com.mqped.fims.model.dto.ImportJobRequestDTO;
+import com.mqped.fims.model.enums.ImportType;
+import com.mqped.fims.service.ImportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+/**
+ * REST controller for background CSV import jobs.
+ * <p>
+ * Imports run asynchronously: creating a job returns immediately with status
+ * {@code 202 (Accepted)}, and its progress is then polled through
+ * {@code /api/imports/{id}}.
+ * </p>
+ *
+ * <h2>Available Endpoints</h2>
+ * <ul>
+ * <li><b>POST /api/imports</b> — Import a file already in the imports
+ * directory.</li>
+ * <li><b>POST /api/imports/upload</b> — Upload a file and import it.</li>
+ * <li><b>GET /api/imports</b> — Retrieve the most recent jobs.</li>
+ * <li><b>GET /api/imports/{id}</b> — Retrieve a job with its progress.</li>
+ * <li><b>GET /api/imports/{id}/errors</b> — Retrieve the rows a job
+ * rejected.</li>
+ * <li><b>POST /api/imports/{id}/cancel</b> — Cancel a job.</li>
+ * <li><b>POST /api/imports/{id}/resume</b> — Resume a failed or canceled job
+ * from its checkpoint.</li>
+ * <li><b>GET /api/imports/check</b> — API health check.</li>
+ * </ul>
+ *
+ * @author Rodrigo
+ * @since 1.0
+ */
+@Tag(name = "Import API", description = "Background CSV imports with progress tracking and resumable checkpoints")
+@RestController
+@RequestMapping("/api/imports")
+public class ImportJobController {
+
+    private final ImportJobService service;
+
+    /**
+     * Constructs a new {@code ImportJobController}.
+     *
+     * @param service the {@link ImportJobService} running the imports
+     */
+    public ImportJobController(ImportJobService service) {
+        this.service = service;
+    }
+
+    /**
+     * Queues the import of a file already present in the imports directory.
+     *
+     * @param request        the file type and path
+     * @param authentication the authenticated caller
+     * @return a {@link ResponseEntity} containing the queued
+     *         {@link ImportJobDTO} and HTTP status {@code 202 (Accepted)}
+     */
+    @Operation(summary = "Import a server file", description = "Queues the import of a CSV file located in the imports directory")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import queued", content = @Content(schema = @Schema(implementation = ImportJobDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing type, or path outside the imports directory or not found", content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<ImportJobDTO> createFromPath(@RequestBody ImportJobRequestDTO request,
+            Authentication authentication) {
+        ImportJobDTO job = service.createFromPath(request.getType(), request.getPath(), userOf(authentication));
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Stores an uploaded file and queues its import.
+     *
+     * @param type           the file type
+     * @param file           the CSV file
+     * @param authentication the authenticated caller
+     * @return a {@link ResponseEntity} containing the queued
+     *         {@link ImportJobDTO} and HTTP status {@code 202 (Accepted)}
+     */
+    @Operation(summary = "Upload and import a file", description = "Stores the uploaded CSV file in the imports directory and queues its import")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Import queued", content = @Content(schema = @Schema(implementation = ImportJobDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing type or empty file", content = @Content)
+    })
+    @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobDTO> upload(
+            @Parameter(description = "Layout of the file") @RequestParam ImportType type,
+            @RequestParam("file") MultipartFile file,
+            Authentication authentication) {
+        ImportJobDTO job = service.createFromUpload(type, file, userOf(authentication));
+        return new ResponseEntity<>(job, HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Retrieves the most recent jobs.
+     *
+     * @param limit maximum number of jobs
+     * @return a {@link ResponseEntity} containing the jobs, newest first, and
+     *         HTTP status {@code 200 (OK)}
+     */
+    @Operation(summary = "List import jobs", description = "Retrieves the most recent import jobs, newest first")
+    @GetMapping
+    public ResponseEntity<List<ImportJobDTO>> getRecent(
+            @Parameter(description = "Maximum number of jobs") @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(service.findRecent(limit));
+    }
+
+    /**
+     * Retrieves a job with its progress.
+     *
+     * @param id the job ID
+     * @return a {@link ResponseEntity} containing the {@link ImportJobDTO} and
+     *         HTTP status {@code 200 (OK)}
+     */
+    @Operation(summary = "Get import job", description = "Retrieves an import job with rows read, imported and rejected, rate and estimated time left")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job found", content = @Content(schema = @Schema(implementation = ImportJobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found", content = @Content)
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobDTO> getById(@PathVariable Long id) {
+        return ResponseEntity.ok(service.findById(id));
+    }
+
+    /**
+     * Retrieves the rows a job rejected.
+     *
+     * @param id    the job ID
+     * @param limit maximum number of errors
+     * @return a {@link ResponseEntity} containing the errors, in file order,
+     *         and HTTP status {@code 200 (OK)}
+     */
+    @Operation(summary = "Get import errors", description = "Retrieves the rows rejected by an import job, with their line numbers")
+    @GetMapping("/{id}/errors")
+    public ResponseEntity<List<ImportJobErrorDTO>> getErrors(@PathVariable Long id,
+            @Parameter(description = "Maximum number of errors") @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(service.findErrors(id, limit));
+    }
+
+    /**
+     * Cancels a job; a running job stops after its current chunk.
+     *
+     * @param id the job ID
+     * @return a {@link ResponseEntity} containing the {@link ImportJobDTO} and
+     *         HTTP status {@code 200 (OK)}
+     */
+    @Operation(summary = "Cancel import job", description = "Cancels a queued or running import job; rows already committed are kept")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cancellation requested", content = @Content(schema = @Schema(implementation = ImportJobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Job already finished", content = @Content)
+    })
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<ImportJobDTO> cancel(@PathVariable Long id) {
+        return ResponseEntity.ok(service.cancel(id));
+    }
+
+    /**
+     * Resumes a failed or canceled job from its checkpoint.
+     *
+     * @param id the job ID
+     * @return a {@link ResponseEntity} containing the {@link ImportJobDTO} and
+     *         HTTP status {@code 202 (Accepted)}
+     */
+    @Operation(summary = "Resume import job", description = "Queues a failed or canceled import job again, continuing after its last checkpoint")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job queued", content = @Content(schema = @Schema(implementation = ImportJobDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Job is not failed or canceled", content = @Content)
+    })
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<ImportJobDTO> resume(@PathVariable Long id) {
+        return new ResponseEntity<>(service.resume(id), HttpStatus.ACCEPTED);
+    }
+
+    /**
+     * Simple health check endpoint for the Import API.
+     *
+     * @return a {@link ResponseEntity} containing a status message
+     */
+    @Operation(summary = "Health check", description = "Simple endpoint to verify that the Import API is running")
+    @GetMapping("/check")
+    public ResponseEntity<String> check() {
+        return ResponseEntity.ok("Import API is up and running!");
+    }
+
+    private static String userOf(Authentication authentication) {
+        return authentication == null ? null : authentication.getName();
+    }
+}
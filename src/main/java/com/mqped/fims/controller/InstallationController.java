@@ -1,9 +1,11 @@
 package com.mqped.fims.controller;
 
 import com.mqped.fims.model.dto.InstallationDTO;
+import com.mqped.fims.model.entity.Address;
 import com.mqped.fims.model.entity.Installation;
 import com.mqped.fims.service.InstallationService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller responsible for managing {@link Installation} entities.
@@ -28,6 +31,8 @@ import java.util.List;
  * <li><b>POST /api/installations</b> — Create a new installation.</li>
  * <li><b>GET /api/installations</b> — Retrieve all installations with full
  * details.</li>
+ * <li><b>GET /api/installations?fields={fields}</b> — Retrieve only the
+ * requested fields of all installations.</li>
  * <li><b>GET /api/installations/minimal</b> — Retrieve all installations
  * without address details.</li>
  * <li><b>GET /api/installations/{id}</b> — Retrieve an installation by its
@@ -99,12 +104,35 @@ public class InstallationController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Installations retrieved successfully", content = @Content(schema = @Schema(implementation = InstallationDTO.class)))
     })
+    @ConditionalGet({Installation.class, Address.class})
     @GetMapping
     public ResponseEntity<List<InstallationDTO>> getAllInstallations() {
-        List<InstallationDTO> dtos = service.findAll().stream()
-                .map(InstallationDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findAllAsDTO());
+    }
+
+    /**
+     * Retrieves only the requested fields of all installations.
+     * <p>
+     * Unrequested fields are neither read from the database nor written to the
+     * response, and nested objects are only joined when one of their fields
+     * is requested.
+     * </p>
+     *
+     * @param fields the requested fields, separated by commas; nested fields
+     *               are addressed with dots.
+     * @return a {@link ResponseEntity} containing one object per row with the
+     *         requested fields and HTTP status {@code 200 (OK)}.
+     */
+    @Operation(summary = "Get selected fields of all installations", description = "Retrieves all installations with only the requested fields; the id is always included")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Fields retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown field", content = @Content)
+    })
+    @ConditionalGet({Installation.class, Address.class})
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllFields(
+            @Parameter(description = "Fields to return, e.g. createdAt,address.municipality") @RequestParam String fields) {
+        return ResponseEntity.ok(service.findAllFields(fields));
     }
 
     /**
@@ -117,17 +145,16 @@ public class InstallationController {
      * @return a {@link ResponseEntity} containing a simplified list of
      *         {@link InstallationDTO}
      *         and HTTP status {@code 200 (OK)}.
+     * @deprecated use {@code GET /api/installations?fields=addressId,createdAt,deletedAt}.
      */
-    @Operation(summary = "Get all installations (minimal)", description = "Retrieves all installations excluding address details, useful for tables or summary views.")
+    @Deprecated
+    @Operation(summary = "Get all installations (minimal)", description = "Retrieves all installations excluding address details, useful for tables or summary views.", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Minimal installations retrieved successfully", content = @Content(schema = @Schema(implementation = InstallationDTO.class)))
     })
     @GetMapping("/minimal")
     public ResponseEntity<List<InstallationDTO>> getAllInstallationsMinimal() {
-        List<InstallationDTO> dtos = service.findAll().stream()
-                .map(InstallationDTO::fromEntityWithoutAddress)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findAllWithoutAddressAsDTO());
     }
 
     /**
@@ -147,10 +174,10 @@ public class InstallationController {
             @ApiResponse(responseCode = "200", description = "Installation retrieved successfully", content = @Content(schema = @Schema(implementation = InstallationDTO.class))),
             @ApiResponse(responseCode = "404", description = "Installation not found", content = @Content)
     })
+    @ConditionalGet(value = {Installation.class, Address.class}, id = "id")
     @GetMapping("/{id}")
     public ResponseEntity<InstallationDTO> getInstallationById(@PathVariable Integer id) {
-        Installation installation = service.findById(id);
-        return ResponseEntity.ok(InstallationDTO.fromEntity(installation));
+        return ResponseEntity.ok(service.findByIdAsDTO(id));
     }
 
     /**
@@ -179,21 +206,26 @@ public class InstallationController {
     }
 
     /**
-     * Deletes an installation by its ID.
+     * Deletes an installation by its ID, with its contract accounts.
      *
      * @param id the unique identifier of the installation to delete.
      * @return a {@link ResponseEntity} with HTTP status {@code 204 (No Content)} if
-     *         deletion is successful.
+     *         deletion is successful, or {@code 202 (Accepted)} if a large
+     *         subtree is being deleted in the background.
      */
     @Operation(summary = "Delete installation", description = "Deletes an installation by its unique ID.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Installation deleted successfully", content = @Content),
+            @ApiResponse(responseCode = "202", description = "Installation is being deleted in the background", content = @Content),
+            @ApiResponse(responseCode = "422", description = "A contract account of the installation still has targets", content = @Content),
             @ApiResponse(responseCode = "404", description = "Installation not found", content = @Content)
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteInstallation(@PathVariable Integer id) {
-        service.deleteById(id);
-        return ResponseEntity.noContent().build();
+        if (service.deleteByIdAsync(id).isDone()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.accepted().build();
     }
 
     /**
@@ -1,21 +1,35 @@
 package com.mqped.fims.controller;
 
+import com.mqped.fims.event.push.ServiceOrderPushHub;
+import com.mqped.fims.exceptions.UnauthorizedException;
+import com.mqped.fims.model.dto.SearchPageDTO;
 import com.mqped.fims.model.dto.ServiceOrderDTO;
+import com.mqped.fims.model.dto.SyncPageDTO;
 import com.mqped.fims.model.entity.ServiceOrder;
+import com.mqped.fims.model.entity.Target;
 import com.mqped.fims.model.enums.ServiceOrderStatus;
 import com.mqped.fims.service.ServiceOrderService;
+import com.mqped.fims.service.ServiceOrderSlaMonitor;
+import com.mqped.fims.service.ServiceOrderSlaMonitor.OpenServiceOrder;
+import com.mqped.fims.service.SyncService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller responsible for managing {@link ServiceOrder} entities.
@@ -29,10 +43,20 @@ import java.util.List;
  * <ul>
  * <li><b>POST /api/service-orders</b> — Create a new service order.</li>
  * <li><b>GET /api/service-orders</b> — Retrieve all service orders.</li>
+ * <li><b>GET /api/service-orders?fields={fields}</b> — Retrieve only the
+ * requested fields of all service orders.</li>
  * <li><b>GET /api/service-orders/{id}</b> — Retrieve a service order by
  * ID.</li>
  * <li><b>PUT /api/service-orders/{id}</b> — Update a service order.</li>
  * <li><b>DELETE /api/service-orders/{id}</b> — Delete a service order.</li>
+ * <li><b>POST /api/service-orders/{id}/start</b> — Move an order from CREATED
+ * to IN_EXECUTION.</li>
+ * <li><b>POST /api/service-orders/{id}/execute</b> — Move an order from
+ * IN_EXECUTION to EXECUTED.</li>
+ * <li><b>POST /api/service-orders/{id}/cancel</b> — Cancel an order that is
+ * not finished yet.</li>
+ * <li><b>GET /api/service-orders/search?filter={filter}&amp;sort={sort}</b> —
+ * Search service orders with composable filters and keyset paging.</li>
  * <li><b>GET /api/service-orders/status/{status}</b> — Filter by status.</li>
  * <li><b>GET /api/service-orders/target/{targetId}</b> — Filter by target
  * ID.</li>
@@ -44,8 +68,15 @@ import java.util.List;
  * by partial target signature match.</li>
  * <li><b>GET /api/service-orders/older-than/{days}</b> — Find orders older than
  * a number of days.</li>
+ * <li><b>GET /api/service-orders/overdue/{days}</b> — Find open orders older
+ * than a number of days, served from the in-memory SLA index.</li>
  * <li><b>GET /api/service-orders/created-between</b> — Find orders created
  * between two dates.</li>
+ * <li><b>GET /api/service-orders/sync?since={token}</b> — Retrieve the service
+ * orders changed since a previous sync.</li>
+ * <li><b>GET /api/service-orders/stream?team={team}</b> — Receive creations,
+ * status changes and reassignments of the caller's (and team's) orders as
+ * Server-Sent Events.</li>
  * <li><b>GET /api/service-orders/check</b> — API health check.</li>
  * </ul>
  *
@@ -64,15 +95,26 @@ import java.util.List;
 public class ServiceOrderController {
 
     private final ServiceOrderService service;
+    private final ServiceOrderSlaMonitor slaMonitor;
+    private final SyncService syncService;
+    private final ServiceOrderPushHub pushHub;
 
     /**
      * Constructs a new {@code ServiceOrderController}.
      *
-     * @param service the {@link ServiceOrderService} used to manage service order
-     *                data.
+     * @param service     the {@link ServiceOrderService} used to manage service
+     *                    order data.
+     * @param slaMonitor  the {@link ServiceOrderSlaMonitor} holding open orders.
+     * @param syncService the {@link SyncService} serving incremental sync.
+     * @param pushHub     the {@link ServiceOrderPushHub} streaming changes to
+     *                    field devices.
      */
-    public ServiceOrderController(ServiceOrderService service) {
+    public ServiceOrderController(ServiceOrderService service, ServiceOrderSlaMonitor slaMonitor,
+            SyncService syncService, ServiceOrderPushHub pushHub) {
         this.service = service;
+        this.slaMonitor = slaMonitor;
+        this.syncService = syncService;
+        this.pushHub = pushHub;
     }
 
     /**
@@ -104,12 +146,35 @@ public class ServiceOrderController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Service orders retrieved successfully", content = @Content(schema = @Schema(implementation = ServiceOrderDTO.class)))
     })
+    @ConditionalGet(ServiceOrder.class)
     @GetMapping
     public ResponseEntity<List<ServiceOrderDTO>> getAll() {
-        List<ServiceOrderDTO> dtos = service.findAll().stream()
-                .map(ServiceOrderDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findAllAsDTO());
+    }
+
+    /**
+     * Retrieves only the requested fields of all service orders.
+     * <p>
+     * Unrequested fields are neither read from the database nor written to the
+     * response, and nested objects are only joined when one of their fields
+     * is requested.
+     * </p>
+     *
+     * @param fields the requested fields, separated by commas; nested fields
+     *               are addressed with dots.
+     * @return a {@link ResponseEntity} containing one object per row with the
+     *         requested fields and HTTP status {@code 200 (OK)}.
+     */
+    @Operation(summary = "Get selected fields of all service orders", description = "Retrieves all service orders with only the requested fields; the id is always included")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Fields retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown field", content = @Content)
+    })
+    @ConditionalGet(ServiceOrder.class)
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllFields(
+            @Parameter(description = "Fields to return, e.g. status,assignee,targetId") @RequestParam String fields) {
+        return ResponseEntity.ok(service.findAllFields(fields));
     }
 
     /**
@@ -124,10 +189,10 @@ public class ServiceOrderController {
             @ApiResponse(responseCode = "200", description = "Service order retrieved successfully", content = @Content(schema = @Schema(implementation = ServiceOrderDTO.class))),
             @ApiResponse(responseCode = "404", description = "Service order not found", content = @Content)
     })
+    @ConditionalGet(value = ServiceOrder.class, id = "id")
     @GetMapping("/{id}")
     public ResponseEntity<ServiceOrderDTO> getById(@PathVariable Integer id) {
-        ServiceOrder order = service.findById(id);
-        return ResponseEntity.ok(ServiceOrderDTO.fromEntity(order));
+        return ResponseEntity.ok(service.findByIdAsDTO(id));
     }
 
     /**
@@ -142,7 +207,9 @@ public class ServiceOrderController {
     @Operation(summary = "Update service order", description = "Updates an existing service order by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Service order updated successfully", content = @Content(schema = @Schema(implementation = ServiceOrderDTO.class))),
-            @ApiResponse(responseCode = "404", description = "Service order not found", content = @Content)
+            @ApiResponse(responseCode = "404", description = "Service order not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Service order was modified concurrently", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Status change not allowed", content = @Content)
     })
     @PutMapping("/{id}")
     public ResponseEntity<ServiceOrderDTO> update(@PathVariable Integer id, @RequestBody ServiceOrder order) {
@@ -168,6 +235,63 @@ public class ServiceOrderController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Starts a service order.
+     *
+     * @param id the ID of the service order to start.
+     * @return a {@link ResponseEntity} containing the updated
+     *         {@link ServiceOrderDTO} and HTTP status {@code 200 (OK)}.
+     */
+    @Operation(summary = "Start service order", description = "Moves a service order from CREATED to IN_EXECUTION")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Service order started", content = @Content(schema = @Schema(implementation = ServiceOrderDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Service order not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Service order was modified concurrently", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Service order cannot be started", content = @Content)
+    })
+    @PostMapping("/{id}/start")
+    public ResponseEntity<ServiceOrderDTO> start(@PathVariable Integer id) {
+        return ResponseEntity.ok(ServiceOrderDTO.fromEntity(service.start(id)));
+    }
+
+    /**
+     * Marks a service order as executed.
+     *
+     * @param id the ID of the service order to execute.
+     * @return a {@link ResponseEntity} containing the updated
+     *         {@link ServiceOrderDTO} and HTTP status {@code 200 (OK)}.
+     */
+    @Operation(summary = "Execute service order", description = "Moves a service order from IN_EXECUTION to EXECUTED and records the execution time")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Service order executed", content = @Content(schema = @Schema(implementation = ServiceOrderDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Service order not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Service order was modified concurrently", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Service order is not in execution", content = @Content)
+    })
+    @PostMapping("/{id}/execute")
+    public ResponseEntity<ServiceOrderDTO> execute(@PathVariable Integer id) {
+        return ResponseEntity.ok(ServiceOrderDTO.fromEntity(service.execute(id)));
+    }
+
+    /**
+     * Cancels a service order.
+     *
+     * @param id the ID of the service order to cancel.
+     * @return a {@link ResponseEntity} containing the updated
+     *         {@link ServiceOrderDTO} and HTTP status {@code 200 (OK)}.
+     */
+    @Operation(summary = "Cancel service order", description = "Cancels a service order that is CREATED or IN_EXECUTION")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Service order canceled", content = @Content(schema = @Schema(implementation = ServiceOrderDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Service order not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Service order was modified concurrently", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Service order is already finished", content = @Content)
+    })
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<ServiceOrderDTO> cancel(@PathVariable Integer id) {
+        return ResponseEntity.ok(ServiceOrderDTO.fromEntity(service.cancel(id)));
+    }
+
     /**
      * Retrieves all service orders with a specific status.
      *
@@ -175,17 +299,17 @@ public class ServiceOrderController {
      *               EXECUTED, CANCELED).
      * @return a {@link ResponseEntity} containing a filtered list of
      *         {@link ServiceOrderDTO}.
+     * @deprecated use {@code GET /api/service-orders/search?filter=status:eq:{status}}.
      */
-    @Operation(summary = "Filter by status", description = "Retrieves service orders with a specific status")
+    @Deprecated
+    @Operation(summary = "Filter by status", description = "Retrieves service orders with a specific status", deprecated = true)
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Filtered service orders retrieved successfully", content = @Content(schema = @Schema(implementation = ServiceOrderDTO.class)))
     })
+    @ConditionalGet(ServiceOrder.class)
     @GetMapping("/status/{status}")
     public ResponseEntity<List<ServiceOrderDTO>> getByStatus(@PathVariable ServiceOrderStatus status) {
-        List<ServiceOrderDTO> dtos = service.findByStatus(status).stream()
-                .map(ServiceOrderDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findByStatus(status));
     }
 
     /**
@@ -194,14 +318,13 @@ public class ServiceOrderController {
      * @param targetId the ID of the target to filter by.
      * @return a {@link ResponseEntity} containing the list of matching
      *         {@link ServiceOrderDTO}.
+     * @deprecated use {@code GET /api/service-orders/search?filter=targetId:eq:{targetId}}.
      */
-    @Operation(summary = "Filter by target ID", description = "Retrieves service orders associated with a specific target ID")
+    @Deprecated
+    @Operation(summary = "Filter by target ID", description = "Retrieves service orders associated with a specific target ID", deprecated = true)
     @GetMapping("/target/{targetId}")
     public ResponseEntity<List<ServiceOrderDTO>> getByTargetId(@PathVariable Integer targetId) {
-        List<ServiceOrderDTO> dtos = service.findByTargetId(targetId).stream()
-                .map(ServiceOrderDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findByTargetId(targetId));
     }
 
     /**
@@ -212,16 +335,15 @@ public class ServiceOrderController {
      * @param max the maximum distance value.
      * @return a {@link ResponseEntity} containing the list of matching
      *         {@link ServiceOrderDTO}.
+     * @deprecated use {@code GET /api/service-orders/search?filter=targetDistance:between:{min}|{max}}.
      */
-    @Operation(summary = "Filter by target distance", description = "Retrieves service orders within a target distance range")
+    @Deprecated
+    @Operation(summary = "Filter by target distance", description = "Retrieves service orders within a target distance range", deprecated = true)
     @GetMapping("/target/distance")
     public ResponseEntity<List<ServiceOrderDTO>> getByTargetDistance(
             @RequestParam Double min,
             @RequestParam Double max) {
-        List<ServiceOrderDTO> dtos = service.findByTargetDistanceFromBaseBetween(min, max).stream()
-                .map(ServiceOrderDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findByTargetDistanceFromBaseBetween(min, max));
     }
 
     /**
@@ -230,14 +352,13 @@ public class ServiceOrderController {
      * @param signature the target signature string to match exactly.
      * @return a {@link ResponseEntity} containing the list of matching
      *         {@link ServiceOrderDTO}.
+     * @deprecated use {@code GET /api/service-orders/search?filter=targetSignature:eq:{signature}}.
      */
-    @Operation(summary = "Filter by exact target signature", description = "Retrieves service orders with an exact target signature match")
+    @Deprecated
+    @Operation(summary = "Filter by exact target signature", description = "Retrieves service orders with an exact target signature match", deprecated = true)
     @GetMapping("/target/signature/{signature}")
     public ResponseEntity<List<ServiceOrderDTO>> getByTargetSignature(@PathVariable String signature) {
-        List<ServiceOrderDTO> dtos = service.findByTargetSignature(signature).stream()
-                .map(ServiceOrderDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findByTargetSignature(signature));
     }
 
     /**
@@ -246,14 +367,13 @@ public class ServiceOrderController {
      * @param partial the substring to search for within target signatures.
      * @return a {@link ResponseEntity} containing the list of matching
      *         {@link ServiceOrderDTO}.
+     * @deprecated use {@code GET /api/service-orders/search?filter=targetSignature:contains:{partial}}.
      */
-    @Operation(summary = "Filter by partial target signature", description = "Retrieves service orders whose target signature contains a given substring")
+    @Deprecated
+    @Operation(summary = "Filter by partial target signature", description = "Retrieves service orders whose target signature contains a given substring", deprecated = true)
     @GetMapping("/target/signature/contains/{partial}")
     public ResponseEntity<List<ServiceOrderDTO>> getByTargetSignatureContaining(@PathVariable String partial) {
-        List<ServiceOrderDTO> dtos = service.findByTargetSignatureContaining(partial).stream()
-                .map(ServiceOrderDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findByTargetSignatureContaining(partial));
     }
 
     /**
@@ -266,8 +386,31 @@ public class ServiceOrderController {
     @Operation(summary = "Filter orders older than X days", description = "Retrieves service orders older than the specified number of days")
     @GetMapping("/older-than/{days}")
     public ResponseEntity<List<ServiceOrderDTO>> getOlderThanDays(@PathVariable long days) {
-        List<ServiceOrderDTO> dtos = service.findOlderThanDays(days).stream()
-                .map(ServiceOrderDTO::fromEntity)
+        return ResponseEntity.ok(service.findOlderThanDays(days));
+    }
+
+    /**
+     * Retrieves open (created or in execution) service orders older than the
+     * specified number of days.
+     * <p>
+     * Unlike {@link #getOlderThanDays(long)}, finished orders are excluded and
+     * the result is served from the SLA monitor's in-memory index without
+     * querying the database.
+     * </p>
+     *
+     * @param days the minimum age of the service orders in days.
+     * @return a {@link ResponseEntity} containing the overdue
+     *         {@link ServiceOrderDTO}s, oldest first.
+     */
+    @Operation(summary = "Find overdue open orders", description = "Retrieves open service orders older than the specified number of days, oldest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Overdue service orders retrieved successfully", content = @Content(schema = @Schema(implementation = ServiceOrderDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Negative number of days", content = @Content)
+    })
+    @GetMapping("/overdue/{days}")
+    public ResponseEntity<List<ServiceOrderDTO>> getOverdue(@PathVariable long days) {
+        List<ServiceOrderDTO> dtos = slaMonitor.findOverdue(Duration.ofDays(days)).stream()
+                .map(ServiceOrderController::toDto)
                 .toList();
         return ResponseEntity.ok(dtos);
     }
@@ -279,16 +422,91 @@ public class ServiceOrderController {
      * @param end   the end of the date range (inclusive).
      * @return a {@link ResponseEntity} containing the list of matching
      *         {@link ServiceOrderDTO}.
+     * @deprecated use {@code GET /api/service-orders/search?filter=createdAt:between:{start}|{end}}.
      */
-    @Operation(summary = "Filter by creation date range", description = "Retrieves service orders created between two date-time values")
+    @Deprecated
+    @Operation(summary = "Filter by creation date range", description = "Retrieves service orders created between two date-time values", deprecated = true)
     @GetMapping("/created-between")
     public ResponseEntity<List<ServiceOrderDTO>> getByCreatedAtBetween(
             @RequestParam LocalDateTime start,
             @RequestParam LocalDateTime end) {
-        List<ServiceOrderDTO> dtos = service.findByCreatedAtBetween(start, end).stream()
-                .map(ServiceOrderDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findByCreatedAtBetween(start, end));
+    }
+
+    /**
+     * Searches service orders with composable filters and keyset paging.
+     *
+     * @param filter clauses separated by {@code ;}, each
+     *               {@code field:operator[:value]}.
+     * @param sort   sort keys separated by {@code ,}, {@code -} for descending.
+     * @param after  the {@code nextToken} of the previous page.
+     * @param limit  maximum number of service orders.
+     * @return a {@link ResponseEntity} containing the {@link SearchPageDTO} and
+     *         HTTP status {@code 200 (OK)}.
+     */
+    @Operation(summary = "Search service orders", description = "Retrieves one page of the service orders matching all filters, in the requested order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Service orders retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter, sort, token or limit", content = @Content)
+    })
+    @ConditionalGet({ServiceOrder.class, Target.class})
+    @GetMapping("/search")
+    public ResponseEntity<SearchPageDTO<ServiceOrderDTO>> search(
+            @Parameter(description = "Filters such as status:in:CREATED|IN_EXECUTION;team:eq:north; fields: status, type, targetId, targetSignature, targetDistance, assignee, team, executedAt, createdAt, updatedAt; operators: eq, ne, gt, gte, lt, lte, between, in, contains, null, notnull") @RequestParam(required = false) String filter,
+            @Parameter(description = "Sort keys such as -createdAt") @RequestParam(required = false) String sort,
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of service orders") @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(service.search(filter, sort, after, limit));
+    }
+
+    /**
+     * Retrieves the service orders inserted, updated or deleted since a previous
+     * sync.
+     *
+     * @param since the {@code nextToken} of the previous page; omit for a full
+     *              download.
+     * @param limit maximum number of rows and of deleted IDs.
+     * @return a {@link ResponseEntity} containing the {@link SyncPageDTO} and
+     *         HTTP status {@code 200 (OK)}.
+     */
+    @Operation(summary = "Sync service orders", description = "Retrieves only the service orders changed since the given continuation token, plus the IDs deleted meanwhile")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid token or limit", content = @Content)
+    })
+    @GetMapping("/sync")
+    public ResponseEntity<SyncPageDTO<ServiceOrderDTO>> sync(
+            @Parameter(description = "Continuation token from the previous sync") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes") @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(syncService.syncServiceOrders(since, limit));
+    }
+
+    /**
+     * Streams the creations, status changes and reassignments of the orders
+     * assigned to the caller, and optionally to a team, as Server-Sent Events.
+     * <p>
+     * Delivery is best effort. Devices open the stream first and then call
+     * {@code /sync}; a {@code resync} event or a reconnection means events
+     * were missed and {@code /sync} must be called again.
+     * </p>
+     *
+     * @param team           optional team whose orders are also streamed.
+     * @param authentication the authenticated caller.
+     * @return the SSE emitter.
+     */
+    @Operation(summary = "Stream service order changes", description = "Streams creations, status changes and reassignments of the caller's and the team's orders as Server-Sent Events named 'service-order'")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated", content = @Content)
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @Parameter(description = "Team whose orders are also streamed") @RequestParam(required = false) String team,
+            Authentication authentication) {
+        if (authentication == null) {
+            throw new UnauthorizedException("Authentication is required to open the stream");
+        }
+        return pushHub.subscribe(authentication.getName(), team);
     }
 
     /**
@@ -302,4 +520,14 @@ public class ServiceOrderController {
     public ResponseEntity<String> check() {
         return ResponseEntity.ok("ServiceOrder API is up and running!");
     }
+
+    private static ServiceOrderDTO toDto(OpenServiceOrder order) {
+        ServiceOrderDTO dto = new ServiceOrderDTO();
+        dto.setId(order.id());
+        dto.setTargetId(order.targetId());
+        dto.setStatus(order.status());
+        dto.setType(order.type());
+        dto.setCreatedAt(order.createdAt());
+        return dto;
+    }
 }
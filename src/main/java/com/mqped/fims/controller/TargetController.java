@@ -1,10 +1,15 @@
 package com.mqped.fims.controller;
 
+import com.mqped.fims.model.dto.SearchPageDTO;
+import com.mqped.fims.model.dto.SyncPageDTO;
 import com.mqped.fims.model.dto.TargetDTO;
+import com.mqped.fims.model.entity.ContractAccount;
 import com.mqped.fims.model.entity.Target;
 import com.mqped.fims.model.enums.TargetType;
+import com.mqped.fims.service.SyncService;
 import com.mqped.fims.service.TargetService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * REST controller responsible for managing {@link Target} entities.
@@ -28,9 +34,13 @@ import java.util.List;
  * <ul>
  * <li><b>POST /api/targets</b> — Create a new target.</li>
  * <li><b>GET /api/targets</b> — Retrieve all targets.</li>
+ * <li><b>GET /api/targets?fields={fields}</b> — Retrieve only the
+ * requested fields of all targets.</li>
  * <li><b>GET /api/targets/{id}</b> — Retrieve a target by ID.</li>
  * <li><b>PUT /api/targets/{id}</b> — Update a target by ID.</li>
  * <li><b>DELETE /api/targets/{id}</b> — Delete a target by ID.</li>
+ * <li><b>GET /api/targets/search?filter={filter}&amp;sort={sort}</b> — Search
+ * targets with composable filters and keyset paging.</li>
  * <li><b>GET /api/targets/contract/{contractAccountId}</b> — Retrieve targets
  * by contract account.</li>
  * <li><b>GET /api/targets/client/{clientId}</b> — Retrieve targets by
@@ -52,6 +62,8 @@ import java.util.List;
  * distance less than max.</li>
  * <li><b>GET /api/targets/distance/between</b> — Retrieve targets with distance
  * between min and max.</li>
+ * <li><b>GET /api/targets/sync?since={token}</b> — Retrieve the targets changed
+ * since a previous sync.</li>
  * <li><b>GET /api/targets/check</b> — API health check.</li>
  * </ul>
  *
@@ -70,9 +82,11 @@ import java.util.List;
 public class TargetController {
 
     private final TargetService service;
+    private final SyncService syncService;
 
-    public TargetController(TargetService service) {
+    public TargetController(TargetService service, SyncService syncService) {
         this.service = service;
+        this.syncService = syncService;
     }
 
     /**
@@ -88,8 +102,7 @@ public class TargetController {
     })
     @PostMapping
     public ResponseEntity<TargetDTO> createTarget(@RequestBody Target target) {
-        Target savedTarget = service.add(target);
-        return new ResponseEntity<>(TargetDTO.fromEntity(savedTarget), HttpStatus.CREATED);
+        return new ResponseEntity<>(service.addAsDTO(target), HttpStatus.CREATED);
     }
 
     /**
@@ -101,12 +114,35 @@ public class TargetController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Targets retrieved successfully", content = @Content(schema = @Schema(implementation = TargetDTO.class)))
     })
+    @ConditionalGet({Target.class, ContractAccount.class})
     @GetMapping
     public ResponseEntity<List<TargetDTO>> getAllTargets() {
-        List<TargetDTO> dtos = service.findAll().stream()
-                .map(TargetDTO::fromEntity)
-                .toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findAllAsDTO());
+    }
+
+    /**
+     * Retrieves only the requested fields of all targets.
+     * <p>
+     * Unrequested fields are neither read from the database nor written to the
+     * response, and nested objects are only joined when one of their fields
+     * is requested.
+     * </p>
+     *
+     * @param fields the requested fields, separated by commas; nested fields
+     *               are addressed with dots.
+     * @return a {@link ResponseEntity} containing one object per row with the
+     *         requested fields and HTTP status {@code 200 (OK)}.
+     */
+    @Operation(summary = "Get selected fields of all targets", description = "Retrieves all targets with only the requested fields; the id is always included")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Fields retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Unknown field", content = @Content)
+    })
+    @ConditionalGet({Target.class, ContractAccount.class})
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllFields(
+            @Parameter(description = "Fields to return, e.g. signature,score,distanceFromBase") @RequestParam String fields) {
+        return ResponseEntity.ok(service.findAllFields(fields));
     }
 
     /**
@@ -120,10 +156,10 @@ public class TargetController {
             @ApiResponse(responseCode = "200", description = "Target retrieved successfully", content = @Content(schema = @Schema(implementation = TargetDTO.class))),
             @ApiResponse(responseCode = "404", description = "Target not found", content = @Content)
     })
+    @ConditionalGet(value = {Target.class, ContractAccount.class}, id = "id")
     @GetMapping("/{id}")
     public ResponseEntity<TargetDTO> getTargetById(@PathVariable Integer id) {
-        Target target = service.findById(id);
-        return ResponseEntity.ok(TargetDTO.fromEntity(target));
+        return ResponseEntity.ok(service.findByIdAsDTO(id));
     }
 
     /**
@@ -136,21 +172,23 @@ public class TargetController {
     @Operation(summary = "Update target", description = "Updates an existing target by ID")
     @PutMapping("/{id}")
     public ResponseEntity<TargetDTO> updateTarget(@PathVariable Integer id, @RequestBody Target target) {
-        Target updated = service.update(id, target);
-        return ResponseEntity.ok(TargetDTO.fromEntity(updated));
+        return ResponseEntity.ok(service.updateAsDTO(id, target));
     }
 
     /**
-     * Deletes a target by its ID.
+     * Deletes a target by its ID, with its service orders.
      *
      * @param id target ID.
-     * @return HTTP 204 (No Content).
+     * @return HTTP 204 (No Content), or 202 (Accepted) if a large subtree is
+     *         being deleted in the background.
      */
     @Operation(summary = "Delete target", description = "Deletes a target by ID")
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTarget(@PathVariable Integer id) {
-        service.deleteById(id);
-        return ResponseEntity.noContent().build();
+        if (service.deleteByIdAsync(id).isDone()) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.accepted().build();
     }
 
     /**
@@ -158,13 +196,13 @@ public class TargetController {
      *
      * @param contractAccountId the contract account ID.
      * @return list of {@link TargetDTO}.
+     * @deprecated use {@code GET /api/targets/search?filter=contractAccountId:eq:{id}}.
      */
-    @Operation(summary = "Get targets by contract account", description = "Retrieves targets filtered by contract account ID")
+    @Deprecated
+    @Operation(summary = "Get targets by contract account", description = "Retrieves targets filtered by contract account ID", deprecated = true)
     @GetMapping("/contract/{contractAccountId}")
     public ResponseEntity<List<TargetDTO>> getTargetsByContractAccount(@PathVariable Integer contractAccountId) {
-        List<TargetDTO> dtos = service.findByContractAccountId(contractAccountId)
-                .stream().map(TargetDTO::fromEntity).toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findByContractAccountId(contractAccountId));
     }
 
     /**
@@ -172,13 +210,13 @@ public class TargetController {
      *
      * @param clientId client ID.
      * @return list of {@link TargetDTO}.
+     * @deprecated use {@code GET /api/targets/search?filter=clientId:eq:{id}}.
      */
-    @Operation(summary = "Get targets by client", description = "Retrieves targets filtered by client ID")
+    @Deprecated
+    @Operation(summary = "Get targets by client", description = "Retrieves targets filtered by client ID", deprecated = true)
     @GetMapping("/client/{clientId}")
     public ResponseEntity<List<TargetDTO>> getTargetsByClient(@PathVariable Integer clientId) {
-        List<TargetDTO> dtos = service.findByClientId(clientId)
-                .stream().map(TargetDTO::fromEntity).toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findByClientId(clientId));
     }
 
     /**
@@ -186,13 +224,13 @@ public class TargetController {
      *
      * @param type {@link TargetType}.
      * @return list of {@link TargetDTO}.
+     * @deprecated use {@code GET /api/targets/search?filter=type:eq:{type}}.
      */
-    @Operation(summary = "Get targets by type", description = "Retrieves targets filtered by target type")
+    @Deprecated
+    @Operation(summary = "Get targets by type", description = "Retrieves targets filtered by target type", deprecated = true)
     @GetMapping("/type/{type}")
     public ResponseEntity<List<TargetDTO>> getTargetsByType(@PathVariable TargetType type) {
-        List<TargetDTO> dtos = service.findByType(type)
-                .stream().map(TargetDTO::fromEntity).toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findByType(type));
     }
 
     /**
@@ -200,13 +238,13 @@ public class TargetController {
      *
      * @param signature target signature.
      * @return list of {@link TargetDTO}.
+     * @deprecated use {@code GET /api/targets/search?filter=signature:eq:{signature}}.
      */
-    @Operation(summary = "Get targets by signature", description = "Retrieves targets with exact signature match")
+    @Deprecated
+    @Operation(summary = "Get targets by signature", description = "Retrieves targets with exact signature match", deprecated = true)
     @GetMapping("/signature/{signature}")
     public ResponseEntity<List<TargetDTO>> getTargetsBySignature(@PathVariable String signature) {
-        List<TargetDTO> dtos = service.findBySignature(signature)
-                .stream().map(TargetDTO::fromEntity).toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findBySignature(signature));
     }
 
     /**
@@ -214,13 +252,13 @@ public class TargetController {
      *
      * @param partial part of the signature string.
      * @return list of {@link TargetDTO}.
+     * @deprecated use {@code GET /api/targets/search?filter=signature:contains:{partial}}.
      */
-    @Operation(summary = "Get targets by partial signature", description = "Retrieves targets where signature contains a given substring")
+    @Deprecated
+    @Operation(summary = "Get targets by partial signature", description = "Retrieves targets where signature contains a given substring", deprecated = true)
     @GetMapping("/signature/contains/{partial}")
     public ResponseEntity<List<TargetDTO>> getTargetsBySignatureContaining(@PathVariable String partial) {
-        List<TargetDTO> dtos = service.findBySignatureContaining(partial)
-                .stream().map(TargetDTO::fromEntity).toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findBySignatureContaining(partial));
     }
 
     /**
@@ -228,13 +266,13 @@ public class TargetController {
      *
      * @param value minimum score value.
      * @return list of {@link TargetDTO}.
+     * @deprecated use {@code GET /api/targets/search?filter=score:gt:{value}}.
      */
-    @Operation(summary = "Get targets by score greater than", description = "Retrieves targets with score greater than the specified value")
+    @Deprecated
+    @Operation(summary = "Get targets by score greater than", description = "Retrieves targets with score greater than the specified value", deprecated = true)
     @GetMapping("/score/greater/{value}")
     public ResponseEntity<List<TargetDTO>> getTargetsByScoreGreater(@PathVariable Double value) {
-        List<TargetDTO> dtos = service.findByScoreGreater(value)
-                .stream().map(TargetDTO::fromEntity).toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findByScoreGreater(value));
     }
 
     /**
@@ -242,13 +280,13 @@ public class TargetController {
      *
      * @param value maximum score value.
      * @return list of {@link TargetDTO}.
+     * @deprecated use {@code GET /api/targets/search?filter=score:lt:{value}}.
      */
-    @Operation(summary = "Get targets by score less than", description = "Retrieves targets with score less than the specified value")
+    @Deprecated
+    @Operation(summary = "Get targets by score less than", description = "Retrieves targets with score less than the specified value", deprecated = true)
     @GetMapping("/score/less/{value}")
     public ResponseEntity<List<TargetDTO>> getTargetsByScoreLess(@PathVariable Double value) {
-        List<TargetDTO> dtos = service.findByScoreLess(value)
-                .stream().map(TargetDTO::fromEntity).toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findByScoreLess(value));
     }
 
     /**
@@ -257,15 +295,15 @@ public class TargetController {
      * @param min minimum score value.
      * @param max maximum score value.
      * @return list of {@link TargetDTO}.
+     * @deprecated use {@code GET /api/targets/search?filter=score:between:{min}|{max}}.
      */
-    @Operation(summary = "Get targets by score between", description = "Retrieves targets with score between two values")
+    @Deprecated
+    @Operation(summary = "Get targets by score between", description = "Retrieves targets with score between two values", deprecated = true)
     @GetMapping("/score/between")
     public ResponseEntity<List<TargetDTO>> getTargetsByScoreBetween(
             @RequestParam Double min,
             @RequestParam Double max) {
-        List<TargetDTO> dtos = service.findByScoreBetween(min, max)
-                .stream().map(TargetDTO::fromEntity).toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findByScoreBetween(min, max));
     }
 
     /**
@@ -273,13 +311,13 @@ public class TargetController {
      *
      * @param min minimum distance.
      * @return list of {@link TargetDTO}.
+     * @deprecated use {@code GET /api/targets/search?filter=distanceFromBase:gt:{min}}.
      */
-    @Operation(summary = "Get targets by distance greater than", description = "Retrieves targets with distance greater than the specified value")
+    @Deprecated
+    @Operation(summary = "Get targets by distance greater than", description = "Retrieves targets with distance greater than the specified value", deprecated = true)
     @GetMapping("/distance/greater/{min}")
     public ResponseEntity<List<TargetDTO>> getByDistanceGreater(@PathVariable Double min) {
-        List<TargetDTO> dtos = service.findByDistanceGreater(min)
-                .stream().map(TargetDTO::fromEntity).toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findByDistanceGreater(min));
     }
 
     /**
@@ -287,13 +325,13 @@ public class TargetController {
      *
      * @param max maximum distance.
      * @return list of {@link TargetDTO}.
+     * @deprecated use {@code GET /api/targets/search?filter=distanceFromBase:lt:{max}}.
      */
-    @Operation(summary = "Get targets by distance less than", description = "Retrieves targets with distance less than the specified value")
+    @Deprecated
+    @Operation(summary = "Get targets by distance less than", description = "Retrieves targets with distance less than the specified value", deprecated = true)
     @GetMapping("/distance/less/{max}")
     public ResponseEntity<List<TargetDTO>> getByDistanceLess(@PathVariable Double max) {
-        List<TargetDTO> dtos = service.findByDistanceLess(max)
-                .stream().map(TargetDTO::fromEntity).toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findByDistanceLess(max));
     }
 
     /**
@@ -302,15 +340,60 @@ public class TargetController {
      * @param min minimum distance.
      * @param max maximum distance.
      * @return list of {@link TargetDTO}.
+     * @deprecated use {@code GET /api/targets/search?filter=distanceFromBase:between:{min}|{max}}.
      */
-    @Operation(summary = "Get targets by distance between", description = "Retrieves targets with distance between two values")
+    @Deprecated
+    @Operation(summary = "Get targets by distance between", description = "Retrieves targets with distance between two values", deprecated = true)
     @GetMapping("/distance/between")
     public ResponseEntity<List<TargetDTO>> getByDistanceBetween(
             @RequestParam Double min,
             @RequestParam Double max) {
-        List<TargetDTO> dtos = service.findByDistanceBetween(min, max)
-                .stream().map(TargetDTO::fromEntity).toList();
-        return ResponseEntity.ok(dtos);
+        return ResponseEntity.ok(service.findByDistanceBetween(min, max));
+    }
+
+    /**
+     * Searches targets with composable filters and keyset paging.
+     *
+     * @param filter clauses separated by {@code ;}, each
+     *               {@code field:operator[:value]}.
+     * @param sort   sort keys separated by {@code ,}, {@code -} for descending.
+     * @param after  the {@code nextToken} of the previous page.
+     * @param limit  maximum number of targets.
+     * @return the {@link SearchPageDTO} with HTTP 200 (OK).
+     */
+    @Operation(summary = "Search targets", description = "Retrieves one page of the targets matching all filters, in the requested order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Targets retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter, sort, token or limit", content = @Content)
+    })
+    @ConditionalGet({Target.class, ContractAccount.class})
+    @GetMapping("/search")
+    public ResponseEntity<SearchPageDTO<TargetDTO>> search(
+            @Parameter(description = "Filters such as type:eq:MACHINE_LEARNING;active:eq:true;score:gt:0.8; fields: contractAccountId, clientId, type, signature, active, score, expectedCNR, expectedTicket, distanceFromBase, createdAt, updatedAt; operators: eq, ne, gt, gte, lt, lte, between, in, contains, null, notnull") @RequestParam(required = false) String filter,
+            @Parameter(description = "Sort keys such as -score,distanceFromBase") @RequestParam(required = false) String sort,
+            @Parameter(description = "Continuation token from the previous page") @RequestParam(required = false) String after,
+            @Parameter(description = "Maximum number of targets") @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(service.search(filter, sort, after, limit));
+    }
+
+    /**
+     * Retrieves the targets inserted, updated or deleted since a previous sync.
+     *
+     * @param since the {@code nextToken} of the previous page; omit for a full
+     *              download.
+     * @param limit maximum number of rows and of deleted IDs.
+     * @return the {@link SyncPageDTO} with HTTP 200 (OK).
+     */
+    @Operation(summary = "Sync targets", description = "Retrieves only the targets changed since the given continuation token, plus the IDs deleted meanwhile")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid token or limit", content = @Content)
+    })
+    @GetMapping("/sync")
+    public ResponseEntity<SyncPageDTO<TargetDTO>> sync(
+            @Parameter(description = "Continuation token from the previous sync") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum number of changes") @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(syncService.syncTargets(since, limit));
     }
 
     /**
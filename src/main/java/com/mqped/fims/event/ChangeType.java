@@ -0,0 +1,18 @@
+package com.mqped.fims.event;
+
+/**
+ * Kind of mutation described by an {@link EntityChangeEvent}.
+ *
+ * @since 1.0
+ */
+public enum ChangeType {
+
+    /** A new row was inserted. */
+    CREATED,
+
+    /** An existing row was modified. */
+    UPDATED,
+
+    /** A row was removed. */
+    DELETED
+}
@@ -0,0 +1,103 @@
+package com.mqped.fims.event;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Application event describing a single mutation of a domain entity.
+ * <p>
+ * Events are published by {@link HibernateEntityChangeBridge} for every
+ * insert, update and delete flushed by Hibernate, and by services that mutate
+ * rows through bulk statements (which bypass Hibernate's event system).
+ * </p>
+ *
+ * <h2>State maps</h2>
+ * <p>
+ * Both {@link #state()} and {@link #previousState()} are flat, immutable maps
+ * from property name to value. Associations are replaced by the identifier of
+ * the referenced entity and collections are omitted, so consumers never
+ * trigger lazy loading.
+ * </p>
+ * <ul>
+ * <li>{@link ChangeType#CREATED}: {@code state} holds the inserted values,
+ * {@code previousState} is empty.</li>
+ * <li>{@link ChangeType#UPDATED}: {@code state} holds the new values,
+ * {@code previousState} the values loaded from the database (empty when
+ * Hibernate did not have them).</li>
+ * <li>{@link ChangeType#DELETED}: {@code state} is empty, {@code previousState}
+ * holds the deleted values.</li>
+ * </ul>
+ * <p>
+ * This symmetry lets counters apply "remove previous, add current" without
+ * looking at the change type.
+ * </p>
+ *
+ * @param entityType    the mapped entity class
+ * @param entityId      the entity identifier
+ * @param changeType    the kind of mutation
+ * @param state         the values after the mutation
+ * @param previousState the values before the mutation
+ * @param occurredAt    when the mutation was flushed
+ * @since 1.0
+ */
+public record EntityChangeEvent(
+        Class<?> entityType,
+        Object entityId,
+        ChangeType changeType,
+        Map<String, Object> state,
+        Map<String, Object> previousState,
+        Instant occurredAt) {
+
+    /**
+     * Returns whether this event concerns the given entity class.
+     *
+     * @param type the entity class
+     * @return {@code true} if the event was raised for {@code type}
+     */
+    public boolean isFor(Class<?> type) {
+        return entityType == type;
+    }
+
+    /**
+     * @param property the property name
+     * @return the value after the mutation, or {@code null}
+     */
+    public Object value(String property) {
+        return state.get(property);
+    }
+
+    /**
+     * @param property the property name
+     * @return the value before the mutation, or {@code null}
+     */
+    public Object previousValue(String property) {
+        return previousState.get(property);
+    }
+
+    /** @return {@code true} if the event carries values after the mutation. */
+    public boolean hasState() {
+        return !state.isEmpty();
+    }
+
+    /** @return {@code true} if the event carries values before the mutation. */
+    public boolean hasPreviousState() {
+        return !previousState.isEmpty();
+    }
+
+    /**
+     * Returns whether a property changed in this mutation.
+     * <p>
+     * Creations and deletions report every property as changed.
+     * </p>
+     *
+     * @param property the property name
+     * @return {@code true} if the value differs between both states
+     */
+    public boolean changed(String property) {
+        if (changeType != ChangeType.UPDATED || !hasPreviousState()) {
+            return true;
+        }
+        return !Objects.equals(state.get(property), previousState.get(property));
+    }
+}
@@ -0,0 +1,173 @@
+package com.mqped.fims.event;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.type.Type;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.entity.Client;
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.Installation;
+import com.mqped.fims.model.entity.ServiceOrder;
+import com.mqped.fims.model.entity.Target;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Bridges Hibernate's post-insert, post-update and post-delete events to
+ * Spring {@link EntityChangeEvent}s.
+ * <p>
+ * The listeners are appended to the session factory's
+ * {@link EventListenerRegistry} at startup, so every mutation flushed by
+ * Hibernate — whether it comes from a service, a loader or a cascade — is
+ * observed exactly once. Only the domain aggregates listed in
+ * {@link #TRACKED_TYPES} are published; security entities such as users and
+ * roles are deliberately excluded.
+ * </p>
+ *
+ * <p>
+ * Events are published synchronously while the session is flushing. Consumers
+ * that maintain in-memory projections should use
+ * {@code @TransactionalEventListener} so that they only observe committed
+ * changes, and must not use the Hibernate session from the listener.
+ * </p>
+ *
+ * @see EntityChangeEvent
+ * @since 1.0
+ */
+@Component
+public class HibernateEntityChangeBridge
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    /** Entity classes for which change events are published. */
+    static final Set<Class<?>> TRACKED_TYPES = Set.of(
+            Address.class,
+            Client.class,
+            Installation.class,
+            ContractAccount.class,
+            Target.class,
+            ServiceOrder.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher publisher;
+
+    public HibernateEntityChangeBridge(EntityManagerFactory entityManagerFactory,
+            ApplicationEventPublisher publisher) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.publisher = publisher;
+    }
+
+    /**
+     * Registers this bridge with Hibernate's event listener registry.
+     */
+    @PostConstruct
+    void register() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId(), ChangeType.CREATED,
+                event.getState(), null, event.getSession());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId(), ChangeType.UPDATED,
+                event.getState(), event.getOldState(), event.getSession());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId(), ChangeType.DELETED,
+                null, event.getDeletedState(), event.getSession());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void publish(EntityPersister persister, Object id, ChangeType changeType,
+            Object[] state, Object[] previousState, SharedSessionContractImplementor session) {
+        Class<?> entityType = persister.getMappedClass();
+        if (!TRACKED_TYPES.contains(entityType)) {
+            return;
+        }
+        publisher.publishEvent(new EntityChangeEvent(
+                entityType,
+                id,
+                changeType,
+                snapshot(persister, state, session),
+                snapshot(persister, previousState, session),
+                Instant.now()));
+    }
+
+    /**
+     * Returns the state of a loaded entity in the flat shape of
+     * {@link EntityChangeEvent#previousState()}, for services that delete rows
+     * with bulk statements and publish the events themselves.
+     *
+     * @param entity  a managed entity
+     * @param session the session the entity was loaded in
+     * @return the entity's values, associations replaced by identifiers
+     */
+    public static Map<String, Object> snapshotOf(Object entity, SharedSessionContractImplementor session) {
+        EntityPersister persister = session.getEntityPersister(null, entity);
+        return snapshot(persister, persister.getValues(entity), session);
+    }
+
+    private static Map<String, Object> snapshot(EntityPersister persister, Object[] values,
+            SharedSessionContractImplementor session) {
+        if (values == null) {
+            return Map.of();
+        }
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        Map<String, Object> snapshot = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            Type type = types[i];
+            if (type.isCollectionType()) {
+                continue;
+            }
+            Object value = values[i];
+            if (value != null && type.isEntityType()) {
+                value = identifierOf(value, session);
+            }
+            snapshot.put(names[i], value);
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    private static Object identifierOf(Object entity, SharedSessionContractImplementor session) {
+        LazyInitializer lazyInitializer = HibernateProxy.extractLazyInitializer(entity);
+        if (lazyInitializer != null) {
+            return lazyInitializer.getIdentifier();
+        }
+        return session.getEntityPersister(null, entity).getIdentifier(entity, session);
+    }
+}
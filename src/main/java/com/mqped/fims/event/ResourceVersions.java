@@ -0,0 +1,225 @@
+package com.mqped.fims.event;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mqped.fims.model.dto.ChangeEventDTO;
+import com.mqped.fims.service.OutboxService;
+
+/**
+ * Version counters of the domain aggregates, from which conditional GETs
+ * derive their ETags.
+ * <p>
+ * Every committed {@link EntityChangeEvent} takes the next value of a single
+ * clock and stamps it on the entity's type and on the entity itself. A
+ * version therefore only grows, and the maximum version of several types or
+ * entities changes whenever any of them does. Counting starts over at every
+ * startup, so ETags also carry the random {@link #epoch()} of this instance.
+ * </p>
+ *
+ * <h2>Entity versions</h2>
+ * <p>
+ * Entity stamps are kept in {@value #ENTITY_SLOTS} slots per type, indexed by
+ * the hash of the ID, so memory does not grow with the number of rows. Two
+ * entities sharing a slot see each other's changes, which costs a spurious
+ * {@code 200} but no stale data.
+ * </p>
+ *
+ * <h2>Several instances</h2>
+ * <p>
+ * Changes made through other instances are read from the change stream of
+ * {@link OutboxService}: every {@code conditional-get.poll-interval} the
+ * versions stamp the events sequenced since the last poll. On one instance a
+ * change invalidates its tags at commit; with several, a change made elsewhere
+ * does so once the relay has sequenced it and the next poll has read it, so
+ * another instance may answer {@code 304} for up to
+ * {@code outbox.relay-interval} plus the poll interval after the commit. If
+ * polls keep failing, {@link #isSynchronized()} turns false and conditional
+ * requests are answered in full until the stream is read again.
+ * </p>
+ *
+ * @see EntityChangeEvent
+ * @since 1.0
+ */
+@Component
+public class ResourceVersions implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceVersions.class);
+
+    /** Number of entity stamp slots per type; a power of two. */
+    static final int ENTITY_SLOTS = 4096;
+
+    /** Events read from the change stream per query. */
+    private static final int POLL_BATCH = 500;
+
+    /** Failed polls in a row after which the versions are out of sync. */
+    private static final int MISSED_POLLS = 3;
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<Class<?>, Versions> versions = new HashMap<>();
+    private final Map<String, Versions> versionsByName = new HashMap<>();
+    private final OutboxService outboxService;
+    private final long maxPollAgeNanos;
+
+    /** Last change stream position stamped; guarded by {@code this}. */
+    private long position = -1;
+
+    /** {@link System#nanoTime()} of the last successful poll. */
+    private volatile long lastPoll;
+    private volatile boolean polled;
+
+    /**
+     * Constructs a new {@code ResourceVersions}.
+     *
+     * @param outboxService the change stream of all instances
+     * @param pollInterval  how often the change stream is read
+     */
+    public ResourceVersions(OutboxService outboxService,
+            @Value("${conditional-get.poll-interval:PT1S}") Duration pollInterval) {
+        this.outboxService = outboxService;
+        this.maxPollAgeNanos = pollInterval.multipliedBy(MISSED_POLLS).toNanos();
+        for (Class<?> type : HibernateEntityChangeBridge.TRACKED_TYPES) {
+            Versions typeVersions = new Versions();
+            versions.put(type, typeVersions);
+            versionsByName.put(type.getSimpleName(), typeVersions);
+        }
+    }
+
+    /**
+     * Starts following the change stream at its head, before the web server
+     * hands out any tag.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        poll();
+    }
+
+    /**
+     * Stamps the changes sequenced in the change stream since the last poll,
+     * including those made through other instances.
+     */
+    @Scheduled(fixedDelayString = "${conditional-get.poll-interval:PT1S}")
+    public synchronized void poll() {
+        try {
+            if (position < 0) {
+                // Earlier changes predate every tag of this instance's epoch
+                position = outboxService.getHead();
+            } else {
+                List<ChangeEventDTO> batch;
+                do {
+                    batch = outboxService.findAfter(position, POLL_BATCH);
+                    for (ChangeEventDTO event : batch) {
+                        stamp(event);
+                        position = event.getPosition();
+                    }
+                } while (batch.size() == POLL_BATCH);
+            }
+            lastPoll = System.nanoTime();
+            polled = true;
+        } catch (DataAccessException e) {
+            logger.warn("Failed to read the change stream for resource versions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return whether the change stream was read recently enough for the
+     *         versions to reflect the changes of other instances
+     */
+    public boolean isSynchronized() {
+        return polled && System.nanoTime() - lastPoll <= maxPollAgeNanos;
+    }
+
+    /**
+     * Stamps a committed change on its type and entity.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        Versions typeVersions = versions.get(event.entityType());
+        if (typeVersions == null) {
+            return;
+        }
+        stamp(typeVersions, event.entityId());
+    }
+
+    private void stamp(ChangeEventDTO event) {
+        Versions typeVersions = versionsByName.get(event.getAggregateType());
+        if (typeVersions == null) {
+            return;
+        }
+        Object id;
+        try {
+            // Stream IDs are strings; tracked entities have Integer keys
+            id = Integer.valueOf(event.getAggregateId());
+        } catch (NumberFormatException e) {
+            id = event.getAggregateId();
+        }
+        stamp(typeVersions, id);
+    }
+
+    private void stamp(Versions typeVersions, Object id) {
+        long stamp = clock.incrementAndGet();
+        typeVersions.type.accumulateAndGet(stamp, Math::max);
+        typeVersions.entities.accumulateAndGet(slot(id), stamp, Math::max);
+    }
+
+    /** @return the random identifier of this instance's counters */
+    public String epoch() {
+        return epoch;
+    }
+
+    /**
+     * @param type a tracked entity class
+     * @return the stamp of the last change to any entity of the type, or
+     *         {@code 0} if none since startup
+     * @throws IllegalArgumentException if the type is not tracked
+     */
+    public long typeVersion(Class<?> type) {
+        return versionsOf(type).type.get();
+    }
+
+    /**
+     * @param type a tracked entity class
+     * @param id   the entity identifier
+     * @return the stamp of the last change to the entity, or to one sharing
+     *         its slot, or {@code 0} if none since startup
+     * @throws IllegalArgumentException if the type is not tracked
+     */
+    public long entityVersion(Class<?> type, Object id) {
+        return versionsOf(type).entities.get(slot(id));
+    }
+
+    private Versions versionsOf(Class<?> type) {
+        Versions typeVersions = versions.get(type);
+        if (typeVersions == null) {
+            throw new IllegalArgumentException("Untracked entity type " + type.getSimpleName());
+        }
+        return typeVersions;
+    }
+
+    private static int slot(Object id) {
+        return id.hashCode() & (ENTITY_SLOTS - 1);
+    }
+
+    /** The stamps of one entity type. */
+    private static final class Versions {
+        private final AtomicLong type = new AtomicLong();
+        private final AtomicLongArray entities = new AtomicLongArray(ENTITY_SLOTS);
+    }
+}
@@ -0,0 +1,35 @@
+package com.mqped.fims.event;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import com.mqped.fims.model.enums.ServiceOrderStatus;
+import com.mqped.fims.model.enums.ServiceOrderType;
+
+/**
+ * Application event published when an open service order crosses one of the
+ * configured SLA age thresholds.
+ * <p>
+ * Published by {@code ServiceOrderSlaMonitor} at most once per order and
+ * threshold.
+ * </p>
+ *
+ * @param serviceOrderId the service order id
+ * @param targetId       the target the order belongs to
+ * @param type           the service order type
+ * @param status         the status of the order when the breach was detected
+ * @param createdAt      when the order was created
+ * @param threshold      the threshold that was crossed
+ * @param detectedAt     when the breach was detected
+ * @since 1.0
+ */
+public record ServiceOrderSlaBreachEvent(
+        Integer serviceOrderId,
+        Integer targetId,
+        ServiceOrderType type,
+        ServiceOrderStatus status,
+        LocalDateTime createdAt,
+        Duration threshold,
+        Instant detectedAt) {
+}
@@ -0,0 +1,63 @@
+package com.mqped.fims.event;
+
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.util.Set;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.ServiceOrder;
+import com.mqped.fims.model.entity.Target;
+
+/**
+ * Records a {@link com.mqped.fims.model.entity.SyncTombstone} for every
+ * deletion of a synchronized entity.
+ * <p>
+ * Like the outbox writer, the listener runs inside the deleting transaction
+ * and inserts with {@link JdbcTemplate}, so the tombstone commits or rolls
+ * back with the deletion. Cascaded deletions (e.g. the service orders of a
+ * deleted target) are flushed individually by Hibernate and get their own
+ * tombstones.
+ * </p>
+ *
+ * @see com.mqped.fims.service.SyncService
+ * @since 1.0
+ */
+@Component
+public class SyncTombstoneWriter {
+
+    /** Entity classes served by incremental synchronization. */
+    static final Set<Class<?>> SYNCED_TYPES = Set.of(
+            Address.class,
+            ContractAccount.class,
+            Target.class,
+            ServiceOrder.class);
+
+    private static final String INSERT = "INSERT INTO sync_tombstones (entity_type, entity_id, deleted_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SyncTombstoneWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts a tombstone when a synchronized entity is deleted.
+     *
+     * @param event the change
+     */
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.changeType() != ChangeType.DELETED || !SYNCED_TYPES.contains(event.entityType())) {
+            return;
+        }
+        jdbcTemplate.update(INSERT,
+                event.entityType().getSimpleName(),
+                event.entityId(),
+                Timestamp.valueOf(event.occurredAt().atZone(ZoneId.systemDefault()).toLocalDateTime()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.mqped.fims.event.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.mqped.fims.model.dto.ChangeEventDTO;
+
+/**
+ * In-JVM {@link OutboxSink} acting as a minimal message broker.
+ * <p>
+ * Keeps every delivered event in memory and forwards it to subscribers
+ * registered with {@link #subscribe(Consumer)}. Meant for tests and local
+ * experiments; enable it with {@code outbox.sink.in-memory.enabled=true} or
+ * construct it directly.
+ * </p>
+ *
+ * @since 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink.in-memory.enabled", havingValue = "true")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<ChangeEventDTO> received = new CopyOnWriteArrayList<>();
+    private final List<Consumer<ChangeEventDTO>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String name() {
+        return "in-memory";
+    }
+
+    @Override
+    public void publish(List<ChangeEventDTO> events) {
+        received.addAll(events);
+        for (ChangeEventDTO event : events) {
+            for (Consumer<ChangeEventDTO> subscriber : subscribers) {
+                subscriber.accept(event);
+            }
+        }
+    }
+
+    /**
+     * Registers a callback invoked for every event delivered from now on.
+     *
+     * @param subscriber the callback
+     */
+    public void subscribe(Consumer<ChangeEventDTO> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /** @return a copy of every event delivered so far, in stream order */
+    public List<ChangeEventDTO> getReceived() {
+        return new ArrayList<>(received);
+    }
+
+    /** Forgets the events delivered so far. */
+    public void clear() {
+        received.clear();
+    }
+}
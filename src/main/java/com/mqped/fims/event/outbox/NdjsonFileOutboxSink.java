@@ -0,0 +1,67 @@
+package com.mqped.fims.event.outbox;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mqped.fims.model.dto.ChangeEventDTO;
+
+/**
+ * {@link OutboxSink} appending the change stream to a newline-delimited JSON
+ * file, one event per line.
+ * <p>
+ * Enabled by setting {@code outbox.sink.ndjson.path}. Each batch is written
+ * with a single append and forced to disk before the relay commits the
+ * offset. After a crash the last batch may appear twice; readers can skip
+ * lines whose {@code position} they have already seen.
+ * </p>
+ *
+ * @since 1.0
+ */
+@Component
+@ConditionalOnProperty("outbox.sink.ndjson.path")
+public class NdjsonFileOutboxSink implements OutboxSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public NdjsonFileOutboxSink(@Value("${outbox.sink.ndjson.path}") Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "ndjson";
+    }
+
+    @Override
+    public void publish(List<ChangeEventDTO> events) throws IOException {
+        StringBuilder lines = new StringBuilder(events.size() * 256);
+        for (ChangeEventDTO event : events) {
+            lines.append(objectMapper.writeValueAsString(event)).append('\n');
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
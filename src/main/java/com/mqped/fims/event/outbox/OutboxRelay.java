@@ -0,0 +1,107 @@
+package com.mqped.fims.event.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.mqped.fims.model.dto.ChangeEventDTO;
+import com.mqped.fims.service.OutboxService;
+
+/**
+ * Background relay turning outbox rows into a published change stream.
+ * <p>
+ * On every run it first sequences all committed rows (assigning stream
+ * positions in batches), then delivers the new part of the stream to each
+ * {@link OutboxSink}, starting after the sink's own offset. A sink that
+ * throws keeps its offset and is retried on the next run.
+ * </p>
+ *
+ * <p>
+ * Sequenced rows are purged once they are older than
+ * {@code outbox.retention} and every sink has delivered them. External
+ * consumers that fall further behind than the retention must resynchronize.
+ * </p>
+ *
+ * @see OutboxService
+ * @since 1.0
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxService outboxService;
+    private final List<OutboxSink> sinks;
+    private final int batchSize;
+    private final Duration retention;
+
+    public OutboxRelay(OutboxService outboxService, List<OutboxSink> sinks,
+            @Value("${outbox.batch-size:500}") int batchSize,
+            @Value("${outbox.retention:P7D}") Duration retention) {
+        this.outboxService = outboxService;
+        this.sinks = List.copyOf(sinks);
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    /**
+     * Sequences pending rows and delivers them to the sinks.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay-interval:PT1S}")
+    public void relay() {
+        int sequenced;
+        do {
+            sequenced = outboxService.sequencePending(batchSize);
+        } while (sequenced == batchSize);
+
+        for (OutboxSink sink : sinks) {
+            deliver(sink);
+        }
+    }
+
+    /**
+     * Delivers everything after the sink's offset, batch by batch.
+     *
+     * @param sink the sink
+     */
+    void deliver(OutboxSink sink) {
+        long offset = outboxService.getOffset(OutboxService.SINK_PREFIX + sink.name());
+        List<ChangeEventDTO> batch;
+        do {
+            batch = outboxService.findAfter(offset, batchSize);
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                sink.publish(batch);
+            } catch (Exception e) {
+                logger.warn("Outbox sink '{}' failed after position {}; retrying on next run", sink.name(), offset, e);
+                return;
+            }
+            offset = batch.get(batch.size() - 1).getPosition();
+            outboxService.commitSinkOffset(sink.name(), offset);
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * Deletes rows older than the retention period that every sink has
+     * delivered.
+     */
+    @Scheduled(cron = "${outbox.purge-cron:0 0 * * * *}")
+    public void purge() {
+        long upTo = outboxService.getHead();
+        for (OutboxSink sink : sinks) {
+            upTo = Math.min(upTo, outboxService.getOffset(OutboxService.SINK_PREFIX + sink.name()));
+        }
+        int deleted = outboxService.purge(LocalDateTime.now().minus(retention), upTo);
+        if (deleted > 0) {
+            logger.info("Purged {} outbox rows", deleted);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.mqped.fims.event.outbox;
+
+import java.util.List;
+
+import com.mqped.fims.model.dto.ChangeEventDTO;
+
+/**
+ * Destination the {@link OutboxRelay} pushes the change stream to.
+ * <p>
+ * Every Spring bean implementing this interface is picked up by the relay.
+ * Each sink has its own offset (stored as consumer {@code sink:<name>}), so
+ * a failing sink is retried from where it stopped without holding back the
+ * others. Delivery is at-least-once: a batch may be delivered again if the
+ * application stops between {@link #publish(List)} and the offset commit,
+ * so receivers should deduplicate by position.
+ * </p>
+ *
+ * @since 1.0
+ */
+public interface OutboxSink {
+
+    /**
+     * @return a short, stable name identifying this sink's offset
+     */
+    String name();
+
+    /**
+     * Delivers a batch of consecutive events.
+     *
+     * @param events the events, in stream order; never empty
+     * @throws Exception if the batch could not be delivered; the relay
+     *                   retries it on the next run
+     */
+    void publish(List<ChangeEventDTO> events) throws Exception;
+}
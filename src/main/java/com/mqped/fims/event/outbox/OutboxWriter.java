@@ -0,0 +1,73 @@
+package com.mqped.fims.event.outbox;
+
+import java.sql.Timestamp;
+import java.time.ZoneId;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mqped.fims.event.ChangeType;
+import com.mqped.fims.event.EntityChangeEvent;
+
+/**
+ * Writes every {@link EntityChangeEvent} to the transactional outbox.
+ * <p>
+ * The listener runs synchronously, inside the transaction that flushed the
+ * change, and inserts through {@link JdbcTemplate}, which joins that same
+ * transaction. The outbox row therefore commits or rolls back together with
+ * the change it describes. Plain JDBC is used because the event is raised
+ * while Hibernate is flushing, when the persistence context must not be
+ * modified.
+ * </p>
+ *
+ * <p>
+ * The payload is the JSON form of the event state (associations as
+ * identifiers); for deletions it is the state before the deletion.
+ * </p>
+ *
+ * @see com.mqped.fims.model.entity.OutboxEvent
+ * @since 1.0
+ */
+@Component
+public class OutboxWriter {
+
+    private static final String INSERT = "INSERT INTO outbox_events "
+            + "(aggregate_type, aggregate_id, change_type, payload, occurred_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Appends the change to the outbox in the current transaction.
+     *
+     * @param event the change
+     */
+    @EventListener
+    public void onEntityChange(EntityChangeEvent event) {
+        jdbcTemplate.update(INSERT,
+                event.entityType().getSimpleName(),
+                String.valueOf(event.entityId()),
+                event.changeType().name(),
+                payload(event),
+                Timestamp.valueOf(event.occurredAt().atZone(ZoneId.systemDefault()).toLocalDateTime()));
+    }
+
+    private String payload(EntityChangeEvent event) {
+        try {
+            return objectMapper.writeValueAsString(
+                    event.changeType() == ChangeType.DELETED ? event.previousState() : event.state());
+        } catch (JsonProcessingException e) {
+            // Failing here rolls back the change, which is preferable to losing it
+            throw new IllegalStateException("Cannot serialize " + event.entityType().getSimpleName()
+                    + " " + event.entityId() + " for the outbox", e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.mqped.fims.event.outbox;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.mqped.fims.model.dto.ChangeEventDTO;
+
+/**
+ * {@link OutboxSink} streaming the change stream to Server-Sent Events
+ * subscribers.
+ * <p>
+ * Each event is sent with its stream position as the SSE {@code id}, so a
+ * reconnecting client's {@code Last-Event-ID} tells where to resume. A new
+ * subscriber starts in replay mode: the controller sends it the stored events
+ * after its position while live events delivered by the relay are buffered,
+ * then {@link Subscription#finishReplay()} flushes the buffer, skipping what
+ * the replay already covered. Subscribers whose connection fails are dropped.
+ * </p>
+ *
+ * @since 1.0
+ */
+@Component
+public class SseOutboxSink implements OutboxSink {
+
+    /** SSE event name used for change events. */
+    static final String EVENT_NAME = "change";
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final long timeoutMillis;
+
+    public SseOutboxSink(@Value("${outbox.sse.timeout:PT30M}") Duration timeout) {
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    public String name() {
+        return "sse";
+    }
+
+    @Override
+    public void publish(List<ChangeEventDTO> events) {
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(events);
+        }
+    }
+
+    /**
+     * Registers a subscriber in replay mode.
+     *
+     * @param after the last position the subscriber has seen
+     * @return the subscription; the caller replays stored events into it and
+     *         then calls {@link Subscription#finishReplay()}
+     */
+    public Subscription subscribe(long after) {
+        Subscription subscription = new Subscription(new SseEmitter(timeoutMillis), after);
+        subscription.emitter.onCompletion(() -> subscriptions.remove(subscription));
+        subscription.emitter.onTimeout(() -> subscriptions.remove(subscription));
+        subscription.emitter.onError(e -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /** @return the number of connected subscribers */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * One SSE connection and its position in the stream.
+     */
+    public final class Subscription {
+
+        private final SseEmitter emitter;
+        private long lastSent;
+        private boolean replaying = true;
+        private final List<ChangeEventDTO> buffered = new ArrayList<>();
+
+        private Subscription(SseEmitter emitter, long after) {
+            this.emitter = emitter;
+            this.lastSent = after;
+        }
+
+        /** @return the emitter to return from the controller */
+        public SseEmitter getEmitter() {
+            return emitter;
+        }
+
+        /** @return the last position sent to the subscriber */
+        public synchronized long getLastSent() {
+            return lastSent;
+        }
+
+        /**
+         * Sends replayed events.
+         *
+         * @param events stored events, in stream order
+         */
+        public synchronized void replay(List<ChangeEventDTO> events) {
+            send(events);
+        }
+
+        /**
+         * Leaves replay mode, sending the live events buffered meanwhile.
+         */
+        public synchronized void finishReplay() {
+            replaying = false;
+            send(buffered);
+            buffered.clear();
+        }
+
+        /**
+         * Ends the connection; the client is expected to reconnect.
+         */
+        public synchronized void close() {
+            subscriptions.remove(this);
+            emitter.complete();
+        }
+
+        private synchronized void offer(List<ChangeEventDTO> events) {
+            if (replaying) {
+                buffered.addAll(events);
+            } else {
+                send(events);
+            }
+        }
+
+        private void send(List<ChangeEventDTO> events) {
+            try {
+                for (ChangeEventDTO event : events) {
+                    if (event.getPosition() <= lastSent) {
+                        continue;
+                    }
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.getPosition()))
+                            .name(EVENT_NAME)
+                            .data(event, MediaType.APPLICATION_JSON));
+                    lastSent = event.getPosition();
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscriptions.remove(this);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.mqped.fims.event.push;
+
+/**
+ * What the push hub does when a connection's buffer is full because the
+ * device reads slower than events arrive.
+ *
+ * @see ServiceOrderPushHub
+ * @since 1.0
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Discard the oldest buffered event and send a {@code resync} event before
+     * the next one, so the device catches up through the sync endpoint.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Close the connection; the device reconnects and catches up through the
+     * sync endpoint.
+     */
+    DISCONNECT
+}
@@ -0,0 +1,452 @@
+package com.mqped.fims.event.push;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.mqped.fims.event.ChangeType;
+import com.mqped.fims.event.EntityChangeEvent;
+import com.mqped.fims.model.dto.ServiceOrderPushDTO;
+import com.mqped.fims.model.entity.ServiceOrder;
+import com.mqped.fims.model.enums.ServiceOrderStatus;
+import com.mqped.fims.model.enums.ServiceOrderType;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes service order creations, status changes and reassignments to field
+ * devices over Server-Sent Events, replacing status polling.
+ * <p>
+ * Each connection belongs to an authenticated user and receives the orders
+ * assigned to that user, plus, optionally, those of one team. Connections are
+ * indexed by user and by team, so routing an event touches only the
+ * connections it concerns. An order moving away from a user or team is also
+ * sent to them, with the previous values, so the device can drop it.
+ * </p>
+ *
+ * <h2>Delivery</h2>
+ * <p>
+ * Events are routed after commit, on the committing thread, which only
+ * appends to each connection's bounded buffer. Writing to the socket happens
+ * on a virtual thread per busy connection, so a slow device never delays the
+ * request that changed the order or the other devices. When a buffer is full
+ * the configured {@link OverflowPolicy} applies. Delivery is best effort:
+ * devices subscribe first, then call {@code /api/service-orders/sync}, and
+ * sync again whenever they receive {@value #RESYNC_EVENT_NAME} or reconnect.
+ * </p>
+ *
+ * <p>
+ * Idle connections receive a comment every {@code push.heartbeat-interval},
+ * which keeps proxies from closing them and detects dead peers.
+ * </p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ * <li>{@code fims.push.connections} — gauge of open connections</li>
+ * <li>{@code fims.push.buffered} — gauge of events waiting in buffers</li>
+ * <li>{@code fims.push.events.sent} / {@code fims.push.events.dropped} —
+ * counters</li>
+ * <li>{@code fims.push.lag} — timer from commit to write</li>
+ * <li>{@code fims.push.disconnects{reason}} — counter</li>
+ * </ul>
+ *
+ * @see ServiceOrderPushDTO
+ * @since 1.0
+ */
+@Component
+public class ServiceOrderPushHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceOrderPushHub.class);
+
+    /** SSE event name of service order changes. */
+    static final String EVENT_NAME = "service-order";
+
+    /** SSE event name telling the device that events were dropped. */
+    static final String RESYNC_EVENT_NAME = "resync";
+
+    /** Buffer entry standing for a heartbeat comment. */
+    private static final Message HEARTBEAT = new Message(null, null);
+
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final ConcurrentMap<String, Set<Connection>> byUser = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<Connection>> byTeam = new ConcurrentHashMap<>();
+    private final AtomicLong connectionIds = new AtomicLong();
+
+    private final Executor sender;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int maxConnectionsPerUser;
+    private final long timeoutMillis;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter sentCounter;
+    private final Counter droppedCounter;
+    private final Timer lagTimer;
+
+    /**
+     * Constructs a new {@code ServiceOrderPushHub} writing on virtual threads.
+     *
+     * @param meterRegistry         registry for push metrics
+     * @param bufferSize            events buffered per connection
+     * @param overflowPolicy        what to do when a buffer is full
+     * @param maxConnectionsPerUser connections kept per user; the oldest is
+     *                              closed beyond that
+     * @param timeout               lifetime of a connection before the device
+     *                              has to reconnect
+     */
+    @Autowired
+    public ServiceOrderPushHub(MeterRegistry meterRegistry,
+            @Value("${push.buffer-size:256}") int bufferSize,
+            @Value("${push.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy,
+            @Value("${push.max-connections-per-user:3}") int maxConnectionsPerUser,
+            @Value("${push.connection-timeout:PT1H}") Duration timeout) {
+        this(meterRegistry, bufferSize, overflowPolicy, maxConnectionsPerUser, timeout,
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    ServiceOrderPushHub(MeterRegistry meterRegistry, int bufferSize, OverflowPolicy overflowPolicy,
+            int maxConnectionsPerUser, Duration timeout, Executor sender) {
+        if (bufferSize < 1 || maxConnectionsPerUser < 1) {
+            throw new IllegalArgumentException("Push buffer size and connections per user must be positive");
+        }
+        this.sender = sender;
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.timeoutMillis = timeout.toMillis();
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("fims.push.connections", connections, Set::size)
+                .description("Open service order push connections")
+                .register(meterRegistry);
+        Gauge.builder("fims.push.buffered", this, ServiceOrderPushHub::getBufferedCount)
+                .description("Events waiting in push connection buffers")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("fims.push.events.sent")
+                .description("Service order events written to push connections")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("fims.push.events.dropped")
+                .description("Service order events dropped from full push buffers")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("fims.push.lag")
+                .description("Time from commit to write on the push connection")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a push connection.
+     *
+     * @param username the authenticated user; receives the orders assigned to
+     *                 them
+     * @param team     optional team whose orders are also received
+     * @return the emitter to return from the controller
+     */
+    public SseEmitter subscribe(String username, String team) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Connection connection = register(username, team, emitter);
+        emitter.onCompletion(() -> connection.close("completed"));
+        emitter.onTimeout(() -> connection.close("timeout"));
+        emitter.onError(e -> connection.close("error"));
+        return emitter;
+    }
+
+    /**
+     * Registers a connection, closing the user's oldest one if they exceed
+     * {@code push.max-connections-per-user}.
+     */
+    Connection register(String username, String team, SseEmitter emitter) {
+        Objects.requireNonNull(username, "username");
+        String normalizedTeam = team == null || team.isBlank() ? null : team.trim();
+        Connection connection = new Connection(connectionIds.incrementAndGet(), username, normalizedTeam, emitter);
+        connections.add(connection);
+        Set<Connection> own = byUser.computeIfAbsent(username, u -> ConcurrentHashMap.newKeySet());
+        own.add(connection);
+        if (normalizedTeam != null) {
+            byTeam.computeIfAbsent(normalizedTeam, t -> ConcurrentHashMap.newKeySet()).add(connection);
+        }
+        while (own.size() > maxConnectionsPerUser) {
+            own.stream().min(Comparator.comparingLong(c -> c.id)).ifPresent(c -> c.close("replaced"));
+        }
+        return connection;
+    }
+
+    /**
+     * Routes committed service order changes to the connections concerned.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        ServiceOrderPushDTO push = toPush(event);
+        if (push == null) {
+            return;
+        }
+        Set<Connection> targets = Collections.newSetFromMap(new IdentityHashMap<>());
+        collect(targets, byUser, push.getAssignee());
+        collect(targets, byUser, push.getPreviousAssignee());
+        collect(targets, byTeam, push.getTeam());
+        collect(targets, byTeam, push.getPreviousTeam());
+        if (targets.isEmpty()) {
+            return;
+        }
+        Message message = new Message(push, event.occurredAt());
+        for (Connection connection : targets) {
+            connection.offer(message);
+        }
+    }
+
+    /**
+     * Queues a heartbeat on every idle connection.
+     */
+    @Scheduled(fixedDelayString = "${push.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Connection connection : connections) {
+            connection.heartbeat();
+        }
+    }
+
+    /** @return the number of open connections */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /** @return the number of events waiting in connection buffers */
+    public long getBufferedCount() {
+        long buffered = 0;
+        for (Connection connection : connections) {
+            buffered += connection.buffered();
+        }
+        return buffered;
+    }
+
+    /**
+     * Closes every connection and stops the writer threads.
+     */
+    @PreDestroy
+    void shutdown() {
+        for (Connection connection : connections) {
+            connection.close("shutdown");
+        }
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Turns a change into a push message.
+     *
+     * @return the message, or {@code null} if the change is not a service
+     *         order creation, status change or reassignment
+     */
+    static ServiceOrderPushDTO toPush(EntityChangeEvent event) {
+        if (!event.isFor(ServiceOrder.class) || !(event.entityId() instanceof Integer id)) {
+            return null;
+        }
+        ServiceOrderPushDTO.Kind kind;
+        if (event.changeType() == ChangeType.CREATED) {
+            kind = ServiceOrderPushDTO.Kind.CREATED;
+        } else if (event.changeType() != ChangeType.UPDATED) {
+            return null;
+        } else if (event.changed("status")) {
+            kind = ServiceOrderPushDTO.Kind.STATUS_CHANGED;
+        } else if (event.changed("assignee") || event.changed("team")) {
+            kind = ServiceOrderPushDTO.Kind.ASSIGNED;
+        } else {
+            return null;
+        }
+
+        ServiceOrderPushDTO push = new ServiceOrderPushDTO();
+        push.setKind(kind);
+        push.setId(id);
+        push.setTargetId((Integer) event.value("target"));
+        push.setType((ServiceOrderType) event.value("type"));
+        push.setStatus((ServiceOrderStatus) event.value("status"));
+        push.setAssignee((String) event.value("assignee"));
+        push.setTeam((String) event.value("team"));
+        if (kind != ServiceOrderPushDTO.Kind.CREATED) {
+            push.setPreviousStatus((ServiceOrderStatus) event.previousValue("status"));
+            push.setPreviousAssignee((String) event.previousValue("assignee"));
+            push.setPreviousTeam((String) event.previousValue("team"));
+        }
+        push.setOccurredAt(LocalDateTime.ofInstant(event.occurredAt(), ZoneId.systemDefault()));
+        return push;
+    }
+
+    private static void collect(Set<Connection> targets, Map<String, Set<Connection>> index, String key) {
+        if (key != null) {
+            Set<Connection> matches = index.get(key);
+            if (matches != null) {
+                targets.addAll(matches);
+            }
+        }
+    }
+
+    private void unregister(Connection connection) {
+        connections.remove(connection);
+        removeFrom(byUser, connection.username, connection);
+        if (connection.team != null) {
+            removeFrom(byTeam, connection.team, connection);
+        }
+    }
+
+    private static void removeFrom(ConcurrentMap<String, Set<Connection>> index, String key, Connection connection) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(connection);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    /**
+     * Buffered event and the time it was committed.
+     *
+     * @param push       the payload
+     * @param occurredAt when the change was made, for the lag metric
+     */
+    record Message(ServiceOrderPushDTO push, Instant occurredAt) {
+    }
+
+    /**
+     * One device connection with its bounded buffer.
+     * <p>
+     * At most one writer task runs per connection: {@link #offer(Message)}
+     * schedules one when the buffer goes from idle to busy, and the task
+     * drains the buffer until it is empty.
+     * </p>
+     */
+    final class Connection {
+
+        private final long id;
+        private final String username;
+        private final String team;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Message> buffer = new ArrayDeque<>();
+        private boolean draining;
+        private boolean resyncPending;
+        private boolean closed;
+
+        private Connection(long id, String username, String team, SseEmitter emitter) {
+            this.id = id;
+            this.username = username;
+            this.team = team;
+            this.emitter = emitter;
+        }
+
+        void offer(Message message) {
+            boolean overflow = false;
+            boolean schedule;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (buffer.size() >= bufferSize) {
+                    if (overflowPolicy == OverflowPolicy.DISCONNECT) {
+                        overflow = true;
+                    } else {
+                        buffer.pollFirst();
+                        droppedCounter.increment();
+                        resyncPending = true;
+                    }
+                }
+                if (!overflow) {
+                    buffer.addLast(message);
+                }
+                schedule = !overflow && !draining;
+                draining |= schedule;
+            }
+            if (overflow) {
+                droppedCounter.increment();
+                close("slow-consumer");
+            } else if (schedule) {
+                sender.execute(this::drain);
+            }
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                if (closed || draining || !buffer.isEmpty()) {
+                    return;
+                }
+                buffer.addLast(HEARTBEAT);
+                draining = true;
+            }
+            sender.execute(this::drain);
+        }
+
+        synchronized int buffered() {
+            return buffer.size();
+        }
+
+        private void drain() {
+            while (true) {
+                Message next;
+                boolean resync;
+                synchronized (this) {
+                    next = closed ? null : buffer.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                    resync = resyncPending;
+                    resyncPending = false;
+                }
+                try {
+                    if (resync) {
+                        emitter.send(SseEmitter.event().name(RESYNC_EVENT_NAME).data("Events were dropped"));
+                    }
+                    if (next == HEARTBEAT) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event().name(EVENT_NAME).data(next.push(), MediaType.APPLICATION_JSON));
+                        sentCounter.increment();
+                        lagTimer.record(Duration.between(next.occurredAt(), Instant.now()));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    logger.debug("Push connection {} of {} failed: {}", id, username, e.getMessage());
+                    close("error");
+                }
+            }
+        }
+
+        void close(String reason) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                buffer.clear();
+            }
+            unregister(this);
+            meterRegistry.counter("fims.push.disconnects", "reason", reason).increment();
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.mqped.fims.exceptions;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Names of the foreign keys that writes rely on, and recognition of their
+ * violations.
+ * <p>
+ * Services do not check that referenced rows exist before writing: the insert
+ * or update itself fails on the foreign key, inside the same transaction, and
+ * the service translates the violation into a
+ * {@link ResourceNotFoundException}. That saves a round trip per reference and
+ * closes the window in which the referenced row could be deleted between the
+ * check and the write.
+ * </p>
+ *
+ * <p>
+ * The constraints are named in the entity mappings. Schemas created before
+ * they were named keep Hibernate's generated names, so a violation is also
+ * recognized by the referencing column the database reports.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class ForeignKeyViolations {
+
+    /** {@code contract_accounts.client_id} → {@code clients}. */
+    public static final String CONTRACT_ACCOUNT_CLIENT = "fk_contract_accounts_client";
+
+    /** {@code contract_accounts.installation_id} → {@code installations}. */
+    public static final String CONTRACT_ACCOUNT_INSTALLATION = "fk_contract_accounts_installation";
+
+    /** {@code installations.address_id} → {@code addresses}. */
+    public static final String INSTALLATION_ADDRESS = "fk_installations_address";
+
+    /** {@code targets.contract_account_id} → {@code contract_accounts}. */
+    public static final String TARGET_CONTRACT_ACCOUNT = "fk_targets_contract_account";
+
+    /** {@code service_orders.target_id} → {@code targets}. */
+    public static final String SERVICE_ORDER_TARGET = "fk_service_orders_target";
+
+    private static final Map<String, String> COLUMNS = Map.of(
+            CONTRACT_ACCOUNT_CLIENT, "client_id",
+            CONTRACT_ACCOUNT_INSTALLATION, "installation_id",
+            INSTALLATION_ADDRESS, "address_id",
+            TARGET_CONTRACT_ACCOUNT, "contract_account_id",
+            SERVICE_ORDER_TARGET, "target_id");
+
+    /**
+     * SQLSTATEs of a missing referenced row, or of a deleted row that is
+     * still referenced (PostgreSQL, H2).
+     */
+    private static final Set<String> FOREIGN_KEY_STATES = Set.of("23503", "23506");
+
+    private ForeignKeyViolations() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Returns whether a write failed because it referenced a row missing
+     * from the table a foreign key points to, or deleted a row the foreign key
+     * still references.
+     *
+     * @param e          the exception thrown by the write
+     * @param constraint one of the constraint names of this class
+     * @return {@code true} if {@code constraint} was violated
+     */
+    public static boolean violates(DataIntegrityViolationException e, String constraint) {
+        String constraintName = null;
+        SQLException sqlException = null;
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof org.hibernate.exception.ConstraintViolationException violation) {
+                constraintName = violation.getConstraintName();
+            } else if (cause instanceof SQLException sql) {
+                sqlException = sql;
+            }
+        }
+        if (sqlException == null || !FOREIGN_KEY_STATES.contains(sqlException.getSQLState())) {
+            return false;
+        }
+        String text = (constraintName + " " + sqlException.getMessage()).toLowerCase(Locale.ROOT);
+        // PostgreSQL reports "Key (client_id)=(…)", H2 "FOREIGN KEY(CLIENT_ID)"
+        return text.contains(constraint) || text.contains("(" + COLUMNS.get(constraint) + ")");
+    }
+}
@@ -0,0 +1,118 @@
+package com.mqped.fims.model.dto;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.mqped.fims.event.ChangeType;
+import com.mqped.fims.model.entity.OutboxEvent;
+
+/**
+ * Data Transfer Object (DTO) representing one entry of the change stream.
+ * <p>
+ * {@link #getPosition()} orders the stream: it is strictly increasing, and
+ * changes of the same aggregate appear in the order they were committed.
+ * Consumers store the last position they processed and ask for what comes
+ * after it. The {@code payload} is the JSON object stored in the outbox,
+ * embedded as-is.
+ * </p>
+ *
+ * @see com.mqped.fims.model.entity.OutboxEvent
+ */
+public class ChangeEventDTO {
+
+    /** Position in the change stream. */
+    private Long position;
+
+    /** Simple name of the changed entity class. */
+    private String aggregateType;
+
+    /** Identifier of the changed entity. */
+    private String aggregateId;
+
+    /** Kind of mutation. */
+    private ChangeType changeType;
+
+    /** When the change was flushed. */
+    private LocalDateTime occurredAt;
+
+    /** Entity values after the change (before it, for deletions), as JSON. */
+    @JsonRawValue
+    private String payload;
+
+    /**
+     * Converts an {@link OutboxEvent} into a {@code ChangeEventDTO}.
+     *
+     * @param event the sequenced outbox row
+     * @return the DTO
+     */
+    public static ChangeEventDTO fromEntity(OutboxEvent event) {
+        ChangeEventDTO dto = new ChangeEventDTO();
+        dto.setPosition(event.getPosition());
+        dto.setAggregateType(event.getAggregateType());
+        dto.setAggregateId(event.getAggregateId());
+        dto.setChangeType(event.getChangeType());
+        dto.setOccurredAt(event.getOccurredAt());
+        dto.setPayload(event.getPayload());
+        return dto;
+    }
+
+    /** @return the stream position */
+    public Long getPosition() {
+        return position;
+    }
+
+    /** @param position the stream position */
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+
+    /** @return the aggregate type */
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    /** @param aggregateType the aggregate type */
+    public void setAggregateType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    /** @return the aggregate identifier */
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    /** @param aggregateId the aggregate identifier */
+    public void setAggregateId(String aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    /** @return the kind of mutation */
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    /** @param changeType the kind of mutation */
+    public void setChangeType(ChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    /** @return when the change was flushed */
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    /** @param occurredAt when the change was flushed */
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    /** @return the JSON payload */
+    public String getPayload() {
+        return payload;
+    }
+
+    /** @param payload the JSON payload */
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+}
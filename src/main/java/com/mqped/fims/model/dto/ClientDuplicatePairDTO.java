@@ -0,0 +1,106 @@
+package com.mqped.fims.model.dto;
+
+/**
+ * Data Transfer Object (DTO) describing two clients that are likely the same
+ * person.
+ * <p>
+ * {@link #getClientId()} is always the lower of the two IDs. The
+ * {@code score} combines the Jaro-Winkler similarity of the names and, when
+ * both are known, of the mothers' names.
+ * </p>
+ *
+ * @see ClientDuplicateReportDTO
+ */
+public class ClientDuplicatePairDTO {
+
+    /** Identifier of the first client (the lower ID). */
+    private Integer clientId;
+
+    /** Name of the first client. */
+    private String name;
+
+    /** Identifier of the second client. */
+    private Integer otherClientId;
+
+    /** Name of the second client. */
+    private String otherName;
+
+    /** Similarity score, from 0.0 to 1.0. */
+    private double score;
+
+    /** Whether both clients have the same CPF or CNPJ. */
+    private boolean sameTaxId;
+
+    public ClientDuplicatePairDTO() {
+    }
+
+    public ClientDuplicatePairDTO(Integer clientId, String name, Integer otherClientId, String otherName,
+            double score, boolean sameTaxId) {
+        this.clientId = clientId;
+        this.name = name;
+        this.otherClientId = otherClientId;
+        this.otherName = otherName;
+        this.score = score;
+        this.sameTaxId = sameTaxId;
+    }
+
+    /** @return the ID of the first client */
+    public Integer getClientId() {
+        return clientId;
+    }
+
+    /** @param clientId the ID of the first client */
+    public void setClientId(Integer clientId) {
+        this.clientId = clientId;
+    }
+
+    /** @return the name of the first client */
+    public String getName() {
+        return name;
+    }
+
+    /** @param name the name of the first client */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /** @return the ID of the second client */
+    public Integer getOtherClientId() {
+        return otherClientId;
+    }
+
+    /** @param otherClientId the ID of the second client */
+    public void setOtherClientId(Integer otherClientId) {
+        this.otherClientId = otherClientId;
+    }
+
+    /** @return the name of the second client */
+    public String getOtherName() {
+        return otherName;
+    }
+
+    /** @param otherName the name of the second client */
+    public void setOtherName(String otherName) {
+        this.otherName = otherName;
+    }
+
+    /** @return the similarity score */
+    public double getScore() {
+        return score;
+    }
+
+    /** @param score the similarity score */
+    public void setScore(double score) {
+        this.score = score;
+    }
+
+    /** @return {@code true} if both clients share a CPF or CNPJ */
+    public boolean isSameTaxId() {
+        return sameTaxId;
+    }
+
+    /** @param sameTaxId whether both clients share a CPF or CNPJ */
+    public void setSameTaxId(boolean sameTaxId) {
+        this.sameTaxId = sameTaxId;
+    }
+}
@@ -0,0 +1,141 @@
+package com.mqped.fims.model.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) holding the result of a client deduplication
+ * scan.
+ * <p>
+ * Besides the candidate pairs, the report tells how much work the scan did:
+ * clients are only compared with others in the same block (same phonetic
+ * name codes and birth year), and blocks larger than the configured limit
+ * are skipped because their keys are too common to be selective.
+ * </p>
+ *
+ * <h2>Usage Example</h2>
+ *
+ * <pre>{@code
+ * ClientDuplicateReportDTO report = clientDedupService.getReport(0.92, false, 100);
+ * report.getPairs().forEach(p -> log.info("{} ~ {}", p.getName(), p.getOtherName()));
+ * }</pre>
+ */
+public class ClientDuplicateReportDTO {
+
+    /** Date and time when the scan finished. */
+    private LocalDateTime generatedAt;
+
+    /** Minimum score for a pair to be reported. */
+    private double threshold;
+
+    /** Number of clients read. */
+    private long clientsScanned;
+
+    /** Number of blocks holding at least two clients. */
+    private long blocks;
+
+    /** Number of blocks skipped for exceeding the size limit. */
+    private long oversizedBlocks;
+
+    /** Number of pairs scored. */
+    private long comparisons;
+
+    /** Scan duration in milliseconds. */
+    private long durationMs;
+
+    /** Total number of pairs at or above the threshold. */
+    private long totalPairs;
+
+    /** Highest-scoring pairs, best first, up to the requested limit. */
+    private List<ClientDuplicatePairDTO> pairs;
+
+    /** @return when the scan finished */
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    /** @param generatedAt when the scan finished */
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    /** @return the minimum reported score */
+    public double getThreshold() {
+        return threshold;
+    }
+
+    /** @param threshold the minimum reported score */
+    public void setThreshold(double threshold) {
+        this.threshold = threshold;
+    }
+
+    /** @return the number of clients read */
+    public long getClientsScanned() {
+        return clientsScanned;
+    }
+
+    /** @param clientsScanned the number of clients read */
+    public void setClientsScanned(long clientsScanned) {
+        this.clientsScanned = clientsScanned;
+    }
+
+    /** @return the number of blocks compared */
+    public long getBlocks() {
+        return blocks;
+    }
+
+    /** @param blocks the number of blocks compared */
+    public void setBlocks(long blocks) {
+        this.blocks = blocks;
+    }
+
+    /** @return the number of skipped blocks */
+    public long getOversizedBlocks() {
+        return oversizedBlocks;
+    }
+
+    /** @param oversizedBlocks the number of skipped blocks */
+    public void setOversizedBlocks(long oversizedBlocks) {
+        this.oversizedBlocks = oversizedBlocks;
+    }
+
+    /** @return the number of pairs scored */
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    /** @param comparisons the number of pairs scored */
+    public void setComparisons(long comparisons) {
+        this.comparisons = comparisons;
+    }
+
+    /** @return the scan duration in milliseconds */
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    /** @param durationMs the scan duration in milliseconds */
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    /** @return the total number of pairs found */
+    public long getTotalPairs() {
+        return totalPairs;
+    }
+
+    /** @param totalPairs the total number of pairs found */
+    public void setTotalPairs(long totalPairs) {
+        this.totalPairs = totalPairs;
+    }
+
+    /** @return the reported pairs, best first */
+    public List<ClientDuplicatePairDTO> getPairs() {
+        return pairs;
+    }
+
+    /** @param pairs the reported pairs */
+    public void setPairs(List<ClientDuplicatePairDTO> pairs) {
+        this.pairs = pairs;
+    }
+}
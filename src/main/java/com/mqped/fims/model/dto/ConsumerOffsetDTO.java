@@ -0,0 +1,44 @@
+package com.mqped.fims.model.dto;
+
+/**
+ * Data Transfer Object (DTO) carrying a change-stream consumer's offset: the
+ * last position it has processed.
+ *
+ * @see ChangeEventDTO
+ */
+public class ConsumerOffsetDTO {
+
+    /** Consumer name. */
+    private String consumer;
+
+    /** Last processed position; {@code 0} if none. */
+    private long position;
+
+    public ConsumerOffsetDTO() {
+    }
+
+    public ConsumerOffsetDTO(String consumer, long position) {
+        this.consumer = consumer;
+        this.position = position;
+    }
+
+    /** @return the consumer name */
+    public String getConsumer() {
+        return consumer;
+    }
+
+    /** @param consumer the consumer name */
+    public void setConsumer(String consumer) {
+        this.consumer = consumer;
+    }
+
+    /** @return the last processed position */
+    public long getPosition() {
+        return position;
+    }
+
+    /** @param position the last processed position */
+    public void setPosition(long position) {
+        this.position = position;
+    }
+}
@@ -182,25 +182,10 @@ public class ContractAccountDTO {
      * @return a {@link ContractAccountDTO} populated with data from the entity
      */
     public static ContractAccountDTO fromEntity(ContractAccount contractAccount) {
-        ContractAccountDTO dto = new ContractAccountDTO();
-        dto.setId(contractAccount.getId());
-        dto.setAccountNumber(contractAccount.getAccountNumber());
-        dto.setCreatedAt(contractAccount.getCreatedAt());
-        dto.setDeletedAt(contractAccount.getDeletedAt());
-        dto.setStatus(contractAccount.getStatus());
-        dto.setStatusStart(contractAccount.getStatusStart());
-        dto.setStatusEnd(contractAccount.getStatusEnd());
-
-        if (contractAccount.getClient() != null) {
-            dto.setClientId(contractAccount.getClient().getId());
-            dto.setClientName(contractAccount.getClient().getName());
-        }
-
+        ContractAccountDTO dto = fromEntityWithoutInstallation(contractAccount);
         if (contractAccount.getInstallation() != null) {
-            dto.setInstallationId(contractAccount.getInstallation().getId());
             dto.setInstallation(InstallationDTO.fromEntity(contractAccount.getInstallation()));
         }
-
         return dto;
     }
 
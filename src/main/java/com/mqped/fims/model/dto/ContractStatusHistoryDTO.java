@@ -0,0 +1,130 @@
+package com.mqped.fims.model.dto;
+
+import java.time.LocalDateTime;
+
+import com.mqped.fims.model.entity.ContractStatusHistory;
+import com.mqped.fims.model.enums.StatusType;
+
+/**
+ * Data Transfer Object (DTO) representing one interval of a contract account
+ * status timeline.
+ * <p>
+ * Exposes the status of a contract account together with its validity
+ * interval {@code [validFrom, validTo)}. A {@code null} {@code validTo} means
+ * the interval is still open.
+ * </p>
+ *
+ * @see com.mqped.fims.model.entity.ContractStatusHistory
+ */
+public class ContractStatusHistoryDTO {
+
+    /** Identifier of the contract account. */
+    private Integer contractAccountId;
+
+    /** Account number of the contract account. */
+    private String accountNumber;
+
+    /** Municipality of the contract's installation. */
+    private String municipality;
+
+    /** Status during the interval. */
+    private StatusType status;
+
+    /** Start of the interval (inclusive). */
+    private LocalDateTime validFrom;
+
+    /** End of the interval (exclusive), or {@code null} if still open. */
+    private LocalDateTime validTo;
+
+    /** Date and time when the interval was recorded. */
+    private LocalDateTime recordedAt;
+
+    /** @return the contract account ID */
+    public Integer getContractAccountId() {
+        return contractAccountId;
+    }
+
+    /** @param contractAccountId the contract account ID to set */
+    public void setContractAccountId(Integer contractAccountId) {
+        this.contractAccountId = contractAccountId;
+    }
+
+    /** @return the account number */
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    /** @param accountNumber the account number to set */
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    /** @return the municipality */
+    public String getMunicipality() {
+        return municipality;
+    }
+
+    /** @param municipality the municipality to set */
+    public void setMunicipality(String municipality) {
+        this.municipality = municipality;
+    }
+
+    /** @return the status during the interval */
+    public StatusType getStatus() {
+        return status;
+    }
+
+    /** @param status the status to set */
+    public void setStatus(StatusType status) {
+        this.status = status;
+    }
+
+    /** @return the start of the interval */
+    public LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+
+    /** @param validFrom the start of the interval to set */
+    public void setValidFrom(LocalDateTime validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    /** @return the end of the interval */
+    public LocalDateTime getValidTo() {
+        return validTo;
+    }
+
+    /** @param validTo the end of the interval to set */
+    public void setValidTo(LocalDateTime validTo) {
+        this.validTo = validTo;
+    }
+
+    /** @return when the interval was recorded */
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    /** @param recordedAt the recording timestamp to set */
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
+    /**
+     * Converts a {@link ContractStatusHistory} entity to a
+     * {@code ContractStatusHistoryDTO}.
+     *
+     * @param history the entity to convert
+     * @return a populated {@code ContractStatusHistoryDTO} instance
+     */
+    public static ContractStatusHistoryDTO fromEntity(ContractStatusHistory history) {
+        ContractStatusHistoryDTO dto = new ContractStatusHistoryDTO();
+        dto.setContractAccountId(history.getContractAccountId());
+        dto.setAccountNumber(history.getAccountNumber());
+        dto.setMunicipality(history.getMunicipality());
+        dto.setStatus(history.getStatus());
+        dto.setValidFrom(history.getValidFrom());
+        dto.setValidTo(history.getValidTo());
+        dto.setRecordedAt(history.getRecordedAt());
+        return dto;
+    }
+}
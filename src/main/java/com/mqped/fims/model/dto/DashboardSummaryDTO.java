@@ -0,0 +1,122 @@
+package com.mqped.fims.model.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import com.mqped.fims.model.enums.ServiceOrderStatus;
+import com.mqped.fims.model.enums.ServiceOrderType;
+import com.mqped.fims.model.enums.StatusType;
+import com.mqped.fims.model.enums.TargetType;
+
+/**
+ * Data Transfer Object (DTO) holding the pre-aggregated counters shown on the
+ * operations dashboard.
+ * <p>
+ * The values are read from in-memory counters maintained by
+ * {@code DashboardService}; no query is executed when the DTO is built.
+ * {@link #getReconciledAt()} tells when the counters were last checked
+ * against the database.
+ * </p>
+ *
+ * <h2>Usage Example</h2>
+ *
+ * <pre>{@code
+ * DashboardSummaryDTO summary = dashboardService.getSummary(null);
+ * long created = summary.getServiceOrdersByStatus().get(ServiceOrderStatus.CREATED);
+ * }</pre>
+ */
+public class DashboardSummaryDTO {
+
+    /**
+     * Number of service orders per status and type.
+     */
+    private Map<ServiceOrderStatus, Map<ServiceOrderType, Long>> serviceOrders;
+
+    /**
+     * Number of service orders per status, all types combined.
+     */
+    private Map<ServiceOrderStatus, Long> serviceOrdersByStatus;
+
+    /**
+     * Number of active targets per type.
+     */
+    private Map<TargetType, Long> activeTargetsByType;
+
+    /**
+     * Number of inactive targets per type.
+     */
+    private Map<TargetType, Long> inactiveTargetsByType;
+
+    /**
+     * Number of contract accounts per municipality and contract status.
+     */
+    private Map<String, Map<StatusType, Long>> contractsByMunicipality;
+
+    /**
+     * Timestamp of the last reconciliation against the database, or
+     * {@code null} if none has run yet.
+     */
+    private LocalDateTime reconciledAt;
+
+    // --- Getters and Setters ---
+
+    /** @return service order counts per status and type */
+    public Map<ServiceOrderStatus, Map<ServiceOrderType, Long>> getServiceOrders() {
+        return serviceOrders;
+    }
+
+    /** @param serviceOrders the service order counts per status and type */
+    public void setServiceOrders(Map<ServiceOrderStatus, Map<ServiceOrderType, Long>> serviceOrders) {
+        this.serviceOrders = serviceOrders;
+    }
+
+    /** @return service order counts per status */
+    public Map<ServiceOrderStatus, Long> getServiceOrdersByStatus() {
+        return serviceOrdersByStatus;
+    }
+
+    /** @param serviceOrdersByStatus the service order counts per status */
+    public void setServiceOrdersByStatus(Map<ServiceOrderStatus, Long> serviceOrdersByStatus) {
+        this.serviceOrdersByStatus = serviceOrdersByStatus;
+    }
+
+    /** @return active target counts per type */
+    public Map<TargetType, Long> getActiveTargetsByType() {
+        return activeTargetsByType;
+    }
+
+    /** @param activeTargetsByType the active target counts per type */
+    public void setActiveTargetsByType(Map<TargetType, Long> activeTargetsByType) {
+        this.activeTargetsByType = activeTargetsByType;
+    }
+
+    /** @return inactive target counts per type */
+    public Map<TargetType, Long> getInactiveTargetsByType() {
+        return inactiveTargetsByType;
+    }
+
+    /** @param inactiveTargetsByType the inactive target counts per type */
+    public void setInactiveTargetsByType(Map<TargetType, Long> inactiveTargetsByType) {
+        this.inactiveTargetsByType = inactiveTargetsByType;
+    }
+
+    /** @return contract account counts per municipality and status */
+    public Map<String, Map<StatusType, Long>> getContractsByMunicipality() {
+        return contractsByMunicipality;
+    }
+
+    /** @param contractsByMunicipality the contract counts per municipality and status */
+    public void setContractsByMunicipality(Map<String, Map<StatusType, Long>> contractsByMunicipality) {
+        this.contractsByMunicipality = contractsByMunicipality;
+    }
+
+    /** @return the last reconciliation timestamp */
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    /** @param reconciledAt the last reconciliation timestamp */
+    public void setReconciledAt(LocalDateTime reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+}
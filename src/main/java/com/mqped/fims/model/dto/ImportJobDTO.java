@@ -0,0 +1,266 @@
+package com.mqped.fims.model.dto;
+
+import java.time.LocalDateTime;
+
+import com.mqped.fims.model.entity.ImportJob;
+import com.mqped.fims.model.enums.ImportJobStatus;
+import com.mqped.fims.model.enums.ImportType;
+
+/**
+ * Data Transfer Object (DTO) describing an import job and its progress.
+ * <p>
+ * While the job runs, counters reflect the rows read so far, including those
+ * of the chunk not yet committed; {@code rowsPerSecond} and
+ * {@code etaSeconds} are measured since the job last (re)started. Once the
+ * job stops, counters are those of the last checkpoint.
+ * </p>
+ *
+ * @see ImportJob
+ */
+public class ImportJobDTO {
+
+    private Long id;
+    private ImportType type;
+    private ImportJobStatus status;
+    private String fileName;
+    private long fileSize;
+    private long bytesRead;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsFailed;
+
+    /** Share of the file read, from {@code 0} to {@code 100}. */
+    private double percent;
+
+    /** Rows read per second; {@code 0} when not running. */
+    private double rowsPerSecond;
+
+    /** Estimated seconds until the file is read; {@code null} when unknown. */
+    private Long etaSeconds;
+
+    private String failureMessage;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private LocalDateTime updatedAt;
+
+    /** @return the job ID */
+    public Long getId() {
+        return id;
+    }
+
+    /** @param id the job ID */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /** @return the layout of the file */
+    public ImportType getType() {
+        return type;
+    }
+
+    /** @param type the layout of the file */
+    public void setType(ImportType type) {
+        this.type = type;
+    }
+
+    /** @return the job status */
+    public ImportJobStatus getStatus() {
+        return status;
+    }
+
+    /** @param status the job status */
+    public void setStatus(ImportJobStatus status) {
+        this.status = status;
+    }
+
+    /** @return the uploaded file name or requested path */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /** @param fileName the uploaded file name or requested path */
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    /** @return the file size in bytes */
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    /** @param fileSize the file size in bytes */
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    /** @return the bytes read so far */
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    /** @param bytesRead the bytes read so far */
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    /** @return the data lines read so far */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /** @param rowsRead the data lines read so far */
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    /** @return the rows imported so far */
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    /** @param rowsImported the rows imported so far */
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    /** @return the rows rejected so far */
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+
+    /** @param rowsFailed the rows rejected so far */
+    public void setRowsFailed(long rowsFailed) {
+        this.rowsFailed = rowsFailed;
+    }
+
+    /** @return the share of the file read, from {@code 0} to {@code 100} */
+    public double getPercent() {
+        return percent;
+    }
+
+    /** @param percent the share of the file read */
+    public void setPercent(double percent) {
+        this.percent = percent;
+    }
+
+    /** @return the rows read per second */
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    /** @param rowsPerSecond the rows read per second */
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    /** @return the estimated seconds until the file is read, or {@code null} */
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+
+    /** @param etaSeconds the estimated seconds until the file is read */
+    public void setEtaSeconds(Long etaSeconds) {
+        this.etaSeconds = etaSeconds;
+    }
+
+    /** @return the error that failed the job, if any */
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    /** @param failureMessage the error that failed the job */
+    public void setFailureMessage(String failureMessage) {
+        this.failureMessage = failureMessage;
+    }
+
+    /** @return the user who created the job */
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    /** @param createdBy the user who created the job */
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    /** @return when the job was created */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /** @param createdAt when the job was created */
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /** @return when the job first started */
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    /** @param startedAt when the job first started */
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    /** @return when the job stopped */
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /** @param finishedAt when the job stopped */
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    /** @return when the last checkpoint was written */
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /** @param updatedAt when the last checkpoint was written */
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Converts an {@link ImportJob} entity into a DTO with the progress of its
+     * last checkpoint.
+     *
+     * @param job the entity
+     * @return the DTO
+     */
+    public static ImportJobDTO fromEntity(ImportJob job) {
+        ImportJobDTO dto = new ImportJobDTO();
+        dto.setId(job.getId());
+        dto.setType(job.getType());
+        dto.setStatus(job.getStatus());
+        dto.setFileName(job.getFileName());
+        dto.setFileSize(job.getFileSize());
+        dto.setBytesRead(job.getBytesRead());
+        dto.setRowsRead(job.getLinesRead());
+        dto.setRowsImported(job.getRowsImported());
+        dto.setRowsFailed(job.getRowsFailed());
+        dto.setPercent(job.getStatus() == ImportJobStatus.COMPLETED ? 100.0
+                : percentOf(job.getBytesRead(), job.getFileSize()));
+        dto.setFailureMessage(job.getFailureMessage());
+        dto.setCreatedBy(job.getCreatedBy());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setUpdatedAt(job.getUpdatedAt());
+        return dto;
+    }
+
+    /**
+     * @return {@code read} as a percentage of {@code total}, capped at 100
+     */
+    public static double percentOf(long read, long total) {
+        if (total <= 0) {
+            return 0.0;
+        }
+        return Math.min(100.0, read * 100.0 / total);
+    }
+}
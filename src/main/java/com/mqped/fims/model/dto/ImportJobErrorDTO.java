@@ -0,0 +1,50 @@
+package com.mqped.fims.model.dto;
+
+import com.mqped.fims.model.entity.ImportJobError;
+
+/**
+ * Data Transfer Object (DTO) for a row rejected by an import job.
+ *
+ * @see ImportJobDTO
+ */
+public class ImportJobErrorDTO {
+
+    /** Line in the file, counting the header as line 1. */
+    private long lineNumber;
+
+    /** Why the row was rejected. */
+    private String message;
+
+    /** @return the line in the file, counting the header as line 1 */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /** @param lineNumber the line in the file */
+    public void setLineNumber(long lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    /** @return why the row was rejected */
+    public String getMessage() {
+        return message;
+    }
+
+    /** @param message why the row was rejected */
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Converts an {@link ImportJobError} entity into a DTO.
+     *
+     * @param error the entity
+     * @return the DTO
+     */
+    public static ImportJobErrorDTO fromEntity(ImportJobError error) {
+        ImportJobErrorDTO dto = new ImportJobErrorDTO();
+        dto.setLineNumber(error.getLineNumber());
+        dto.setMessage(error.getMessage());
+        return dto;
+    }
+}
@@ -0,0 +1,46 @@
+package com.mqped.fims.model.dto;
+
+import com.mqped.fims.model.enums.ImportType;
+
+/**
+ * Data Transfer Object (DTO) requesting the import of a file already present
+ * in the imports directory.
+ *
+ * @see ImportJobDTO
+ */
+public class ImportJobRequestDTO {
+
+    /** Layout of the file. */
+    private ImportType type;
+
+    /** Path of the file, relative to the imports directory. */
+    private String path;
+
+    public ImportJobRequestDTO() {
+    }
+
+    public ImportJobRequestDTO(ImportType type, String path) {
+        this.type = type;
+        this.path = path;
+    }
+
+    /** @return the layout of the file */
+    public ImportType getType() {
+        return type;
+    }
+
+    /** @param type the layout of the file */
+    public void setType(ImportType type) {
+        this.type = type;
+    }
+
+    /** @return the path of the file, relative to the imports directory */
+    public String getPath() {
+        return path;
+    }
+
+    /** @param path the path of the file, relative to the imports directory */
+    public void setPath(String path) {
+        this.path = path;
+    }
+}
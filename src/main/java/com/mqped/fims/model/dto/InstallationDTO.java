@@ -105,16 +105,10 @@ public class InstallationDTO {
      * @return an {@link InstallationDTO} containing the mapped data
      */
     public static InstallationDTO fromEntity(Installation installation) {
-        InstallationDTO dto = new InstallationDTO();
-        dto.setId(installation.getId());
-        dto.setCreatedAt(installation.getCreatedAt());
-        dto.setDeletedAt(installation.getDeletedAt());
-
+        InstallationDTO dto = fromEntityWithoutAddress(installation);
         if (installation.getAddress() != null) {
-            dto.setAddressId(installation.getAddress().getId());
             dto.setAddress(AddressDTO.fromEntity(installation.getAddress()));
         }
-
         return dto;
     }
 
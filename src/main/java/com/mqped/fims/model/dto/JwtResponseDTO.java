@@ -33,6 +33,12 @@ public class JwtResponseDTO {
     /** The token type, usually "Bearer" to indicate authorization header format. */
     private String type = "Bearer";
 
+    /** Seconds until the JWT token expires. */
+    private Long expiresIn;
+
+    /** The refresh token exchanged for new JWT tokens at {@code /api/auth/refresh}. */
+    private String refreshToken;
+
     /** The unique identifier of the authenticated user. */
     private Integer id;
 
@@ -68,6 +74,24 @@ public class JwtResponseDTO {
         this.roles = roles;
     }
 
+    /**
+     * Constructs a {@code JwtResponseDTO} for a login or token refresh.
+     *
+     * @param token        the JWT token issued to the user
+     * @param expiresIn    seconds until the JWT token expires
+     * @param refreshToken the refresh token issued to the user
+     * @param id           the unique identifier of the user
+     * @param username     the username of the user
+     * @param email        the email of the user
+     * @param roles        the roles granted to the user
+     */
+    public JwtResponseDTO(String token, Long expiresIn, String refreshToken, Integer id, String username,
+            String email, Set<String> roles) {
+        this(token, id, username, email, roles);
+        this.expiresIn = expiresIn;
+        this.refreshToken = refreshToken;
+    }
+
     // --- Getters and Setters ---
 
     /** @return the JWT token. */
@@ -90,6 +114,26 @@ public class JwtResponseDTO {
         this.type = type;
     }
 
+    /** @return seconds until the JWT token expires. */
+    public Long getExpiresIn() {
+        return expiresIn;
+    }
+
+    /** @param expiresIn sets the seconds until the JWT token expires. */
+    public void setExpiresIn(Long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+
+    /** @return the refresh token. */
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    /** @param refreshToken sets the refresh token. */
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     /** @return the unique identifier of the authenticated user. */
     public Integer getId() {
         return id;
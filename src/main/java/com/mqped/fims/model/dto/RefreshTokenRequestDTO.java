@@ -0,0 +1,44 @@
+package com.mqped.fims.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Data Transfer Object (DTO) representing a refresh token sent by the client.
+ * <p>
+ * Used to obtain a new JWT token at {@code /api/auth/refresh} and to revoke
+ * the refresh token at {@code /api/auth/logout}.
+ * </p>
+ */
+public class RefreshTokenRequestDTO {
+
+    /** The refresh token returned by the last login or refresh. */
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+
+    // --- Constructors ---
+
+    /** Default constructor. */
+    public RefreshTokenRequestDTO() {
+    }
+
+    /**
+     * Constructs a {@code RefreshTokenRequestDTO} with the given token.
+     *
+     * @param refreshToken the refresh token
+     */
+    public RefreshTokenRequestDTO(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    // --- Getters and Setters ---
+
+    /** @return the refresh token. */
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    /** @param refreshToken sets the refresh token. */
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
@@ -0,0 +1,73 @@
+package com.mqped.fims.model.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) holding one page of a search.
+ * <p>
+ * While {@link #isHasMore() hasMore} is {@code true}, the next page is
+ * requested with the same {@code filter} and {@code sort} and the
+ * {@link #getNextToken() nextToken} as {@code after}.
+ * </p>
+ *
+ * <h2>Usage Example</h2>
+ *
+ * <pre>{@code
+ * SearchPageDTO<TargetDTO> page = targetService.search("score:gt:0.8", "-score", null, 100);
+ * while (page.isHasMore()) {
+ *     page = targetService.search("score:gt:0.8", "-score", page.getNextToken(), 100);
+ * }
+ * }</pre>
+ *
+ * @param <T> the DTO type of the searched entity
+ */
+public class SearchPageDTO<T> {
+
+    /** Matching rows, in sort order. */
+    private List<T> items;
+
+    /** Opaque token to send as {@code after} for the next page. */
+    private String nextToken;
+
+    /** Whether more rows match after this page. */
+    private boolean hasMore;
+
+    public SearchPageDTO() {
+    }
+
+    public SearchPageDTO(List<T> items, String nextToken) {
+        this.items = items;
+        this.nextToken = nextToken;
+        this.hasMore = nextToken != null;
+    }
+
+    /** @return the matching rows, in sort order */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /** @param items the matching rows, in sort order */
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    /** @return the token to send as {@code after}, or {@code null} on the last page */
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    /** @param nextToken the token to send as {@code after} */
+    public void setNextToken(String nextToken) {
+        this.nextToken = nextToken;
+    }
+
+    /** @return whether more rows match after this page */
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    /** @param hasMore whether more rows match after this page */
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -54,6 +54,16 @@ public class ServiceOrderDTO {
      */
     private ServiceOrderType type;
 
+    /**
+     * Username of the field agent the order is assigned to, if any.
+     */
+    private String assignee;
+
+    /**
+     * Field team responsible for the order, if any.
+     */
+    private String team;
+
     /**
      * Timestamp indicating when the service order was created.
      */
@@ -64,6 +74,12 @@ public class ServiceOrderDTO {
      */
     private LocalDateTime executedAt;
 
+    /**
+     * Optimistic locking version. Clients send it back on updates so that
+     * changes made from a stale copy are rejected.
+     */
+    private Long version;
+
     // --- Getters and Setters ---
 
     /** @return the unique identifier of the service order */
@@ -106,6 +122,26 @@ public class ServiceOrderDTO {
         this.type = type;
     }
 
+    /** @return the username of the assigned field agent */
+    public String getAssignee() {
+        return assignee;
+    }
+
+    /** @param assignee the username of the assigned field agent to set */
+    public void setAssignee(String assignee) {
+        this.assignee = assignee;
+    }
+
+    /** @return the responsible field team */
+    public String getTeam() {
+        return team;
+    }
+
+    /** @param team the responsible field team to set */
+    public void setTeam(String team) {
+        this.team = team;
+    }
+
     /** @return the creation timestamp of the service order */
     public LocalDateTime getCreatedAt() {
         return createdAt;
@@ -126,6 +162,16 @@ public class ServiceOrderDTO {
         this.executedAt = executedAt;
     }
 
+    /** @return the optimistic locking version of the service order */
+    public Long getVersion() {
+        return version;
+    }
+
+    /** @param version the optimistic locking version to set */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // --- Conversion Methods ---
 
     /**
@@ -143,8 +189,11 @@ public class ServiceOrderDTO {
         dto.setId(serviceOrder.getId());
         dto.setStatus(serviceOrder.getStatus());
         dto.setType(serviceOrder.getType());
+        dto.setAssignee(serviceOrder.getAssignee());
+        dto.setTeam(serviceOrder.getTeam());
         dto.setCreatedAt(serviceOrder.getCreatedAt());
         dto.setExecutedAt(serviceOrder.getExecutedAt());
+        dto.setVersion(serviceOrder.getVersion());
 
         if (serviceOrder.getTarget() != null) {
             dto.setTargetId(serviceOrder.getTarget().getId());
@@ -0,0 +1,180 @@
+package com.mqped.fims.model.dto;
+
+import java.time.LocalDateTime;
+
+import com.mqped.fims.model.enums.ServiceOrderStatus;
+import com.mqped.fims.model.enums.ServiceOrderType;
+
+/**
+ * Data Transfer Object (DTO) pushed to field devices when a service order
+ * relevant to them is created, changes status or is reassigned.
+ * <p>
+ * Besides the current values, the message carries the previous status,
+ * assignee and team, so a device can tell that an order moved away from it
+ * and drop it from its list.
+ * </p>
+ *
+ * <h2>Usage Example</h2>
+ *
+ * <pre>{@code
+ * eventSource.addEventListener("service-order", e -> {
+ *     ServiceOrderPushDTO push = mapper.readValue(e.data, ServiceOrderPushDTO.class);
+ *     if (push.getKind() == ServiceOrderPushDTO.Kind.STATUS_CHANGED) { ... }
+ * });
+ * }</pre>
+ */
+public class ServiceOrderPushDTO {
+
+    /** Kind of change being pushed. */
+    public enum Kind {
+        /** The order was created. */
+        CREATED,
+        /** The order's status changed. */
+        STATUS_CHANGED,
+        /** The order's assignee or team changed, without a status change. */
+        ASSIGNED
+    }
+
+    /** Kind of change. */
+    private Kind kind;
+
+    /** Identifier of the service order. */
+    private Integer id;
+
+    /** Identifier of the order's target. */
+    private Integer targetId;
+
+    /** Type of the service order. */
+    private ServiceOrderType type;
+
+    /** Status after the change. */
+    private ServiceOrderStatus status;
+
+    /** Status before the change, or {@code null} for new orders. */
+    private ServiceOrderStatus previousStatus;
+
+    /** Assignee after the change. */
+    private String assignee;
+
+    /** Assignee before the change. */
+    private String previousAssignee;
+
+    /** Team after the change. */
+    private String team;
+
+    /** Team before the change. */
+    private String previousTeam;
+
+    /** When the change was made. */
+    private LocalDateTime occurredAt;
+
+    /** @return the kind of change */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /** @param kind the kind of change */
+    public void setKind(Kind kind) {
+        this.kind = kind;
+    }
+
+    /** @return the service order identifier */
+    public Integer getId() {
+        return id;
+    }
+
+    /** @param id the service order identifier */
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    /** @return the target identifier */
+    public Integer getTargetId() {
+        return targetId;
+    }
+
+    /** @param targetId the target identifier */
+    public void setTargetId(Integer targetId) {
+        this.targetId = targetId;
+    }
+
+    /** @return the service order type */
+    public ServiceOrderType getType() {
+        return type;
+    }
+
+    /** @param type the service order type */
+    public void setType(ServiceOrderType type) {
+        this.type = type;
+    }
+
+    /** @return the status after the change */
+    public ServiceOrderStatus getStatus() {
+        return status;
+    }
+
+    /** @param status the status after the change */
+    public void setStatus(ServiceOrderStatus status) {
+        this.status = status;
+    }
+
+    /** @return the status before the change */
+    public ServiceOrderStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    /** @param previousStatus the status before the change */
+    public void setPreviousStatus(ServiceOrderStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    /** @return the assignee after the change */
+    public String getAssignee() {
+        return assignee;
+    }
+
+    /** @param assignee the assignee after the change */
+    public void setAssignee(String assignee) {
+        this.assignee = assignee;
+    }
+
+    /** @return the assignee before the change */
+    public String getPreviousAssignee() {
+        return previousAssignee;
+    }
+
+    /** @param previousAssignee the assignee before the change */
+    public void setPreviousAssignee(String previousAssignee) {
+        this.previousAssignee = previousAssignee;
+    }
+
+    /** @return the team after the change */
+    public String getTeam() {
+        return team;
+    }
+
+    /** @param team the team after the change */
+    public void setTeam(String team) {
+        this.team = team;
+    }
+
+    /** @return the team before the change */
+    public String getPreviousTeam() {
+        return previousTeam;
+    }
+
+    /** @param previousTeam the team before the change */
+    public void setPreviousTeam(String previousTeam) {
+        this.previousTeam = previousTeam;
+    }
+
+    /** @return when the change was made */
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    /** @param occurredAt when the change was made */
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,121 @@
+package com.mqped.fims.model.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) holding one page of an incremental
+ * synchronization.
+ * <p>
+ * A client keeps the {@link #getNextToken() nextToken} of the last page it
+ * applied and sends it back as {@code since} on its next sync, receiving only
+ * the rows inserted or updated and the IDs deleted in the meantime. While
+ * {@link #isHasMore() hasMore} is {@code true} it should request the next
+ * page immediately.
+ * </p>
+ *
+ * <p>
+ * When {@link #isResetRequired() resetRequired} is {@code true} the token is
+ * older than the tombstone retention, so deletions may have been forgotten:
+ * the client must discard its copy and sync again without a token.
+ * </p>
+ *
+ * <h2>Usage Example</h2>
+ *
+ * <pre>{@code
+ * SyncPageDTO<TargetDTO> page = syncService.syncTargets(token, 500);
+ * page.getDeletedIds().forEach(localStore::remove);
+ * page.getItems().forEach(localStore::put);
+ * token = page.getNextToken();
+ * }</pre>
+ *
+ * @param <T> the DTO type of the synchronized entity
+ */
+public class SyncPageDTO<T> {
+
+    /** Rows inserted or updated after the token, oldest change first. */
+    private List<T> items;
+
+    /** IDs of rows deleted after the token. */
+    private List<Integer> deletedIds;
+
+    /** Opaque token to send as {@code since} on the next request. */
+    private String nextToken;
+
+    /** Whether more changes are immediately available. */
+    private boolean hasMore;
+
+    /** Whether the client must discard its copy and resynchronize. */
+    private boolean resetRequired;
+
+    public SyncPageDTO() {
+    }
+
+    public SyncPageDTO(List<T> items, List<Integer> deletedIds, String nextToken, boolean hasMore,
+            boolean resetRequired) {
+        this.items = items;
+        this.deletedIds = deletedIds;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+        this.resetRequired = resetRequired;
+    }
+
+    /**
+     * Builds the answer to a token that has expired.
+     *
+     * @param <T> the DTO type
+     * @return an empty page flagged {@code resetRequired}
+     */
+    public static <T> SyncPageDTO<T> reset() {
+        return new SyncPageDTO<>(List.of(), List.of(), null, false, true);
+    }
+
+    /** @return the rows inserted or updated after the token */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /** @param items the rows inserted or updated after the token */
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    /** @return the IDs of rows deleted after the token */
+    public List<Integer> getDeletedIds() {
+        return deletedIds;
+    }
+
+    /** @param deletedIds the IDs of rows deleted after the token */
+    public void setDeletedIds(List<Integer> deletedIds) {
+        this.deletedIds = deletedIds;
+    }
+
+    /** @return the token to send on the next request */
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    /** @param nextToken the token to send on the next request */
+    public void setNextToken(String nextToken) {
+        this.nextToken = nextToken;
+    }
+
+    /** @return whether more changes are immediately available */
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    /** @param hasMore whether more changes are immediately available */
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    /** @return whether the client must resynchronize from scratch */
+    public boolean isResetRequired() {
+        return resetRequired;
+    }
+
+    /** @param resetRequired whether the client must resynchronize from scratch */
+    public void setResetRequired(boolean resetRequired) {
+        this.resetRequired = resetRequired;
+    }
+}
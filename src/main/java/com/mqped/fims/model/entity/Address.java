@@ -1,8 +1,16 @@
 package com.mqped.fims.model.entity;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import com.mqped.fims.config.CacheRegions;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 
@@ -23,11 +31,21 @@ import jakarta.validation.constraints.NotBlank;
  * entities.
  * </p>
  *
+ * <p>
+ * Addresses are reference data: they are bulk loaded once and then read on
+ * every installation lookup, so they live in the {@link CacheRegions#ADDRESS}
+ * second-level cache region with a {@code READ_WRITE} strategy.
+ * </p>
+ *
  * @author MQPED
  * @see Installation
  */
 @Entity
-@Table(name = "addresses")
+@Table(name = "addresses", indexes = {
+        @Index(name = "idx_addresses_updated_at", columnList = "updatedAt, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ADDRESS)
 public class Address {
 
     /**
@@ -143,6 +161,17 @@ public class Address {
      */
     private Double longitude;
 
+    /**
+     * Date and time of the last insert or update of this address.
+     * <p>
+     * Stamped by {@link #onWrite()}; together with the ID it is the high-water
+     * mark of incremental synchronization.
+     * </p>
+     */
+    @Column(nullable = false)
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    private LocalDateTime updatedAt;
+
     /**
      * List of installations located at this address.
      * <p>
@@ -153,6 +182,16 @@ public class Address {
     @OneToMany(mappedBy = "address", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Installation> installations = new ArrayList<>();
 
+    /**
+     * Stamps {@link #updatedAt} on every insert and update, truncated to the
+     * microseconds the column stores so sync cursors match the row.
+     */
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     // ---------------------------------------------------
     // Getters and Setters
     // ---------------------------------------------------
@@ -297,6 +336,16 @@ public class Address {
         this.longitude = longitude;
     }
 
+    /** @return the timestamp of the last insert or update */
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /** @param updatedAt sets the timestamp of the last insert or update */
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     /** @return the list of installations at this address */
     public List<Installation> getInstallations() {
         return installations;
@@ -9,6 +9,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import com.mqped.fims.validation.annotation.ChronologicalDates;
+import com.mqped.fims.util.TaxIds;
 import com.mqped.fims.validation.annotation.CpfOrCnpjRequired;
 
 /**
@@ -40,7 +41,10 @@ import com.mqped.fims.validation.annotation.CpfOrCnpjRequired;
  */
 @Entity
 @CpfOrCnpjRequired
-@Table(name = "clients")
+@Table(name = "clients", indexes = {
+        @Index(name = "idx_clients_cpf_key", columnList = "cpfKey"),
+        @Index(name = "idx_clients_cnpj_key", columnList = "cnpjKey")
+})
 @ChronologicalDates(start = "birthDate", end = "createdAt", allowEqual = false, message = "Creation date must be after birth date.")
 public class Client {
 
@@ -68,6 +72,16 @@ public class Client {
      */
     private String cpf;
 
+    /**
+     * Canonical numeric form of {@link #cpf}, as returned by
+     * {@link TaxIds#parseCpf(CharSequence)}.
+     * <p>
+     * Kept in sync with the CPF and used for duplicate lookups; {@code null}
+     * when no valid CPF is set.
+     * </p>
+     */
+    private Long cpfKey;
+
     /**
      * Birth date of the client.
      * <p>
@@ -90,6 +104,13 @@ public class Client {
      */
     private String cnpj;
 
+    /**
+     * Canonical numeric form of {@link #cnpj}, as returned by
+     * {@link TaxIds#parseCnpj(CharSequence)}; {@code null} when no valid CNPJ
+     * is set.
+     */
+    private Long cnpjKey;
+
     /**
      * Gender of the client (e.g., Male, Female, Non-binary).
      * <p>
@@ -149,6 +170,12 @@ public class Client {
     /** @param cpf sets the CPF of the client */
     public void setCpf(String cpf) {
         this.cpf = cpf;
+        this.cpfKey = toKey(TaxIds.parseCpf(cpf));
+    }
+
+    /** @return the canonical CPF key, or {@code null} if the CPF is absent or invalid */
+    public Long getCpfKey() {
+        return cpfKey;
     }
 
     /** @return the client's birth date */
@@ -179,6 +206,12 @@ public class Client {
     /** @param cnpj sets the CNPJ of the client */
     public void setCnpj(String cnpj) {
         this.cnpj = cnpj;
+        this.cnpjKey = toKey(TaxIds.parseCnpj(cnpj));
+    }
+
+    /** @return the canonical CNPJ key, or {@code null} if the CNPJ is absent or invalid */
+    public Long getCnpjKey() {
+        return cnpjKey;
     }
 
     /** @return the client's gender */
@@ -211,6 +244,21 @@ public class Client {
         this.contractAccounts = contractAccounts;
     }
 
+    /**
+     * Recomputes the canonical keys from the CPF and CNPJ before the row is
+     * written, covering rows stored before the key columns existed.
+     */
+    @PrePersist
+    @PreUpdate
+    void syncTaxIdKeys() {
+        cpfKey = toKey(TaxIds.parseCpf(cpf));
+        cnpjKey = toKey(TaxIds.parseCnpj(cnpj));
+    }
+
+    private static Long toKey(long key) {
+        return key == TaxIds.INVALID ? null : key;
+    }
+
     @Override
     public String toString() {
         return "Client{" +
@@ -1,10 +1,14 @@
 package com.mqped.fims.model.entity;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
+import com.mqped.fims.exceptions.ForeignKeyViolations;
 import com.mqped.fims.model.enums.StatusType;
 import com.mqped.fims.validation.annotation.ChronologicalDates;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
@@ -39,7 +43,9 @@ import jakarta.validation.constraints.PastOrPresent;
  * @see Installation
  */
 @Entity
-@Table(name = "contract_accounts")
+@Table(name = "contract_accounts", indexes = {
+        @Index(name = "idx_contract_accounts_updated_at", columnList = "updatedAt, id")
+})
 @ChronologicalDates(start = "createdAt", end = "deletedAt", allowEqual = true, message = "Deleted date must be after creation date.")
 @ChronologicalDates(start = "statusStart", end = "statusEnd", allowEqual = true, message = "Status end date must be after status start date.")
 @ChronologicalDates(start = "createdAt", end = "statusStart", allowEqual = true, message = "Status start date must be after creation date.")
@@ -64,7 +70,8 @@ public class ContractAccount {
      * </p>
      */
     @ManyToOne(cascade = { CascadeType.MERGE }, fetch = FetchType.LAZY)
-    @JoinColumn(name = "client_id", nullable = false)
+    @JoinColumn(name = "client_id", nullable = false,
+            foreignKey = @ForeignKey(name = ForeignKeyViolations.CONTRACT_ACCOUNT_CLIENT))
     @NotNull(message = "Client is required.")
     private Client client;
 
@@ -75,7 +82,8 @@ public class ContractAccount {
      * </p>
      */
     @ManyToOne(cascade = { CascadeType.MERGE }, fetch = FetchType.LAZY)
-    @JoinColumn(name = "installation_id", nullable = false)
+    @JoinColumn(name = "installation_id", nullable = false,
+            foreignKey = @ForeignKey(name = ForeignKeyViolations.CONTRACT_ACCOUNT_INSTALLATION))
     @NotNull(message = "Installation is required.")
     private Installation installation;
 
@@ -115,6 +123,27 @@ public class ContractAccount {
      */
     private LocalDateTime statusEnd;
 
+    /**
+     * Date and time of the last insert or update of this contract account.
+     * <p>
+     * Stamped by {@link #onWrite()}; together with the ID it is the high-water
+     * mark of incremental synchronization.
+     * </p>
+     */
+    @Column(nullable = false)
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Stamps {@link #updatedAt} on every insert and update, truncated to the
+     * microseconds the column stores so sync cursors match the row.
+     */
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     // ---------------------------------------------------
     // Getters and Setters
     // ---------------------------------------------------
@@ -209,6 +238,16 @@ public class ContractAccount {
         this.statusEnd = statusEnd;
     }
 
+    /** @return the timestamp of the last insert or update */
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /** @param updatedAt sets the timestamp of the last insert or update */
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     @Override
     public String toString() {
         return "ContractAccount{" +
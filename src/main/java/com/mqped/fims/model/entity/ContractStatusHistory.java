@@ -0,0 +1,221 @@
+package com.mqped.fims.model.entity;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+import com.mqped.fims.model.enums.StatusType;
+import com.mqped.fims.util.StringNormalizer;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Append-only record of a status interval of a {@link ContractAccount}.
+ * <p>
+ * Every time the status of a contract account is set or changed, a new row is
+ * appended with the status and its validity interval
+ * {@code [validFrom, validTo)}. Rows are never updated: a later row with the
+ * same {@code validFrom} supersedes an earlier one, which is how corrections
+ * (e.g. closing an open interval) are recorded.
+ * </p>
+ *
+ * <p>
+ * The account, installation and municipality are stored as plain columns
+ * rather than foreign keys, so the timeline outlives deleted accounts and
+ * municipality-wide queries do not need to join through installations and
+ * addresses. Municipality lookups go through {@link #getMunicipalityKey()},
+ * the municipality folded the same way as the in-memory timeline, so the
+ * database and the timeline agree on case and accents.
+ * </p>
+ *
+ * <h2>Database Mapping</h2>
+ * <ul>
+ * <li>Table name: {@code contract_status_history}</li>
+ * <li>Primary key: {@code id}</li>
+ * <li>Indexes: {@code (contract_account_id, valid_from)},
+ * {@code (municipality_key, valid_from)}</li>
+ * </ul>
+ *
+ * @see ContractAccount
+ * @see StatusType
+ */
+@Entity
+@Table(name = "contract_status_history", indexes = {
+        @Index(name = "idx_contract_status_history_account", columnList = "contractAccountId, validFrom"),
+        @Index(name = "idx_contract_status_history_municipality_key", columnList = "municipalityKey, validFrom")
+})
+public class ContractStatusHistory {
+
+    /** Unique identifier of the history record. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Identifier of the contract account this interval belongs to. */
+    @Column(nullable = false)
+    @NotNull(message = "Contract account is required.")
+    private Integer contractAccountId;
+
+    /** Account number at the time the interval was recorded. */
+    private String accountNumber;
+
+    /** Identifier of the installation linked to the contract account. */
+    private Integer installationId;
+
+    /** Municipality of the installation address. */
+    private String municipality;
+
+    /**
+     * Lookup form of {@link #municipality}, as returned by
+     * {@link #municipalityKey(String)}; kept in sync with the municipality.
+     */
+    private String municipalityKey;
+
+    /** Status of the contract account during the interval. */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @NotNull(message = "Status is required.")
+    private StatusType status;
+
+    /** Start of the interval (inclusive). */
+    @Column(nullable = false)
+    @NotNull(message = "Start of the interval is required.")
+    private LocalDateTime validFrom;
+
+    /** End of the interval (exclusive), or {@code null} if still open. */
+    private LocalDateTime validTo;
+
+    /** Date and time when the interval was recorded. */
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+
+    /** @return the history record ID */
+    public Long getId() {
+        return id;
+    }
+
+    /** @param id sets the history record ID */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /** @return the contract account ID */
+    public Integer getContractAccountId() {
+        return contractAccountId;
+    }
+
+    /** @param contractAccountId sets the contract account ID */
+    public void setContractAccountId(Integer contractAccountId) {
+        this.contractAccountId = contractAccountId;
+    }
+
+    /** @return the account number */
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    /** @param accountNumber sets the account number */
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    /** @return the installation ID */
+    public Integer getInstallationId() {
+        return installationId;
+    }
+
+    /** @param installationId sets the installation ID */
+    public void setInstallationId(Integer installationId) {
+        this.installationId = installationId;
+    }
+
+    /** @return the municipality of the installation */
+    public String getMunicipality() {
+        return municipality;
+    }
+
+    /** @param municipality sets the municipality of the installation */
+    public void setMunicipality(String municipality) {
+        this.municipality = municipality;
+        this.municipalityKey = municipalityKey(municipality);
+    }
+
+    /** @return the lookup key of the municipality, or {@code null} if absent */
+    public String getMunicipalityKey() {
+        return municipalityKey;
+    }
+
+    /** @return the status during the interval */
+    public StatusType getStatus() {
+        return status;
+    }
+
+    /** @param status sets the status during the interval */
+    public void setStatus(StatusType status) {
+        this.status = status;
+    }
+
+    /** @return the start of the interval */
+    public LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+
+    /** @param validFrom sets the start of the interval */
+    public void setValidFrom(LocalDateTime validFrom) {
+        this.validFrom = validFrom;
+    }
+
+    /** @return the end of the interval, or {@code null} if still open */
+    public LocalDateTime getValidTo() {
+        return validTo;
+    }
+
+    /** @param validTo sets the end of the interval */
+    public void setValidTo(LocalDateTime validTo) {
+        this.validTo = validTo;
+    }
+
+    /** @return when the interval was recorded */
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    /** @param recordedAt sets when the interval was recorded */
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+
+    /**
+     * Recomputes the municipality key before the row is written, covering rows
+     * stored before the key column existed.
+     */
+    @PrePersist
+    @PreUpdate
+    void syncMunicipalityKey() {
+        municipalityKey = municipalityKey(municipality);
+    }
+
+    /**
+     * Folds a municipality name for lookups: trimmed, without accents and in
+     * lower case, so {@code " Belém"} and {@code "BELEM"} share a key.
+     *
+     * @param municipality the municipality name, may be {@code null}
+     * @return the lookup key, or {@code null} if {@code municipality} is null
+     */
+    public static String municipalityKey(String municipality) {
+        return municipality == null ? null
+                : StringNormalizer.normalize(municipality.trim()).toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return "ContractStatusHistory{" +
+                "id=" + id +
+                ", contractAccountId=" + contractAccountId +
+                ", municipality='" + municipality + '\'' +
+                ", status=" + status +
+                ", validFrom=" + validFrom +
+                ", validTo=" + validTo +
+                '}';
+    }
+}
@@ -0,0 +1,246 @@
+package com.mqped.fims.model.entity;
+
+import java.time.LocalDateTime;
+
+import com.mqped.fims.model.enums.ImportJobStatus;
+import com.mqped.fims.model.enums.ImportType;
+
+import jakarta.persistence.*;
+
+/**
+ * Background import of one CSV extract.
+ * <p>
+ * The file is imported in chunks of rows. Each chunk is committed together
+ * with the job's checkpoint ({@link #linesRead}, {@link #bytesRead} and the
+ * counters), so after a crash the job resumes at the first row of the chunk
+ * that was interrupted, without importing any row twice.
+ * </p>
+ *
+ * <h2>Database Mapping</h2>
+ * <ul>
+ * <li>Table name: {@code import_jobs}</li>
+ * <li>Primary key: {@code id} (auto-generated)</li>
+ * <li>Index: {@code idx_import_jobs_status}</li>
+ * </ul>
+ *
+ * @see ImportJobError
+ */
+@Entity
+@Table(name = "import_jobs", indexes = {
+        @Index(name = "idx_import_jobs_status", columnList = "status")
+})
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Layout of the file. */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private ImportType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ImportJobStatus status;
+
+    /** Name shown to users: the uploaded file name or the requested path. */
+    @Column(nullable = false)
+    private String fileName;
+
+    /** Absolute path of the file being read. */
+    @Column(nullable = false, length = 1000)
+    private String filePath;
+
+    /** File size in bytes when the job was created. */
+    @Column(nullable = false)
+    private long fileSize;
+
+    /** Data rows (header excluded) covered by the last checkpoint. */
+    @Column(nullable = false)
+    private long linesRead;
+
+    /** File offset of the first row after the last checkpoint; resumes start there. */
+    @Column(nullable = false)
+    private long bytesRead;
+
+    @Column(nullable = false)
+    private long rowsImported;
+
+    @Column(nullable = false)
+    private long rowsFailed;
+
+    /** Message of the error that failed the job, if any. */
+    @Column(length = 1000)
+    private String failureMessage;
+
+    /** User who created the job. */
+    @Column(length = 100)
+    private String createdBy;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /** When the job first started running. */
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    /** When the last checkpoint was written. */
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ImportType getType() {
+        return type;
+    }
+
+    public void setType(ImportType type) {
+        this.type = type;
+    }
+
+    public ImportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportJobStatus status) {
+        this.status = status;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    public void setLinesRead(long linesRead) {
+        this.linesRead = linesRead;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public long getRowsFailed() {
+        return rowsFailed;
+    }
+
+    public void setRowsFailed(long rowsFailed) {
+        this.rowsFailed = rowsFailed;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    public void setFailureMessage(String failureMessage) {
+        this.failureMessage = failureMessage;
+    }
+
+    public String getCreatedBy() {
+        return createdBy;
+    }
+
+    public void setCreatedBy(String createdBy) {
+        this.createdBy = createdBy;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportJob{" +
+                "id=" + id +
+                ", type=" + type +
+                ", status=" + status +
+                ", fileName='" + fileName + '\'' +
+                ", linesRead=" + linesRead +
+                ", rowsImported=" + rowsImported +
+                ", rowsFailed=" + rowsFailed +
+                '}';
+    }
+}
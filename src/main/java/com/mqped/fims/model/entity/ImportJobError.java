@@ -0,0 +1,89 @@
+package com.mqped.fims.model.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * A row rejected by an import job.
+ * <p>
+ * Only the first {@code imports.max-recorded-errors} rejections of a job are
+ * kept; later ones are counted in {@link ImportJob#getRowsFailed()} only.
+ * </p>
+ *
+ * <h2>Database Mapping</h2>
+ * <ul>
+ * <li>Table name: {@code import_job_errors}</li>
+ * <li>Primary key: {@code id} (auto-generated)</li>
+ * <li>Index: {@code idx_import_job_errors_job} on job and line</li>
+ * </ul>
+ */
+@Entity
+@Table(name = "import_job_errors", indexes = {
+        @Index(name = "idx_import_job_errors_job", columnList = "jobId, lineNumber")
+})
+public class ImportJobError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** ID of the {@link ImportJob}. */
+    @Column(nullable = false)
+    private Long jobId;
+
+    /** Line in the file, counting the header as line 1. */
+    @Column(nullable = false)
+    private long lineNumber;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+
+    public ImportJobError() {
+    }
+
+    public ImportJobError(Long jobId, long lineNumber, String message) {
+        this.jobId = jobId;
+        this.lineNumber = lineNumber;
+        this.message = message;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public void setLineNumber(long lineNumber) {
+        this.lineNumber = lineNumber;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportJobError{" +
+                "jobId=" + jobId +
+                ", lineNumber=" + lineNumber +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
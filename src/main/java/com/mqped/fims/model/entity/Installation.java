@@ -3,10 +3,17 @@ package com.mqped.fims.model.entity;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.mqped.fims.config.CacheRegions;
+import com.mqped.fims.exceptions.ForeignKeyViolations;
 import com.mqped.fims.validation.annotation.ChronologicalDates;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -46,9 +53,18 @@ import jakarta.validation.constraints.PastOrPresent;
  * <li>{@link ContractAccount} – One installation may have many contract
  * accounts.</li>
  * </ul>
+ *
+ * <h2>Caching</h2>
+ * <p>
+ * Installations change rarely after import and are cached in the
+ * {@link CacheRegions#INSTALLATION} second-level cache region using a
+ * {@code READ_WRITE} strategy.
+ * </p>
  */
 @Entity
 @Table(name = "installations")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.INSTALLATION)
 @ChronologicalDates(start = "createdAt", end = "deletedAt", allowEqual = true, message = "Deleted date must be after creation date.")
 public class Installation {
 
@@ -64,7 +80,8 @@ public class Installation {
      * </p>
      */
     @ManyToOne(cascade = { CascadeType.MERGE })
-    @JoinColumn(name = "address_id", nullable = false)
+    @JoinColumn(name = "address_id", nullable = false,
+            foreignKey = @ForeignKey(name = ForeignKeyViolations.INSTALLATION_ADDRESS))
     @NotNull(message = "Address is required.")
     private Address address;
 
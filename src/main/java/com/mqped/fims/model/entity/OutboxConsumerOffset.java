@@ -0,0 +1,87 @@
+package com.mqped.fims.model.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ * Last change-stream position acknowledged by a consumer.
+ * <p>
+ * Both external consumers (reading {@code /api/changes}) and the relay's own
+ * sinks store their progress here, so they resume where they stopped instead
+ * of rescanning tables or the whole stream.
+ * </p>
+ *
+ * <h2>Database Mapping</h2>
+ * <ul>
+ * <li>Table name: {@code outbox_consumer_offsets}</li>
+ * <li>Primary key: {@code consumer}</li>
+ * </ul>
+ *
+ * @see OutboxEvent
+ */
+@Entity
+@Table(name = "outbox_consumer_offsets")
+public class OutboxConsumerOffset {
+
+    /** Consumer name, e.g. {@code billing} or {@code sink:ndjson}. */
+    @Id
+    @Column(length = 100)
+    private String consumer;
+
+    /** Last acknowledged position; {@code 0} before the first acknowledgement. */
+    @Column(nullable = false)
+    private long position;
+
+    /** When the offset was last moved. */
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public OutboxConsumerOffset() {
+    }
+
+    public OutboxConsumerOffset(String consumer, long position, LocalDateTime updatedAt) {
+        this.consumer = consumer;
+        this.position = position;
+        this.updatedAt = updatedAt;
+    }
+
+    /** @return the consumer name */
+    public String getConsumer() {
+        return consumer;
+    }
+
+    /** @param consumer the consumer name */
+    public void setConsumer(String consumer) {
+        this.consumer = consumer;
+    }
+
+    /** @return the last acknowledged position */
+    public long getPosition() {
+        return position;
+    }
+
+    /** @param position the last acknowledged position */
+    public void setPosition(long position) {
+        this.position = position;
+    }
+
+    /** @return when the offset was last moved */
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /** @param updatedAt when the offset was last moved */
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxConsumerOffset{" +
+                "consumer='" + consumer + '\'' +
+                ", position=" + position +
+                ", updatedAt=" + updatedAt +
+                '}';
+    }
+}
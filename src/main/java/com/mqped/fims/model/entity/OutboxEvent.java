@@ -0,0 +1,169 @@
+package com.mqped.fims.model.entity;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import com.mqped.fims.event.ChangeType;
+
+import jakarta.persistence.*;
+
+/**
+ * Row of the transactional outbox: one committed change of a domain
+ * aggregate, waiting to be (or already) published to external consumers.
+ * <p>
+ * Rows are inserted by {@code OutboxWriter} in the same transaction as the
+ * change they describe, so a change is in the outbox if and only if it was
+ * committed. The relay later assigns each row a {@code position} in the
+ * change stream; consumers track how far they have read by position.
+ * </p>
+ *
+ * <p>
+ * Columns are named explicitly because rows are written with plain JDBC
+ * while Hibernate is flushing.
+ * </p>
+ *
+ * <h2>Database Mapping</h2>
+ * <ul>
+ * <li>Table name: {@code outbox_events}</li>
+ * <li>Primary key: {@code id}, in insert order</li>
+ * <li>Indexes: {@code stream_position} (unique), {@code (aggregate_type, aggregate_id)}</li>
+ * </ul>
+ *
+ * @see OutboxConsumerOffset
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_position", columnList = "stream_position", unique = true),
+        @Index(name = "idx_outbox_events_aggregate", columnList = "aggregate_type, aggregate_id")
+})
+public class OutboxEvent {
+
+    /** Insert-order identifier. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Position in the change stream, or {@code null} until the relay sequences the row. */
+    @Column(name = "stream_position")
+    private Long position;
+
+    /** Simple name of the entity class, e.g. {@code ServiceOrder}. */
+    @Column(name = "aggregate_type", nullable = false, length = 64)
+    private String aggregateType;
+
+    /** Identifier of the changed entity. */
+    @Column(name = "aggregate_id", nullable = false, length = 64)
+    private String aggregateId;
+
+    /** Kind of mutation. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private ChangeType changeType;
+
+    /** JSON object with the entity values after the change (before it, for deletions). */
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    /** When the change was flushed. */
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    /** When the relay sequenced the row, or {@code null}. */
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    /** @return the insert-order identifier */
+    public Long getId() {
+        return id;
+    }
+
+    /** @param id the insert-order identifier */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /** @return the stream position, or {@code null} if not yet sequenced */
+    public Long getPosition() {
+        return position;
+    }
+
+    /** @param position the stream position */
+    public void setPosition(Long position) {
+        this.position = position;
+    }
+
+    /** @return the aggregate type */
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    /** @param aggregateType the aggregate type */
+    public void setAggregateType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    /** @return the aggregate identifier */
+    public String getAggregateId() {
+        return aggregateId;
+    }
+
+    /** @param aggregateId the aggregate identifier */
+    public void setAggregateId(String aggregateId) {
+        this.aggregateId = aggregateId;
+    }
+
+    /** @return the kind of mutation */
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    /** @param changeType the kind of mutation */
+    public void setChangeType(ChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    /** @return the JSON payload */
+    public String getPayload() {
+        return payload;
+    }
+
+    /** @param payload the JSON payload */
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    /** @return when the change was flushed */
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    /** @param occurredAt when the change was flushed */
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    /** @return when the row was sequenced, or {@code null} */
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    /** @param publishedAt when the row was sequenced */
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEvent{" +
+                "id=" + id +
+                ", position=" + position +
+                ", aggregateType='" + aggregateType + '\'' +
+                ", aggregateId='" + aggregateId + '\'' +
+                ", changeType=" + changeType +
+                ", occurredAt=" + occurredAt +
+                '}';
+    }
+}
@@ -0,0 +1,135 @@
+package com.mqped.fims.model.entity;
+
+import java.time.LocalDateTime;
+
+import com.mqped.fims.model.enums.RefreshTokenRevocation;
+
+import jakarta.persistence.*;
+
+/**
+ * Long-lived credential exchanged for new access tokens without re-entering a
+ * password.
+ * <p>
+ * Only the SHA-256 hash of the token is stored. Each token is used once: a
+ * refresh revokes it and issues a new one. Revoked rows are kept until they
+ * expire, so that presenting a revoked token (a sign it was copied) can
+ * revoke the rest of the user's tokens.
+ * </p>
+ *
+ * <h2>Database Mapping</h2>
+ * <ul>
+ * <li>Table name: {@code refresh_tokens}</li>
+ * <li>Primary key: {@code id}</li>
+ * <li>Unique: {@code token_hash}</li>
+ * <li>Index: {@code (user_id)}</li>
+ * </ul>
+ *
+ * @see com.mqped.fims.service.RefreshTokenService
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_user", columnList = "user_id")
+})
+public class RefreshToken {
+
+    /** Unique identifier, assigned by the database. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Hex-encoded SHA-256 hash of the token. */
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    /** The user the token authenticates. */
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /** When the token was issued. */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /** When the token stops being accepted. */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /** When the token was used or revoked; {@code null} while it is usable. */
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt;
+
+    /** Why the token was revoked; {@code null} while it is usable. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "revocation", length = 20)
+    private RefreshTokenRevocation revocation;
+
+    /** @return the token ID */
+    public Long getId() {
+        return id;
+    }
+
+    /** @param id sets the token ID */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /** @return the hex-encoded SHA-256 hash of the token */
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    /** @param tokenHash sets the hex-encoded SHA-256 hash of the token */
+    public void setTokenHash(String tokenHash) {
+        this.tokenHash = tokenHash;
+    }
+
+    /** @return the user the token authenticates */
+    public User getUser() {
+        return user;
+    }
+
+    /** @param user sets the user the token authenticates */
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    /** @return when the token was issued */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    /** @param createdAt sets when the token was issued */
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /** @return when the token stops being accepted */
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    /** @param expiresAt sets when the token stops being accepted */
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    /** @return when the token was used or revoked, or {@code null} */
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    /** @param revokedAt sets when the token was used or revoked */
+    public void setRevokedAt(LocalDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+
+    /** @return why the token was revoked, or {@code null} */
+    public RefreshTokenRevocation getRevocation() {
+        return revocation;
+    }
+
+    /** @param revocation sets why the token was revoked */
+    public void setRevocation(RefreshTokenRevocation revocation) {
+        this.revocation = revocation;
+    }
+}
@@ -1,5 +1,9 @@
 package com.mqped.fims.model.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.mqped.fims.config.CacheRegions;
 import com.mqped.fims.model.enums.RoleName;
 
 import jakarta.persistence.*;
@@ -23,6 +27,8 @@ import jakarta.persistence.*;
  * <li>Table name: {@code roles}</li>
  * <li>Primary key: {@code id}</li>
  * <li>Column: {@code name} — unique string representation of the role.</li>
+ * <li>Cache region: {@link CacheRegions#ROLE} ({@code NONSTRICT_READ_WRITE},
+ * roles are seeded at startup and practically never change).</li>
  * </ul>
  *
  * <h2>Example</h2>
@@ -33,6 +39,8 @@ import jakarta.persistence.*;
  */
 @Entity
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = CacheRegions.ROLE)
 public class Role {
 
     /** Primary key identifier for the role. */
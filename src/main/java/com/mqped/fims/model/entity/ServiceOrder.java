@@ -1,14 +1,19 @@
 package com.mqped.fims.model.entity;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
+import com.mqped.fims.exceptions.ForeignKeyViolations;
 import com.mqped.fims.model.enums.ServiceOrderStatus;
 import com.mqped.fims.model.enums.ServiceOrderType;
 import com.mqped.fims.validation.annotation.ChronologicalDates;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
 
 /**
  * Represents a service order associated with a specific {@link Target}.
@@ -32,8 +37,19 @@ import jakarta.validation.constraints.PastOrPresent;
  * <li>Table name: {@code service_orders}</li>
  * <li>Primary key: {@code id}</li>
  * <li>Foreign key: {@code target_id}</li>
+ * <li>Indexes: {@code created_at}, {@code status}, {@code assignee},
+ * {@code team}, {@code (updated_at, id)}</li>
+ * <li>Optimistic lock column: {@code version}</li>
  * </ul>
  *
+ * <h2>Concurrency</h2>
+ * <p>
+ * Concurrent updates are detected through the {@link Version} column. Status
+ * transitions go through conditional single-statement updates in
+ * {@code ServiceOrderRepository} which also increment the version, so a stale
+ * copy of the order can never overwrite a newer status.
+ * </p>
+ *
  * <h2>Example</h2>
  * 
  * <pre>{@code
@@ -45,7 +61,13 @@ import jakarta.validation.constraints.PastOrPresent;
  * }</pre>
  */
 @Entity
-@Table(name = "service_orders")
+@Table(name = "service_orders", indexes = {
+        @Index(name = "idx_service_orders_created_at", columnList = "createdAt"),
+        @Index(name = "idx_service_orders_status", columnList = "status"),
+        @Index(name = "idx_service_orders_assignee", columnList = "assignee"),
+        @Index(name = "idx_service_orders_team", columnList = "team"),
+        @Index(name = "idx_service_orders_updated_at", columnList = "updatedAt, id")
+})
 @ChronologicalDates(start = "createdAt", end = "executedAt", allowEqual = false, message = "Execution date must be after creation date.")
 public class ServiceOrder {
 
@@ -62,7 +84,8 @@ public class ServiceOrder {
      * </p>
      */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "target_id", nullable = false)
+    @JoinColumn(name = "target_id", nullable = false,
+            foreignKey = @ForeignKey(name = ForeignKeyViolations.SERVICE_ORDER_TARGET))
     @NotNull(message = "Target is required.")
     private Target target;
 
@@ -88,6 +111,21 @@ public class ServiceOrder {
     @NotNull(message = "Service order type is required.")
     private ServiceOrderType type;
 
+    /**
+     * Username of the field agent the order is assigned to, or {@code null} if
+     * unassigned.
+     */
+    @Size(max = 50, message = "Assignee must have at most 50 characters.")
+    @Column(length = 50)
+    private String assignee;
+
+    /**
+     * Field team responsible for the order, or {@code null} if unassigned.
+     */
+    @Size(max = 50, message = "Team must have at most 50 characters.")
+    @Column(length = 50)
+    private String team;
+
     /** The date and time when the service order was created. */
     @NotNull(message = "Creation date is required.")
     @PastOrPresent(message = "Creation date cannot be in the future.")
@@ -96,6 +134,40 @@ public class ServiceOrder {
     /** The date and time when the service order was executed. */
     private LocalDateTime executedAt;
 
+    /**
+     * Date and time of the last insert or update of this service order.
+     * <p>
+     * Stamped by {@link #onWrite()} and by the conditional status update in
+     * {@code ServiceOrderRepository}; together with the ID it is the
+     * high-water mark of incremental synchronization.
+     * </p>
+     */
+    @Column(nullable = false)
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    private LocalDateTime updatedAt;
+
+    /**
+     * Optimistic locking version, incremented on every update.
+     * <p>
+     * Left {@code null} until the order is first persisted so that Spring Data
+     * still recognises new instances.
+     * </p>
+     */
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    /**
+     * Stamps {@link #updatedAt} on every insert and update, truncated to the
+     * microseconds the column stores so sync cursors match the row.
+     */
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
     /** @return the unique identifier of the service order. */
     public Integer getId() {
         return id;
@@ -138,6 +210,26 @@ public class ServiceOrder {
         this.type = type;
     }
 
+    /** @return the username of the assigned field agent, or null. */
+    public String getAssignee() {
+        return assignee;
+    }
+
+    /** @param assignee sets the username of the assigned field agent. */
+    public void setAssignee(String assignee) {
+        this.assignee = assignee;
+    }
+
+    /** @return the responsible field team, or null. */
+    public String getTeam() {
+        return team;
+    }
+
+    /** @param team sets the responsible field team. */
+    public void setTeam(String team) {
+        this.team = team;
+    }
+
     /** @return the timestamp when the service order was created. */
     public LocalDateTime getCreatedAt() {
         return createdAt;
@@ -161,6 +253,26 @@ public class ServiceOrder {
         this.executedAt = executedAt;
     }
 
+    /** @return the timestamp of the last insert or update. */
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /** @param updatedAt sets the timestamp of the last insert or update. */
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /** @return the optimistic locking version of the service order. */
+    public Long getVersion() {
+        return version;
+    }
+
+    /** @param version sets the optimistic locking version of the service order. */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /**
      * Returns a string representation of the service order including its key
      * attributes.
@@ -174,8 +286,11 @@ public class ServiceOrder {
                 ", target=" + (target != null ? target.getId() : "null") +
                 ", status=" + status +
                 ", type=" + type +
+                ", assignee=" + assignee +
+                ", team=" + team +
                 ", createdAt=" + createdAt +
                 ", executedAt=" + executedAt +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,88 @@
+package com.mqped.fims.model.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ * Record of a deleted entity, kept so that incremental synchronization can
+ * tell clients which rows to remove.
+ * <p>
+ * Rows are inserted with plain JDBC by {@code SyncTombstoneWriter} in the
+ * transaction that deletes the entity, and purged once they are older than
+ * {@code sync.tombstone-retention}.
+ * </p>
+ *
+ * <h2>Database Mapping</h2>
+ * <ul>
+ * <li>Table name: {@code sync_tombstones}</li>
+ * <li>Primary key: {@code id}</li>
+ * <li>Index: {@code (entity_type, deleted_at, id)}, the synchronization
+ * cursor</li>
+ * </ul>
+ *
+ * @see com.mqped.fims.service.SyncService
+ */
+@Entity
+@Table(name = "sync_tombstones", indexes = {
+        @Index(name = "idx_sync_tombstones_cursor", columnList = "entity_type, deleted_at, id")
+})
+public class SyncTombstone {
+
+    /** Unique identifier, assigned by the database. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Simple name of the deleted entity's class, e.g. {@code Target}. */
+    @Column(name = "entity_type", nullable = false, length = 50)
+    private String entityType;
+
+    /** Identifier of the deleted entity. */
+    @Column(name = "entity_id", nullable = false)
+    private Integer entityId;
+
+    /** When the entity was deleted. */
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    /** @return the tombstone ID */
+    public Long getId() {
+        return id;
+    }
+
+    /** @param id sets the tombstone ID */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /** @return the simple name of the deleted entity's class */
+    public String getEntityType() {
+        return entityType;
+    }
+
+    /** @param entityType sets the simple name of the deleted entity's class */
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    /** @return the identifier of the deleted entity */
+    public Integer getEntityId() {
+        return entityId;
+    }
+
+    /** @param entityId sets the identifier of the deleted entity */
+    public void setEntityId(Integer entityId) {
+        this.entityId = entityId;
+    }
+
+    /** @return when the entity was deleted */
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    /** @param deletedAt sets when the entity was deleted */
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+}
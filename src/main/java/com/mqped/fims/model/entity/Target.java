@@ -1,10 +1,14 @@
 package com.mqped.fims.model.entity;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
+import com.mqped.fims.exceptions.ForeignKeyViolations;
 import com.mqped.fims.model.enums.TargetType;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.Min;
@@ -37,7 +41,9 @@ import jakarta.persistence.*;
  * @see TargetType
  */
 @Entity
-@Table(name = "targets")
+@Table(name = "targets", indexes = {
+        @Index(name = "idx_targets_updated_at", columnList = "updatedAt, id")
+})
 public class Target {
 
     /**
@@ -54,7 +60,8 @@ public class Target {
      * </p>
      */
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "contract_account_id", nullable = false)
+    @JoinColumn(name = "contract_account_id", nullable = false,
+            foreignKey = @ForeignKey(name = ForeignKeyViolations.TARGET_CONTRACT_ACCOUNT))
     @NotNull(message = "Contract account is required.")
     private ContractAccount contractAccount;
 
@@ -114,15 +121,36 @@ public class Target {
      */
     private Boolean active = true;
 
+    /**
+     * Date and time of the last insert or update of this target.
+     * <p>
+     * Maintained by {@link #onCreate()} and {@link #onUpdate()}; together with
+     * the ID it is the high-water mark of incremental synchronization.
+     * </p>
+     */
+    @Column(nullable = false)
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    private LocalDateTime updatedAt;
+
     /**
      * Automatically sets {@link #createdAt} to the current time if not already
-     * defined.
+     * defined, and stamps {@link #updatedAt}.
      */
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
             createdAt = LocalDateTime.now();
         }
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /**
+     * Stamps {@link #updatedAt} whenever the target is updated, truncated to
+     * the microseconds the column stores so sync cursors match the row.
+     */
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     /**
@@ -238,6 +266,16 @@ public class Target {
         this.active = active;
     }
 
+    /** @return the timestamp of the last insert or update */
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /** @param updatedAt sets the timestamp of the last insert or update */
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     /** @return the list of {@link ServiceOrder}s linked to this target */
     public List<ServiceOrder> getServiceOrders() {
         return serviceOrders;
@@ -0,0 +1,126 @@
+package com.mqped.fims.model.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+
+/**
+ * Revocation of one access token, or of every access token a user was
+ * issued before a point in time.
+ * <p>
+ * A row with a {@code tokenId} revokes the token with that {@code jti} (e.g.
+ * on logout). A row with a {@code notBefore} revokes the user's tokens
+ * issued earlier (e.g. when the account is locked). Rows are only needed
+ * until the tokens they revoke would have expired anyway, and are purged
+ * after {@code expiresAt}.
+ * </p>
+ *
+ * <p>
+ * Each writing transaction stamps its rows with the next value of the
+ * {@link TokenRevocationCounter}, so other instances can load only the rows
+ * added since the version they last saw.
+ * </p>
+ *
+ * <h2>Database Mapping</h2>
+ * <ul>
+ * <li>Table name: {@code token_revocations}</li>
+ * <li>Primary key: {@code id}</li>
+ * <li>Indexes: {@code (version)}, {@code (token_id)},
+ * {@code (user_id)}</li>
+ * </ul>
+ *
+ * @see com.mqped.fims.security.TokenRevocationList
+ */
+@Entity
+@Table(name = "token_revocations", indexes = {
+        @Index(name = "idx_token_revocations_version", columnList = "version"),
+        @Index(name = "idx_token_revocations_token", columnList = "token_id"),
+        @Index(name = "idx_token_revocations_user", columnList = "user_id")
+})
+public class TokenRevocation {
+
+    /** Unique identifier, assigned by the database. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Value of the revocation counter when the row was written. */
+    @Column(nullable = false)
+    private Long version;
+
+    /** The revoked token's {@code jti}; {@code null} for user-wide rows. */
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
+
+    /** The user whose token or tokens are revoked. */
+    @Column(name = "user_id", nullable = false)
+    private Integer userId;
+
+    /** Tokens of the user issued before this time are revoked; {@code null} for single-token rows. */
+    @Column(name = "not_before")
+    private LocalDateTime notBefore;
+
+    /** When every revoked token has expired and the row can be purged. */
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    /** @return the revocation ID */
+    public Long getId() {
+        return id;
+    }
+
+    /** @param id sets the revocation ID */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /** @return the value of the revocation counter when the row was written */
+    public Long getVersion() {
+        return version;
+    }
+
+    /** @param version sets the value of the revocation counter */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /** @return the revoked token's {@code jti}, or {@code null} */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    /** @param tokenId sets the revoked token's {@code jti} */
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    /** @return the user whose token or tokens are revoked */
+    public Integer getUserId() {
+        return userId;
+    }
+
+    /** @param userId sets the user whose token or tokens are revoked */
+    public void setUserId(Integer userId) {
+        this.userId = userId;
+    }
+
+    /** @return the time before which the user's tokens are revoked, or {@code null} */
+    public LocalDateTime getNotBefore() {
+        return notBefore;
+    }
+
+    /** @param notBefore sets the time before which the user's tokens are revoked */
+    public void setNotBefore(LocalDateTime notBefore) {
+        this.notBefore = notBefore;
+    }
+
+    /** @return when the row can be purged */
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    /** @param expiresAt sets when the row can be purged */
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,58 @@
+package com.mqped.fims.model.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Single-row counter versioning the {@link TokenRevocation} table.
+ * <p>
+ * Writers increment it in the transaction that inserts their revocations.
+ * The increment locks the row until commit, so versions become visible in
+ * order: once an instance reads version {@code n}, every revocation up to
+ * {@code n} is committed. Instances poll this one row to learn whether they
+ * need to load anything.
+ * </p>
+ *
+ * <h2>Database Mapping</h2>
+ * <ul>
+ * <li>Table name: {@code token_revocation_counter}</li>
+ * <li>Primary key: {@code id}, always {@link #ID}</li>
+ * </ul>
+ */
+@Entity
+@Table(name = "token_revocation_counter")
+public class TokenRevocationCounter {
+
+    /** ID of the only row. */
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    /** Version of the latest committed revocation. */
+    @Column(name = "current_version", nullable = false)
+    private Long currentVersion;
+
+    /** Default constructor required by JPA. */
+    protected TokenRevocationCounter() {
+    }
+
+    /**
+     * Creates the counter row.
+     *
+     * @param currentVersion the initial version
+     */
+    public TokenRevocationCounter(long currentVersion) {
+        this.id = ID;
+        this.currentVersion = currentVersion;
+    }
+
+    /** @return the counter ID */
+    public Integer getId() {
+        return id;
+    }
+
+    /** @return the version of the latest committed revocation */
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,41 @@
+package com.mqped.fims.model.enums;
+
+/**
+ * Lifecycle of an import job.
+ *
+ * <h2>Defined Statuses</h2>
+ * <ul>
+ * <li>{@link #QUEUED} — Waiting for a free import worker.</li>
+ * <li>{@link #RUNNING} — Being imported; resumed from its checkpoint if the
+ * application stops meanwhile.</li>
+ * <li>{@link #COMPLETED} — Every row was read; rejected rows are listed as
+ * errors.</li>
+ * <li>{@link #FAILED} — Stopped by an unrecoverable error, such as an
+ * unreadable file.</li>
+ * <li>{@link #CANCELED} — Stopped on request.</li>
+ * </ul>
+ */
+public enum ImportJobStatus {
+
+    /** Waiting for a free import worker. */
+    QUEUED,
+
+    /** Being imported. */
+    RUNNING,
+
+    /** Every row was read. */
+    COMPLETED,
+
+    /** Stopped by an unrecoverable error. */
+    FAILED,
+
+    /** Stopped on request. */
+    CANCELED;
+
+    /**
+     * @return {@code true} if the job will not run again unless resumed
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELED;
+    }
+}
@@ -0,0 +1,33 @@
+package com.mqped.fims.model.enums;
+
+/**
+ * Kind of CSV extract an import job reads.
+ * <p>
+ * Each type has the column layout of the matching development loader.
+ * Extracts referencing other entities must be imported after them:
+ * addresses, then clients and installations, then contract accounts.
+ * </p>
+ *
+ * <h2>Defined Types</h2>
+ * <ul>
+ * <li>{@link #ADDRESSES} — CNEFE address extract.</li>
+ * <li>{@link #CLIENTS} — client registry extract.</li>
+ * <li>{@link #INSTALLATIONS} — installations, referencing addresses.</li>
+ * <li>{@link #CONTRACT_ACCOUNTS} — contracts, referencing clients and
+ * installations.</li>
+ * </ul>
+ */
+public enum ImportType {
+
+    /** CNEFE address extract. */
+    ADDRESSES,
+
+    /** Client registry extract. */
+    CLIENTS,
+
+    /** Installations, referencing existing addresses. */
+    INSTALLATIONS,
+
+    /** Contract accounts, referencing existing clients and installations. */
+    CONTRACT_ACCOUNTS
+}
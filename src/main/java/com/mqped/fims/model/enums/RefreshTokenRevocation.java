@@ -0,0 +1,29 @@
+package com.mqped.fims.model.enums;
+
+/**
+ * Why a refresh token stopped being usable.
+ * <p>
+ * Only a {@link #ROTATED} token presented again means that two parties hold
+ * it; the other reasons end the session without implicating the user's other
+ * devices.
+ * </p>
+ *
+ * <h2>Defined Reasons</h2>
+ * <ul>
+ * <li>{@link #ROTATED} — The token was exchanged for a new one.</li>
+ * <li>{@link #LOGGED_OUT} — The session holding the token logged out.</li>
+ * <li>{@link #REVOKED} — Every token of the user was revoked, because the
+ * account was locked or a rotated token was reused.</li>
+ * </ul>
+ */
+public enum RefreshTokenRevocation {
+
+    /** The token was exchanged for a new one. */
+    ROTATED,
+
+    /** The session holding the token logged out. */
+    LOGGED_OUT,
+
+    /** Every token of the user was revoked. */
+    REVOKED
+}
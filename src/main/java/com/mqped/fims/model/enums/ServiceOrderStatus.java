@@ -28,8 +28,18 @@ package com.mqped.fims.model.enums;
  * <li>{@link #isActive()} — Returns {@code true} if the service order is in an
  * active state
  * (either {@link #CREATED} or {@link #IN_EXECUTION}).</li>
+ * <li>{@link #canTransitionTo(ServiceOrderStatus)} — Returns {@code true} if
+ * the lifecycle allows moving from this status to the given one.</li>
  * </ul>
  *
+ * <h2>Lifecycle</h2>
+ *
+ * <pre>
+ * CREATED ──start──▶ IN_EXECUTION ──execute──▶ EXECUTED
+ *    │                    │
+ *    └──────cancel────────┴──────────────────▶ CANCELED
+ * </pre>
+ *
  * <h2>Example</h2>
  * 
  * <pre>{@code
@@ -81,4 +91,26 @@ public enum ServiceOrderStatus {
     public boolean isActive() {
         return this == CREATED || this == IN_EXECUTION;
     }
+
+    /**
+     * Determines whether the lifecycle allows moving from this status to
+     * {@code next}.
+     * <p>
+     * Allowed transitions are {@code CREATED → IN_EXECUTION},
+     * {@code CREATED → CANCELED}, {@code IN_EXECUTION → EXECUTED} and
+     * {@code IN_EXECUTION → CANCELED}. Final states have no outgoing
+     * transitions.
+     * </p>
+     *
+     * @param next the target status
+     * @return {@code true} if the transition is allowed; {@code false}
+     *         otherwise.
+     */
+    public boolean canTransitionTo(ServiceOrderStatus next) {
+        return switch (this) {
+            case CREATED -> next == IN_EXECUTION || next == CANCELED;
+            case IN_EXECUTION -> next == EXECUTED || next == CANCELED;
+            case EXECUTED, CANCELED -> false;
+        };
+    }
 }
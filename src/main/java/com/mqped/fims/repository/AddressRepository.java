@@ -1,10 +1,20 @@
 package com.mqped.fims.repository;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.mqped.fims.config.CacheRegions;
 import com.mqped.fims.model.entity.Address;
 
+import jakarta.persistence.QueryHint;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -36,10 +46,56 @@ public interface AddressRepository extends JpaRepository<Address, Integer> {
 
     /**
      * Retrieves an {@link Address} by its unique business identifier.
+     * <p>
+     * The result is kept in the {@link CacheRegions#ADDRESS_BY_ADDRESS_ID}
+     * query cache region, so repeated lookups (e.g. during installation
+     * imports) are answered without a database round trip.
+     * </p>
      *
      * @param addressId the unique address identifier (not the primary key)
      * @return an {@link Optional} containing the matching {@link Address}, or empty
      *         if none found
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.ADDRESS_BY_ADDRESS_ID)
+    })
     Optional<Address> findByAddressId(String addressId);
+
+    /**
+     * Lists the municipality of every address.
+     * <p>
+     * Each row is {@code [Integer id, String municipality]}. Used to seed the
+     * dashboard's municipality lookup.
+     * </p>
+     *
+     * @return one row per address
+     */
+    @Query("SELECT a.id, a.municipality FROM Address a")
+    List<Object[]> findAllMunicipalities();
+
+    /**
+     * Retrieves the addresses inserted or updated after a synchronization
+     * cursor, in cursor order.
+     * <p>
+     * Served by the {@code (updatedAt, id)} index; rows stamped at or after
+     * {@code until} are left for the next page.
+     * </p>
+     *
+     * @param since    update time of the cursor
+     * @param afterId  entity ID of the cursor
+     * @param until    exclusive upper bound on the update time
+     * @param pageable the page size
+     * @return the rows ordered by update time, then ID
+     */
+    @Query("""
+            SELECT a FROM Address a
+             WHERE (a.updatedAt > :since OR (a.updatedAt = :since AND a.id > :afterId))
+               AND a.updatedAt < :until
+             ORDER BY a.updatedAt, a.id
+            """)
+    List<Address> findChangedSince(@Param("since") LocalDateTime since,
+            @Param("afterId") int afterId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable);
 }
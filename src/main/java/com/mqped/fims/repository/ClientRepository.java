@@ -1,11 +1,16 @@
 package com.mqped.fims.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.mqped.fims.model.entity.Client;
+import com.mqped.fims.util.TaxIds;
 
 /**
  * Repository interface for managing {@link Client} entities.
@@ -24,12 +29,14 @@ import com.mqped.fims.model.entity.Client;
  * <h3>Notes:</h3>
  * <ul>
  *   <li>CPF and CNPJ are expected to be unique across all clients</li>
- *   <li>These identifiers are typically formatted (e.g. {@code 000.000.000-00}, {@code 00.000.000/0000-00})</li>
+ *   <li>These identifiers are typically formatted (e.g. {@code 000.000.000-00}, {@code 00.000.000/0000-00}),
+ *       but lookups go through the indexed canonical keys ({@code cpfKey}, {@code cnpjKey}),
+ *       so formatting differences do not matter</li>
  * </ul>
  *
  * <h3>Example Usage:</h3>
  * <pre>{@code
- * Optional<Client> client = clientRepository.findByCpf("123.456.789-00");
+ * Optional<Client> client = clientRepository.findByCpf("123.456.789-09");
  * if (client.isPresent()) {
  *     System.out.println(client.get().getName());
  * }
@@ -45,32 +52,130 @@ public interface ClientRepository extends JpaRepository<Client, Integer> {
     /**
      * Checks if a client with the given CPF exists.
      *
-     * @param cpf the CPF to check (formatted as XXX.XXX.XXX-XX)
+     * @param cpf the CPF to check, formatted or not
      * @return {@code true} if a client with the given CPF exists, otherwise {@code false}
      */
-    boolean existsByCpf(String cpf);
+    default boolean existsByCpf(String cpf) {
+        long key = TaxIds.parseCpf(cpf);
+        return key != TaxIds.INVALID && existsByCpfKey(key);
+    }
 
     /**
      * Checks if a client with the given CNPJ exists.
      *
-     * @param cnpj the CNPJ to check (formatted as XX.XXX.XXX/XXXX-XX)
+     * @param cnpj the CNPJ to check, formatted or not
      * @return {@code true} if a client with the given CNPJ exists, otherwise {@code false}
      */
-    boolean existsByCnpj(String cnpj);
+    default boolean existsByCnpj(String cnpj) {
+        long key = TaxIds.parseCnpj(cnpj);
+        return key != TaxIds.INVALID && existsByCnpjKey(key);
+    }
 
     /**
-     * Retrieves a client by its unique CPF.
+     * Retrieves a client by its CPF.
      *
-     * @param cpf the CPF of the client (formatted as XXX.XXX.XXX-XX)
+     * @param cpf the CPF of the client, formatted or not
      * @return an {@link Optional} containing the client, or empty if none found
      */
-    Optional<Client> findByCpf(String cpf);
+    default Optional<Client> findByCpf(String cpf) {
+        long key = TaxIds.parseCpf(cpf);
+        return key == TaxIds.INVALID ? Optional.empty() : findFirstByCpfKeyOrderByIdAsc(key);
+    }
 
     /**
-     * Retrieves a client by its unique CNPJ.
+     * Retrieves a client by its CNPJ.
      *
-     * @param cnpj the CNPJ of the client (formatted as XX.XXX.XXX/XXXX-XX)
+     * @param cnpj the CNPJ of the client, formatted or not
      * @return an {@link Optional} containing the client, or empty if none found
      */
-    Optional<Client> findByCnpj(String cnpj);
+    default Optional<Client> findByCnpj(String cnpj) {
+        long key = TaxIds.parseCnpj(cnpj);
+        return key == TaxIds.INVALID ? Optional.empty() : findFirstByCnpjKeyOrderByIdAsc(key);
+    }
+
+    /**
+     * @param cpfKey the canonical CPF key
+     * @return {@code true} if any client has this CPF
+     */
+    boolean existsByCpfKey(Long cpfKey);
+
+    /**
+     * @param cnpjKey the canonical CNPJ key
+     * @return {@code true} if any client has this CNPJ
+     */
+    boolean existsByCnpjKey(Long cnpjKey);
+
+    /**
+     * @param cpfKey the canonical CPF key
+     * @param id     the client to leave out, typically the one being updated
+     * @return {@code true} if a client other than {@code id} has this CPF
+     */
+    boolean existsByCpfKeyAndIdNot(Long cpfKey, Integer id);
+
+    /**
+     * @param cnpjKey the canonical CNPJ key
+     * @param id      the client to leave out, typically the one being updated
+     * @return {@code true} if a client other than {@code id} has this CNPJ
+     */
+    boolean existsByCnpjKeyAndIdNot(Long cnpjKey, Integer id);
+
+    /**
+     * Retrieves the oldest client with the given CPF key. Imported data may
+     * hold more than one.
+     *
+     * @param cpfKey the canonical CPF key
+     * @return the matching client, if any
+     */
+    Optional<Client> findFirstByCpfKeyOrderByIdAsc(Long cpfKey);
+
+    /**
+     * Retrieves the oldest client with the given CNPJ key.
+     *
+     * @param cnpjKey the canonical CNPJ key
+     * @return the matching client, if any
+     */
+    Optional<Client> findFirstByCnpjKeyOrderByIdAsc(Long cnpjKey);
+
+    /**
+     * Retrieves every stored CPF key in one query, for bulk duplicate
+     * detection during imports.
+     *
+     * @return the non-null CPF keys
+     */
+    @Query("SELECT c.cpfKey FROM Client c WHERE c.cpfKey IS NOT NULL")
+    List<Long> findAllCpfKeys();
+
+    /**
+     * Retrieves every stored CNPJ key in one query.
+     *
+     * @return the non-null CNPJ keys
+     */
+    @Query("SELECT c.cnpjKey FROM Client c WHERE c.cnpjKey IS NOT NULL")
+    List<Long> findAllCnpjKeys();
+
+    /**
+     * Retrieves clients whose keys have not been computed yet, i.e. rows
+     * stored before the key columns were added (or with no valid identifier).
+     *
+     * @return clients with neither key set
+     */
+    @Query("SELECT c FROM Client c WHERE c.cpfKey IS NULL AND c.cnpjKey IS NULL")
+    List<Client> findWithoutTaxIdKeys();
+
+    /**
+     * Retrieves the fields used for duplicate detection, one keyset page at a
+     * time.
+     * <p>
+     * Each row holds {@code [id, name, motherName, birthDate, cpfKey, cnpjKey]}.
+     * Pass the last ID of the previous page as {@code afterId} ({@code 0} for
+     * the first page); only the page size of {@code pageable} is used.
+     * </p>
+     *
+     * @param afterId  rows with an ID greater than this are returned
+     * @param pageable the page size
+     * @return the rows, ordered by ID
+     */
+    @Query("SELECT c.id, c.name, c.motherName, c.birthDate, c.cpfKey, c.cnpjKey FROM Client c "
+            + "WHERE c.id > :afterId ORDER BY c.id")
+    List<Object[]> findDedupRows(@Param("afterId") Integer afterId, Pageable pageable);
 }
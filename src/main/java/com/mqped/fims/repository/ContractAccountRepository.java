@@ -1,6 +1,12 @@
 package com.mqped.fims.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.mqped.fims.model.entity.ContractAccount;
@@ -43,4 +49,94 @@ import com.mqped.fims.model.entity.ContractAccount;
 public interface ContractAccountRepository extends JpaRepository<ContractAccount, Integer> {
     // JpaRepository already provides findAll, findById, save, deleteById,
     // existsById, etc.
+
+    /**
+     * Counts contract accounts grouped by the municipality of their
+     * installation address and by contract status.
+     * <p>
+     * Each row is {@code [String municipality, StatusType, Long]}. Used to
+     * reconcile the in-memory dashboard counters.
+     * </p>
+     *
+     * @return one row per (municipality, status) pair
+     */
+    @Query("""
+            SELECT a.municipality, ca.status, COUNT(ca)
+            FROM ContractAccount ca
+            JOIN ca.installation i
+            JOIN i.address a
+            GROUP BY a.municipality, ca.status
+            """)
+    List<Object[]> countGroupedByMunicipalityAndStatus();
+
+    /**
+     * Retrieves all contract accounts with their clients and installations in
+     * one query, for mapping to DTOs without a lazy load per row.
+     *
+     * @return all contract accounts
+     */
+    @Query("SELECT ca FROM ContractAccount ca LEFT JOIN FETCH ca.client LEFT JOIN FETCH ca.installation")
+    List<ContractAccount> findAllWithClientAndInstallation();
+
+    /**
+     * Retrieves all contract accounts with their clients in one query.
+     *
+     * @return all contract accounts
+     */
+    @Query("SELECT ca FROM ContractAccount ca LEFT JOIN FETCH ca.client")
+    List<ContractAccount> findAllWithClient();
+
+    /**
+     * Retrieves the contract accounts, with their clients, inserted or
+     * updated after a synchronization cursor, in cursor order.
+     * <p>
+     * Served by the {@code (updatedAt, id)} index; rows stamped at or after
+     * {@code until} are left for the next page.
+     * </p>
+     *
+     * @param since    update time of the cursor
+     * @param afterId  entity ID of the cursor
+     * @param until    exclusive upper bound on the update time
+     * @param pageable the page size
+     * @return the rows ordered by update time, then ID
+     */
+    @Query("""
+            SELECT ca FROM ContractAccount ca JOIN FETCH ca.client
+             WHERE (ca.updatedAt > :since OR (ca.updatedAt = :since AND ca.id > :afterId))
+               AND ca.updatedAt < :until
+             ORDER BY ca.updatedAt, ca.id
+            """)
+    List<ContractAccount> findChangedSince(@Param("since") LocalDateTime since,
+            @Param("afterId") int afterId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable);
+
+    /**
+     * Lists the IDs of the contract accounts of an address's installations,
+     * for set-based deletes.
+     *
+     * @param addressId the address primary key
+     * @return the contract account IDs
+     */
+    @Query("SELECT ca.id FROM ContractAccount ca WHERE ca.installation.address.id = :addressId")
+    List<Integer> findIdsByAddressId(@Param("addressId") Integer addressId);
+
+    /**
+     * Lists the IDs of an installation's contract accounts, for set-based
+     * deletes.
+     *
+     * @param installationId the installation primary key
+     * @return the contract account IDs
+     */
+    @Query("SELECT ca.id FROM ContractAccount ca WHERE ca.installation.id = :installationId")
+    List<Integer> findIdsByInstallationId(@Param("installationId") Integer installationId);
+
+    /**
+     * Lists the IDs of a client's contract accounts, for set-based deletes.
+     *
+     * @param clientId the client primary key
+     * @return the contract account IDs
+     */
+    @Query("SELECT ca.id FROM ContractAccount ca WHERE ca.client.id = :clientId")
+    List<Integer> findIdsByClientId(@Param("clientId") Integer clientId);
 }
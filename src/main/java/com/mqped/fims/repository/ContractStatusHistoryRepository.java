@@ -0,0 +1,91 @@
+package com.mqped.fims.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mqped.fims.model.entity.ContractStatusHistory;
+
+/**
+ * Repository interface for the append-only {@link ContractStatusHistory}
+ * timeline.
+ * <p>
+ * Besides the per-account history, it provides the database form of the
+ * as-of query used when the in-memory timeline is not available, and the
+ * snapshot used to backfill accounts that predate the timeline.
+ * </p>
+ *
+ * @see com.mqped.fims.model.entity.ContractStatusHistory
+ * @see com.mqped.fims.service.ContractStatusHistoryService
+ * @since 1.0
+ */
+@Repository
+public interface ContractStatusHistoryRepository extends JpaRepository<ContractStatusHistory, Long> {
+
+    /**
+     * Retrieves every recorded interval of a contract account, oldest first.
+     */
+    List<ContractStatusHistory> findByContractAccountIdOrderByValidFromAscIdAsc(Integer contractAccountId);
+
+    /**
+     * Retrieves all intervals in timeline order. Used to load the in-memory
+     * timeline at startup.
+     */
+    @Query("SELECT h FROM ContractStatusHistory h ORDER BY h.contractAccountId, h.validFrom, h.id")
+    List<ContractStatusHistory> findAllOrdered();
+
+    /**
+     * Retrieves the interval in effect at {@code at} for every account in a
+     * municipality.
+     * <p>
+     * For each account, the latest recorded interval starting at or before
+     * {@code at} wins; accounts whose winning interval has already ended are
+     * excluded.
+     * </p>
+     *
+     * @param municipalityKey the municipality as folded by
+     *                        {@link ContractStatusHistory#municipalityKey(String)}
+     * @param at              the point in time
+     */
+    @Query("""
+            SELECT h FROM ContractStatusHistory h
+            WHERE h.municipalityKey = :municipalityKey
+              AND h.validFrom <= :at
+              AND (h.validTo IS NULL OR h.validTo > :at)
+              AND h.id = (
+                  SELECT MAX(h2.id) FROM ContractStatusHistory h2
+                  WHERE h2.contractAccountId = h.contractAccountId
+                    AND h2.validFrom = (
+                        SELECT MAX(h3.validFrom) FROM ContractStatusHistory h3
+                        WHERE h3.contractAccountId = h.contractAccountId
+                          AND h3.validFrom <= :at))
+            ORDER BY h.contractAccountId
+            """)
+    List<ContractStatusHistory> findAsOf(@Param("municipalityKey") String municipalityKey,
+            @Param("at") LocalDateTime at);
+
+    /**
+     * Returns the current status of every contract account that has a status
+     * but no recorded interval yet.
+     * <p>
+     * Each row is {@code [Integer accountId, String accountNumber, Integer
+     * installationId, String municipality, StatusType status, LocalDateTime
+     * statusStart, LocalDateTime statusEnd, LocalDateTime createdAt]}.
+     * </p>
+     */
+    @Query("""
+            SELECT ca.id, ca.accountNumber, i.id, a.municipality, ca.status,
+                   ca.statusStart, ca.statusEnd, ca.createdAt
+            FROM ContractAccount ca
+            JOIN ca.installation i
+            JOIN i.address a
+            WHERE ca.status IS NOT NULL
+              AND NOT EXISTS (
+                  SELECT 1 FROM ContractStatusHistory h WHERE h.contractAccountId = ca.id)
+            """)
+    List<Object[]> findAccountsWithoutHistory();
+}
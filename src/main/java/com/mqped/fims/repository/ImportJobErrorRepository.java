@@ -0,0 +1,32 @@
+package com.mqped.fims.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.mqped.fims.model.entity.ImportJobError;
+
+/**
+ * Repository interface for {@link ImportJobError} records.
+ *
+ * @see com.mqped.fims.service.ImportJobService
+ * @since 1.0
+ */
+@Repository
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Long> {
+
+    /**
+     * @param jobId    the job ID
+     * @param pageable the page size
+     * @return the recorded errors of the job, in file order
+     */
+    List<ImportJobError> findByJobIdOrderByLineNumberAsc(Long jobId, Pageable pageable);
+
+    /**
+     * @param jobId the job ID
+     * @return the number of errors recorded for the job
+     */
+    long countByJobId(Long jobId);
+}
@@ -0,0 +1,91 @@
+package com.mqped.fims.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mqped.fims.model.entity.ImportJob;
+import com.mqped.fims.model.enums.ImportJobStatus;
+
+/**
+ * Repository interface for {@link ImportJob} entities.
+ * <p>
+ * Status changes and checkpoints are conditional updates, so a worker that
+ * lost track of a job (e.g. after it was canceled or taken over) fails to
+ * move it instead of overwriting someone else's progress.
+ * </p>
+ *
+ * @see com.mqped.fims.service.ImportJobService
+ * @since 1.0
+ */
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    /**
+     * @param statuses the statuses to look for
+     * @return the jobs in any of the statuses, oldest first
+     */
+    List<ImportJob> findByStatusInOrderByIdAsc(Collection<ImportJobStatus> statuses);
+
+    /**
+     * @param pageable the page size
+     * @return the most recent jobs, newest first
+     */
+    List<ImportJob> findAllByOrderByIdDesc(Pageable pageable);
+
+    /**
+     * Moves a job from one status to another.
+     *
+     * @param id       the job ID
+     * @param expected the status the job must currently have
+     * @param next     the new status
+     * @param now      the update time
+     * @return {@code 1} if the job was moved, {@code 0} otherwise
+     */
+    @Modifying
+    @Query("""
+            UPDATE ImportJob j SET j.status = :next, j.updatedAt = :now
+             WHERE j.id = :id AND j.status = :expected
+            """)
+    int updateStatus(@Param("id") Long id,
+            @Param("expected") ImportJobStatus expected,
+            @Param("next") ImportJobStatus next,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Advances the checkpoint of a running job.
+     *
+     * @param id            the job ID
+     * @param expectedLines the checkpoint the caller started the chunk from
+     * @param linesRead     the new checkpoint
+     * @param bytesRead     bytes read up to the new checkpoint
+     * @param imported      rows imported since the previous checkpoint
+     * @param failed        rows rejected since the previous checkpoint
+     * @param now           the update time
+     * @return {@code 1} if the checkpoint moved, {@code 0} if the job is no
+     *         longer running or was checkpointed by someone else
+     */
+    @Modifying
+    @Query("""
+            UPDATE ImportJob j
+               SET j.linesRead = :linesRead, j.bytesRead = :bytesRead,
+                   j.rowsImported = j.rowsImported + :imported, j.rowsFailed = j.rowsFailed + :failed,
+                   j.updatedAt = :now
+             WHERE j.id = :id AND j.linesRead = :expectedLines
+               AND j.status = com.mqped.fims.model.enums.ImportJobStatus.RUNNING
+            """)
+    int checkpoint(@Param("id") Long id,
+            @Param("expectedLines") long expectedLines,
+            @Param("linesRead") long linesRead,
+            @Param("bytesRead") long bytesRead,
+            @Param("imported") long imported,
+            @Param("failed") long failed,
+            @Param("now") LocalDateTime now);
+}
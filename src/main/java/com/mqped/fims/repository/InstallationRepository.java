@@ -1,14 +1,20 @@
 package com.mqped.fims.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.mqped.fims.config.CacheRegions;
 import com.mqped.fims.model.entity.Installation;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for managing {@link Installation} entities.
  * <p>
@@ -50,10 +56,19 @@ public interface InstallationRepository extends JpaRepository<Installation, Inte
 
     /**
      * Finds all installations associated with the given address identifier.
+     * <p>
+     * Results are cached in the {@link CacheRegions#INSTALLATIONS_BY_ADDRESS_ID}
+     * query cache region; the region is invalidated automatically whenever the
+     * {@code installations} or {@code addresses} tables are modified.
+     * </p>
      *
      * @param addressId the unique address identifier
      * @return a list of installations associated with the address
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.INSTALLATIONS_BY_ADDRESS_ID)
+    })
     List<Installation> findByAddress_AddressId(String addressId);
 
     /**
@@ -70,4 +85,35 @@ public interface InstallationRepository extends JpaRepository<Installation, Inte
             WHERE i.address.addressId = :addressId
             """)
     List<Installation> findAllByAddressIdWithContracts(@Param("addressId") String addressId);
+
+    /**
+     * Lists every installation with its address.
+     * <p>
+     * Each row is {@code [Integer installationId, Integer addressId]}. Used to
+     * seed the dashboard's municipality lookup.
+     * </p>
+     *
+     * @return one row per installation
+     */
+    @Query("SELECT i.id, i.address.id FROM Installation i")
+    List<Object[]> findAllAddressIds();
+
+    /**
+     * Resolves the municipality of an installation's address without loading
+     * the installation itself.
+     *
+     * @param id the installation primary key
+     * @return the municipality, or empty if the installation does not exist
+     */
+    @Query("SELECT i.address.municipality FROM Installation i WHERE i.id = :id")
+    Optional<String> findMunicipalityById(@Param("id") Integer id);
+
+    /**
+     * Lists the IDs of an address's installations, for set-based deletes.
+     *
+     * @param addressId the address primary key
+     * @return the installation IDs
+     */
+    @Query("SELECT i.id FROM Installation i WHERE i.address.id = :addressId")
+    List<Integer> findIdsByAddressId(@Param("addressId") Integer addressId);
 }
@@ -0,0 +1,16 @@
+package com.mqped.fims.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.mqped.fims.model.entity.OutboxConsumerOffset;
+
+/**
+ * Repository interface for change-stream consumer offsets.
+ *
+ * @see com.mqped.fims.model.entity.OutboxConsumerOffset
+ * @since 1.0
+ */
+@Repository
+public interface OutboxConsumerOffsetRepository extends JpaRepository<OutboxConsumerOffset, String> {
+}
@@ -0,0 +1,77 @@
+package com.mqped.fims.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mqped.fims.model.entity.OutboxEvent;
+
+/**
+ * Repository interface for the transactional outbox.
+ * <p>
+ * Rows are inserted with plain JDBC by {@code OutboxWriter}; this repository
+ * serves the relay (sequencing pending rows) and the readers of the change
+ * stream (reading by position).
+ * </p>
+ *
+ * @see com.mqped.fims.model.entity.OutboxEvent
+ * @see com.mqped.fims.service.OutboxService
+ * @since 1.0
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Retrieves rows not yet sequenced, in insert order.
+     *
+     * @param pageable the batch size
+     * @return the pending rows
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.position IS NULL ORDER BY e.id")
+    List<OutboxEvent> findPending(Pageable pageable);
+
+    /**
+     * @return the highest assigned position, or {@code null} if none
+     */
+    @Query("SELECT MAX(e.position) FROM OutboxEvent e")
+    Long findMaxPosition();
+
+    /**
+     * Retrieves sequenced rows after a position, in stream order.
+     *
+     * @param after    rows with a greater position are returned
+     * @param pageable the page size
+     * @return the rows
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.position > :after ORDER BY e.position")
+    List<OutboxEvent> findAfter(@Param("after") long after, Pageable pageable);
+
+    /**
+     * Retrieves sequenced rows of one aggregate, in stream order.
+     *
+     * @param aggregateType the entity simple name
+     * @param aggregateId   the entity identifier
+     * @return the rows
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.aggregateType = :type AND e.aggregateId = :id "
+            + "AND e.position IS NOT NULL ORDER BY e.position")
+    List<OutboxEvent> findByAggregate(@Param("type") String aggregateType, @Param("id") String aggregateId);
+
+    /**
+     * Deletes sequenced rows published before a cutoff and already read by
+     * every sink.
+     *
+     * @param cutoff rows published earlier are eligible
+     * @param upTo   highest position that may be deleted
+     * @return the number of deleted rows
+     */
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff AND e.position <= :upTo")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("upTo") long upTo);
+}
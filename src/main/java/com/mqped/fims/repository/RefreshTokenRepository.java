@@ -0,0 +1,75 @@
+package com.mqped.fims.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mqped.fims.model.entity.RefreshToken;
+import com.mqped.fims.model.enums.RefreshTokenRevocation;
+
+/**
+ * Repository interface for {@link RefreshToken} records.
+ *
+ * @see com.mqped.fims.service.RefreshTokenService
+ * @since 1.0
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Retrieves a token with its user.
+     *
+     * @param tokenHash hex-encoded SHA-256 hash of the token
+     * @return the token, if found
+     */
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Revokes a token unless it already was, in one statement, so of two
+     * concurrent rotations of the same token only one succeeds.
+     *
+     * @param id         the token's ID
+     * @param revokedAt  the revocation time
+     * @param revocation why the token is revoked
+     * @return {@code 1} if this call revoked the token, {@code 0} if it was
+     *         already revoked
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE RefreshToken t SET t.revokedAt = :revokedAt, t.revocation = :revocation
+             WHERE t.id = :id AND t.revokedAt IS NULL
+            """)
+    int claim(@Param("id") Long id, @Param("revokedAt") LocalDateTime revokedAt,
+            @Param("revocation") RefreshTokenRevocation revocation);
+
+    /**
+     * Revokes every usable token of a user.
+     *
+     * @param userId    the user's ID
+     * @param revokedAt the revocation time
+     * @return the number of revoked tokens
+     */
+    @Modifying
+    @Query("""
+            UPDATE RefreshToken t SET t.revokedAt = :revokedAt,
+                   t.revocation = com.mqped.fims.model.enums.RefreshTokenRevocation.REVOKED
+             WHERE t.user.id = :userId AND t.revokedAt IS NULL
+            """)
+    int revokeAllForUser(@Param("userId") Integer userId, @Param("revokedAt") LocalDateTime revokedAt);
+
+    /**
+     * Deletes tokens that expired before a cutoff.
+     *
+     * @param cutoff tokens expiring earlier are removed
+     * @return the number of removed tokens
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,8 +1,12 @@
 package com.mqped.fims.repository;
 
+import com.mqped.fims.config.CacheRegions;
 import com.mqped.fims.model.entity.Role;
 import com.mqped.fims.model.enums.RoleName;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -38,10 +42,18 @@ public interface RoleRepository extends JpaRepository<Role, Integer> {
 
     /**
      * Retrieves a role by its enumerated {@link RoleName}.
+     * <p>
+     * Served from the {@link CacheRegions#ROLE_BY_NAME} query cache region,
+     * since every signup resolves the same handful of roles.
+     * </p>
      *
      * @param name the name of the role (e.g., {@code RoleName.ROLE_ADMIN})
      * @return an {@link Optional} containing the matching role, if found
      */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.ROLE_BY_NAME)
+    })
     Optional<Role> findByName(RoleName name);
 
     /**
@@ -2,13 +2,17 @@ package com.mqped.fims.repository;
 
 import com.mqped.fims.model.entity.ServiceOrder;
 import com.mqped.fims.model.enums.ServiceOrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for managing {@link ServiceOrder} entities.
@@ -92,4 +96,95 @@ public interface ServiceOrderRepository extends JpaRepository<ServiceOrder, Inte
     @Query("SELECT so FROM ServiceOrder so WHERE so.createdAt BETWEEN :start AND :end")
     List<ServiceOrder> findByCreatedAtBetween(@Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end);
+
+    /**
+     * Counts service orders grouped by status and type.
+     * <p>
+     * Each row is {@code [ServiceOrderStatus, ServiceOrderType, Long]}. Used to
+     * reconcile the in-memory dashboard counters.
+     * </p>
+     */
+    @Query("SELECT so.status, so.type, COUNT(so) FROM ServiceOrder so GROUP BY so.status, so.type")
+    List<Object[]> countGroupedByStatusAndType();
+
+    /**
+     * Returns a lightweight snapshot of every service order in the given
+     * statuses, without loading entities.
+     * <p>
+     * Each row is {@code [Integer id, Integer targetId, ServiceOrderType,
+     * ServiceOrderStatus, LocalDateTime createdAt]}. Used to seed the SLA
+     * monitor at startup.
+     * </p>
+     */
+    @Query("SELECT so.id, so.target.id, so.type, so.status, so.createdAt FROM ServiceOrder so WHERE so.status IN :statuses")
+    List<Object[]> findActiveSnapshots(@Param("statuses") Collection<ServiceOrderStatus> statuses);
+
+    /**
+     * Reads only the current status of a service order.
+     */
+    @Query("SELECT so.status FROM ServiceOrder so WHERE so.id = :id")
+    Optional<ServiceOrderStatus> findStatusById(@Param("id") Integer id);
+
+    /**
+     * Moves a service order from {@code expected} to {@code next} in a single
+     * conditional statement, incrementing its version.
+     * <p>
+     * The row is only touched if its status is still {@code expected}, so no
+     * lock is held between reading and writing. A {@code null}
+     * {@code executedAt} keeps the stored value. Bulk statements skip entity
+     * callbacks, so the caller supplies the new {@code updatedAt}.
+     * </p>
+     *
+     * @return {@code 1} if the transition was applied, {@code 0} if the order
+     *         no longer has the expected status
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE ServiceOrder so
+               SET so.status = :next,
+                   so.executedAt = COALESCE(:executedAt, so.executedAt),
+                   so.version = so.version + 1,
+                   so.updatedAt = :updatedAt
+             WHERE so.id = :id
+               AND so.status = :expected
+            """)
+    int transitionStatus(@Param("id") Integer id,
+            @Param("expected") ServiceOrderStatus expected,
+            @Param("next") ServiceOrderStatus next,
+            @Param("executedAt") LocalDateTime executedAt,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Retrieves the service orders inserted or updated after a synchronization
+     * cursor, in cursor order.
+     * <p>
+     * Served by the {@code (updatedAt, id)} index; rows stamped at or after
+     * {@code until} are left for the next page.
+     * </p>
+     *
+     * @param since    update time of the cursor
+     * @param afterId  entity ID of the cursor
+     * @param until    exclusive upper bound on the update time
+     * @param pageable the page size
+     * @return the rows ordered by update time, then ID
+     */
+    @Query("""
+            SELECT so FROM ServiceOrder so
+             WHERE (so.updatedAt > :since OR (so.updatedAt = :since AND so.id > :afterId))
+               AND so.updatedAt < :until
+             ORDER BY so.updatedAt, so.id
+            """)
+    List<ServiceOrder> findChangedSince(@Param("since") LocalDateTime since,
+            @Param("afterId") int afterId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable);
+
+    /**
+     * Lists the IDs of a target's service orders, for set-based deletes.
+     *
+     * @param targetId the target primary key
+     * @return the service order IDs
+     */
+    @Query("SELECT so.id FROM ServiceOrder so WHERE so.target.id = :targetId")
+    List<Integer> findIdsByTargetId(@Param("targetId") Integer targetId);
 }
@@ -0,0 +1,62 @@
+package com.mqped.fims.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mqped.fims.model.entity.SyncTombstone;
+
+/**
+ * Repository interface for {@link SyncTombstone} records.
+ * <p>
+ * Rows are inserted with plain JDBC by {@code SyncTombstoneWriter}; this
+ * repository pages through them with the same keyset cursor that
+ * synchronization uses for live rows.
+ * </p>
+ *
+ * @see com.mqped.fims.service.SyncService
+ * @since 1.0
+ */
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+
+    /**
+     * Retrieves the tombstones of one entity type after a cursor, in cursor
+     * order.
+     *
+     * @param entityType simple name of the entity class
+     * @param since      deletion time of the cursor
+     * @param afterId    tombstone ID of the cursor
+     * @param until      exclusive upper bound on the deletion time
+     * @param pageable   the page size
+     * @return the tombstones ordered by deletion time, then ID
+     */
+    @Query("""
+            SELECT t FROM SyncTombstone t
+             WHERE t.entityType = :entityType
+               AND (t.deletedAt > :since OR (t.deletedAt = :since AND t.id > :afterId))
+               AND t.deletedAt < :until
+             ORDER BY t.deletedAt, t.id
+            """)
+    List<SyncTombstone> findAfter(@Param("entityType") String entityType,
+            @Param("since") LocalDateTime since,
+            @Param("afterId") long afterId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable);
+
+    /**
+     * Deletes tombstones older than a cutoff.
+     *
+     * @param cutoff tombstones deleted earlier are removed
+     * @return the number of removed tombstones
+     */
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,9 +2,13 @@ package com.mqped.fims.repository;
 
 import com.mqped.fims.model.entity.Target;
 import com.mqped.fims.model.enums.TargetType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -106,4 +110,39 @@ public interface TargetRepository extends JpaRepository<Target, Integer> {
      * Retrieves targets within a range of distances from base (inclusive).
      */
     List<Target> findByDistanceFromBaseBetween(Double minDistance, Double maxDistance);
+
+    /**
+     * Counts targets grouped by type and active flag.
+     * <p>
+     * Each row is {@code [TargetType, Boolean, Long]}. Used to reconcile the
+     * in-memory dashboard counters.
+     * </p>
+     */
+    @Query("SELECT t.type, t.active, COUNT(t) FROM Target t GROUP BY t.type, t.active")
+    List<Object[]> countGroupedByTypeAndActive();
+
+    /**
+     * Retrieves the targets, with their contract accounts, inserted or
+     * updated after a synchronization cursor, in cursor order.
+     * <p>
+     * Served by the {@code (updatedAt, id)} index; rows stamped at or after
+     * {@code until} are left for the next page.
+     * </p>
+     *
+     * @param since    update time of the cursor
+     * @param afterId  entity ID of the cursor
+     * @param until    exclusive upper bound on the update time
+     * @param pageable the page size
+     * @return the rows ordered by update time, then ID
+     */
+    @Query("""
+            SELECT t FROM Target t JOIN FETCH t.contractAccount
+             WHERE (t.updatedAt > :since OR (t.updatedAt = :since AND t.id > :afterId))
+               AND t.updatedAt < :until
+             ORDER BY t.updatedAt, t.id
+            """)
+    List<Target> findChangedSince(@Param("since") LocalDateTime since,
+            @Param("afterId") int afterId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable);
 }
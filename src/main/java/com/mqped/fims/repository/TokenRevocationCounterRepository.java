@@ -0,0 +1,37 @@
+package com.mqped.fims.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.mqped.fims.model.entity.TokenRevocationCounter;
+
+/**
+ * Repository interface for the {@link TokenRevocationCounter} row.
+ *
+ * @since 1.0
+ */
+@Repository
+public interface TokenRevocationCounterRepository extends JpaRepository<TokenRevocationCounter, Integer> {
+
+    /**
+     * Increments the counter, locking its row until the transaction ends.
+     *
+     * @return the number of updated rows; {@code 0} if the row is missing
+     */
+    @Modifying
+    @Query("UPDATE TokenRevocationCounter c SET c.currentVersion = c.currentVersion + 1 WHERE c.id = 1")
+    int increment();
+
+    /**
+     * Reads the counter.
+     *
+     * @return the version of the latest committed revocation, if the row
+     *         exists
+     */
+    @Query("SELECT c.currentVersion FROM TokenRevocationCounter c WHERE c.id = 1")
+    Optional<Long> findCurrentVersion();
+}
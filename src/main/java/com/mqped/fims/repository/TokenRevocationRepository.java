@@ -0,0 +1,66 @@
+package com.mqped.fims.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mqped.fims.model.entity.TokenRevocation;
+
+/**
+ * Repository interface for {@link TokenRevocation} records.
+ *
+ * @see com.mqped.fims.security.TokenRevocationList
+ * @since 1.0
+ */
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    /**
+     * Retrieves the revocations written after a version.
+     *
+     * @param version the last version already loaded
+     * @return the newer revocations
+     */
+    List<TokenRevocation> findByVersionGreaterThan(long version);
+
+    /**
+     * Retrieves the revocations that have not expired.
+     *
+     * @param now the current time
+     * @return the live revocations
+     */
+    List<TokenRevocation> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Checks whether a token is revoked.
+     *
+     * @param tokenId the token's {@code jti}
+     * @return {@code true} if the token is revoked
+     */
+    boolean existsByTokenId(String tokenId);
+
+    /**
+     * Retrieves the latest user-wide revocation of a user.
+     *
+     * @param userId the user's ID
+     * @return the time before which the user's tokens are revoked, or
+     *         {@code null}
+     */
+    @Query("SELECT MAX(r.notBefore) FROM TokenRevocation r WHERE r.userId = :userId")
+    LocalDateTime findNotBefore(@Param("userId") Integer userId);
+
+    /**
+     * Deletes revocations that expired before a cutoff.
+     *
+     * @param cutoff revocations expiring earlier are removed
+     * @return the number of removed revocations
+     */
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
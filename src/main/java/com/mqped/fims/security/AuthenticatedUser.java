@@ -0,0 +1,93 @@
+package com.mqped.fims.security;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Principal of requests authenticated with an access token.
+ * <p>
+ * Built from the token's claims alone, so authenticating a request needs no
+ * database lookup. Access tokens are short-lived; changes to a user's roles
+ * apply from the next token refresh, while logouts and account locks are
+ * enforced at once through the {@link TokenRevocationList}.
+ * </p>
+ *
+ * @see JwtUtil#generateAccessToken(Integer, String, Collection)
+ * @since 1.0
+ */
+public final class AuthenticatedUser implements UserDetails {
+
+    private final Integer id;
+    private final String username;
+    private final List<GrantedAuthority> authorities;
+    private final String tokenId;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public AuthenticatedUser(Integer id, String username, Collection<String> roles,
+            String tokenId, Instant issuedAt, Instant expiresAt) {
+        this.id = id;
+        this.username = username;
+        this.authorities = roles.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        this.tokenId = tokenId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /** @return the user ID */
+    public Integer getId() {
+        return id;
+    }
+
+    /** @return the role names, e.g. {@code ROLE_ADMIN} */
+    public Set<String> getRoles() {
+        return authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+
+    /** @return the access token's {@code jti}, or {@code null} for tokens without one */
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    /** @return when the access token was issued */
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    /** @return when the access token expires */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /** @return {@code null}; tokens never carry the password hash */
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{id=" + id + ", username='" + username + "', authorities=" + authorities + '}';
+    }
+}
@@ -1,5 +1,8 @@
 package com.mqped.fims.security;
 
+import com.mqped.fims.exceptions.InvalidTokenException;
+import com.mqped.fims.exceptions.TokenExpiredException;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -20,6 +23,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Collection;
 
 /**
  * Security filter responsible for extracting and validating JWT tokens
@@ -29,6 +33,14 @@ import java.io.IOException;
  * <p>
  * This filter runs once per request, before the controller layer.
  * </p>
+ *
+ * <p>
+ * Access tokens issued at login carry the user ID and roles, and are turned
+ * into an {@link AuthenticatedUser} without touching the database. Tokens
+ * without those claims (issued before they were added) fall back to loading
+ * the user through the {@link UserDetailsService}. Tokens revoked by a
+ * logout or an account lock are rejected by the {@link TokenRevocationList}.
+ * </p>
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -40,10 +52,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationList tokenRevocationList;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, @Lazy UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, @Lazy UserDetailsService userDetailsService,
+            TokenRevocationList tokenRevocationList) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     @Override
@@ -56,13 +71,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String jwt = extractJwtFromRequest(request);
 
             if (jwt != null) {
-                String username = jwtUtil.extractUsername(jwt);
+                Claims claims = jwtUtil.extractAllClaims(jwt);
+                String username = claims.getSubject();
 
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    authenticateUser(jwt, username, request);
+                    if (claims.get(JwtUtil.ROLES_CLAIM) instanceof Collection<?> roles) {
+                        authenticateFromClaims(claims, roles, request);
+                    } else {
+                        authenticateUser(jwt, username, request);
+                    }
                 }
             }
 
+        } catch (TokenExpiredException | InvalidTokenException ex) {
+            authLogger.debug("Rejected JWT: {}", ex.getMessage());
         } catch (ExpiredJwtException ex) {
             authLogger.warn("JWT expired for user '{}': {}", ex.getClaims().getSubject(), ex.getMessage());
         } catch (JwtException ex) {
@@ -103,15 +125,49 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
         if (Boolean.TRUE.equals(jwtUtil.validateToken(jwt, userDetails))) {
-            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
-
-            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authToken);
-
-            authLogger.debug("User '{}' successfully authenticated from JWT", username);
+            setAuthentication(userDetails, request);
         } else {
             authLogger.debug("Invalid JWT for user '{}'", username);
         }
     }
+
+    /**
+     * Authenticates the user from the token's claims, unless the token was
+     * revoked.
+     *
+     * @param claims  the verified claims
+     * @param roles   the roles claim
+     * @param request the current HTTP request
+     */
+    private void authenticateFromClaims(Claims claims, Collection<?> roles, HttpServletRequest request) {
+        AuthenticatedUser user = new AuthenticatedUser(
+                claims.get(JwtUtil.USER_ID_CLAIM, Integer.class),
+                claims.getSubject(),
+                roles.stream().map(String::valueOf).toList(),
+                claims.getId(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+
+        if (tokenRevocationList.isRevoked(user.getTokenId(), user.getId(), user.getIssuedAt())) {
+            authLogger.debug("Revoked JWT for user '{}'", user.getUsername());
+            return;
+        }
+        setAuthentication(user, request);
+    }
+
+    /**
+     * Sets the authentication context for the current request.
+     *
+     * @param userDetails the authenticated user
+     * @param request     the current HTTP request
+     */
+    private void setAuthentication(UserDetails userDetails, HttpServletRequest request) {
+        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+
+        authLogger.debug("User '{}' successfully authenticated from JWT", userDetails.getUsername());
+    }
 }
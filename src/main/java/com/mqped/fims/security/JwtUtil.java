@@ -11,8 +11,11 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
@@ -22,10 +25,23 @@ import java.util.function.Function;
  * Uses HS256 symmetric signing algorithm with a base64-encoded secret key.
  * Provides typed exceptions for token errors.
  * </p>
+ *
+ * <p>
+ * Access tokens carry the user ID and roles as claims, so requests are
+ * authenticated from the token alone; see {@link AuthenticatedUser}. Every
+ * token has a random {@code jti} so it can be revoked individually; see
+ * {@link TokenRevocationList}.
+ * </p>
  */
 @Component
 public class JwtUtil {
 
+    /** Claim holding the user ID in access tokens. */
+    public static final String USER_ID_CLAIM = "uid";
+
+    /** Claim holding the role names in access tokens. */
+    public static final String ROLES_CLAIM = "roles";
+
     @Value("${jwt.secret}")
     private String secret;
 
@@ -51,7 +67,13 @@ public class JwtUtil {
         return resolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
+    /**
+     * Verifies a JWT and returns its claims.
+     *
+     * @throws TokenExpiredException if the token is expired
+     * @throws InvalidTokenException if malformed or invalid
+     */
+    public Claims extractAllClaims(String token) {
         try {
             return Jwts.parser()
                     .verifyWith(getSigningKey())
@@ -102,12 +124,37 @@ public class JwtUtil {
      * Generates a new JWT token for the given user with extra claims.
      */
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        return buildToken(extraClaims, userDetails.getUsername());
+    }
+
+    /**
+     * Generates an access token carrying the user's ID and roles.
+     *
+     * @param userId   the user's ID
+     * @param username the username, used as subject
+     * @param roles    the role names, e.g. {@code ROLE_ADMIN}
+     */
+    public String generateAccessToken(Integer userId, String username, Collection<String> roles) {
+        return buildToken(Map.of(USER_ID_CLAIM, userId, ROLES_CLAIM, List.copyOf(roles)), username);
+    }
+
+    /**
+     * Returns how long issued tokens are valid.
+     *
+     * @return the lifetime in seconds
+     */
+    public long getExpirationSeconds() {
+        return expirationMs / 1000;
+    }
+
+    private String buildToken(Map<String, Object> claims, String subject) {
         Instant now = Instant.now();
         Instant expiry = now.plusMillis(expirationMs);
 
         return Jwts.builder()
-                .claims(extraClaims)
-                .subject(userDetails.getUsername())
+                .claims(claims)
+                .id(UUID.randomUUID().toString())
+                .subject(subject)
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiry))
                 .signWith(getSigningKey(), Jwts.SIG.HS256)
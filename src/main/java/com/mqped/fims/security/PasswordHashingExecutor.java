@@ -0,0 +1,132 @@
+package com.mqped.fims.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.mqped.fims.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs password verification on a dedicated, bounded pool.
+ * <p>
+ * BCrypt is deliberately slow (tens of milliseconds of CPU per check). Run on
+ * request threads, a burst of logins at shift start takes every Tomcat thread
+ * and stalls the rest of the API. Here at most {@code auth.hashing.threads}
+ * checks run at once and at most {@code auth.hashing.queue-capacity} wait;
+ * beyond that, logins are refused at once with
+ * {@link ServiceUnavailableException} instead of queueing without bound.
+ * Callers get a {@link CompletableFuture}, so request threads are not held
+ * while a check waits.
+ * </p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ * <li>{@code fims.auth.hashing.queue} — timer from submission to start</li>
+ * <li>{@code fims.auth.hashing.duration} — timer of the checks</li>
+ * <li>{@code fims.auth.hashing.waiting} — gauge of queued checks</li>
+ * <li>{@code fims.auth.hashing.rejected} — counter of refused checks</li>
+ * </ul>
+ *
+ * @since 1.0
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor pool;
+    private final Timer queueTimer;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * Constructs a new {@code PasswordHashingExecutor} with its own pool.
+     *
+     * @param passwordEncoder the encoder verifying passwords
+     * @param meterRegistry   registry for hashing metrics
+     * @param threads         checks run at once; {@code 0} for one per
+     *                        processor
+     * @param queueCapacity   checks allowed to wait for a thread
+     */
+    @Autowired
+    public PasswordHashingExecutor(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry,
+            @Value("${auth.hashing.threads:0}") int threads,
+            @Value("${auth.hashing.queue-capacity:200}") int queueCapacity) {
+        this(passwordEncoder, meterRegistry, newPool(
+                threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), queueCapacity));
+    }
+
+    PasswordHashingExecutor(PasswordEncoder passwordEncoder, MeterRegistry meterRegistry, ThreadPoolExecutor pool) {
+        this.passwordEncoder = passwordEncoder;
+        this.pool = pool;
+        this.queueTimer = Timer.builder("fims.auth.hashing.queue")
+                .description("Time password checks wait for a hashing thread")
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("fims.auth.hashing.duration")
+                .description("Time spent verifying passwords")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("fims.auth.hashing.rejected")
+                .description("Password checks refused because the hashing queue was full")
+                .register(meterRegistry);
+        Gauge.builder("fims.auth.hashing.waiting", pool, p -> p.getQueue().size())
+                .description("Password checks waiting for a hashing thread")
+                .register(meterRegistry);
+    }
+
+    private static ThreadPoolExecutor newPool(int threads, int queueCapacity) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hashing-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Verifies a password on the hashing pool.
+     *
+     * @param rawPassword     the password given by the user
+     * @param encodedPassword the stored hash
+     * @return a future completed with whether the password matches
+     * @throws ServiceUnavailableException if the hashing queue is full
+     */
+    public CompletableFuture<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        long submitted = System.nanoTime();
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        try {
+            pool.execute(() -> {
+                queueTimer.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    result.complete(hashTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Too many logins in progress, please retry shortly", e);
+        }
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,214 @@
+package com.mqped.fims.security;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.mqped.fims.model.entity.TokenRevocation;
+import com.mqped.fims.repository.TokenRevocationCounterRepository;
+import com.mqped.fims.repository.TokenRevocationRepository;
+import com.mqped.fims.util.BloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Answers whether an access token has been revoked, without a database query
+ * for the vast majority of requests.
+ * <p>
+ * Revoked token IDs and users with a "not before" stamp are kept in a
+ * {@link BloomFilter}. A token whose {@code jti} and user are both absent
+ * from the filter is certainly not revoked; only a positive (a revoked token,
+ * a user with a recent lock, or a false positive) is checked against
+ * {@link TokenRevocation} rows. Every {@code auth.revocation.poll-interval}
+ * the list reads the {@link com.mqped.fims.model.entity.TokenRevocationCounter
+ * revocation counter} and, when another instance has written revocations,
+ * adds only the rows newer than the version it last loaded. Bloom filters
+ * cannot forget keys, so every {@code auth.revocation.rebuild-interval} (and
+ * when the filter holds more keys than it was sized for) it is rebuilt from
+ * the revocations that have not expired.
+ * </p>
+ *
+ * <p>
+ * "Not before" stamps have the one-second precision of the token's
+ * {@code iat} claim: tokens issued in the same second as a user-wide
+ * revocation are still accepted.
+ * </p>
+ *
+ * <h3>Metrics:</h3>
+ * <ul>
+ * <li>{@code fims.auth.revocation.lookups} — counter of database checks, by
+ * {@code result} ({@code revoked} or {@code false_positive})</li>
+ * <li>{@code fims.auth.revocation.entries} — gauge of keys in the filter</li>
+ * </ul>
+ *
+ * @see com.mqped.fims.service.TokenRevocationService
+ * @since 1.0
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final TokenRevocationRepository revocationRepository;
+    private final TokenRevocationCounterRepository counterRepository;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final Counter revokedLookups;
+    private final Counter falsePositiveLookups;
+
+    /** The filter; {@code null} until first loaded. */
+    private volatile BloomFilter filter;
+
+    /** Counter version the filter reflects; guarded by {@code this}. */
+    private long loadedVersion;
+
+    /**
+     * Constructs a new {@code TokenRevocationList}.
+     *
+     * @param revocationRepository the repository for revocations
+     * @param counterRepository    the repository for the revocation counter
+     * @param meterRegistry        registry for revocation metrics
+     * @param expectedEntries      revocations the filter is sized for
+     * @param falsePositiveRate    share of valid tokens checked against the
+     *                             database at that size
+     */
+    public TokenRevocationList(TokenRevocationRepository revocationRepository,
+            TokenRevocationCounterRepository counterRepository, MeterRegistry meterRegistry,
+            @Value("${auth.revocation.expected-entries:100000}") int expectedEntries,
+            @Value("${auth.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.revocationRepository = revocationRepository;
+        this.counterRepository = counterRepository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.revokedLookups = Counter.builder("fims.auth.revocation.lookups")
+                .description("Revocation checks that reached the database")
+                .tag("result", "revoked")
+                .register(meterRegistry);
+        this.falsePositiveLookups = Counter.builder("fims.auth.revocation.lookups")
+                .description("Revocation checks that reached the database")
+                .tag("result", "false_positive")
+                .register(meterRegistry);
+        Gauge.builder("fims.auth.revocation.entries", this,
+                list -> list.filter == null ? 0 : list.filter.insertions())
+                .description("Revocations held in the filter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether an access token is revoked.
+     *
+     * @param tokenId  the token's {@code jti}, or {@code null}
+     * @param userId   the user the token was issued to, or {@code null}
+     * @param issuedAt when the token was issued, or {@code null}
+     * @return {@code true} if the token or the user's tokens issued at that
+     *         time are revoked
+     */
+    public boolean isRevoked(String tokenId, Integer userId, Instant issuedAt) {
+        BloomFilter current = filter;
+        if (current == null) {
+            poll();
+            current = filter;
+        }
+        // Until the filter loads, every token is checked against the database
+        if (tokenId != null && (current == null || current.mightContain(tokenKey(tokenId)))) {
+            if (record(revocationRepository.existsByTokenId(tokenId))) {
+                return true;
+            }
+        }
+        if (userId != null && (current == null || current.mightContain(userKey(userId)))) {
+            LocalDateTime notBefore = revocationRepository.findNotBefore(userId);
+            return record(notBefore != null && (issuedAt == null
+                    || issuedAt.isBefore(notBefore.atZone(ZoneId.systemDefault()).toInstant())));
+        }
+        return false;
+    }
+
+    /**
+     * Adds a revocation written by this instance, so it applies here before
+     * the next poll.
+     *
+     * @param revocation the revocation
+     */
+    public void add(TokenRevocation revocation) {
+        BloomFilter current = filter;
+        if (current != null) {
+            addTo(current, revocation);
+        }
+    }
+
+    /**
+     * Loads the revocations written since the last poll.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.poll-interval:PT2S}")
+    public synchronized void poll() {
+        try {
+            long version = counterRepository.findCurrentVersion().orElse(0L);
+            BloomFilter current = filter;
+            if (current == null || current.isSaturated()) {
+                load(version);
+            } else if (version > loadedVersion) {
+                List<TokenRevocation> added = revocationRepository.findByVersionGreaterThan(loadedVersion);
+                added.forEach(revocation -> addTo(current, revocation));
+                loadedVersion = version;
+                logger.debug("Loaded {} token revocations up to version {}", added.size(), version);
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Failed to load token revocations: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuilds the filter from the revocations that have not expired.
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.rebuild-interval:PT1H}",
+            initialDelayString = "${auth.revocation.rebuild-interval:PT1H}")
+    public synchronized void rebuild() {
+        try {
+            load(counterRepository.findCurrentVersion().orElse(0L));
+        } catch (DataAccessException e) {
+            logger.warn("Failed to rebuild token revocations: {}", e.getMessage());
+        }
+    }
+
+    private void load(long version) {
+        // Rows newer than the version read first are loaded by the next poll
+        List<TokenRevocation> live = revocationRepository.findByExpiresAtAfter(LocalDateTime.now());
+        BloomFilter rebuilt = BloomFilter.create(Math.max(expectedEntries, live.size() * 2), falsePositiveRate);
+        live.forEach(revocation -> addTo(rebuilt, revocation));
+        filter = rebuilt;
+        loadedVersion = version;
+        logger.info("Loaded {} token revocations at version {}", live.size(), version);
+    }
+
+    private boolean record(boolean revoked) {
+        (revoked ? revokedLookups : falsePositiveLookups).increment();
+        return revoked;
+    }
+
+    private static void addTo(BloomFilter filter, TokenRevocation revocation) {
+        if (revocation.getTokenId() != null) {
+            filter.add(tokenKey(revocation.getTokenId()));
+        }
+        if (revocation.getNotBefore() != null) {
+            filter.add(userKey(revocation.getUserId()));
+        }
+    }
+
+    private static String tokenKey(String tokenId) {
+        return "t:" + tokenId;
+    }
+
+    private static String userKey(Integer userId) {
+        return "u:" + userId;
+    }
+}
@@ -2,11 +2,17 @@ package com.mqped.fims.service;
 
 import com.mqped.fims.exceptions.InvalidDataException;
 import com.mqped.fims.exceptions.ResourceNotFoundException;
+import com.mqped.fims.model.dto.AddressDTO;
 import com.mqped.fims.model.entity.Address;
 import com.mqped.fims.model.entity.Installation;
 import com.mqped.fims.repository.AddressRepository;
+import com.mqped.fims.service.projection.FieldProjection;
+import jakarta.persistence.EntityManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service class responsible for managing {@link Address} entities.
@@ -41,15 +47,43 @@ import java.util.List;
 @Service
 public class AddressService implements CrudService<Address, Integer> {
 
+    /**
+     * Fields of {@link AddressDTO} available to sparse fieldsets; embedded by
+     * the installation projection.
+     */
+    static final FieldProjection FIELDS = FieldProjection.builder("Address")
+            .field("addressId")
+            .field("state")
+            .field("municipality")
+            .field("district")
+            .field("subdistrict")
+            .field("neighborhood")
+            .field("street")
+            .field("streetType")
+            .field("number")
+            .field("complement")
+            .field("zipCode")
+            .field("latitude")
+            .field("longitude")
+            .build();
+
     private final AddressRepository repository;
+    private final AggregateDeletionService aggregateDeletions;
+    private final EntityManager entityManager;
 
     /**
      * Constructs a new {@code AddressService} with the provided repository.
      *
-     * @param repository the {@link AddressRepository} used for data persistence
+     * @param repository         the {@link AddressRepository} used for data
+     *                           persistence
+     * @param aggregateDeletions deletes addresses with their installations
+     * @param entityManager      the shared entity manager, for projections
      */
-    public AddressService(AddressRepository repository) {
+    public AddressService(AddressRepository repository, AggregateDeletionService aggregateDeletions,
+            EntityManager entityManager) {
         this.repository = repository;
+        this.aggregateDeletions = aggregateDeletions;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -97,6 +131,44 @@ public class AddressService implements CrudService<Address, Integer> {
                 .orElseThrow(() -> new ResourceNotFoundException("Address with id " + id + " not found"));
     }
 
+    /**
+     * Retrieves all addresss, mapped inside a read-only transaction.
+     *
+     * @return all addresss as {@link AddressDTO}s
+     */
+    @Transactional(readOnly = true)
+    public List<AddressDTO> findAllAsDTO() {
+        return repository.findAll().stream()
+                .map(AddressDTO::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Retrieves only the requested fields of all addresses, read with a
+     * single projection query instead of loading the entities.
+     *
+     * @param fields the requested fields, separated by commas
+     * @return one map per address holding the requested fields
+     * @throws InvalidDataException if a field is unknown
+     * @see #FIELDS
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(String fields) {
+        return FIELDS.findAll(entityManager, fields);
+    }
+
+    /**
+     * Finds an address by ID, mapped inside a read-only transaction.
+     *
+     * @param id the ID of the address
+     * @return the address as an {@link AddressDTO}
+     * @throws ResourceNotFoundException if no address exists with the given ID
+     */
+    @Transactional(readOnly = true)
+    public AddressDTO findByIdAsDTO(Integer id) {
+        return AddressDTO.fromEntity(findById(id));
+    }
+
     /**
      * Updates an existing {@link Address} with new field values.
      * <p>
@@ -135,17 +207,28 @@ public class AddressService implements CrudService<Address, Integer> {
     }
 
     /**
-     * Deletes an address by its ID.
+     * Deletes an address and its installations and their contract accounts with set-based statements.
      *
      * @param id the ID of the address to delete
      * @throws ResourceNotFoundException if the address does not exist
+     * @see AggregateDeletionService#deleteAddress(Integer)
      */
     @Override
     public void deleteById(Integer id) {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException("Address with id " + id + " not found");
-        }
-        repository.deleteById(id);
+        aggregateDeletions.deleteAddress(id);
+    }
+
+    /**
+     * Deletes an address and its installations and their contract accounts, in the background when the subtree
+     * exceeds {@code deletes.async-threshold} rows.
+     *
+     * @param id the ID of the address to delete
+     * @return a future completed once the delete has committed; already
+     *         completed when the delete ran inline
+     * @throws ResourceNotFoundException if the address does not exist
+     */
+    public CompletableFuture<Void> deleteByIdAsync(Integer id) {
+        return aggregateDeletions.deleteAddressAsync(id);
     }
 
     /**
@@ -0,0 +1,402 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.event.ChangeType;
+import com.mqped.fims.event.EntityChangeEvent;
+import com.mqped.fims.event.HibernateEntityChangeBridge;
+import com.mqped.fims.exceptions.BusinessRuleException;
+import com.mqped.fims.exceptions.ForeignKeyViolations;
+import com.mqped.fims.exceptions.ResourceNotFoundException;
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.entity.Client;
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.Installation;
+import com.mqped.fims.model.entity.ServiceOrder;
+import com.mqped.fims.model.entity.Target;
+import com.mqped.fims.repository.AddressRepository;
+import com.mqped.fims.repository.ClientRepository;
+import com.mqped.fims.repository.ContractAccountRepository;
+import com.mqped.fims.repository.InstallationRepository;
+import com.mqped.fims.repository.ServiceOrderRepository;
+import com.mqped.fims.repository.TargetRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Deletes {@link Address}, {@link Client}, {@link Installation} and
+ * {@link Target} aggregates with set-based statements.
+ * <p>
+ * The aggregates own their children through {@code CascadeType.ALL} with
+ * {@code orphanRemoval}, so removing a root through the entity manager loads
+ * every installation, contract account or service order below it and deletes
+ * them one statement per row. Here the IDs of each level are read with one
+ * scalar query, and the rows are removed bottom-up with
+ * {@code DELETE ... WHERE id IN (...)} statements of at most
+ * {@value #CHUNK_SIZE} IDs, all in one transaction:
+ * </p>
+ * <ul>
+ * <li>address: contract accounts of its installations, installations,
+ * address</li>
+ * <li>installation: contract accounts, installation</li>
+ * <li>client: contract accounts, client</li>
+ * <li>target: service orders, target</li>
+ * </ul>
+ *
+ * <p>
+ * Bulk statements bypass Hibernate's event system, so each chunk is loaded
+ * once, with one {@code WHERE id IN (...)} query, before it is deleted, and one
+ * {@link ChangeType#DELETED} {@link EntityChangeEvent} per row is published
+ * with the same previous state {@link HibernateEntityChangeBridge} would have
+ * captured. The persistence context is cleared after every chunk, so memory
+ * stays bounded whatever the size of the subtree. Bulk deletes also evict the
+ * affected second-level cache regions.
+ * </p>
+ *
+ * <p>
+ * Targets are not part of the contract account aggregate: an aggregate whose
+ * contract accounts still have targets is not deleted, and a
+ * {@link BusinessRuleException} is thrown.
+ * </p>
+ *
+ * <h2>Background deletes</h2>
+ * <p>
+ * The {@code ...Async} variants delete inline when the subtree has at most
+ * {@code deletes.async-threshold} rows. Larger subtrees are deleted on a
+ * single background thread, still in one transaction, and the returned future
+ * completes when it commits.
+ * </p>
+ *
+ * @since 1.0
+ */
+@Service
+public class AggregateDeletionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AggregateDeletionService.class);
+
+    /** Largest number of IDs in one {@code DELETE ... WHERE id IN (...)}. */
+    static final int CHUNK_SIZE = 500;
+
+    private final AddressRepository addressRepository;
+    private final ClientRepository clientRepository;
+    private final InstallationRepository installationRepository;
+    private final ContractAccountRepository contractAccountRepository;
+    private final TargetRepository targetRepository;
+    private final ServiceOrderRepository serviceOrderRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final int asyncThreshold;
+
+    /**
+     * Constructs a new {@code AggregateDeletionService} with its own
+     * background thread.
+     *
+     * @param addressRepository         the {@link AddressRepository}
+     * @param clientRepository          the {@link ClientRepository}
+     * @param installationRepository    the {@link InstallationRepository}
+     * @param contractAccountRepository the {@link ContractAccountRepository}
+     * @param targetRepository          the {@link TargetRepository}
+     * @param serviceOrderRepository    the {@link ServiceOrderRepository}
+     * @param entityManager             the shared entity manager, cleared
+     *                                  between chunks
+     * @param publisher                 publisher of the change events
+     * @param transactionManager        the transaction manager for deletes
+     * @param asyncThreshold            rows above which the {@code ...Async}
+     *                                  variants delete in the background
+     */
+    @Autowired
+    public AggregateDeletionService(AddressRepository addressRepository,
+            ClientRepository clientRepository,
+            InstallationRepository installationRepository,
+            ContractAccountRepository contractAccountRepository,
+            TargetRepository targetRepository,
+            ServiceOrderRepository serviceOrderRepository,
+            EntityManager entityManager,
+            ApplicationEventPublisher publisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${deletes.async-threshold:10000}") int asyncThreshold) {
+        this(addressRepository, clientRepository, installationRepository, contractAccountRepository,
+                targetRepository, serviceOrderRepository, entityManager, publisher, transactionManager,
+                newWorker(), asyncThreshold);
+    }
+
+    AggregateDeletionService(AddressRepository addressRepository, ClientRepository clientRepository,
+            InstallationRepository installationRepository, ContractAccountRepository contractAccountRepository,
+            TargetRepository targetRepository, ServiceOrderRepository serviceOrderRepository,
+            EntityManager entityManager, ApplicationEventPublisher publisher,
+            PlatformTransactionManager transactionManager, Executor executor, int asyncThreshold) {
+        this.addressRepository = addressRepository;
+        this.clientRepository = clientRepository;
+        this.installationRepository = installationRepository;
+        this.contractAccountRepository = contractAccountRepository;
+        this.targetRepository = targetRepository;
+        this.serviceOrderRepository = serviceOrderRepository;
+        this.entityManager = entityManager;
+        this.publisher = publisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.asyncThreshold = asyncThreshold;
+    }
+
+    private static ExecutorService newWorker() {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, "aggregate-delete");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Deletes an address, its installations and their contract accounts.
+     *
+     * @param id the address ID
+     * @throws ResourceNotFoundException if the address does not exist
+     * @throws BusinessRuleException     if a contract account still has targets
+     */
+    public void deleteAddress(Integer id) {
+        delete(() -> addressPlan(id));
+    }
+
+    /**
+     * Deletes an address aggregate, in the background if it is large.
+     *
+     * @param id the address ID
+     * @return a future completed once the delete has committed
+     * @throws ResourceNotFoundException if the address does not exist
+     * @throws BusinessRuleException     if an inline delete finds a contract
+     *                                   account that still has targets
+     */
+    public CompletableFuture<Void> deleteAddressAsync(Integer id) {
+        return deleteAsync(() -> addressPlan(id));
+    }
+
+    /**
+     * Deletes an installation and its contract accounts.
+     *
+     * @param id the installation ID
+     * @throws ResourceNotFoundException if the installation does not exist
+     * @throws BusinessRuleException     if a contract account still has targets
+     */
+    public void deleteInstallation(Integer id) {
+        delete(() -> installationPlan(id));
+    }
+
+    /**
+     * Deletes an installation aggregate, in the background if it is large.
+     *
+     * @param id the installation ID
+     * @return a future completed once the delete has committed
+     * @throws ResourceNotFoundException if the installation does not exist
+     * @throws BusinessRuleException     if an inline delete finds a contract
+     *                                   account that still has targets
+     */
+    public CompletableFuture<Void> deleteInstallationAsync(Integer id) {
+        return deleteAsync(() -> installationPlan(id));
+    }
+
+    /**
+     * Deletes a client and its contract accounts.
+     *
+     * @param id the client ID
+     * @throws ResourceNotFoundException if the client does not exist
+     * @throws BusinessRuleException     if a contract account still has targets
+     */
+    public void deleteClient(Integer id) {
+        delete(() -> clientPlan(id));
+    }
+
+    /**
+     * Deletes a client aggregate, in the background if it is large.
+     *
+     * @param id the client ID
+     * @return a future completed once the delete has committed
+     * @throws ResourceNotFoundException if the client does not exist
+     * @throws BusinessRuleException     if an inline delete finds a contract
+     *                                   account that still has targets
+     */
+    public CompletableFuture<Void> deleteClientAsync(Integer id) {
+        return deleteAsync(() -> clientPlan(id));
+    }
+
+    /**
+     * Deletes a target and its service orders.
+     *
+     * @param id the target ID
+     * @throws ResourceNotFoundException if the target does not exist
+     */
+    public void deleteTarget(Integer id) {
+        delete(() -> targetPlan(id));
+    }
+
+    /**
+     * Deletes a target aggregate, in the background if it is large.
+     *
+     * @param id the target ID
+     * @return a future completed once the delete has committed
+     * @throws ResourceNotFoundException if the target does not exist
+     */
+    public CompletableFuture<Void> deleteTargetAsync(Integer id) {
+        return deleteAsync(() -> targetPlan(id));
+    }
+
+    private Plan addressPlan(Integer id) {
+        requireExists(addressRepository, "Address", id);
+        return new Plan("Address with id " + id, List.of(
+                new Level(ContractAccount.class, contractAccountRepository,
+                        contractAccountRepository.findIdsByAddressId(id)),
+                new Level(Installation.class, installationRepository, installationRepository.findIdsByAddressId(id)),
+                new Level(Address.class, addressRepository, List.of(id))));
+    }
+
+    private Plan installationPlan(Integer id) {
+        requireExists(installationRepository, "Installation", id);
+        return new Plan("Installation with id " + id, List.of(
+                new Level(ContractAccount.class, contractAccountRepository,
+                        contractAccountRepository.findIdsByInstallationId(id)),
+                new Level(Installation.class, installationRepository, List.of(id))));
+    }
+
+    private Plan clientPlan(Integer id) {
+        requireExists(clientRepository, "Client", id);
+        return new Plan("Client with id " + id, List.of(
+                new Level(ContractAccount.class, contractAccountRepository,
+                        contractAccountRepository.findIdsByClientId(id)),
+                new Level(Client.class, clientRepository, List.of(id))));
+    }
+
+    private Plan targetPlan(Integer id) {
+        requireExists(targetRepository, "Target", id);
+        return new Plan("Target with id " + id, List.of(
+                new Level(ServiceOrder.class, serviceOrderRepository, serviceOrderRepository.findIdsByTargetId(id)),
+                new Level(Target.class, targetRepository, List.of(id))));
+    }
+
+    private static void requireExists(JpaRepository<?, Integer> repository, String entityName, Integer id) {
+        if (id == null || !repository.existsById(id)) {
+            throw new ResourceNotFoundException(entityName + " with id " + id + " not found");
+        }
+    }
+
+    private void delete(Supplier<Plan> planner) {
+        transactionTemplate.executeWithoutResult(status -> execute(planner.get()));
+    }
+
+    /**
+     * Plans the delete in the caller's thread, so a missing root is reported
+     * at once, and runs it inline unless the subtree exceeds the threshold.
+     * The background delete plans again, since rows may have been added in the
+     * meantime.
+     */
+    private CompletableFuture<Void> deleteAsync(Supplier<Plan> planner) {
+        Optional<Plan> deferred = transactionTemplate.execute(status -> {
+            Plan plan = planner.get();
+            if (plan.rows() <= asyncThreshold) {
+                execute(plan);
+                return Optional.<Plan>empty();
+            }
+            return Optional.of(plan);
+        });
+        if (deferred.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Plan plan = deferred.get();
+        logger.info("Deleting {} and {} dependent rows in the background", plan.root(), plan.rows() - 1);
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                delete(planner);
+                result.complete(null);
+            } catch (RuntimeException e) {
+                logger.error("Background delete of {} failed", plan.root(), e);
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private void execute(Plan plan) {
+        for (Level level : plan.levels()) {
+            List<Integer> ids = level.ids();
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                deleteChunk(plan, level.type(), level.repository(), ids.subList(from,
+                        Math.min(from + CHUNK_SIZE, ids.size())));
+            }
+        }
+    }
+
+    /**
+     * Snapshots a chunk of rows, deletes them with one statement and publishes
+     * their {@link ChangeType#DELETED} events.
+     */
+    private <T> void deleteChunk(Plan plan, Class<?> type, JpaRepository<T, Integer> repository,
+            List<Integer> ids) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        Instant now = Instant.now();
+        List<EntityChangeEvent> events = new ArrayList<>(ids.size());
+        for (T row : repository.findAllById(ids)) {
+            Map<String, Object> previousState = HibernateEntityChangeBridge.snapshotOf(row, session);
+            events.add(new EntityChangeEvent(type, persistenceUnitUtil.getIdentifier(row), ChangeType.DELETED,
+                    Map.of(), previousState, now));
+        }
+
+        try {
+            repository.deleteAllByIdInBatch(ids);
+        } catch (DataIntegrityViolationException e) {
+            if (ForeignKeyViolations.violates(e, ForeignKeyViolations.TARGET_CONTRACT_ACCOUNT)) {
+                throw new BusinessRuleException(plan.root()
+                        + " has contract accounts that still have targets; delete the targets first");
+            }
+            throw e;
+        }
+        entityManager.clear();
+        events.forEach(publisher::publishEvent);
+    }
+
+    /** The rows of one level of an aggregate, deleted before its parent. */
+    private record Level(Class<?> type, JpaRepository<?, Integer> repository, List<Integer> ids) {
+    }
+
+    /** The levels of an aggregate, children first. */
+    private record Plan(String root, List<Level> levels) {
+
+        int rows() {
+            return levels.stream().mapToInt(level -> level.ids().size()).sum();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.exceptions.ResourceNotFoundException;
+import com.mqped.fims.exceptions.ServiceUnavailableException;
+import com.mqped.fims.exceptions.UnauthorizedException;
+import com.mqped.fims.model.dto.JwtResponseDTO;
+import com.mqped.fims.model.entity.User;
+import com.mqped.fims.repository.UserRepository;
+import com.mqped.fims.security.AuthenticatedUser;
+import com.mqped.fims.security.JwtUtil;
+import com.mqped.fims.security.PasswordHashingExecutor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for logging users in and renewing their tokens.
+ * <p>
+ * A login looks the user up once, verifies the password on the
+ * {@link PasswordHashingExecutor} and returns a short-lived access token with
+ * a refresh token. The work after the check (recording the login, inserting
+ * the refresh token) runs on virtual threads, so hashing threads only hash.
+ * Refreshing exchanges the refresh token for new tokens
+ * without hashing the password again. The login time is handed to the
+ * {@link LastLoginRecorder} rather than saved with the user. Logging out and
+ * locking an account revoke the tokens already issued through the
+ * {@link TokenRevocationService}.
+ * </p>
+ *
+ * @see RefreshTokenService
+ * @since 1.0
+ */
+@Service
+public class AuthService {
+
+    private static final String INVALID_CREDENTIALS = "Invalid username or password";
+
+    private final UserRepository userRepository;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final JwtUtil jwtUtil;
+    private final Executor completionExecutor;
+
+    /** Hash checked for unknown usernames, so they take as long as wrong passwords. */
+    private final String unknownUserHash;
+
+    @Autowired
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            PasswordHashingExecutor passwordHashingExecutor, RefreshTokenService refreshTokenService,
+            TokenRevocationService tokenRevocationService, LastLoginRecorder lastLoginRecorder, JwtUtil jwtUtil) {
+        this(userRepository, passwordEncoder, passwordHashingExecutor, refreshTokenService, tokenRevocationService,
+                lastLoginRecorder, jwtUtil, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+            PasswordHashingExecutor passwordHashingExecutor, RefreshTokenService refreshTokenService,
+            TokenRevocationService tokenRevocationService, LastLoginRecorder lastLoginRecorder, JwtUtil jwtUtil,
+            Executor completionExecutor) {
+        this.userRepository = userRepository;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.lastLoginRecorder = lastLoginRecorder;
+        this.jwtUtil = jwtUtil;
+        this.completionExecutor = completionExecutor;
+        this.unknownUserHash = passwordEncoder.encode("unknown-user");
+    }
+
+    /**
+     * Verifies a user's credentials and issues tokens.
+     *
+     * @param username the username
+     * @param password the password
+     * @return a future completed with the tokens and user details, or
+     *         exceptionally with {@link BadCredentialsException} if the
+     *         credentials are wrong
+     * @throws DisabledException           if the user's account is disabled
+     * @throws LockedException             if the user's account is locked
+     * @throws ServiceUnavailableException if too many logins are in progress
+     */
+    public CompletableFuture<JwtResponseDTO> login(String username, String password) {
+        Optional<User> found = userRepository.findByUsername(username);
+        if (found.isEmpty()) {
+            return passwordHashingExecutor.matches(password, unknownUserHash)
+                    .thenApply(matched -> {
+                        throw new BadCredentialsException(INVALID_CREDENTIALS);
+                    });
+        }
+
+        User user = found.get();
+        checkStatus(user);
+        return passwordHashingExecutor.matches(password, user.getPassword())
+                .thenApplyAsync(matched -> {
+                    if (!matched) {
+                        throw new BadCredentialsException(INVALID_CREDENTIALS);
+                    }
+                    lastLoginRecorder.record(user.getId(), LocalDateTime.now());
+                    return issueTokens(user, refreshTokenService.issue(user));
+                }, completionExecutor);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and refresh token.
+     *
+     * @param refreshToken the refresh token
+     * @return the tokens and user details
+     * @throws UnauthorizedException if the refresh token is not accepted
+     * @throws DisabledException     if the user's account is disabled
+     * @throws LockedException       if the user's account is locked
+     */
+    public JwtResponseDTO refresh(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        return issueTokens(rotation.user(), rotation.refreshToken());
+    }
+
+    /**
+     * Revokes the tokens of a session.
+     *
+     * @param refreshToken the refresh token, or {@code null}
+     * @param principal    the user authenticated by the access token, or
+     *                     {@code null}
+     */
+    public void logout(String refreshToken, AuthenticatedUser principal) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+        if (principal != null && principal.getTokenId() != null && principal.getExpiresAt() != null) {
+            tokenRevocationService.revokeToken(principal.getTokenId(), principal.getId(), principal.getExpiresAt());
+        }
+    }
+
+    /**
+     * Locks or unlocks a user's account. Locking also revokes every token
+     * the user holds.
+     *
+     * @param userId the user's ID
+     * @param locked whether the account is locked
+     * @throws ResourceNotFoundException if the user does not exist
+     */
+    @Transactional
+    public void setLocked(Integer userId, boolean locked) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User with id " + userId + " not found"));
+        user.setAccountNonLocked(!locked);
+        userRepository.save(user);
+
+        if (locked) {
+            refreshTokenService.revokeAll(userId);
+            tokenRevocationService.revokeUser(userId);
+        }
+    }
+
+    private static void checkStatus(User user) {
+        if (Boolean.FALSE.equals(user.getEnabled())) {
+            throw new DisabledException("Account is disabled. Please contact support.");
+        }
+        if (Boolean.FALSE.equals(user.getAccountNonLocked())) {
+            throw new LockedException("Account is locked. Please contact support.");
+        }
+    }
+
+    private JwtResponseDTO issueTokens(User user, String refreshToken) {
+        Set<String> roles = user.getRoles().stream()
+                .map(role -> role.getName().name())
+                .collect(Collectors.toSet());
+        String accessToken = jwtUtil.generateAccessToken(user.getId(), user.getUsername(), roles);
+
+        return new JwtResponseDTO(
+                accessToken,
+                jwtUtil.getExpirationSeconds(),
+                refreshToken,
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                roles);
+    }
+}
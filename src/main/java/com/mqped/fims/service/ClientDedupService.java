@@ -0,0 +1,294 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.exceptions.InvalidDataException;
+import com.mqped.fims.model.dto.ClientDuplicatePairDTO;
+import com.mqped.fims.model.dto.ClientDuplicateReportDTO;
+import com.mqped.fims.repository.ClientRepository;
+import com.mqped.fims.util.JaroWinkler;
+import com.mqped.fims.util.LongHashSet;
+import com.mqped.fims.util.PortuguesePhonetic;
+import com.mqped.fims.util.StringNormalizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects clients that are probably the same person registered more than
+ * once, e.g. with different accents, casing or small typos in the name.
+ * <p>
+ * A scan reads every client in keyset pages, projecting only the fields it
+ * needs, and files each one under two blocking keys:
+ * </p>
+ * <ul>
+ * <li>phonetic code of the first name + phonetic code of the last name + birth
+ * year</li>
+ * <li>phonetic code of the first name + phonetic code of the mother's first
+ * name + birth year</li>
+ * </ul>
+ * <p>
+ * Only clients sharing a block are compared, which keeps the number of pairs
+ * close to linear in the number of clients. Blocks are scored in parallel
+ * with {@link JaroWinkler}; blocks larger than {@code dedup.max-block-size}
+ * are skipped, since a key shared by that many clients says little.
+ * </p>
+ *
+ * <p>
+ * The last report is kept in memory and reused until a refresh is requested
+ * or a different threshold is asked for.
+ * </p>
+ *
+ * @see PortuguesePhonetic
+ * @since 1.0
+ */
+@Service
+public class ClientDedupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientDedupService.class);
+
+    /** Weight of the mothers' names in the score when both are known. */
+    static final double MOTHER_WEIGHT = 0.3;
+
+    /** Name particles ignored when picking the first and last names. */
+    private static final Set<String> PARTICLES = Set.of("DA", "DAS", "DE", "DI", "DO", "DOS", "E");
+
+    private final ClientRepository repository;
+    private final double defaultThreshold;
+    private final int maxBlockSize;
+    private final int batchSize;
+
+    private Scan lastScan;
+
+    /**
+     * Constructs a new {@code ClientDedupService}.
+     *
+     * @param repository       the {@link ClientRepository} clients are read from
+     * @param defaultThreshold minimum score reported when none is requested
+     * @param maxBlockSize     largest block that is still compared
+     * @param batchSize        number of clients read per query
+     */
+    public ClientDedupService(ClientRepository repository,
+            @Value("${dedup.threshold:0.92}") double defaultThreshold,
+            @Value("${dedup.max-block-size:500}") int maxBlockSize,
+            @Value("${dedup.batch-size:10000}") int batchSize) {
+        this.repository = repository;
+        this.defaultThreshold = defaultThreshold;
+        this.maxBlockSize = maxBlockSize;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Returns the duplicate report, scanning the clients if needed.
+     *
+     * @param threshold minimum score, or {@code null} for the configured default
+     * @param refresh   whether to rescan even if a report for this threshold exists
+     * @param limit     maximum number of pairs to include
+     * @return the report with the highest-scoring pairs first
+     * @throws InvalidDataException if {@code threshold} is outside {@code [0, 1]}
+     *                              or {@code limit} is not positive
+     */
+    public synchronized ClientDuplicateReportDTO getReport(Double threshold, boolean refresh, int limit) {
+        double minScore = threshold == null ? defaultThreshold : threshold;
+        if (minScore < 0.0 || minScore > 1.0) {
+            throw new InvalidDataException("Threshold must be between 0 and 1");
+        }
+        if (limit <= 0) {
+            throw new InvalidDataException("Limit must be positive");
+        }
+        if (refresh || lastScan == null || lastScan.threshold != minScore) {
+            lastScan = scan(minScore);
+        }
+        return lastScan.toDTO(limit);
+    }
+
+    /**
+     * Reads all clients, groups them into blocks and scores each block.
+     *
+     * @param threshold minimum score for a pair to be kept
+     * @return the scan result
+     */
+    Scan scan(double threshold) {
+        long started = System.nanoTime();
+
+        Map<String, List<Candidate>> index = new HashMap<>();
+        long scanned = 0;
+        int afterId = 0;
+        PageRequest page = PageRequest.of(0, batchSize);
+        List<Object[]> rows;
+        do {
+            rows = repository.findDedupRows(afterId, page);
+            for (Object[] row : rows) {
+                Candidate candidate = Candidate.of(row);
+                scanned++;
+                for (String key : candidate.blockingKeys()) {
+                    index.computeIfAbsent(key, k -> new ArrayList<>(2)).add(candidate);
+                }
+            }
+            if (!rows.isEmpty()) {
+                afterId = (Integer) rows.get(rows.size() - 1)[0];
+            }
+        } while (rows.size() == batchSize);
+
+        List<List<Candidate>> blocks = new ArrayList<>();
+        long oversized = 0;
+        for (List<Candidate> block : index.values()) {
+            if (block.size() > maxBlockSize) {
+                oversized++;
+            } else if (block.size() > 1) {
+                blocks.add(block);
+            }
+        }
+
+        LongAdder comparisons = new LongAdder();
+        List<ClientDuplicatePairDTO> matches = blocks.parallelStream()
+                .flatMap(block -> compare(block, threshold, comparisons).stream())
+                .toList();
+
+        // A pair can share both blocking keys; report it once
+        LongHashSet seen = new LongHashSet(matches.size());
+        List<ClientDuplicatePairDTO> pairs = new ArrayList<>(matches.size());
+        for (ClientDuplicatePairDTO pair : matches) {
+            if (seen.add(((long) pair.getClientId() << 32) | (pair.getOtherClientId() & 0xFFFFFFFFL))) {
+                pairs.add(pair);
+            }
+        }
+        pairs.sort(Comparator.comparingDouble(ClientDuplicatePairDTO::getScore).reversed()
+                .thenComparing(ClientDuplicatePairDTO::getClientId)
+                .thenComparing(ClientDuplicatePairDTO::getOtherClientId));
+
+        long durationMs = (System.nanoTime() - started) / 1_000_000;
+        logger.info("Dedup scan: {} clients, {} blocks ({} oversized), {} comparisons, {} pairs in {} ms",
+                scanned, blocks.size(), oversized, comparisons.sum(), pairs.size(), durationMs);
+        return new Scan(LocalDateTime.now(), threshold, scanned, blocks.size(), oversized,
+                comparisons.sum(), durationMs, pairs);
+    }
+
+    private static List<ClientDuplicatePairDTO> compare(List<Candidate> block, double threshold,
+            LongAdder comparisons) {
+        List<ClientDuplicatePairDTO> found = new ArrayList<>();
+        int n = block.size();
+        for (int i = 0; i < n; i++) {
+            Candidate a = block.get(i);
+            for (int j = i + 1; j < n; j++) {
+                Candidate b = block.get(j);
+                double score = score(a, b);
+                if (score >= threshold) {
+                    Candidate low = a.id < b.id ? a : b;
+                    Candidate high = low == a ? b : a;
+                    found.add(new ClientDuplicatePairDTO(low.id, low.name, high.id, high.name,
+                            score, a.sharesTaxId(b)));
+                }
+            }
+        }
+        comparisons.add((long) n * (n - 1) / 2);
+        return found;
+    }
+
+    /**
+     * Scores a pair of candidates.
+     *
+     * @return the Jaro-Winkler similarity of the names, blended with that of
+     *         the mothers' names when both are known
+     */
+    static double score(Candidate a, Candidate b) {
+        double name = JaroWinkler.similarity(a.folded, b.folded);
+        if (a.motherFolded.isEmpty() || b.motherFolded.isEmpty()) {
+            return name;
+        }
+        double mother = JaroWinkler.similarity(a.motherFolded, b.motherFolded);
+        return (1.0 - MOTHER_WEIGHT) * name + MOTHER_WEIGHT * mother;
+    }
+
+    /**
+     * Projection of a client held in the blocking index.
+     *
+     * @param id           client ID
+     * @param name         name as stored, for the report
+     * @param folded       name without accents, upper case
+     * @param motherFolded mother's name without accents, upper case; empty if
+     *                     unknown
+     * @param birthYear    birth year, or {@code 0} if unknown
+     * @param cpfKey       canonical CPF key, or {@code null}
+     * @param cnpjKey      canonical CNPJ key, or {@code null}
+     */
+    record Candidate(int id, String name, String folded, String motherFolded, int birthYear,
+            Long cpfKey, Long cnpjKey) {
+
+        static Candidate of(Object[] row) {
+            String name = row[1] == null ? "" : (String) row[1];
+            LocalDateTime birthDate = (LocalDateTime) row[3];
+            return new Candidate((Integer) row[0], name, fold(name), fold((String) row[2]),
+                    birthDate == null ? 0 : birthDate.getYear(), (Long) row[4], (Long) row[5]);
+        }
+
+        /**
+         * @return the first name / last name / birth year key, followed by the
+         *         first name / mother's first name / birth year key when the
+         *         mother's name is known
+         */
+        List<String> blockingKeys() {
+            String[] tokens = significantTokens(folded);
+            String first = tokens.length > 0 ? PortuguesePhonetic.encode(tokens[0]) : "";
+            String last = tokens.length > 1 ? PortuguesePhonetic.encode(tokens[tokens.length - 1]) : "";
+            String nameKey = "N|" + first + '|' + last + '|' + birthYear;
+
+            String[] mother = significantTokens(motherFolded);
+            if (mother.length == 0) {
+                return List.of(nameKey);
+            }
+            return List.of(nameKey, "M|" + first + '|' + PortuguesePhonetic.encode(mother[0]) + '|' + birthYear);
+        }
+
+        boolean sharesTaxId(Candidate other) {
+            return (cpfKey != null && cpfKey.equals(other.cpfKey))
+                    || (cnpjKey != null && cnpjKey.equals(other.cnpjKey));
+        }
+    }
+
+    private static String fold(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        return StringNormalizer.normalize(text.trim()).toUpperCase(Locale.ROOT);
+    }
+
+    private static String[] significantTokens(String folded) {
+        if (folded.isEmpty()) {
+            return new String[0];
+        }
+        return Arrays.stream(folded.split("\\s+"))
+                .filter(token -> !PARTICLES.contains(token))
+                .toArray(String[]::new);
+    }
+
+    /** Result of one scan, kept to answer later requests. */
+    record Scan(LocalDateTime generatedAt, double threshold, long clientsScanned, long blocks,
+            long oversizedBlocks, long comparisons, long durationMs, List<ClientDuplicatePairDTO> pairs) {
+
+        ClientDuplicateReportDTO toDTO(int limit) {
+            ClientDuplicateReportDTO dto = new ClientDuplicateReportDTO();
+            dto.setGeneratedAt(generatedAt);
+            dto.setThreshold(threshold);
+            dto.setClientsScanned(clientsScanned);
+            dto.setBlocks(blocks);
+            dto.setOversizedBlocks(oversizedBlocks);
+            dto.setComparisons(comparisons);
+            dto.setDurationMs(durationMs);
+            dto.setTotalPairs(pairs.size());
+            dto.setPairs(List.copyOf(pairs.subList(0, Math.min(limit, pairs.size()))));
+            return dto;
+        }
+    }
+}
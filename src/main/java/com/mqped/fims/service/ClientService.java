@@ -1,19 +1,38 @@
 package com.mqped.fims.service;
 
+import com.mqped.fims.exceptions.DuplicateResourceException;
 import com.mqped.fims.exceptions.InvalidDataException;
 import com.mqped.fims.exceptions.ResourceNotFoundException;
+import com.mqped.fims.model.dto.ClientDTO;
 import com.mqped.fims.model.entity.Client;
 import com.mqped.fims.repository.ClientRepository;
+import com.mqped.fims.service.projection.FieldProjection;
+import com.mqped.fims.util.LongHashSet;
+import com.mqped.fims.util.TaxIds;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service class responsible for managing {@link Client} entities.
  * <p>
  * Implements standard CRUD operations as defined in {@link CrudService}
- * and includes domain-specific validation logic, such as verifying CPF format
- * and ensuring required fields are provided.
+ * and includes domain-specific validation logic, such as verifying CPF and
+ * CNPJ check digits, rejecting identifiers already used by another client and
+ * ensuring required fields are provided.
+ * </p>
+ *
+ * <p>
+ * CPF and CNPJ are compared through their canonical numeric keys (see
+ * {@link TaxIds}), which are stored in indexed columns on the client table.
  * </p>
  *
  * <p>
@@ -23,6 +42,8 @@ import java.util.List;
  * validation</li>
  * <li>{@link ResourceNotFoundException} — when a requested {@link Client}
  * cannot be found</li>
+ * <li>{@link DuplicateResourceException} — when the CPF or CNPJ already
+ * belongs to another client</li>
  * </ul>
  * </p>
  *
@@ -37,15 +58,36 @@ import java.util.List;
 @Service
 public class ClientService implements CrudService<Client, Integer> {
 
+    /** Fields of {@link ClientDTO} available to sparse fieldsets. */
+    static final FieldProjection FIELDS = FieldProjection.builder("Client")
+            .field("name")
+            .field("cpf")
+            .field("birthDate")
+            .field("motherName")
+            .field("cnpj")
+            .field("genre")
+            .field("createdAt")
+            .build();
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientService.class);
+
     private final ClientRepository repository;
+    private final AggregateDeletionService aggregateDeletions;
+    private final EntityManager entityManager;
 
     /**
      * Constructs a new {@code ClientService} with the provided repository.
      *
-     * @param repository the {@link ClientRepository} used for data persistence
+     * @param repository         the {@link ClientRepository} used for data
+     *                           persistence
+     * @param aggregateDeletions deletes clients with their contract accounts
+     * @param entityManager      the shared entity manager, for projections
      */
-    public ClientService(ClientRepository repository) {
+    public ClientService(ClientRepository repository, AggregateDeletionService aggregateDeletions,
+            EntityManager entityManager) {
         this.repository = repository;
+        this.aggregateDeletions = aggregateDeletions;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -53,14 +95,73 @@ public class ClientService implements CrudService<Client, Integer> {
      *
      * @param client the client entity to persist
      * @return the saved {@link Client}
-     * @throws InvalidDataException if the client is null or has invalid fields
+     * @throws InvalidDataException       if the client is null or has invalid fields
+     * @throws DuplicateResourceException if the CPF or CNPJ is already registered
      */
     @Override
     public Client add(Client client) {
         validate(client);
+        ensureUnique(client, null);
         return repository.save(client);
     }
 
+    /**
+     * Persists a client coming from a bulk import.
+     * <p>
+     * Validates the client like {@link #add(Client)} but skips the per-row
+     * duplicate lookup; the importer is expected to detect duplicates itself
+     * against the sets returned by {@link #loadCpfKeys()} and
+     * {@link #loadCnpjKeys()}.
+     * </p>
+     *
+     * @param client the client entity to persist
+     * @return the saved {@link Client}
+     * @throws InvalidDataException if the client is null or has invalid fields
+     */
+    public Client importClient(Client client) {
+        validate(client);
+        return repository.save(client);
+    }
+
+    /**
+     * Loads every stored CPF key in a single query.
+     *
+     * @return a set holding the canonical key of each stored CPF
+     */
+    public LongHashSet loadCpfKeys() {
+        return toSet(repository.findAllCpfKeys());
+    }
+
+    /**
+     * Loads every stored CNPJ key in a single query.
+     *
+     * @return a set holding the canonical key of each stored CNPJ
+     */
+    public LongHashSet loadCnpjKeys() {
+        return toSet(repository.findAllCnpjKeys());
+    }
+
+    /**
+     * Computes the canonical CPF/CNPJ keys of clients stored before the key
+     * columns existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillTaxIdKeys() {
+        List<Client> pending = repository.findWithoutTaxIdKeys();
+        int filled = 0;
+        for (Client client : pending) {
+            client.setCpf(client.getCpf());
+            client.setCnpj(client.getCnpj());
+            if (client.getCpfKey() != null || client.getCnpjKey() != null) {
+                filled++;
+            }
+        }
+        if (filled > 0) {
+            logger.info("Computed CPF/CNPJ keys for {} existing clients", filled);
+        }
+    }
+
     /**
      * Retrieves all clients from the database.
      *
@@ -84,6 +185,44 @@ public class ClientService implements CrudService<Client, Integer> {
                 .orElseThrow(() -> new ResourceNotFoundException("Client with id " + id + " not found"));
     }
 
+    /**
+     * Retrieves all clients, mapped inside a read-only transaction.
+     *
+     * @return all clients as {@link ClientDTO}s
+     */
+    @Transactional(readOnly = true)
+    public List<ClientDTO> findAllAsDTO() {
+        return repository.findAll().stream()
+                .map(ClientDTO::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Retrieves only the requested fields of all clients, read with a
+     * single projection query instead of loading the entities.
+     *
+     * @param fields the requested fields, separated by commas
+     * @return one map per client holding the requested fields
+     * @throws InvalidDataException if a field is unknown
+     * @see #FIELDS
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(String fields) {
+        return FIELDS.findAll(entityManager, fields);
+    }
+
+    /**
+     * Finds a client by ID, mapped inside a read-only transaction.
+     *
+     * @param id the ID of the client
+     * @return the client as a {@link ClientDTO}
+     * @throws ResourceNotFoundException if no client exists with the given ID
+     */
+    @Transactional(readOnly = true)
+    public ClientDTO findByIdAsDTO(Integer id) {
+        return ClientDTO.fromEntity(findById(id));
+    }
+
     /**
      * Updates an existing {@link Client} with new field values.
      * <p>
@@ -94,14 +233,17 @@ public class ClientService implements CrudService<Client, Integer> {
      * @param id     the ID of the client to update
      * @param client the new client data
      * @return the updated {@link Client}
-     * @throws InvalidDataException      if validation fails
-     * @throws ResourceNotFoundException if the client does not exist
+     * @throws InvalidDataException       if validation fails
+     * @throws ResourceNotFoundException  if the client does not exist
+     * @throws DuplicateResourceException if the CPF or CNPJ belongs to another
+     *                                    client
      */
     @Override
     public Client update(Integer id, Client client) {
         validate(client);
 
         Client existing = findById(id); // throws if not found
+        ensureUnique(client, id);
 
         existing.setName(client.getName());
         existing.setCpf(client.getCpf());
@@ -116,17 +258,28 @@ public class ClientService implements CrudService<Client, Integer> {
     }
 
     /**
-     * Deletes a {@link Client} by its ID.
+     * Deletes a client and its contract accounts with set-based statements.
      *
      * @param id the ID of the client to delete
      * @throws ResourceNotFoundException if the client does not exist
+     * @see AggregateDeletionService#deleteClient(Integer)
      */
     @Override
     public void deleteById(Integer id) {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException("Client with id " + id + " not found");
-        }
-        repository.deleteById(id);
+        aggregateDeletions.deleteClient(id);
+    }
+
+    /**
+     * Deletes a client and its contract accounts, in the background when the subtree
+     * exceeds {@code deletes.async-threshold} rows.
+     *
+     * @param id the ID of the client to delete
+     * @return a future completed once the delete has committed; already
+     *         completed when the delete ran inline
+     * @throws ResourceNotFoundException if the client does not exist
+     */
+    public CompletableFuture<Void> deleteByIdAsync(Integer id) {
+        return aggregateDeletions.deleteClientAsync(id);
     }
 
     /**
@@ -155,7 +308,7 @@ public class ClientService implements CrudService<Client, Integer> {
      * <ul>
      * <li>Ensures the client object is not null</li>
      * <li>Ensures the client name is not blank</li>
-     * <li>If provided, validates the CPF format</li>
+     * <li>If provided, verifies the CPF and CNPJ check digits</li>
      * </ul>
      *
      * @param client the client to validate
@@ -170,24 +323,42 @@ public class ClientService implements CrudService<Client, Integer> {
         }
 
         String cpf = client.getCpf();
-        if (cpf != null && !cpf.isBlank() && !isValidCpf(cpf)) {
-            throw new InvalidDataException("Invalid CPF format. Expected XXX.XXX.XXX-XX");
+        if (cpf != null && !cpf.isBlank() && !TaxIds.isValidCpf(cpf)) {
+            throw new InvalidDataException("Invalid CPF: " + cpf);
+        }
+        String cnpj = client.getCnpj();
+        if (cnpj != null && !cnpj.isBlank() && !TaxIds.isValidCnpj(cnpj)) {
+            throw new InvalidDataException("Invalid CNPJ: " + cnpj);
         }
     }
 
     /**
-     * Validates the CPF format.
-     * <p>
-     * This method checks only the syntactic format using a regex pattern;
-     * it does not perform checksum or authenticity validation.
-     * </p>
+     * Rejects a CPF or CNPJ already registered to another client.
      *
-     * @param cpf the CPF string to validate
-     * @return {@code true} if valid format, {@code false} otherwise
+     * @param client    the validated client
+     * @param excludeId the client being updated, or {@code null} on insert
+     * @throws DuplicateResourceException if the identifier is taken
      */
-    private boolean isValidCpf(String cpf) {
-        if (cpf == null)
-            return false;
-        return cpf.matches("\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}");
+    private void ensureUnique(Client client, Integer excludeId) {
+        Long cpfKey = client.getCpfKey();
+        if (cpfKey != null && (excludeId == null
+                ? repository.existsByCpfKey(cpfKey)
+                : repository.existsByCpfKeyAndIdNot(cpfKey, excludeId))) {
+            throw new DuplicateResourceException("Client with CPF " + TaxIds.formatCpf(cpfKey) + " already exists");
+        }
+        Long cnpjKey = client.getCnpjKey();
+        if (cnpjKey != null && (excludeId == null
+                ? repository.existsByCnpjKey(cnpjKey)
+                : repository.existsByCnpjKeyAndIdNot(cnpjKey, excludeId))) {
+            throw new DuplicateResourceException("Client with CNPJ " + TaxIds.formatCnpj(cnpjKey) + " already exists");
+        }
+    }
+
+    private static LongHashSet toSet(List<Long> keys) {
+        LongHashSet set = new LongHashSet(keys.size());
+        for (Long key : keys) {
+            set.add(key);
+        }
+        return set;
     }
 }
@@ -1,15 +1,23 @@
 package com.mqped.fims.service;
 
+import com.mqped.fims.exceptions.ForeignKeyViolations;
 import com.mqped.fims.exceptions.InvalidDataException;
 import com.mqped.fims.exceptions.ResourceNotFoundException;
+import com.mqped.fims.model.dto.ContractAccountDTO;
 import com.mqped.fims.model.entity.ContractAccount;
 import com.mqped.fims.repository.ClientRepository;
 import com.mqped.fims.repository.ContractAccountRepository;
 import com.mqped.fims.repository.InstallationRepository;
+import com.mqped.fims.service.projection.FieldProjection;
+import jakarta.persistence.EntityManager;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Service class responsible for managing {@link ContractAccount} entities.
@@ -22,6 +30,8 @@ import java.util.List;
  * <li>Validation of associated {@link com.mqped.fims.model.entity.Client} and
  * {@link com.mqped.fims.model.entity.Installation} existence</li>
  * <li>Ensuring that new contract accounts include a creation date</li>
+ * <li>Appending every status change to the contract status timeline through
+ * {@link ContractStatusHistoryService}</li>
  * </ul>
  * </p>
  *
@@ -40,15 +50,41 @@ import java.util.List;
  * coordinating repository operations across multiple related entities.
  * </p>
  *
+ * <p>
+ * Open-session-in-view is disabled, so the {@code ...AsDTO} methods serving
+ * the API map the lazy client and installation inside their own transaction.
+ * Read-only transactions also make the Hibernate session read-only, so the
+ * loaded entities keep no dirty-checking snapshots.
+ * </p>
+ *
  * @author
  * @since 1.0
  */
 @Service
 public class ContractAccountService implements CrudService<ContractAccount, Integer> {
 
+    /**
+     * Fields of {@link ContractAccountDTO} available to sparse fieldsets, e.g.
+     * {@code accountNumber,status,installation.address.municipality}.
+     */
+    static final FieldProjection FIELDS = FieldProjection.builder("ContractAccount")
+            .field("accountNumber")
+            .field("clientId", "client.id")
+            .field("clientName", "client.name")
+            .field("installationId", "installation.id")
+            .embed("installation", "installation", InstallationService.FIELDS)
+            .field("createdAt")
+            .field("deletedAt")
+            .field("status")
+            .field("statusStart")
+            .field("statusEnd")
+            .build();
+
     private final ContractAccountRepository repository;
     private final ClientRepository clientRepository;
     private final InstallationRepository installationRepository;
+    private final ContractStatusHistoryService historyService;
+    private final EntityManager entityManager;
 
     /**
      * Constructs a new {@code ContractAccountService} with the provided
@@ -60,21 +96,30 @@ public class ContractAccountService implements CrudService<ContractAccount, Inte
      *                               client existence
      * @param installationRepository the {@link InstallationRepository} used to
      *                               verify installation existence
+     * @param historyService         the {@link ContractStatusHistoryService}
+     *                               recording status changes
+     * @param entityManager          the shared entity manager, for projections
      */
     public ContractAccountService(
             ContractAccountRepository repository,
             ClientRepository clientRepository,
-            InstallationRepository installationRepository) {
+            InstallationRepository installationRepository,
+            ContractStatusHistoryService historyService,
+            EntityManager entityManager) {
         this.repository = repository;
         this.clientRepository = clientRepository;
         this.installationRepository = installationRepository;
+        this.historyService = historyService;
+        this.entityManager = entityManager;
     }
 
     /**
-     * Persists a new {@link ContractAccount} after validating required fields
-     * and ensuring that related entities exist.
+     * Persists a new {@link ContractAccount} after validating required fields.
      * <p>
      * Additional validation ensures that the contract's creation date is provided.
+     * The client and installation are not looked up first: the insert fails on
+     * its foreign keys if either is missing. The initial status, if any, is
+     * recorded in the status timeline in the same transaction.
      * </p>
      *
      * @param contractAccount the contract account entity to persist
@@ -84,6 +129,7 @@ public class ContractAccountService implements CrudService<ContractAccount, Inte
      *                                   {@code Installation} does not exist
      */
     @Override
+    @Transactional
     public ContractAccount add(ContractAccount contractAccount) {
         validate(contractAccount);
 
@@ -92,17 +138,15 @@ public class ContractAccountService implements CrudService<ContractAccount, Inte
             throw new InvalidDataException("Creation date is required");
         }
 
-        if (!clientRepository.existsById(contractAccount.getClient().getId())) {
-            throw new ResourceNotFoundException(
-                    "Client with id " + contractAccount.getClient().getId() + " not found");
-        }
-
-        if (!installationRepository.existsById(contractAccount.getInstallation().getId())) {
-            throw new ResourceNotFoundException(
-                    "Installation with id " + contractAccount.getInstallation().getId() + " not found");
+        ContractAccount saved;
+        try {
+            // IDENTITY keys make the insert, and so the foreign key check, run here
+            saved = repository.save(contractAccount);
+        } catch (DataIntegrityViolationException e) {
+            throw missingReference(contractAccount, e);
         }
-
-        return repository.save(contractAccount);
+        historyService.record(saved);
+        return saved;
     }
 
     /**
@@ -136,7 +180,8 @@ public class ContractAccountService implements CrudService<ContractAccount, Inte
      * client and installation exist, and then applies updates to status-related
      * fields.
      * Immutable fields such as account number and creation date are intentionally
-     * not modified.
+     * not modified. If the status or its interval changes, a new entry is
+     * appended to the status timeline instead of losing the previous one.
      * </p>
      *
      * @param id              the ID of the contract account to update
@@ -147,19 +192,24 @@ public class ContractAccountService implements CrudService<ContractAccount, Inte
      *                                   installation does not exist
      */
     @Override
+    @Transactional
     public ContractAccount update(Integer id, ContractAccount contractAccount) {
         validate(contractAccount);
 
         ContractAccount existing = findById(id); // throws if not found
 
-        if (!clientRepository.existsById(contractAccount.getClient().getId())) {
-            throw new ResourceNotFoundException(
-                    "Client with id " + contractAccount.getClient().getId() + " not found");
+        // Client and installation are never rewritten, so a reference is only
+        // looked up when it differs from the stored one (getId() on the lazy
+        // proxies does not hit the database)
+        Integer clientId = contractAccount.getClient().getId();
+        if (!clientId.equals(existing.getClient().getId()) && !clientRepository.existsById(clientId)) {
+            throw new ResourceNotFoundException("Client with id " + clientId + " not found");
         }
 
-        if (!installationRepository.existsById(contractAccount.getInstallation().getId())) {
-            throw new ResourceNotFoundException(
-                    "Installation with id " + contractAccount.getInstallation().getId() + " not found");
+        Integer installationId = contractAccount.getInstallation().getId();
+        if (!installationId.equals(existing.getInstallation().getId())
+                && !installationRepository.existsById(installationId)) {
+            throw new ResourceNotFoundException("Installation with id " + installationId + " not found");
         }
 
         // Immutable fields are intentionally not updated
@@ -168,12 +218,20 @@ public class ContractAccountService implements CrudService<ContractAccount, Inte
         // existing.setInstallation(contractAccount.getInstallation());
         // existing.setCreatedAt(contractAccount.getCreatedAt());
 
+        boolean statusChanged = existing.getStatus() != contractAccount.getStatus()
+                || !Objects.equals(existing.getStatusStart(), contractAccount.getStatusStart())
+                || !Objects.equals(existing.getStatusEnd(), contractAccount.getStatusEnd());
+
         existing.setDeletedAt(contractAccount.getDeletedAt());
         existing.setStatus(contractAccount.getStatus());
         existing.setStatusStart(contractAccount.getStatusStart());
         existing.setStatusEnd(contractAccount.getStatusEnd());
 
-        return repository.save(existing);
+        ContractAccount saved = repository.save(existing);
+        if (statusChanged) {
+            historyService.record(saved);
+        }
+        return saved;
     }
 
     /**
@@ -184,11 +242,9 @@ public class ContractAccountService implements CrudService<ContractAccount, Inte
      *                                   exists
      */
     @Override
+    @Transactional
     public void deleteById(Integer id) {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException("ContractAccount with id " + id + " not found");
-        }
-        repository.deleteById(id);
+        repository.delete(findById(id));
     }
 
     /**
@@ -212,6 +268,96 @@ public class ContractAccountService implements CrudService<ContractAccount, Inte
         return repository.count();
     }
 
+    /**
+     * Persists a new {@link ContractAccount} and maps it inside the same
+     * transaction.
+     *
+     * @param contractAccount the contract account entity to persist
+     * @return the saved contract account as a {@link ContractAccountDTO}
+     * @throws InvalidDataException      if required data is missing or invalid
+     * @throws ResourceNotFoundException if related {@code Client} or
+     *                                   {@code Installation} does not exist
+     * @see #add(ContractAccount)
+     */
+    @Transactional
+    public ContractAccountDTO addAsDTO(ContractAccount contractAccount) {
+        return ContractAccountDTO.fromEntity(add(contractAccount));
+    }
+
+    /**
+     * Retrieves all contract accounts with their installation details, mapped
+     * inside a read-only transaction.
+     * <p>
+     * Clients and installations are fetched in the same query, so mapping does
+     * not issue one lazy load per account.
+     * </p>
+     *
+     * @return all contract accounts as {@link ContractAccountDTO}s
+     */
+    @Transactional(readOnly = true)
+    public List<ContractAccountDTO> findAllAsDTO() {
+        return repository.findAllWithClientAndInstallation().stream()
+                .map(ContractAccountDTO::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Retrieves only the requested fields of all contract accounts, read with a
+     * single projection query instead of loading the entities.
+     *
+     * @param fields the requested fields, separated by commas
+     * @return one map per contract account holding the requested fields
+     * @throws InvalidDataException if a field is unknown
+     * @see #FIELDS
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(String fields) {
+        return FIELDS.findAll(entityManager, fields);
+    }
+
+    /**
+     * Retrieves all contract accounts without installation details, mapped
+     * inside a read-only transaction.
+     *
+     * @return all contract accounts as {@link ContractAccountDTO}s
+     */
+    @Transactional(readOnly = true)
+    public List<ContractAccountDTO> findAllWithoutInstallationAsDTO() {
+        return repository.findAllWithClient().stream()
+                .map(ContractAccountDTO::fromEntityWithoutInstallation)
+                .toList();
+    }
+
+    /**
+     * Retrieves a contract account by ID, mapped inside a read-only
+     * transaction.
+     *
+     * @param id the contract account ID
+     * @return the contract account as a {@link ContractAccountDTO}
+     * @throws ResourceNotFoundException if no account exists with the given ID
+     */
+    @Transactional(readOnly = true)
+    public ContractAccountDTO findByIdAsDTO(Integer id) {
+        return ContractAccountDTO.fromEntity(findById(id));
+    }
+
+    /**
+     * Updates an existing {@link ContractAccount} and maps it inside the same
+     * transaction.
+     *
+     * @param id              the ID of the contract account to update
+     * @param contractAccount the contract account containing updated data
+     * @return the updated contract account as a {@link ContractAccountDTO}
+     * @throws InvalidDataException      if the provided data is invalid
+     * @throws ResourceNotFoundException if the contract account or its related
+     *                                   entities do not exist
+     * @see #update(Integer, ContractAccount)
+     */
+    @Transactional
+    public ContractAccountDTO updateAsDTO(Integer id, ContractAccount contractAccount) {
+        return ContractAccountDTO.fromEntity(update(id, contractAccount));
+    }
+
     /**
      * Validates required fields for a {@link ContractAccount}.
      * <ul>
@@ -230,11 +376,33 @@ public class ContractAccountService implements CrudService<ContractAccount, Inte
         if (contractAccount.getAccountNumber() == null || contractAccount.getAccountNumber().isBlank()) {
             throw new InvalidDataException("Account number is required");
         }
-        if (contractAccount.getClient() == null) {
+        if (contractAccount.getClient() == null || contractAccount.getClient().getId() == null) {
             throw new InvalidDataException("Client is required");
         }
-        if (contractAccount.getInstallation() == null) {
+        if (contractAccount.getInstallation() == null || contractAccount.getInstallation().getId() == null) {
             throw new InvalidDataException("Installation is required");
         }
     }
+
+    /**
+     * Translates a foreign key violation of a contract account write into a
+     * {@link ResourceNotFoundException} naming the missing row.
+     *
+     * @param contractAccount the contract account being written
+     * @param e               the violation
+     * @return the exception to throw; {@code e} itself if no reference was
+     *         missing
+     */
+    private static RuntimeException missingReference(ContractAccount contractAccount,
+            DataIntegrityViolationException e) {
+        if (ForeignKeyViolations.violates(e, ForeignKeyViolations.CONTRACT_ACCOUNT_CLIENT)) {
+            return new ResourceNotFoundException(
+                    "Client with id " + contractAccount.getClient().getId() + " not found", e);
+        }
+        if (ForeignKeyViolations.violates(e, ForeignKeyViolations.CONTRACT_ACCOUNT_INSTALLATION)) {
+            return new ResourceNotFoundException(
+                    "Installation with id " + contractAccount.getInstallation().getId() + " not found", e);
+        }
+        return e;
+    }
 }
@@ -0,0 +1,243 @@
+package com.mqped.fims.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.mqped.fims.exceptions.InvalidDataException;
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.ContractStatusHistory;
+import com.mqped.fims.model.enums.StatusType;
+import com.mqped.fims.repository.ContractStatusHistoryRepository;
+import com.mqped.fims.repository.InstallationRepository;
+
+/**
+ * Maintains the append-only status timeline of contract accounts and answers
+ * as-of queries over it.
+ * <p>
+ * {@link ContractAccountService} calls {@link #record(ContractAccount)}
+ * whenever the status of an account is set or changed, which appends a
+ * {@link ContractStatusHistory} row in the same transaction. Previous rows are
+ * never modified, so the CUT → ON sequence of an account is preserved.
+ * </p>
+ *
+ * <h3>In-memory timeline:</h3>
+ * <p>
+ * Intervals of one account never overlap, so the timeline is indexed as one
+ * sorted map per account keyed by {@code validFrom}, plus a municipality →
+ * accounts map. "Status of every account in Marituba on 2025-01-01" is then a
+ * {@code floorEntry} lookup per account in the municipality instead of a scan
+ * of the history table. The index is loaded at startup and updated after each
+ * commit; until it is loaded, queries fall back to
+ * {@link ContractStatusHistoryRepository#findAsOf(String, LocalDateTime)}.
+ * </p>
+ *
+ * <p>
+ * Accounts that existed before the timeline was introduced are backfilled at
+ * startup with one interval taken from their current status.
+ * </p>
+ *
+ * @see ContractStatusHistory
+ * @since 1.0
+ */
+@Service
+public class ContractStatusHistoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContractStatusHistoryService.class);
+
+    private final ContractStatusHistoryRepository repository;
+    private final InstallationRepository installationRepository;
+
+    private final ConcurrentMap<Integer, ConcurrentSkipListMap<LocalDateTime, ContractStatusHistory>> timelines = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<Integer>> accountsByMunicipality = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * Constructs a new {@code ContractStatusHistoryService}.
+     *
+     * @param repository             repository storing the timeline
+     * @param installationRepository repository used to resolve the municipality
+     *                               of an installation
+     */
+    public ContractStatusHistoryService(ContractStatusHistoryRepository repository,
+            InstallationRepository installationRepository) {
+        this.repository = repository;
+        this.installationRepository = installationRepository;
+    }
+
+    /**
+     * Backfills accounts without history and loads the in-memory timeline.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<ContractStatusHistory> backfill = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Object[] row : repository.findAccountsWithoutHistory()) {
+            ContractStatusHistory history = new ContractStatusHistory();
+            history.setContractAccountId((Integer) row[0]);
+            history.setAccountNumber((String) row[1]);
+            history.setInstallationId((Integer) row[2]);
+            history.setMunicipality((String) row[3]);
+            history.setStatus((StatusType) row[4]);
+            history.setValidFrom(row[5] != null ? (LocalDateTime) row[5] : (LocalDateTime) row[7]);
+            history.setValidTo((LocalDateTime) row[6]);
+            history.setRecordedAt(now);
+            if (history.getValidFrom() != null) {
+                backfill.add(history);
+            }
+        }
+        if (!backfill.isEmpty()) {
+            repository.saveAll(backfill);
+            log.info("Backfilled status history for {} contract accounts", backfill.size());
+        }
+
+        List<ContractStatusHistory> all = repository.findAllOrdered();
+        List<ContractStatusHistory> unkeyed = all.stream()
+                .filter(history -> history.getMunicipality() != null && history.getMunicipalityKey() == null)
+                .toList();
+        if (!unkeyed.isEmpty()) {
+            // Rows stored before the key column existed; only the derived key changes
+            repository.saveAll(unkeyed);
+            log.info("Keyed the municipality of {} status history rows", unkeyed.size());
+        }
+        all.forEach(this::index);
+        loaded = true;
+        log.info("Contract status timeline loaded: {} intervals for {} accounts", all.size(), timelines.size());
+    }
+
+    /**
+     * Appends the current status of a contract account to its timeline.
+     * <p>
+     * Does nothing if the account has no status. The interval starts at
+     * {@code statusStart}, or at {@code createdAt} when no start is given. The
+     * in-memory timeline is updated once the surrounding transaction commits.
+     * </p>
+     *
+     * @param account the persisted contract account
+     * @return the appended record, or {@code null} if nothing was recorded
+     */
+    public ContractStatusHistory record(ContractAccount account) {
+        if (account.getStatus() == null) {
+            return null;
+        }
+        LocalDateTime validFrom = account.getStatusStart() != null ? account.getStatusStart()
+                : account.getCreatedAt();
+        if (validFrom == null) {
+            return null;
+        }
+
+        ContractStatusHistory history = new ContractStatusHistory();
+        history.setContractAccountId(account.getId());
+        history.setAccountNumber(account.getAccountNumber());
+        history.setStatus(account.getStatus());
+        // Stored as timestamp(6): the in-memory timeline must hold the same
+        // value as the row, or lookups at the exact boundary disagree
+        history.setValidFrom(validFrom.truncatedTo(ChronoUnit.MICROS));
+        LocalDateTime validTo = account.getStatusEnd();
+        history.setValidTo(validTo != null ? validTo.truncatedTo(ChronoUnit.MICROS) : null);
+        history.setRecordedAt(LocalDateTime.now());
+        if (account.getInstallation() != null) {
+            Integer installationId = account.getInstallation().getId();
+            history.setInstallationId(installationId);
+            history.setMunicipality(installationRepository.findMunicipalityById(installationId).orElse(null));
+        }
+
+        ContractStatusHistory saved = repository.save(history);
+        afterCommit(() -> index(saved));
+        return saved;
+    }
+
+    /**
+     * Retrieves every recorded interval of a contract account, oldest first,
+     * including superseded ones.
+     *
+     * @param contractAccountId the contract account ID
+     * @return the account's history
+     */
+    public List<ContractStatusHistory> findByContractAccountId(Integer contractAccountId) {
+        return repository.findByContractAccountIdOrderByValidFromAscIdAsc(contractAccountId);
+    }
+
+    /**
+     * Retrieves the interval in effect at {@code at} for every contract account
+     * in a municipality.
+     * <p>
+     * Municipality matching ignores case and accents. Accounts whose last
+     * interval before {@code at} had already ended are not included.
+     * </p>
+     *
+     * @param municipality the municipality
+     * @param at           the point in time
+     * @return the effective intervals, ordered by contract account ID
+     * @throws InvalidDataException if the municipality or the instant is missing
+     */
+    public List<ContractStatusHistory> findAsOf(String municipality, LocalDateTime at) {
+        if (municipality == null || municipality.isBlank()) {
+            throw new InvalidDataException("Municipality is required");
+        }
+        if (at == null) {
+            throw new InvalidDataException("Point in time is required");
+        }
+        if (!loaded) {
+            return repository.findAsOf(ContractStatusHistory.municipalityKey(municipality), at);
+        }
+
+        Set<Integer> accounts = accountsByMunicipality.getOrDefault(
+                ContractStatusHistory.municipalityKey(municipality), Set.of());
+        List<ContractStatusHistory> result = new ArrayList<>(accounts.size());
+        for (Integer accountId : accounts) {
+            ConcurrentSkipListMap<LocalDateTime, ContractStatusHistory> timeline = timelines.get(accountId);
+            Map.Entry<LocalDateTime, ContractStatusHistory> entry = timeline != null ? timeline.floorEntry(at) : null;
+            if (entry == null) {
+                continue;
+            }
+            ContractStatusHistory interval = entry.getValue();
+            if (interval.getValidTo() == null || interval.getValidTo().isAfter(at)) {
+                result.add(interval);
+            }
+        }
+        result.sort(Comparator.comparing(ContractStatusHistory::getContractAccountId));
+        return result;
+    }
+
+    /** Adds an interval to the in-memory timeline; later records win. */
+    void index(ContractStatusHistory history) {
+        timelines.computeIfAbsent(history.getContractAccountId(), id -> new ConcurrentSkipListMap<>())
+                .merge(history.getValidFrom(), history,
+                        (current, candidate) -> candidate.getId() >= current.getId() ? candidate : current);
+        if (history.getMunicipality() != null) {
+            accountsByMunicipality
+                    .computeIfAbsent(ContractStatusHistory.municipalityKey(history.getMunicipality()),
+                            m -> ConcurrentHashMap.newKeySet())
+                    .add(history.getContractAccountId());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,399 @@
+package com.mqped.fims.service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mqped.fims.event.ChangeType;
+import com.mqped.fims.event.EntityChangeEvent;
+import com.mqped.fims.model.dto.DashboardSummaryDTO;
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.Installation;
+import com.mqped.fims.model.entity.ServiceOrder;
+import com.mqped.fims.model.entity.Target;
+import com.mqped.fims.model.enums.ServiceOrderStatus;
+import com.mqped.fims.model.enums.ServiceOrderType;
+import com.mqped.fims.model.enums.StatusType;
+import com.mqped.fims.model.enums.TargetType;
+import com.mqped.fims.repository.AddressRepository;
+import com.mqped.fims.repository.ContractAccountRepository;
+import com.mqped.fims.repository.InstallationRepository;
+import com.mqped.fims.repository.ServiceOrderRepository;
+import com.mqped.fims.repository.TargetRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Service maintaining pre-aggregated counters for the operations dashboard.
+ * <p>
+ * Instead of running {@code COUNT(*)} queries on every dashboard refresh, the
+ * counters are kept in memory as grids of {@link LongAdder}s indexed by enum
+ * ordinals, and are updated from committed {@link EntityChangeEvent}s. A
+ * periodic reconciliation re-counts everything with {@code GROUP BY} queries
+ * and corrects any drift (e.g. rows changed by bulk statements or by another
+ * node).
+ * </p>
+ *
+ * <h3>Grids:</h3>
+ * <ul>
+ * <li>Service orders — {@code status.ordinal() * types + type.ordinal()}</li>
+ * <li>Targets — {@code type.ordinal() * 2 + (active ? 0 : 1)}</li>
+ * <li>Contract accounts — one row per municipality, indexed by
+ * {@link StatusType} ordinal, with an extra slot for accounts without
+ * status</li>
+ * </ul>
+ *
+ * <p>
+ * Contract accounts are counted by the municipality of their installation's
+ * address. Listeners must not use the Hibernate session, so that lookup is
+ * kept in memory: seeded by every reconciliation and maintained from address
+ * and installation events. A contract change whose installation is not known
+ * yet is left to the next reconciliation.
+ * </p>
+ *
+ * <h3>Configuration:</h3>
+ * <ul>
+ * <li>{@code dashboard.reconcile.interval} — delay between reconciliations
+ * (default {@code PT5M})</li>
+ * </ul>
+ *
+ * @see com.mqped.fims.controller.DashboardController
+ * @since 1.0
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardService.class);
+
+    private static final ServiceOrderStatus[] ORDER_STATUSES = ServiceOrderStatus.values();
+    private static final ServiceOrderType[] ORDER_TYPES = ServiceOrderType.values();
+    private static final TargetType[] TARGET_TYPES = TargetType.values();
+    private static final StatusType[] CONTRACT_STATUSES = StatusType.values();
+
+    /** Slot used for contract accounts whose status is {@code null}. */
+    private static final int NO_STATUS = CONTRACT_STATUSES.length;
+
+    private final ServiceOrderRepository serviceOrderRepository;
+    private final TargetRepository targetRepository;
+    private final ContractAccountRepository contractAccountRepository;
+    private final InstallationRepository installationRepository;
+    private final AddressRepository addressRepository;
+
+    private final LongAdder[] serviceOrders = newGrid(ORDER_STATUSES.length * ORDER_TYPES.length);
+    private final LongAdder[] targets = newGrid(TARGET_TYPES.length * 2);
+    private final ConcurrentMap<String, LongAdder[]> contracts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Integer> addressByInstallation = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, String> municipalityByAddress = new ConcurrentHashMap<>();
+
+    private final Counter driftCounter;
+    private volatile LocalDateTime reconciledAt;
+
+    /**
+     * Constructs a new {@code DashboardService}.
+     *
+     * @param serviceOrderRepository    repository used for reconciliation
+     * @param targetRepository          repository used for reconciliation
+     * @param contractAccountRepository repository used for reconciliation
+     * @param installationRepository    repository used to seed the address
+     *                                  of each installation
+     * @param addressRepository         repository used to seed the
+     *                                  municipality of each address
+     * @param meterRegistry             registry for the drift counter
+     */
+    public DashboardService(ServiceOrderRepository serviceOrderRepository,
+            TargetRepository targetRepository,
+            ContractAccountRepository contractAccountRepository,
+            InstallationRepository installationRepository,
+            AddressRepository addressRepository,
+            MeterRegistry meterRegistry) {
+        this.serviceOrderRepository = serviceOrderRepository;
+        this.targetRepository = targetRepository;
+        this.contractAccountRepository = contractAccountRepository;
+        this.installationRepository = installationRepository;
+        this.addressRepository = addressRepository;
+        this.driftCounter = Counter.builder("fims.dashboard.reconcile.drift")
+                .description("Absolute difference between in-memory dashboard counters and the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies a committed entity change to the counters.
+     * <p>
+     * The previous state is subtracted and the new state added, which covers
+     * creations, deletions and updates uniformly. Updates for which Hibernate
+     * did not provide the previous state are left to the next reconciliation.
+     * </p>
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.isFor(Address.class)) {
+            if (event.value("municipality") instanceof String municipality) {
+                municipalityByAddress.put((Integer) event.entityId(), municipality);
+            }
+            return;
+        }
+        if (event.isFor(Installation.class)) {
+            if (event.value("address") instanceof Integer addressId) {
+                addressByInstallation.put((Integer) event.entityId(), addressId);
+            }
+            return;
+        }
+        if (event.changeType() == ChangeType.UPDATED && !event.hasPreviousState()) {
+            return;
+        }
+        if (event.isFor(ServiceOrder.class)) {
+            if (event.changed("status") || event.changed("type")) {
+                move(serviceOrders, serviceOrderSlot(event.previousState()), serviceOrderSlot(event.state()));
+            }
+        } else if (event.isFor(Target.class)) {
+            if (event.changed("type") || event.changed("active")) {
+                move(targets, targetSlot(event.previousState()), targetSlot(event.state()));
+            }
+        } else if (event.isFor(ContractAccount.class)) {
+            if (event.changed("status") || event.changed("installation")) {
+                adjustContract(event.previousState(), -1);
+                adjustContract(event.state(), 1);
+            }
+        }
+    }
+
+    /**
+     * Seeds the counters from the database once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    /**
+     * Re-counts all aggregates with {@code GROUP BY} queries and corrects the
+     * in-memory counters.
+     * <p>
+     * Each grid is sampled before its query, and corrected by the difference
+     * between the query's count and that sample. Changes applied to the
+     * counters while the query runs, i.e. committed after it read the rows,
+     * are therefore kept. Changes committed after the sample but before the
+     * query's snapshot are both counted by the query and applied by
+     * {@link #onEntityChange}, and stay counted twice until the next
+     * reconciliation; that drift is bounded by the writes of that short
+     * window.
+     * </p>
+     *
+     * <p>
+     * The municipality lookup is seeded first, so contract changes after a
+     * restart (including those of aggregate deletes, whose installation is
+     * gone by the time the event is applied) resolve without the database.
+     * </p>
+     */
+    @Scheduled(initialDelayString = "${dashboard.reconcile.interval:PT5M}", fixedDelayString = "${dashboard.reconcile.interval:PT5M}")
+    public void reconcile() {
+        seedMunicipalities();
+        long drift = 0;
+
+        long[] ordersBefore = sample(serviceOrders);
+        long[] orderCounts = new long[serviceOrders.length];
+        for (Object[] row : serviceOrderRepository.countGroupedByStatusAndType()) {
+            if (row[0] instanceof ServiceOrderStatus status && row[1] instanceof ServiceOrderType type) {
+                orderCounts[status.ordinal() * ORDER_TYPES.length + type.ordinal()] += ((Number) row[2]).longValue();
+            }
+        }
+        drift += correct(serviceOrders, ordersBefore, orderCounts);
+
+        long[] targetsBefore = sample(targets);
+        long[] targetCounts = new long[targets.length];
+        for (Object[] row : targetRepository.countGroupedByTypeAndActive()) {
+            if (row[0] instanceof TargetType type) {
+                targetCounts[targetSlot(type, row[1])] += ((Number) row[2]).longValue();
+            }
+        }
+        drift += correct(targets, targetsBefore, targetCounts);
+
+        Map<String, long[]> contractsBefore = new HashMap<>();
+        contracts.forEach((municipality, grid) -> contractsBefore.put(municipality, sample(grid)));
+        Map<String, long[]> contractCounts = new HashMap<>();
+        for (Object[] row : contractAccountRepository.countGroupedByMunicipalityAndStatus()) {
+            if (row[0] instanceof String municipality) {
+                int slot = row[1] instanceof StatusType status ? status.ordinal() : NO_STATUS;
+                contractCounts.computeIfAbsent(municipality, m -> new long[NO_STATUS + 1])[slot] += ((Number) row[2])
+                        .longValue();
+            }
+        }
+        for (String municipality : contracts.keySet()) {
+            contractCounts.computeIfAbsent(municipality, m -> new long[NO_STATUS + 1]);
+        }
+        for (Map.Entry<String, long[]> entry : contractCounts.entrySet()) {
+            long[] before = contractsBefore.getOrDefault(entry.getKey(), new long[NO_STATUS + 1]);
+            drift += correct(contractGrid(entry.getKey()), before, entry.getValue());
+        }
+
+        reconciledAt = LocalDateTime.now();
+        if (drift > 0) {
+            driftCounter.increment(drift);
+            log.info("Dashboard counters reconciled with a drift of {}", drift);
+        }
+    }
+
+    /**
+     * Builds a snapshot of the current counters.
+     *
+     * @param municipality optional municipality to restrict the contract counts
+     *                     to; {@code null} returns all municipalities
+     * @return the dashboard summary
+     */
+    public DashboardSummaryDTO getSummary(String municipality) {
+        Map<ServiceOrderStatus, Map<ServiceOrderType, Long>> orders = new EnumMap<>(ServiceOrderStatus.class);
+        Map<ServiceOrderStatus, Long> ordersByStatus = new EnumMap<>(ServiceOrderStatus.class);
+        for (ServiceOrderStatus status : ORDER_STATUSES) {
+            Map<ServiceOrderType, Long> byType = new EnumMap<>(ServiceOrderType.class);
+            long total = 0;
+            for (ServiceOrderType type : ORDER_TYPES) {
+                long count = serviceOrders[status.ordinal() * ORDER_TYPES.length + type.ordinal()].sum();
+                byType.put(type, count);
+                total += count;
+            }
+            orders.put(status, byType);
+            ordersByStatus.put(status, total);
+        }
+
+        Map<TargetType, Long> activeTargets = new EnumMap<>(TargetType.class);
+        Map<TargetType, Long> inactiveTargets = new EnumMap<>(TargetType.class);
+        for (TargetType type : TARGET_TYPES) {
+            activeTargets.put(type, targets[type.ordinal() * 2].sum());
+            inactiveTargets.put(type, targets[type.ordinal() * 2 + 1].sum());
+        }
+
+        Map<String, Map<StatusType, Long>> contractsByMunicipality = new TreeMap<>();
+        contracts.forEach((name, grid) -> {
+            if (municipality == null || municipality.equalsIgnoreCase(name)) {
+                Map<StatusType, Long> byStatus = new EnumMap<>(StatusType.class);
+                for (StatusType status : CONTRACT_STATUSES) {
+                    byStatus.put(status, grid[status.ordinal()].sum());
+                }
+                contractsByMunicipality.put(name, byStatus);
+            }
+        });
+
+        DashboardSummaryDTO dto = new DashboardSummaryDTO();
+        dto.setServiceOrders(orders);
+        dto.setServiceOrdersByStatus(ordersByStatus);
+        dto.setActiveTargetsByType(activeTargets);
+        dto.setInactiveTargetsByType(inactiveTargets);
+        dto.setContractsByMunicipality(contractsByMunicipality);
+        dto.setReconciledAt(reconciledAt);
+        return dto;
+    }
+
+    // --- Helpers ---
+
+    private void adjustContract(Map<String, Object> state, int delta) {
+        if (state.isEmpty() || !(state.get("installation") instanceof Integer installationId)) {
+            return;
+        }
+        String municipality = municipalityOf(installationId);
+        if (municipality == null) {
+            return;
+        }
+        int slot = state.get("status") instanceof StatusType status ? status.ordinal() : NO_STATUS;
+        contractGrid(municipality)[slot].add(delta);
+    }
+
+    private String municipalityOf(Integer installationId) {
+        Integer addressId = addressByInstallation.get(installationId);
+        return addressId != null ? municipalityByAddress.get(addressId) : null;
+    }
+
+    private void seedMunicipalities() {
+        // One String per municipality rather than one per address row
+        Map<String, String> names = new HashMap<>();
+        for (Object[] row : addressRepository.findAllMunicipalities()) {
+            if (row[0] instanceof Integer addressId && row[1] instanceof String municipality) {
+                municipalityByAddress.put(addressId, names.computeIfAbsent(municipality, m -> m));
+            }
+        }
+        for (Object[] row : installationRepository.findAllAddressIds()) {
+            if (row[0] instanceof Integer installationId && row[1] instanceof Integer addressId) {
+                addressByInstallation.put(installationId, addressId);
+            }
+        }
+    }
+
+    private LongAdder[] contractGrid(String municipality) {
+        return contracts.computeIfAbsent(municipality, m -> newGrid(NO_STATUS + 1));
+    }
+
+    private static void move(LongAdder[] grid, int from, int to) {
+        if (from == to) {
+            return;
+        }
+        if (from >= 0) {
+            grid[from].decrement();
+        }
+        if (to >= 0) {
+            grid[to].increment();
+        }
+    }
+
+    private static int serviceOrderSlot(Map<String, Object> state) {
+        if (state.get("status") instanceof ServiceOrderStatus status
+                && state.get("type") instanceof ServiceOrderType type) {
+            return status.ordinal() * ORDER_TYPES.length + type.ordinal();
+        }
+        return -1;
+    }
+
+    private static int targetSlot(Map<String, Object> state) {
+        if (state.get("type") instanceof TargetType type) {
+            return targetSlot(type, state.get("active"));
+        }
+        return -1;
+    }
+
+    private static int targetSlot(TargetType type, Object active) {
+        return type.ordinal() * 2 + (Boolean.FALSE.equals(active) ? 1 : 0);
+    }
+
+    private static long[] sample(LongAdder[] grid) {
+        long[] values = new long[grid.length];
+        for (int i = 0; i < grid.length; i++) {
+            values[i] = grid[i].sum();
+        }
+        return values;
+    }
+
+    private static long correct(LongAdder[] grid, long[] before, long[] expected) {
+        long drift = 0;
+        for (int i = 0; i < grid.length; i++) {
+            long delta = expected[i] - before[i];
+            if (delta != 0) {
+                grid[i].add(delta);
+                drift += Math.abs(delta);
+            }
+        }
+        return drift;
+    }
+
+    private static LongAdder[] newGrid(int size) {
+        LongAdder[] grid = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            grid[i] = new LongAdder();
+        }
+        return grid;
+    }
+}
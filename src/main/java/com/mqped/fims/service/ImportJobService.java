@@ -0,0 +1,625 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.exceptions.BusinessRuleException;
+import com.mqped.fims.exceptions.InvalidDataException;
+import com.mqped.fims.exceptions.ResourceNotFoundException;
+import com.mqped.fims.model.dto.ImportJobDTO;
+import com.mqped.fims.model.dto.ImportJobErrorDTO;
+import com.mqped.fims.model.entity.ImportJob;
+import com.mqped.fims.model.entity.ImportJobError;
+import com.mqped.fims.model.enums.ImportJobStatus;
+import com.mqped.fims.model.enums.ImportType;
+import com.mqped.fims.repository.ImportJobErrorRepository;
+import com.mqped.fims.repository.ImportJobRepository;
+import com.mqped.fims.service.imports.CsvImporter;
+import com.mqped.fims.util.CsvReader;
+import com.mqped.fims.util.CsvRow;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs CSV imports as background jobs, so monthly CNEFE and contract
+ * extracts can be ingested without restarting the application.
+ * <p>
+ * A job reads a file from the imports directory ({@code imports.directory}),
+ * either uploaded through the API or placed there beforehand, memory-mapped
+ * through {@link CsvReader}. Jobs run on a
+ * dedicated pool of {@code imports.workers} low-priority threads, so imports
+ * never take request threads and at most that many database connections.
+ * </p>
+ *
+ * <h2>Chunks and checkpoints</h2>
+ * <p>
+ * Rows are imported in chunks of {@code imports.chunk-size}, each in one
+ * transaction that also advances the job's checkpoint. If a row of the chunk
+ * fails, the chunk is rolled back and replayed one row per transaction, so
+ * only the bad rows are rejected. The checkpoint is the byte offset of the
+ * next row, so after a crash, jobs still {@code RUNNING} resume exactly there
+ * when the application starts, without rereading the file; no row is
+ * imported twice. Resuming assumes a single application instance runs the
+ * jobs.
+ * </p>
+ *
+ * <h2>Throttling</h2>
+ * <p>
+ * A job reads at most {@code imports.max-rows-per-second} rows per second,
+ * pausing between chunks, so it leaves database capacity to online traffic.
+ * </p>
+ *
+ * @see CsvImporter
+ * @since 1.0
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobService.class);
+
+    /** Largest number of jobs or errors returned by one listing. */
+    public static final int MAX_LIMIT = 1000;
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    private final ImportJobRepository repository;
+    private final ImportJobErrorRepository errorRepository;
+    private final Map<ImportType, CsvImporter> importers = new EnumMap<>(ImportType.class);
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final Path directory;
+    private final int chunkSize;
+    private final int maxRowsPerSecond;
+    private final int maxRecordedErrors;
+
+    /** Progress of the jobs running in this instance. */
+    private final Map<Long, Progress> running = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@code ImportJobService} with its own worker pool.
+     *
+     * @param repository         the {@link ImportJobRepository} holding jobs
+     * @param errorRepository    the {@link ImportJobErrorRepository} holding
+     *                           rejected rows
+     * @param importers          one {@link CsvImporter} per {@link ImportType}
+     * @param transactionManager the transaction manager for chunk transactions
+     * @param directory          directory import files are read from
+     * @param workers            number of jobs run at the same time
+     * @param chunkSize          rows committed per transaction
+     * @param maxRowsPerSecond   read rate limit per job; {@code 0} for none
+     * @param maxRecordedErrors  rejected rows recorded per job
+     */
+    @Autowired
+    public ImportJobService(ImportJobRepository repository,
+            ImportJobErrorRepository errorRepository,
+            List<CsvImporter> importers,
+            PlatformTransactionManager transactionManager,
+            @Value("${imports.directory:data/imports}") String directory,
+            @Value("${imports.workers:1}") int workers,
+            @Value("${imports.chunk-size:500}") int chunkSize,
+            @Value("${imports.max-rows-per-second:2000}") int maxRowsPerSecond,
+            @Value("${imports.max-recorded-errors:1000}") int maxRecordedErrors) {
+        this(repository, errorRepository, importers, transactionManager, Paths.get(directory),
+                newWorkerPool(workers), chunkSize, maxRowsPerSecond, maxRecordedErrors);
+    }
+
+    ImportJobService(ImportJobRepository repository, ImportJobErrorRepository errorRepository,
+            List<CsvImporter> importers, PlatformTransactionManager transactionManager, Path directory,
+            Executor executor, int chunkSize, int maxRowsPerSecond, int maxRecordedErrors) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Import chunk size must be positive");
+        }
+        this.repository = repository;
+        this.errorRepository = errorRepository;
+        for (CsvImporter importer : importers) {
+            this.importers.put(importer.type(), importer);
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.directory = directory.toAbsolutePath().normalize();
+        this.chunkSize = chunkSize;
+        this.maxRowsPerSecond = maxRowsPerSecond;
+        this.maxRecordedErrors = maxRecordedErrors;
+    }
+
+    private static ExecutorService newWorkerPool(int workers) {
+        AtomicInteger threads = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread thread = new Thread(task, "import-worker-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+    }
+
+    /**
+     * Stores an uploaded file in the imports directory and queues its import.
+     *
+     * @param type      the layout of the file
+     * @param file      the uploaded file
+     * @param createdBy the requesting user
+     * @return the queued job
+     * @throws InvalidDataException if the type or file is missing
+     */
+    public ImportJobDTO createFromUpload(ImportType type, MultipartFile file, String createdBy) {
+        if (type == null) {
+            throw new InvalidDataException("Import type is required");
+        }
+        if (file == null || file.isEmpty()) {
+            throw new InvalidDataException("Import file is required and cannot be empty");
+        }
+        String originalName = file.getOriginalFilename() == null ? "upload.csv" : file.getOriginalFilename();
+        String safeName = Paths.get(originalName).getFileName().toString().replaceAll("[^A-Za-z0-9._-]", "_");
+        Path target = directory.resolve("upload-" + UUID.randomUUID() + "-" + safeName);
+        try {
+            Files.createDirectories(directory);
+            file.transferTo(target);
+        } catch (IOException e) {
+            throw new InvalidDataException("Could not store the uploaded file: " + e.getMessage());
+        }
+        return queue(type, originalName, target, createdBy);
+    }
+
+    /**
+     * Queues the import of a file already present in the imports directory.
+     *
+     * @param type      the layout of the file
+     * @param path      the file path, relative to the imports directory
+     * @param createdBy the requesting user
+     * @return the queued job
+     * @throws InvalidDataException if the type is missing, or the path is
+     *                              outside the imports directory or not a
+     *                              readable file
+     */
+    public ImportJobDTO createFromPath(ImportType type, String path, String createdBy) {
+        if (type == null) {
+            throw new InvalidDataException("Import type is required");
+        }
+        if (path == null || path.isBlank()) {
+            throw new InvalidDataException("Import path is required");
+        }
+        Path file = directory.resolve(path.trim()).normalize();
+        if (!file.startsWith(directory)) {
+            throw new InvalidDataException("Import files must be inside the imports directory");
+        }
+        if (!Files.isRegularFile(file) || !Files.isReadable(file)) {
+            throw new InvalidDataException("Import file not found: " + path);
+        }
+        return queue(type, path.trim(), file, createdBy);
+    }
+
+    private ImportJobDTO queue(ImportType type, String fileName, Path file, String createdBy) {
+        if (!importers.containsKey(type)) {
+            throw new InvalidDataException("No importer available for " + type);
+        }
+        ImportJob job = new ImportJob();
+        job.setType(type);
+        job.setStatus(ImportJobStatus.QUEUED);
+        job.setFileName(fileName);
+        job.setFilePath(file.toString());
+        job.setCreatedBy(createdBy);
+        try {
+            job.setFileSize(Files.size(file));
+        } catch (IOException e) {
+            throw new InvalidDataException("Could not read the import file: " + e.getMessage());
+        }
+        ImportJob saved = repository.save(job);
+        submit(saved.getId());
+        return ImportJobDTO.fromEntity(saved);
+    }
+
+    /**
+     * Retrieves a job with its current progress.
+     *
+     * @param id the job ID
+     * @return the job
+     * @throws ResourceNotFoundException if no job has this ID
+     */
+    public ImportJobDTO findById(Long id) {
+        return toDto(findJob(id));
+    }
+
+    /**
+     * Retrieves the most recent jobs.
+     *
+     * @param limit maximum number of jobs
+     * @return the jobs, newest first
+     * @throws InvalidDataException if {@code limit} is outside
+     *                              {@code [1, MAX_LIMIT]}
+     */
+    public List<ImportJobDTO> findRecent(int limit) {
+        checkLimit(limit);
+        return repository.findAllByOrderByIdDesc(PageRequest.of(0, limit)).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    /**
+     * Retrieves the rows rejected by a job.
+     *
+     * @param id    the job ID
+     * @param limit maximum number of errors
+     * @return the recorded errors, in file order
+     * @throws ResourceNotFoundException if no job has this ID
+     * @throws InvalidDataException      if {@code limit} is outside
+     *                                   {@code [1, MAX_LIMIT]}
+     */
+    public List<ImportJobErrorDTO> findErrors(Long id, int limit) {
+        checkLimit(limit);
+        findJob(id);
+        return errorRepository.findByJobIdOrderByLineNumberAsc(id, PageRequest.of(0, limit)).stream()
+                .map(ImportJobErrorDTO::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Cancels a job. A running job stops after its current chunk.
+     *
+     * @param id the job ID
+     * @return the job
+     * @throws ResourceNotFoundException if no job has this ID
+     * @throws BusinessRuleException     if the job already finished
+     */
+    public ImportJobDTO cancel(Long id) {
+        ImportJob job = findJob(id);
+        if (job.getStatus().isFinished()) {
+            throw new BusinessRuleException("Import job " + id + " is already " + job.getStatus());
+        }
+        Progress progress = running.get(id);
+        if (progress != null) {
+            progress.cancelRequested = true;
+        } else {
+            finish(id, ImportJobStatus.CANCELED, null);
+        }
+        return findById(id);
+    }
+
+    /**
+     * Queues a failed or canceled job again, continuing from its checkpoint.
+     *
+     * @param id the job ID
+     * @return the job
+     * @throws ResourceNotFoundException if no job has this ID
+     * @throws BusinessRuleException     if the job is not failed or canceled
+     */
+    public ImportJobDTO resume(Long id) {
+        ImportJob job = findJob(id);
+        if (job.getStatus() != ImportJobStatus.FAILED && job.getStatus() != ImportJobStatus.CANCELED) {
+            throw new BusinessRuleException("Only failed or canceled import jobs can be resumed");
+        }
+        transactionTemplate.executeWithoutResult(tx -> {
+            ImportJob managed = repository.findById(id).orElseThrow();
+            managed.setStatus(ImportJobStatus.QUEUED);
+            managed.setFinishedAt(null);
+            managed.setFailureMessage(null);
+        });
+        submit(id);
+        return findById(id);
+    }
+
+    /**
+     * Requeues the jobs interrupted by the last shutdown or crash.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        for (ImportJob job : repository.findByStatusInOrderByIdAsc(
+                List.of(ImportJobStatus.RUNNING, ImportJobStatus.QUEUED))) {
+            logger.info("Resuming import job {} ({}) at line {}", job.getId(), job.getFileName(),
+                    job.getLinesRead() + 1);
+            submit(job.getId());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Progress progress : running.values()) {
+            progress.stopRequested = true;
+        }
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdown();
+        }
+    }
+
+    private void submit(Long id) {
+        executor.execute(() -> run(id));
+    }
+
+    /**
+     * Runs a job from its checkpoint until the file is read, the job is
+     * canceled or an unrecoverable error occurs.
+     */
+    void run(Long id) {
+        ImportJob job = repository.findById(id).orElse(null);
+        if (job == null || job.getStatus().isFinished()) {
+            return;
+        }
+        if (job.getStatus() == ImportJobStatus.QUEUED && !start(id)) {
+            return;
+        }
+        Progress progress = new Progress(job.getLinesRead(), job.getBytesRead());
+        if (running.putIfAbsent(id, progress) != null) {
+            return;
+        }
+        try {
+            ImportJobStatus outcome = importFile(job, progress);
+            if (outcome != null) {
+                finish(id, outcome, null);
+                logger.info("Import job {} {}: {} rows imported, {} rejected", id, outcome,
+                        progress.imported, progress.failed);
+            }
+        } catch (CheckpointConflictException e) {
+            logger.warn("Import job {} stopped: {}", id, e.getMessage());
+        } catch (Exception e) {
+            logger.error("Import job {} failed at line {}", id, progress.linesRead + 2, e);
+            finish(id, ImportJobStatus.FAILED, truncate(String.valueOf(e.getMessage())));
+        } finally {
+            running.remove(id);
+        }
+    }
+
+    /**
+     * @return the final status, or {@code null} if the job was interrupted by
+     *         a shutdown and must stay {@code RUNNING}
+     */
+    private ImportJobStatus importFile(ImportJob job, Progress progress) throws IOException {
+        CsvImporter.RowHandler handler = importers.get(job.getType()).open();
+        long recordedErrors = errorRepository.countByJobId(job.getId());
+
+        try (CsvReader csv = CsvReader.open(Paths.get(job.getFilePath()))) {
+            long chunkStart = startOffset(csv, job);
+            long chunkEnd = chunkStart;
+            int rows = 0;
+            CsvRow row = csv.rows(chunkStart, csv.size());
+            while (row.next()) {
+                rows++;
+                chunkEnd = row.end();
+                if (rows == chunkSize) {
+                    recordedErrors = commitChunk(job.getId(), handler, csv, chunkStart, chunkEnd, rows, progress,
+                            recordedErrors);
+                    chunkStart = chunkEnd;
+                    rows = 0;
+                    if (progress.cancelRequested) {
+                        return ImportJobStatus.CANCELED;
+                    }
+                    if (progress.stopRequested) {
+                        return null;
+                    }
+                    throttle(progress);
+                }
+            }
+            if (rows > 0) {
+                commitChunk(job.getId(), handler, csv, chunkStart, chunkEnd, rows, progress, recordedErrors);
+            }
+        }
+        return progress.cancelRequested ? ImportJobStatus.CANCELED : ImportJobStatus.COMPLETED;
+    }
+
+    /**
+     * @return the offset of the first row not yet read: the checkpointed byte
+     *         offset, or the end of the header and of the rows counted by a
+     *         checkpoint that has no offset
+     */
+    private static long startOffset(CsvReader csv, ImportJob job) {
+        if (job.getLinesRead() > 0 && job.getBytesRead() > 0) {
+            return job.getBytesRead();
+        }
+        long offset = csv.size();
+        CsvRow row = csv.rows();
+        for (long skipped = -1; skipped < job.getLinesRead() && row.next(); skipped++) {
+            offset = row.end();
+        }
+        return offset;
+    }
+
+    /**
+     * Imports the rows of {@code [from, to)} and advances the checkpoint to
+     * {@code to}; on failure, replays them one row per transaction.
+     *
+     * @return the number of errors recorded for the job afterwards
+     */
+    private long commitChunk(Long id, CsvImporter.RowHandler handler, CsvReader csv, long from, long to, int rows,
+            Progress progress, long recordedErrors) {
+        long linesFrom = progress.linesRead;
+        try {
+            Integer imported = transactionTemplate.execute(tx -> {
+                int count = 0;
+                CsvRow row = csv.rows(from, to);
+                while (row.next()) {
+                    if (!row.isBlank()) {
+                        handler.importRow(row);
+                        count++;
+                    }
+                }
+                checkpoint(id, linesFrom, linesFrom + rows, to, count, 0);
+                return count;
+            });
+            progress.advance(rows, to, imported == null ? 0 : imported, 0);
+            return recordedErrors;
+        } catch (CheckpointConflictException e) {
+            throw e;
+        } catch (RuntimeException chunkFailure) {
+            // Find the bad rows: one transaction per row, each moving the checkpoint
+            long errors = recordedErrors;
+            CsvRow row = csv.rows(from, to);
+            while (row.next()) {
+                long before = progress.linesRead;
+                long lineNumber = before + 2; // header is line 1
+                long end = row.end();
+                boolean blank = row.isBlank();
+                try {
+                    transactionTemplate.executeWithoutResult(tx -> {
+                        if (!blank) {
+                            handler.importRow(row);
+                        }
+                        checkpoint(id, before, before + 1, end, blank ? 0 : 1, 0);
+                    });
+                    progress.advance(1, end, blank ? 0 : 1, 0);
+                } catch (CheckpointConflictException e) {
+                    throw e;
+                } catch (RuntimeException rowFailure) {
+                    boolean record = errors < maxRecordedErrors;
+                    transactionTemplate.executeWithoutResult(tx -> {
+                        if (record) {
+                            errorRepository.save(new ImportJobError(id, lineNumber,
+                                    truncate(String.valueOf(rowFailure.getMessage()))));
+                        }
+                        checkpoint(id, before, before + 1, end, 0, 1);
+                    });
+                    if (record) {
+                        errors++;
+                    }
+                    progress.advance(1, end, 0, 1);
+                }
+            }
+            return errors;
+        }
+    }
+
+    private void checkpoint(Long id, long from, long to, long bytesRead, long imported, long failed) {
+        if (repository.checkpoint(id, from, to, bytesRead, imported, failed, LocalDateTime.now()) == 0) {
+            throw new CheckpointConflictException(
+                    "Import job " + id + " is no longer running or was advanced by another worker");
+        }
+    }
+
+    private void throttle(Progress progress) {
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+        long rows = progress.linesRead - progress.startLines;
+        long dueNanos = rows * 1_000_000_000L / maxRowsPerSecond;
+        long aheadNanos = dueNanos - (System.nanoTime() - progress.startNanos);
+        if (aheadNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(aheadNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                progress.stopRequested = true;
+            }
+        }
+    }
+
+    private boolean start(Long id) {
+        Boolean started = transactionTemplate.execute(tx -> {
+            if (repository.updateStatus(id, ImportJobStatus.QUEUED, ImportJobStatus.RUNNING,
+                    LocalDateTime.now()) == 0) {
+                return false;
+            }
+            ImportJob job = repository.findById(id).orElseThrow();
+            if (job.getStartedAt() == null) {
+                job.setStartedAt(LocalDateTime.now());
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(started);
+    }
+
+    private void finish(Long id, ImportJobStatus status, String failureMessage) {
+        transactionTemplate.executeWithoutResult(tx -> repository.findById(id).ifPresent(job -> {
+            job.setStatus(status);
+            job.setFinishedAt(LocalDateTime.now());
+            job.setFailureMessage(failureMessage);
+        }));
+    }
+
+    private ImportJob findJob(Long id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job not found with id " + id));
+    }
+
+    private ImportJobDTO toDto(ImportJob job) {
+        ImportJobDTO dto = ImportJobDTO.fromEntity(job);
+        Progress progress = running.get(job.getId());
+        if (progress != null) {
+            progress.fill(dto, job.getFileSize());
+        }
+        return dto;
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidDataException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    /**
+     * Live progress of a running job, read by API requests while the worker
+     * updates it.
+     */
+    private static final class Progress {
+
+        final long startNanos = System.nanoTime();
+        final long startLines;
+        final long startBytes;
+        volatile long linesRead;
+        volatile long bytesRead;
+        volatile long imported;
+        volatile long failed;
+        volatile boolean cancelRequested;
+        volatile boolean stopRequested;
+
+        Progress(long linesRead, long bytesRead) {
+            this.startLines = linesRead;
+            this.startBytes = bytesRead;
+            this.linesRead = linesRead;
+            this.bytesRead = bytesRead;
+        }
+
+        /** Called by the worker only. */
+        void advance(long lines, long bytes, long importedRows, long failedRows) {
+            linesRead += lines;
+            bytesRead = bytes;
+            imported += importedRows;
+            failed += failedRows;
+        }
+
+        void fill(ImportJobDTO dto, long fileSize) {
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            long lines = linesRead - startLines;
+            long bytes = bytesRead - startBytes;
+            dto.setRowsRead(linesRead);
+            dto.setBytesRead(bytesRead);
+            dto.setPercent(ImportJobDTO.percentOf(bytesRead, fileSize));
+            dto.setRowsPerSecond(seconds > 0 ? lines / seconds : 0.0);
+            if (bytes > 0 && seconds > 0) {
+                dto.setEtaSeconds(Math.round(Math.max(0, fileSize - bytesRead) * seconds / bytes));
+            }
+        }
+    }
+
+    /** Thrown when a job's checkpoint moved under the worker. */
+    private static final class CheckpointConflictException extends RuntimeException {
+        CheckpointConflictException(String message) {
+            super(message);
+        }
+    }
+}
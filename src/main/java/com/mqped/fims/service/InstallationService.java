@@ -1,14 +1,22 @@
 package com.mqped.fims.service;
 
+import com.mqped.fims.exceptions.ForeignKeyViolations;
 import com.mqped.fims.exceptions.InvalidDataException;
 import com.mqped.fims.exceptions.ResourceNotFoundException;
 import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.dto.InstallationDTO;
 import com.mqped.fims.model.entity.Installation;
 import com.mqped.fims.repository.AddressRepository;
 import com.mqped.fims.repository.InstallationRepository;
+import com.mqped.fims.service.projection.FieldProjection;
+import jakarta.persistence.EntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service class responsible for managing {@link Installation} entities.
@@ -44,20 +52,39 @@ import java.util.List;
 @Service
 public class InstallationService implements CrudService<Installation, Integer> {
 
+    /**
+     * Fields of {@link InstallationDTO} available to sparse fieldsets; embedded
+     * by the contract account projection.
+     */
+    static final FieldProjection FIELDS = FieldProjection.builder("Installation")
+            .field("addressId", "address.id")
+            .embed("address", "address", AddressService.FIELDS)
+            .field("createdAt")
+            .field("deletedAt")
+            .build();
+
     private final InstallationRepository repository;
     private final AddressRepository addressRepository;
+    private final AggregateDeletionService aggregateDeletions;
+    private final EntityManager entityManager;
 
     /**
      * Constructs a new {@code InstallationService} with the provided repositories.
      *
-     * @param repository        the repository for managing {@link Installation}
-     *                          entities
-     * @param addressRepository the repository for managing related {@link Address}
-     *                          entities
+     * @param repository         the repository for managing {@link Installation}
+     *                           entities
+     * @param addressRepository  the repository for managing related
+     *                           {@link Address} entities
+     * @param aggregateDeletions deletes installations with their contract
+     *                           accounts
+     * @param entityManager      the shared entity manager, for projections
      */
-    public InstallationService(InstallationRepository repository, AddressRepository addressRepository) {
+    public InstallationService(InstallationRepository repository, AddressRepository addressRepository,
+            AggregateDeletionService aggregateDeletions, EntityManager entityManager) {
         this.repository = repository;
         this.addressRepository = addressRepository;
+        this.aggregateDeletions = aggregateDeletions;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -65,10 +92,12 @@ public class InstallationService implements CrudService<Installation, Integer> {
      *
      * @param installation the installation to add
      * @return the persisted installation
-     * @throws InvalidDataException if required data (e.g., address or creation
-     *                              date) is missing or invalid
+     * @throws InvalidDataException      if required data (e.g., address or
+     *                                   creation date) is missing or invalid
+     * @throws ResourceNotFoundException if the address does not exist
      */
     @Override
+    @Transactional
     public Installation add(Installation installation) {
         validate(installation);
 
@@ -76,7 +105,16 @@ public class InstallationService implements CrudService<Installation, Integer> {
             throw new InvalidDataException("Installation creation date is required");
         }
 
-        return repository.save(installation);
+        try {
+            // IDENTITY keys make the insert, and so the foreign key check, run here
+            return repository.save(installation);
+        } catch (DataIntegrityViolationException e) {
+            if (ForeignKeyViolations.violates(e, ForeignKeyViolations.INSTALLATION_ADDRESS)) {
+                throw new ResourceNotFoundException(
+                        "Address with id " + installation.getAddress().getId() + " not found", e);
+            }
+            throw e;
+        }
     }
 
     /**
@@ -102,6 +140,57 @@ public class InstallationService implements CrudService<Installation, Integer> {
                 .orElseThrow(() -> new ResourceNotFoundException("Installation with id " + id + " not found"));
     }
 
+    /**
+     * Retrieves all installations, mapped inside a read-only transaction.
+     *
+     * @return all installations as {@link InstallationDTO}s
+     */
+    @Transactional(readOnly = true)
+    public List<InstallationDTO> findAllAsDTO() {
+        return repository.findAll().stream()
+                .map(InstallationDTO::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Retrieves only the requested fields of all installations, read with a
+     * single projection query instead of loading the entities.
+     *
+     * @param fields the requested fields, separated by commas
+     * @return one map per installation holding the requested fields
+     * @throws InvalidDataException if a field is unknown
+     * @see #FIELDS
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(String fields) {
+        return FIELDS.findAll(entityManager, fields);
+    }
+
+    /**
+     * Retrieves all installations without address details, mapped inside a
+     * read-only transaction.
+     *
+     * @return all installations as {@link InstallationDTO}s
+     */
+    @Transactional(readOnly = true)
+    public List<InstallationDTO> findAllWithoutAddressAsDTO() {
+        return repository.findAll().stream()
+                .map(InstallationDTO::fromEntityWithoutAddress)
+                .toList();
+    }
+
+    /**
+     * Finds an installation by ID, mapped inside a read-only transaction.
+     *
+     * @param id the ID of the installation
+     * @return the installation as an {@link InstallationDTO}
+     * @throws ResourceNotFoundException if no installation exists with the given ID
+     */
+    @Transactional(readOnly = true)
+    public InstallationDTO findByIdAsDTO(Integer id) {
+        return InstallationDTO.fromEntity(findById(id));
+    }
+
     /**
      * Updates an existing {@link Installation} with new data.
      * <p>
@@ -135,17 +224,28 @@ public class InstallationService implements CrudService<Installation, Integer> {
     }
 
     /**
-     * Deletes an installation by its ID.
+     * Deletes an installation and its contract accounts with set-based statements.
      *
      * @param id the ID of the installation to delete
      * @throws ResourceNotFoundException if the installation does not exist
+     * @see AggregateDeletionService#deleteInstallation(Integer)
      */
     @Override
     public void deleteById(Integer id) {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException("Installation with id " + id + " not found");
-        }
-        repository.deleteById(id);
+        aggregateDeletions.deleteInstallation(id);
+    }
+
+    /**
+     * Deletes an installation and its contract accounts, in the background when the subtree
+     * exceeds {@code deletes.async-threshold} rows.
+     *
+     * @param id the ID of the installation to delete
+     * @return a future completed once the delete has committed; already
+     *         completed when the delete ran inline
+     * @throws ResourceNotFoundException if the installation does not exist
+     */
+    public CompletableFuture<Void> deleteByIdAsync(Integer id) {
+        return aggregateDeletions.deleteInstallationAsync(id);
     }
 
     /**
@@ -0,0 +1,101 @@
+package com.mqped.fims.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind buffer for {@link com.mqped.fims.model.entity.User#getLastLogin()
+ * last login} stamps.
+ * <p>
+ * Logins only record the time in memory; repeated logins of a user collapse
+ * into one entry. Every {@code auth.last-login.flush-interval} the pending
+ * stamps are written with a single batched {@code UPDATE}, instead of a read
+ * and a save per login. The update never moves a stamp backwards, so
+ * several instances flushing the same user converge on the latest login.
+ * </p>
+ *
+ * <p>
+ * Stamps still pending when the application stops are flushed on shutdown;
+ * a crash loses at most one interval of stamps.
+ * </p>
+ *
+ * @since 1.0
+ */
+@Component
+public class LastLoginRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginRecorder.class);
+
+    private static final String UPDATE = """
+            UPDATE users SET last_login = ?
+             WHERE id = ? AND (last_login IS NULL OR last_login < ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Integer, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public LastLoginRecorder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Records a login, to be written on the next flush.
+     *
+     * @param userId  the user's ID
+     * @param loginAt when the user logged in
+     */
+    public void record(Integer userId, LocalDateTime loginAt) {
+        pending.merge(userId, loginAt, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    /**
+     * Writes the pending stamps. Stamps that fail to write are kept for the
+     * next flush.
+     */
+    @Scheduled(fixedDelayString = "${auth.last-login.flush-interval:PT10S}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Integer> userIds = new ArrayList<>(pending.keySet());
+        List<Object[]> batch = new ArrayList<>(userIds.size());
+        List<Integer> drained = new ArrayList<>(userIds.size());
+        List<LocalDateTime> stamps = new ArrayList<>(userIds.size());
+        for (Integer userId : userIds) {
+            LocalDateTime loginAt = pending.remove(userId);
+            if (loginAt != null) {
+                Timestamp stamp = Timestamp.valueOf(loginAt);
+                batch.add(new Object[] { stamp, userId, stamp });
+                drained.add(userId);
+                stamps.add(loginAt);
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE, batch);
+            logger.debug("Recorded last login of {} users", batch.size());
+        } catch (DataAccessException e) {
+            for (int i = 0; i < drained.size(); i++) {
+                record(drained.get(i), stamps.get(i));
+            }
+            logger.warn("Failed to record last login of {} users; will retry: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+}
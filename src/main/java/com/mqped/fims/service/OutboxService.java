@@ -0,0 +1,220 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.exceptions.InvalidDataException;
+import com.mqped.fims.model.dto.ChangeEventDTO;
+import com.mqped.fims.model.entity.OutboxConsumerOffset;
+import com.mqped.fims.model.entity.OutboxEvent;
+import com.mqped.fims.repository.OutboxConsumerOffsetRepository;
+import com.mqped.fims.repository.OutboxEventRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service class for the change stream backed by the transactional outbox.
+ * <p>
+ * Outbox rows are written by {@code OutboxWriter} in the transaction of each
+ * change. This service turns them into an ordered stream: the relay calls
+ * {@link #sequencePending(int)} to give committed rows consecutive positions,
+ * and readers page through the stream by position, optionally remembering
+ * their progress as a named consumer offset.
+ * </p>
+ *
+ * <p>
+ * Positions are assigned in insert order. Changes of the same aggregate are
+ * serialized by the database (row locks, optimistic versions), so their rows
+ * are inserted — and therefore sequenced — in commit order. Rows of unrelated
+ * aggregates committed out of insert order simply get sequenced in a later
+ * batch; they are never skipped.
+ * </p>
+ *
+ * <p>
+ * Consumer names starting with {@value #SINK_PREFIX} are reserved for the
+ * relay's own sinks.
+ * </p>
+ *
+ * @since 1.0
+ */
+@Service
+public class OutboxService {
+
+    /** Prefix of the consumer names used by relay sinks. */
+    public static final String SINK_PREFIX = "sink:";
+
+    /** Largest page returned by one read. */
+    public static final int MAX_LIMIT = 5000;
+
+    private final OutboxEventRepository repository;
+    private final OutboxConsumerOffsetRepository offsetRepository;
+
+    /**
+     * Constructs a new {@code OutboxService}.
+     *
+     * @param repository       the {@link OutboxEventRepository} holding the outbox
+     * @param offsetRepository the {@link OutboxConsumerOffsetRepository} holding
+     *                         consumer offsets
+     */
+    public OutboxService(OutboxEventRepository repository, OutboxConsumerOffsetRepository offsetRepository) {
+        this.repository = repository;
+        this.offsetRepository = offsetRepository;
+    }
+
+    /**
+     * Assigns stream positions to the oldest rows not yet sequenced.
+     * <p>
+     * Must only be called by a single relay at a time; a concurrent call
+     * fails on the unique position index and is rolled back.
+     * </p>
+     *
+     * @param batchSize maximum number of rows to sequence
+     * @return the number of rows sequenced
+     */
+    @Transactional
+    public int sequencePending(int batchSize) {
+        List<OutboxEvent> pending = repository.findPending(PageRequest.of(0, batchSize));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        Long max = repository.findMaxPosition();
+        long next = max == null ? 0 : max;
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : pending) {
+            event.setPosition(++next);
+            event.setPublishedAt(now);
+        }
+        return pending.size();
+    }
+
+    /**
+     * Reads the stream after a position.
+     *
+     * @param after the last position already seen; {@code 0} to start from
+     *              the beginning
+     * @param limit maximum number of events
+     * @return the events, in stream order
+     * @throws InvalidDataException if {@code after} is negative or
+     *                              {@code limit} is outside {@code [1, MAX_LIMIT]}
+     */
+    @Transactional(readOnly = true)
+    public List<ChangeEventDTO> findAfter(long after, int limit) {
+        if (after < 0) {
+            throw new InvalidDataException("Position cannot be negative");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidDataException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return repository.findAfter(after, PageRequest.of(0, limit)).stream()
+                .map(ChangeEventDTO::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Reads the sequenced changes of one aggregate.
+     *
+     * @param aggregateType the entity simple name, e.g. {@code ServiceOrder}
+     * @param aggregateId   the entity identifier
+     * @return the changes, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<ChangeEventDTO> findByAggregate(String aggregateType, String aggregateId) {
+        return repository.findByAggregate(aggregateType, aggregateId).stream()
+                .map(ChangeEventDTO::fromEntity)
+                .toList();
+    }
+
+    /**
+     * Reads the events following a consumer's committed offset.
+     *
+     * @param consumer the consumer name
+     * @param limit    maximum number of events
+     * @return the events, in stream order
+     */
+    @Transactional(readOnly = true)
+    public List<ChangeEventDTO> poll(String consumer, int limit) {
+        return findAfter(getOffset(consumer), limit);
+    }
+
+    /**
+     * @return the highest sequenced position, or {@code 0} if the stream is
+     *         empty
+     */
+    @Transactional(readOnly = true)
+    public long getHead() {
+        Long max = repository.findMaxPosition();
+        return max == null ? 0 : max;
+    }
+
+    /**
+     * @param consumer the consumer name
+     * @return the consumer's last committed position, or {@code 0} if it never
+     *         committed one
+     */
+    @Transactional(readOnly = true)
+    public long getOffset(String consumer) {
+        return offsetRepository.findById(consumer)
+                .map(OutboxConsumerOffset::getPosition)
+                .orElse(0L);
+    }
+
+    /**
+     * Commits the offset of an external consumer.
+     * <p>
+     * Moving an offset backwards is allowed and makes the consumer replay the
+     * stream from that point.
+     * </p>
+     *
+     * @param consumer the consumer name
+     * @param position the last processed position
+     * @throws InvalidDataException if the name is blank or reserved, or the
+     *                              position is negative or past the head of the
+     *                              stream
+     */
+    @Transactional
+    public void commitOffset(String consumer, long position) {
+        if (consumer == null || consumer.isBlank()) {
+            throw new InvalidDataException("Consumer name is required");
+        }
+        if (consumer.startsWith(SINK_PREFIX)) {
+            throw new InvalidDataException("Consumer names starting with '" + SINK_PREFIX + "' are reserved");
+        }
+        if (position < 0 || position > getHead()) {
+            throw new InvalidDataException("Position " + position + " is outside the stream");
+        }
+        saveOffset(consumer, position);
+    }
+
+    /**
+     * Commits the offset of a relay sink, without the checks applied to
+     * external consumers.
+     *
+     * @param sinkName the sink name (without {@value #SINK_PREFIX})
+     * @param position the last delivered position
+     */
+    @Transactional
+    public void commitSinkOffset(String sinkName, long position) {
+        saveOffset(SINK_PREFIX + sinkName, position);
+    }
+
+    /**
+     * Deletes rows published before a cutoff that every sink has delivered.
+     *
+     * @param cutoff rows published earlier are eligible
+     * @param upTo   highest position delivered by every sink
+     * @return the number of deleted rows
+     */
+    @Transactional
+    public int purge(LocalDateTime cutoff, long upTo) {
+        return repository.deletePublishedBefore(cutoff, upTo);
+    }
+
+    private void saveOffset(String consumer, long position) {
+        OutboxConsumerOffset offset = offsetRepository.findById(consumer)
+                .orElseGet(() -> new OutboxConsumerOffset(consumer, 0, null));
+        offset.setPosition(position);
+        offset.setUpdatedAt(LocalDateTime.now());
+        offsetRepository.save(offset);
+    }
+}
@@ -0,0 +1,204 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.exceptions.UnauthorizedException;
+import com.mqped.fims.model.entity.RefreshToken;
+import com.mqped.fims.model.entity.User;
+import com.mqped.fims.model.enums.RefreshTokenRevocation;
+import com.mqped.fims.repository.RefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Service class for issuing and rotating refresh tokens.
+ * <p>
+ * A refresh token is 256 random bits handed to the client once; only its
+ * SHA-256 hash is stored. Exchanging it for a new access token costs one
+ * indexed lookup and no password hashing, so clients renew their short-lived
+ * access tokens without sending the password again.
+ * </p>
+ *
+ * <p>
+ * Tokens are rotated on every use. Presenting a token that was already used
+ * means two parties hold it, so all of the user's refresh and access tokens
+ * are revoked and the user has to log in again. Tokens record why they were
+ * revoked: one that ended with a logout or an account lock is only refused.
+ * </p>
+ *
+ * @see RefreshToken
+ * @since 1.0
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final Duration lifetime;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Constructs a new {@code RefreshTokenService}.
+     *
+     * @param refreshTokenRepository the repository for refresh tokens
+     * @param tokenRevocationService the service revoking access tokens
+     * @param lifetimeMs             how long a token is accepted, in
+     *                               milliseconds
+     */
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+            TokenRevocationService tokenRevocationService,
+            @Value("${jwt.refresh-expiration:1209600000}") long lifetimeMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocationService = tokenRevocationService;
+        this.lifetime = Duration.ofMillis(lifetimeMs);
+    }
+
+    /**
+     * Issues a new refresh token.
+     *
+     * @param user the user the token authenticates
+     * @return the token, to be handed to the client
+     */
+    @Transactional
+    public String issue(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setUser(user);
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plus(lifetime));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    /**
+     * Exchanges a refresh token for a new one.
+     *
+     * @param token the token presented by the client
+     * @return the user and the new token
+     * @throws UnauthorizedException if the token is unknown, expired or was
+     *                               already used
+     * @throws DisabledException     if the user's account is disabled
+     * @throws LockedException       if the user's account is locked
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String token) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+        User user = current.getUser();
+        LocalDateTime now = LocalDateTime.now();
+
+        if (current.getRevokedAt() != null) {
+            // Tokens revoked before reasons were recorded count as rotated
+            RefreshTokenRevocation revocation = current.getRevocation();
+            if (revocation == null || revocation == RefreshTokenRevocation.ROTATED) {
+                throw reused(user, now);
+            }
+            throw new UnauthorizedException("Refresh token has been revoked. Please log in again.");
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new UnauthorizedException("Refresh token has expired. Please log in again.");
+        }
+        if (Boolean.FALSE.equals(user.getEnabled())) {
+            throw new DisabledException("Account is disabled. Please contact support.");
+        }
+        if (Boolean.FALSE.equals(user.getAccountNonLocked())) {
+            throw new LockedException("Account is locked. Please contact support.");
+        }
+
+        // The conditional update is the actual check: a concurrent rotation
+        // that read the same unrevoked row finds it claimed
+        if (refreshTokenRepository.claim(current.getId(), now, RefreshTokenRevocation.ROTATED) == 0) {
+            throw reused(user, now);
+        }
+        return new Rotation(user, issue(user));
+    }
+
+    /**
+     * Revokes every token of a user whose refresh token was presented twice.
+     *
+     * @return the exception to throw
+     */
+    private UnauthorizedException reused(User user, LocalDateTime now) {
+        int revoked = refreshTokenRepository.revokeAllForUser(user.getId(), now);
+        tokenRevocationService.revokeUser(user.getId());
+        logger.warn("Refresh token reused for user {}; revoked {} tokens", user.getId(), revoked);
+        return new UnauthorizedException("Refresh token has already been used. Please log in again.");
+    }
+
+    /**
+     * Revokes a refresh token. Unknown tokens are ignored.
+     *
+     * @param token the token presented by the client
+     */
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .filter(refreshToken -> refreshToken.getRevokedAt() == null)
+                .ifPresent(refreshToken -> {
+                    refreshToken.setRevokedAt(LocalDateTime.now());
+                    refreshToken.setRevocation(RefreshTokenRevocation.LOGGED_OUT);
+                });
+    }
+
+    /**
+     * Revokes every refresh token of a user.
+     *
+     * @param userId the user's ID
+     */
+    @Transactional
+    public void revokeAll(Integer userId) {
+        refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+    }
+
+    /**
+     * Deletes expired tokens.
+     */
+    @Scheduled(cron = "${auth.refresh-token-purge-cron:0 45 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Purged {} expired refresh tokens", deleted);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Result of {@link #rotate(String)}.
+     *
+     * @param user         the user the token authenticates
+     * @param refreshToken the new token
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+}
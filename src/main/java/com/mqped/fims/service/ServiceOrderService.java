@@ -1,15 +1,33 @@
 package com.mqped.fims.service;
 
+import com.mqped.fims.event.ChangeType;
+import com.mqped.fims.event.EntityChangeEvent;
+import com.mqped.fims.exceptions.BusinessRuleException;
+import com.mqped.fims.exceptions.ConcurrentUpdateException;
+import com.mqped.fims.exceptions.ForeignKeyViolations;
 import com.mqped.fims.exceptions.InvalidDataException;
 import com.mqped.fims.exceptions.ResourceNotFoundException;
+import com.mqped.fims.model.dto.SearchPageDTO;
+import com.mqped.fims.model.dto.ServiceOrderDTO;
 import com.mqped.fims.model.entity.ServiceOrder;
 import com.mqped.fims.model.enums.ServiceOrderStatus;
+import com.mqped.fims.model.enums.ServiceOrderType;
 import com.mqped.fims.repository.ServiceOrderRepository;
+import com.mqped.fims.service.projection.FieldProjection;
+import com.mqped.fims.service.search.EntitySearch;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service class responsible for managing {@link ServiceOrder} entities.
@@ -27,14 +45,40 @@ import java.util.List;
  * <li>Validate service order data integrity before persistence</li>
  * <li>Expose filtering operations by status, target, and creation date
  * ranges</li>
+ * <li>Search orders with composable filters, sort keys and keyset paging
+ * ({@link #search(String, String, String, int)})</li>
+ * <li>Move orders through their lifecycle ({@link #start(Integer)},
+ * {@link #execute(Integer)}, {@link #cancel(Integer)})</li>
  * </ul>
  *
+ * <p>
+ * Read paths serving the API return {@link ServiceOrderDTO}s mapped inside a
+ * {@code @Transactional(readOnly = true)} boundary, since open-session-in-view
+ * is disabled and the persistence context closes with the transaction.
+ * </p>
+ *
+ * <h3>Status Transitions:</h3>
+ * <p>
+ * Transitions are applied with a single conditional
+ * {@code UPDATE ... WHERE status = :expected} statement, so no row lock is held
+ * between reading the current status and writing the new one. If another
+ * request changes the status in between, the update touches no rows and the
+ * transition is re-evaluated against the fresh status, up to
+ * {@value #MAX_TRANSITION_ATTEMPTS} times. Because bulk statements bypass
+ * Hibernate's entity events, the service publishes the resulting
+ * {@link EntityChangeEvent} itself.
+ * </p>
+ *
  * <h3>Exception Handling:</h3>
  * <ul>
  * <li>{@link InvalidDataException} – Thrown when the provided service order is
  * invalid</li>
  * <li>{@link ResourceNotFoundException} – Thrown when the requested service
  * order does not exist</li>
+ * <li>{@link BusinessRuleException} – Thrown when a status transition is not
+ * allowed by the lifecycle</li>
+ * <li>{@link ConcurrentUpdateException} – Thrown when an update is based on a
+ * stale version or a transition keeps losing to concurrent changes</li>
  * </ul>
  *
  * @see com.mqped.fims.model.entity.ServiceOrder
@@ -47,15 +91,52 @@ import java.util.List;
 @Service
 public class ServiceOrderService implements CrudService<ServiceOrder, Integer> {
 
+    /** Fields of {@link ServiceOrderDTO} available to sparse fieldsets. */
+    static final FieldProjection FIELDS = FieldProjection.builder("ServiceOrder")
+            .field("targetId", "target.id")
+            .field("status")
+            .field("type")
+            .field("assignee")
+            .field("team")
+            .field("createdAt")
+            .field("executedAt")
+            .field("version")
+            .build();
+
+    /** Number of times a transition is retried when it races with another. */
+    static final int MAX_TRANSITION_ATTEMPTS = 3;
+
     private final ServiceOrderRepository repository;
+    private final ApplicationEventPublisher publisher;
+    private final EntityManager entityManager;
+    private final EntitySearch<ServiceOrder> orderSearch = EntitySearch
+            .builder(ServiceOrder.class, "SELECT so FROM ServiceOrder so", "so.id", ServiceOrder::getId)
+            .field("status", ServiceOrderStatus.class, "so.status")
+            .field("type", ServiceOrderType.class, "so.type")
+            .nullableField("assignee", String.class, "so.assignee")
+            .nullableField("team", String.class, "so.team")
+            .field("targetId", Integer.class, "so.target.id")
+            .field("targetSignature", String.class, "so.target.signature")
+            .field("targetDistance", Double.class, "so.target.distanceFromBase")
+            .nullableField("executedAt", LocalDateTime.class, "so.executedAt")
+            .sortableField("createdAt", LocalDateTime.class, "so.createdAt", ServiceOrder::getCreatedAt)
+            .sortableField("updatedAt", LocalDateTime.class, "so.updatedAt", ServiceOrder::getUpdatedAt)
+            .build();
 
     /**
      * Constructs a new {@code ServiceOrderService} with the provided repository.
      *
-     * @param repository the repository for managing {@link ServiceOrder} entities
+     * @param repository    the repository for managing {@link ServiceOrder}
+     *                      entities
+     * @param publisher     publisher for the change events of status
+     *                      transitions
+     * @param entityManager the shared entity manager, for searches
      */
-    public ServiceOrderService(ServiceOrderRepository repository) {
+    public ServiceOrderService(ServiceOrderRepository repository, ApplicationEventPublisher publisher,
+            EntityManager entityManager) {
         this.repository = repository;
+        this.publisher = publisher;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -63,12 +144,24 @@ public class ServiceOrderService implements CrudService<ServiceOrder, Integer> {
      *
      * @param order the service order to create
      * @return the persisted {@link ServiceOrder}
-     * @throws InvalidDataException if the order is invalid or missing required data
+     * @throws InvalidDataException      if the order is invalid or missing
+     *                                   required data
+     * @throws ResourceNotFoundException if the target does not exist
      */
     @Override
+    @Transactional
     public ServiceOrder add(ServiceOrder order) {
         validate(order);
-        return repository.save(order);
+        try {
+            // IDENTITY keys make the insert, and so the foreign key check, run here
+            return repository.save(order);
+        } catch (DataIntegrityViolationException e) {
+            if (ForeignKeyViolations.violates(e, ForeignKeyViolations.SERVICE_ORDER_TARGET)) {
+                throw new ResourceNotFoundException(
+                        "Target with id " + order.getTarget().getId() + " not found", e);
+            }
+            throw e;
+        }
     }
 
     /**
@@ -97,22 +190,42 @@ public class ServiceOrderService implements CrudService<ServiceOrder, Integer> {
 
     /**
      * Updates an existing {@link ServiceOrder} with new information.
+     * <p>
+     * If the supplied order carries a version, it must match the stored one.
+     * A status change must be allowed by
+     * {@link ServiceOrderStatus#canTransitionTo(ServiceOrderStatus)}.
+     * </p>
      *
      * @param id    the ID of the service order to update
      * @param order the updated service order data
      * @return the updated {@link ServiceOrder}
      * @throws InvalidDataException      if the provided data is invalid
      * @throws ResourceNotFoundException if the service order does not exist
+     * @throws BusinessRuleException     if the status change is not allowed
+     * @throws ConcurrentUpdateException if the supplied version is stale
      */
     @Override
+    @Transactional
     public ServiceOrder update(Integer id, ServiceOrder order) {
         validate(order);
 
         ServiceOrder existing = findById(id);
 
+        if (order.getVersion() != null && !order.getVersion().equals(existing.getVersion())) {
+            throw new ConcurrentUpdateException("ServiceOrder with id " + id
+                    + " was modified by another request (expected version " + order.getVersion()
+                    + ", found " + existing.getVersion() + ")");
+        }
+        if (order.getStatus() != existing.getStatus()
+                && !existing.getStatus().canTransitionTo(order.getStatus())) {
+            throw invalidTransition(id, existing.getStatus(), order.getStatus());
+        }
+
         existing.setTarget(order.getTarget());
         existing.setType(order.getType());
         existing.setStatus(order.getStatus());
+        existing.setAssignee(order.getAssignee());
+        existing.setTeam(order.getTeam());
         existing.setExecutedAt(order.getExecutedAt());
 
         return repository.save(existing);
@@ -125,11 +238,9 @@ public class ServiceOrderService implements CrudService<ServiceOrder, Integer> {
      * @throws ResourceNotFoundException if the service order does not exist
      */
     @Override
+    @Transactional
     public void deleteById(Integer id) {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException("ServiceOrder with id " + id + " not found");
-        }
-        repository.deleteById(id);
+        repository.delete(findById(id));
     }
 
     /**
@@ -153,24 +264,63 @@ public class ServiceOrderService implements CrudService<ServiceOrder, Integer> {
         return repository.count();
     }
 
+    /**
+     * Retrieves all service orders, mapped inside a read-only transaction.
+     *
+     * @return all orders as {@link ServiceOrderDTO}s
+     */
+    @Transactional(readOnly = true)
+    public List<ServiceOrderDTO> findAllAsDTO() {
+        return toDTOs(repository.findAll());
+    }
+
+    /**
+     * Retrieves only the requested fields of all service orders, read with a
+     * single projection query instead of loading the entities.
+     *
+     * @param fields the requested fields, separated by commas
+     * @return one map per service order holding the requested fields
+     * @throws InvalidDataException if a field is unknown
+     * @see #FIELDS
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(String fields) {
+        return FIELDS.findAll(entityManager, fields);
+    }
+
+    /**
+     * Finds a service order by ID, mapped inside a read-only transaction.
+     *
+     * @param id the ID of the service order
+     * @return the corresponding order as a {@link ServiceOrderDTO}
+     * @throws ResourceNotFoundException if no service order exists with the
+     *                                   provided ID
+     */
+    @Transactional(readOnly = true)
+    public ServiceOrderDTO findByIdAsDTO(Integer id) {
+        return ServiceOrderDTO.fromEntity(findById(id));
+    }
+
     /**
      * Finds all service orders with the specified status.
      *
      * @param status the status to filter by
-     * @return a list of {@link ServiceOrder} objects with the specified status
+     * @return the matching orders as {@link ServiceOrderDTO}s
      */
-    public List<ServiceOrder> findByStatus(ServiceOrderStatus status) {
-        return repository.findByStatus(status);
+    @Transactional(readOnly = true)
+    public List<ServiceOrderDTO> findByStatus(ServiceOrderStatus status) {
+        return toDTOs(repository.findByStatus(status));
     }
 
     /**
      * Finds all service orders associated with a given target entity.
      *
      * @param targetId the ID of the target
-     * @return a list of matching {@link ServiceOrder} objects
+     * @return the matching orders as {@link ServiceOrderDTO}s
      */
-    public List<ServiceOrder> findByTargetId(Integer targetId) {
-        return repository.findByTargetId(targetId);
+    @Transactional(readOnly = true)
+    public List<ServiceOrderDTO> findByTargetId(Integer targetId) {
+        return toDTOs(repository.findByTargetId(targetId));
     }
 
     /**
@@ -179,30 +329,33 @@ public class ServiceOrderService implements CrudService<ServiceOrder, Integer> {
      *
      * @param min the minimum distance
      * @param max the maximum distance
-     * @return a list of {@link ServiceOrder} objects within the distance range
+     * @return the orders within the distance range as {@link ServiceOrderDTO}s
      */
-    public List<ServiceOrder> findByTargetDistanceFromBaseBetween(Double min, Double max) {
-        return repository.findByTargetDistanceFromBaseBetween(min, max);
+    @Transactional(readOnly = true)
+    public List<ServiceOrderDTO> findByTargetDistanceFromBaseBetween(Double min, Double max) {
+        return toDTOs(repository.findByTargetDistanceFromBaseBetween(min, max));
     }
 
     /**
      * Finds service orders whose target matches the given signature exactly.
      *
      * @param signature the target signature to match
-     * @return a list of matching {@link ServiceOrder} entities
+     * @return the matching orders as {@link ServiceOrderDTO}s
      */
-    public List<ServiceOrder> findByTargetSignature(String signature) {
-        return repository.findByTargetSignature(signature);
+    @Transactional(readOnly = true)
+    public List<ServiceOrderDTO> findByTargetSignature(String signature) {
+        return toDTOs(repository.findByTargetSignature(signature));
     }
 
     /**
      * Finds service orders whose target signature contains a given substring.
      *
      * @param partial the substring to search for
-     * @return a list of matching {@link ServiceOrder} entities
+     * @return the matching orders as {@link ServiceOrderDTO}s
      */
-    public List<ServiceOrder> findByTargetSignatureContaining(String partial) {
-        return repository.findByTargetSignatureContaining(partial);
+    @Transactional(readOnly = true)
+    public List<ServiceOrderDTO> findByTargetSignatureContaining(String partial) {
+        return toDTOs(repository.findByTargetSignatureContaining(partial));
     }
 
     /**
@@ -210,11 +363,12 @@ public class ServiceOrderService implements CrudService<ServiceOrder, Integer> {
      * creation timestamp.
      *
      * @param days the number of days to use as a cutoff
-     * @return a list of {@link ServiceOrder} entities older than the cutoff
+     * @return the orders older than the cutoff as {@link ServiceOrderDTO}s
      */
-    public List<ServiceOrder> findOlderThanDays(long days) {
+    @Transactional(readOnly = true)
+    public List<ServiceOrderDTO> findOlderThanDays(long days) {
         LocalDateTime cutoff = LocalDateTime.now().minus(days, ChronoUnit.DAYS);
-        return repository.findOlderThan(cutoff);
+        return toDTOs(repository.findOlderThan(cutoff));
     }
 
     /**
@@ -222,11 +376,159 @@ public class ServiceOrderService implements CrudService<ServiceOrder, Integer> {
      *
      * @param start the start timestamp
      * @param end   the end timestamp
-     * @return a list of {@link ServiceOrder} entities created between the given
-     *         dates
+     * @return the orders created between the given dates as
+     *         {@link ServiceOrderDTO}s
+     */
+    @Transactional(readOnly = true)
+    public List<ServiceOrderDTO> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end) {
+        return toDTOs(repository.findByCreatedAtBetween(start, end));
+    }
+
+    /**
+     * Searches service orders with any combination of filters in one query.
+     * <p>
+     * Filterable fields are {@code id}, {@code status}, {@code type},
+     * {@code assignee}, {@code team}, {@code targetId},
+     * {@code targetSignature}, {@code targetDistance}, {@code executedAt},
+     * {@code createdAt} and {@code updatedAt}; {@code id}, {@code createdAt}
+     * and {@code updatedAt} are sortable.
+     * </p>
+     *
+     * @param filter the filter clauses, e.g.
+     *               {@code status:in:CREATED|IN_EXECUTION;team:eq:NORTE}
+     * @param sort   the sort keys, e.g. {@code -createdAt}; {@code null} for
+     *               ID order
+     * @param after  the {@code nextToken} of the previous page, or {@code null}
+     * @param limit  the maximum number of orders, at most
+     *               {@value EntitySearch#MAX_LIMIT}
+     * @return one page of matching orders as {@link ServiceOrderDTO}s
+     * @throws InvalidDataException if a parameter does not follow the grammar
+     * @see EntitySearch
+     */
+    @Transactional(readOnly = true)
+    public SearchPageDTO<ServiceOrderDTO> search(String filter, String sort, String after, int limit) {
+        EntitySearch.Page<ServiceOrder> page = orderSearch.find(entityManager, filter, sort, after, limit);
+        return new SearchPageDTO<>(toDTOs(page.rows()), page.nextToken());
+    }
+
+    /**
+     * Starts a service order, moving it from {@link ServiceOrderStatus#CREATED}
+     * to {@link ServiceOrderStatus#IN_EXECUTION}.
+     *
+     * @param id the ID of the service order
+     * @return the updated {@link ServiceOrder}
+     * @throws ResourceNotFoundException if the service order does not exist
+     * @throws BusinessRuleException     if the order cannot be started
+     * @throws ConcurrentUpdateException if the transition keeps racing with
+     *                                   other updates
+     */
+    @Transactional
+    public ServiceOrder start(Integer id) {
+        return transition(id, ServiceOrderStatus.IN_EXECUTION);
+    }
+
+    /**
+     * Marks a service order in execution as
+     * {@link ServiceOrderStatus#EXECUTED}, recording the execution time.
+     *
+     * @param id the ID of the service order
+     * @return the updated {@link ServiceOrder}
+     * @throws ResourceNotFoundException if the service order does not exist
+     * @throws BusinessRuleException     if the order is not in execution
+     * @throws ConcurrentUpdateException if the transition keeps racing with
+     *                                   other updates
      */
-    public List<ServiceOrder> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end) {
-        return repository.findByCreatedAtBetween(start, end);
+    @Transactional
+    public ServiceOrder execute(Integer id) {
+        return transition(id, ServiceOrderStatus.EXECUTED);
+    }
+
+    /**
+     * Cancels a service order that has not been finished yet.
+     *
+     * @param id the ID of the service order
+     * @return the updated {@link ServiceOrder}
+     * @throws ResourceNotFoundException if the service order does not exist
+     * @throws BusinessRuleException     if the order is already finished
+     * @throws ConcurrentUpdateException if the transition keeps racing with
+     *                                   other updates
+     */
+    @Transactional
+    public ServiceOrder cancel(Integer id) {
+        return transition(id, ServiceOrderStatus.CANCELED);
+    }
+
+    /**
+     * Applies a status transition with a conditional update, retrying when the
+     * status changes between the read and the write.
+     * <p>
+     * Repeating a transition that has already been applied (e.g. executing an
+     * executed order) returns the order unchanged.
+     * </p>
+     */
+    private ServiceOrder transition(Integer id, ServiceOrderStatus next) {
+        for (int attempt = 0; attempt < MAX_TRANSITION_ATTEMPTS; attempt++) {
+            ServiceOrderStatus current = repository.findStatusById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("ServiceOrder with id " + id + " not found"));
+            if (current == next) {
+                return findById(id);
+            }
+            if (!current.canTransitionTo(next)) {
+                throw invalidTransition(id, current, next);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime executedAt = next == ServiceOrderStatus.EXECUTED ? now : null;
+            if (repository.transitionStatus(id, current, next, executedAt, now) == 1) {
+                ServiceOrder updated = findById(id);
+                publishTransition(updated, current);
+                return updated;
+            }
+        }
+        throw new ConcurrentUpdateException("ServiceOrder with id " + id + " could not be moved to " + next
+                + " after " + MAX_TRANSITION_ATTEMPTS + " attempts due to concurrent updates");
+    }
+
+    /**
+     * Publishes the change event that Hibernate does not emit for bulk
+     * updates, in the same flat shape as {@code HibernateEntityChangeBridge}.
+     */
+    private void publishTransition(ServiceOrder updated, ServiceOrderStatus previousStatus) {
+        Map<String, Object> state = snapshot(updated);
+        Map<String, Object> previous = new HashMap<>(state);
+        previous.put("status", previousStatus);
+        previous.put("version", updated.getVersion() - 1);
+        previous.remove("updatedAt"); // not read before the bulk update
+        if (updated.getStatus() == ServiceOrderStatus.EXECUTED) {
+            previous.put("executedAt", null);
+        }
+        publisher.publishEvent(new EntityChangeEvent(ServiceOrder.class, updated.getId(), ChangeType.UPDATED,
+                state, Collections.unmodifiableMap(previous), Instant.now()));
+    }
+
+    private static Map<String, Object> snapshot(ServiceOrder order) {
+        Map<String, Object> state = new HashMap<>();
+        state.put("target", order.getTarget() != null ? order.getTarget().getId() : null);
+        state.put("status", order.getStatus());
+        state.put("type", order.getType());
+        state.put("assignee", order.getAssignee());
+        state.put("team", order.getTeam());
+        state.put("createdAt", order.getCreatedAt());
+        state.put("executedAt", order.getExecutedAt());
+        state.put("updatedAt", order.getUpdatedAt());
+        state.put("version", order.getVersion());
+        return Collections.unmodifiableMap(state);
+    }
+
+    private static BusinessRuleException invalidTransition(Integer id, ServiceOrderStatus from,
+            ServiceOrderStatus to) {
+        return new BusinessRuleException("ServiceOrder with id " + id + " cannot move from "
+                + from + " to " + to);
+    }
+
+    /** Maps orders to DTOs inside the caller's transaction. */
+    private static List<ServiceOrderDTO> toDTOs(List<ServiceOrder> orders) {
+        return orders.stream().map(ServiceOrderDTO::fromEntity).toList();
     }
 
     /**
@@ -241,11 +543,14 @@ public class ServiceOrderService implements CrudService<ServiceOrder, Integer> {
         if (order == null) {
             throw new InvalidDataException("ServiceOrder cannot be null");
         }
-        if (order.getTarget() == null) {
+        if (order.getTarget() == null || order.getTarget().getId() == null) {
             throw new InvalidDataException("Target is required");
         }
         if (order.getType() == null) {
             throw new InvalidDataException("ServiceOrder type is required");
         }
+        if (order.getStatus() == null) {
+            throw new InvalidDataException("ServiceOrder status is required");
+        }
     }
 }
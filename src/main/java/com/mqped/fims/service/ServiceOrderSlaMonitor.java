@@ -0,0 +1,363 @@
+package com.mqped.fims.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.mqped.fims.event.EntityChangeEvent;
+import com.mqped.fims.event.ServiceOrderSlaBreachEvent;
+import com.mqped.fims.exceptions.InvalidDataException;
+import com.mqped.fims.model.entity.ServiceOrder;
+import com.mqped.fims.model.enums.ServiceOrderStatus;
+import com.mqped.fims.model.enums.ServiceOrderType;
+import com.mqped.fims.repository.ServiceOrderRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tracks the age of open service orders and detects SLA breaches.
+ * <p>
+ * Every active order ({@link ServiceOrderStatus#isActive()}) is kept in
+ * memory in a bucketed index keyed by {@code createdAt}: buckets are
+ * {@code sla.bucket-width} wide and stored in a sorted map, so "all orders
+ * created before X" is a head-map walk instead of a table scan. The index is
+ * seeded once at startup and then maintained from committed
+ * {@link EntityChangeEvent}s.
+ * </p>
+ *
+ * <h3>Breach detection:</h3>
+ * <p>
+ * For each configured threshold (e.g. {@code P1D,P3D,P7D}) a periodic scan
+ * walks only the buckets that crossed the threshold since the previous scan,
+ * using a per-threshold watermark. Each order records how many thresholds it
+ * has crossed, so a breach is reported once per order and threshold. Orders
+ * that are already older than a threshold when they are first seen are
+ * reported immediately.
+ * </p>
+ *
+ * <h3>Published signals:</h3>
+ * <ul>
+ * <li>{@link ServiceOrderSlaBreachEvent} application events</li>
+ * <li>{@code fims.service_orders.sla.breaches{threshold}} — counter</li>
+ * <li>{@code fims.service_orders.sla.overdue{threshold}} — gauge of open
+ * orders currently past the threshold</li>
+ * <li>{@code fims.service_orders.open} — gauge of tracked open orders</li>
+ * </ul>
+ *
+ * @see ServiceOrderSlaBreachEvent
+ * @since 1.0
+ */
+@Service
+public class ServiceOrderSlaMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceOrderSlaMonitor.class);
+
+    /** Level assigned to entries that were replaced or removed from the index. */
+    private static final int RETIRED = Integer.MAX_VALUE;
+
+    /** Statuses loaded on startup; follows {@link ServiceOrderStatus#isActive()}. */
+    private static final List<ServiceOrderStatus> ACTIVE_STATUSES = Arrays.stream(ServiceOrderStatus.values())
+            .filter(ServiceOrderStatus::isActive)
+            .toList();
+
+    /**
+     * Immutable view of an open service order held by the monitor.
+     *
+     * @param id        the service order id
+     * @param targetId  the target id
+     * @param type      the service order type
+     * @param status    the current (active) status
+     * @param createdAt the creation timestamp
+     */
+    public record OpenServiceOrder(Integer id, Integer targetId, ServiceOrderType type,
+            ServiceOrderStatus status, LocalDateTime createdAt) {
+    }
+
+    /** Tracked order plus the number of thresholds it has already crossed. */
+    private static final class Tracked {
+        final OpenServiceOrder order;
+        final long bucket;
+        int level;
+
+        Tracked(OpenServiceOrder order, long bucket) {
+            this.order = order;
+            this.bucket = bucket;
+        }
+    }
+
+    private final ServiceOrderRepository repository;
+    private final ApplicationEventPublisher publisher;
+    private final Clock clock;
+    private final List<Duration> thresholds;
+    private final long bucketSeconds;
+
+    private final ConcurrentMap<Integer, Tracked> orders = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Set<Integer>> buckets = new ConcurrentSkipListMap<>();
+    private final long[] watermarks;
+    private final AtomicLongArray overdue;
+    private final Counter[] breachCounters;
+
+    /**
+     * Constructs a new {@code ServiceOrderSlaMonitor} using the system clock.
+     *
+     * @param repository    repository used to seed the index
+     * @param publisher     publisher for breach events
+     * @param meterRegistry registry for SLA metrics
+     * @param thresholds    age thresholds, e.g. {@code P1D,P3D,P7D}
+     * @param bucketWidth   width of each index bucket, at least one second
+     */
+    @Autowired
+    public ServiceOrderSlaMonitor(ServiceOrderRepository repository,
+            ApplicationEventPublisher publisher,
+            MeterRegistry meterRegistry,
+            @Value("${sla.thresholds:P1D,P3D,P7D}") List<Duration> thresholds,
+            @Value("${sla.bucket-width:PT1H}") Duration bucketWidth) {
+        this(repository, publisher, meterRegistry, thresholds, bucketWidth, Clock.systemDefaultZone());
+    }
+
+    ServiceOrderSlaMonitor(ServiceOrderRepository repository,
+            ApplicationEventPublisher publisher,
+            MeterRegistry meterRegistry,
+            List<Duration> thresholds,
+            Duration bucketWidth,
+            Clock clock) {
+        if (thresholds.isEmpty() || bucketWidth.compareTo(Duration.ofSeconds(1)) < 0) {
+            throw new IllegalArgumentException(
+                    "SLA thresholds must not be empty and bucket width must be at least one second");
+        }
+        this.repository = repository;
+        this.publisher = publisher;
+        this.clock = clock;
+        this.thresholds = thresholds.stream().sorted().toList();
+        this.bucketSeconds = bucketWidth.toSeconds();
+        this.watermarks = new long[this.thresholds.size()];
+        this.overdue = new AtomicLongArray(this.thresholds.size());
+        this.breachCounters = new Counter[this.thresholds.size()];
+
+        Gauge.builder("fims.service_orders.open", orders, Map::size)
+                .description("Open service orders tracked by the SLA monitor")
+                .register(meterRegistry);
+        for (int i = 0; i < this.thresholds.size(); i++) {
+            String threshold = this.thresholds.get(i).toString();
+            int level = i;
+            breachCounters[i] = Counter.builder("fims.service_orders.sla.breaches")
+                    .tag("threshold", threshold)
+                    .description("Service orders that crossed the SLA threshold")
+                    .register(meterRegistry);
+            Gauge.builder("fims.service_orders.sla.overdue", overdue, counts -> counts.get(level))
+                    .tag("threshold", threshold)
+                    .description("Open service orders currently past the SLA threshold")
+                    .register(meterRegistry);
+            watermarks[i] = Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Loads all active orders once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        List<Object[]> rows = repository.findActiveSnapshots(ACTIVE_STATUSES);
+        for (Object[] row : rows) {
+            track(new OpenServiceOrder((Integer) row[0], (Integer) row[1], (ServiceOrderType) row[2],
+                    (ServiceOrderStatus) row[3], (LocalDateTime) row[4]));
+        }
+        log.info("SLA monitor tracking {} open service orders", orders.size());
+    }
+
+    /**
+     * Keeps the index in sync with committed service order changes.
+     *
+     * @param event the committed change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (!event.isFor(ServiceOrder.class) || !(event.entityId() instanceof Integer id)) {
+            return;
+        }
+        if (event.value("status") instanceof ServiceOrderStatus status && status.isActive()
+                && event.value("createdAt") instanceof LocalDateTime createdAt) {
+            track(new OpenServiceOrder(id, (Integer) event.value("target"),
+                    (ServiceOrderType) event.value("type"), status, createdAt));
+        } else {
+            untrack(id);
+        }
+    }
+
+    /**
+     * Adds or replaces an open order in the index, reporting thresholds it has
+     * already crossed.
+     *
+     * @param order the open order
+     */
+    void track(OpenServiceOrder order) {
+        long bucket = bucketOf(order.createdAt());
+        LocalDateTime now = LocalDateTime.now(clock);
+        Tracked tracked = new Tracked(order, bucket);
+        Tracked previous = orders.put(order.id(), tracked);
+        if (previous != null) {
+            int carried = retire(previous, crossedLevels(order.createdAt(), now));
+            tracked.level = carried;
+            if (previous.bucket != bucket) {
+                removeFromBucket(previous.bucket, order.id());
+            }
+        }
+        buckets.computeIfAbsent(bucket, b -> ConcurrentHashMap.newKeySet()).add(order.id());
+
+        int crossed = crossedLevels(order.createdAt(), now);
+        for (int i = tracked.level; i < crossed; i++) {
+            breach(tracked, i);
+        }
+    }
+
+    /**
+     * Removes an order from the index (it was closed or deleted).
+     *
+     * @param id the service order id
+     */
+    void untrack(Integer id) {
+        Tracked tracked = orders.remove(id);
+        if (tracked == null) {
+            return;
+        }
+        removeFromBucket(tracked.bucket, id);
+        retire(tracked, 0);
+    }
+
+    /**
+     * Reports orders that crossed a threshold since the previous scan.
+     */
+    @Scheduled(fixedDelayString = "${sla.scan-interval:PT1M}")
+    public void scan() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (int i = 0; i < thresholds.size(); i++) {
+            LocalDateTime cutoff = now.minus(thresholds.get(i));
+            long cutoffBucket = bucketOf(cutoff);
+            ConcurrentNavigableMap<Long, Set<Integer>> window = watermarks[i] == Long.MIN_VALUE
+                    ? buckets.headMap(cutoffBucket, true)
+                    : buckets.subMap(watermarks[i], true, cutoffBucket, true);
+            for (Set<Integer> ids : window.values()) {
+                for (Integer id : ids) {
+                    Tracked tracked = orders.get(id);
+                    if (tracked != null && tracked.level == i && !tracked.order.createdAt().isAfter(cutoff)) {
+                        breach(tracked, i);
+                    }
+                }
+            }
+            // The cutoff bucket is only partially past the threshold; rescan it next time.
+            watermarks[i] = cutoffBucket;
+        }
+    }
+
+    /**
+     * Returns open orders older than the given age, oldest first, without
+     * querying the database.
+     *
+     * @param age the minimum age
+     * @return the overdue open orders
+     * @throws InvalidDataException if {@code age} is negative
+     */
+    public List<OpenServiceOrder> findOverdue(Duration age) {
+        if (age.isNegative()) {
+            throw new InvalidDataException("Age must not be negative");
+        }
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(age);
+        List<OpenServiceOrder> result = new ArrayList<>();
+        for (Set<Integer> ids : buckets.headMap(bucketOf(cutoff), true).values()) {
+            for (Integer id : ids) {
+                Tracked tracked = orders.get(id);
+                if (tracked != null && !tracked.order.createdAt().isAfter(cutoff)) {
+                    result.add(tracked.order);
+                }
+            }
+        }
+        result.sort(Comparator.comparing(OpenServiceOrder::createdAt).thenComparing(OpenServiceOrder::id));
+        return result;
+    }
+
+    /** @return the configured thresholds, ascending */
+    public List<Duration> getThresholds() {
+        return thresholds;
+    }
+
+    /** @return the number of open orders currently tracked */
+    public int getOpenCount() {
+        return orders.size();
+    }
+
+    private void breach(Tracked tracked, int level) {
+        synchronized (tracked) {
+            if (tracked.level != level) {
+                return;
+            }
+            tracked.level = level + 1;
+            overdue.incrementAndGet(level);
+        }
+        breachCounters[level].increment();
+        OpenServiceOrder order = tracked.order;
+        publisher.publishEvent(new ServiceOrderSlaBreachEvent(order.id(), order.targetId(), order.type(),
+                order.status(), order.createdAt(), thresholds.get(level), Instant.now(clock)));
+    }
+
+    /**
+     * Marks a replaced or removed entry as dead so that racing scans ignore it,
+     * and releases its overdue counts above {@code keep}.
+     *
+     * @return the number of levels kept (at most {@code keep})
+     */
+    private int retire(Tracked tracked, int keep) {
+        synchronized (tracked) {
+            int level = tracked.level;
+            int kept = Math.min(level, keep);
+            for (int i = kept; i < level; i++) {
+                overdue.decrementAndGet(i);
+            }
+            tracked.level = RETIRED;
+            return kept;
+        }
+    }
+
+    private int crossedLevels(LocalDateTime createdAt, LocalDateTime now) {
+        int crossed = 0;
+        while (crossed < thresholds.size() && !createdAt.isAfter(now.minus(thresholds.get(crossed)))) {
+            crossed++;
+        }
+        return crossed;
+    }
+
+    private void removeFromBucket(long bucket, Integer id) {
+        buckets.computeIfPresent(bucket, (b, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private long bucketOf(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.atZone(clock.getZone()).toEpochSecond(), bucketSeconds);
+    }
+}
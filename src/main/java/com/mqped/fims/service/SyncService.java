@@ -0,0 +1,280 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.exceptions.InvalidDataException;
+import com.mqped.fims.model.dto.AddressDTO;
+import com.mqped.fims.model.dto.ContractAccountDTO;
+import com.mqped.fims.model.dto.ServiceOrderDTO;
+import com.mqped.fims.model.dto.SyncPageDTO;
+import com.mqped.fims.model.dto.TargetDTO;
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.ServiceOrder;
+import com.mqped.fims.model.entity.SyncTombstone;
+import com.mqped.fims.model.entity.Target;
+import com.mqped.fims.repository.AddressRepository;
+import com.mqped.fims.repository.ContractAccountRepository;
+import com.mqped.fims.repository.ServiceOrderRepository;
+import com.mqped.fims.repository.SyncTombstoneRepository;
+import com.mqped.fims.repository.TargetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Service class for incremental ("changed since") synchronization of field
+ * data.
+ * <p>
+ * Targets, service orders, contract accounts and addresses carry an
+ * {@code updatedAt} stamp indexed together with their ID, and deletions leave
+ * a {@link SyncTombstone}. A sync page returns the rows and tombstones after
+ * the client's cursor, walking both indexes with keyset predicates on
+ * {@code (time, id)}, so its cost depends on the size of the delta rather
+ * than on the size of the table.
+ * </p>
+ *
+ * <h2>Continuation token</h2>
+ * <p>
+ * The cursor is returned to the client as an opaque token holding the
+ * {@code (updatedAt, id)} of the last row and the {@code (deletedAt, id)} of
+ * the last tombstone it received. Rows stamped within the last
+ * {@code sync.safety-lag} are held back until a later request, which gives
+ * transactions that stamped a row shortly before committing time to become
+ * visible before the cursor moves past them.
+ * </p>
+ *
+ * <p>
+ * Tombstones are purged after {@code sync.tombstone-retention}; a token older
+ * than that is answered with {@link SyncPageDTO#reset()}.
+ * </p>
+ *
+ * @see com.mqped.fims.event.SyncTombstoneWriter
+ * @since 1.0
+ */
+@Service
+public class SyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncService.class);
+
+    /** Largest page returned by one request. */
+    public static final int MAX_LIMIT = 5000;
+
+    /** Cursor time of a client that has never synchronized. */
+    private static final LocalDateTime ORIGIN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final TargetRepository targetRepository;
+    private final ServiceOrderRepository serviceOrderRepository;
+    private final ContractAccountRepository contractAccountRepository;
+    private final AddressRepository addressRepository;
+    private final SyncTombstoneRepository tombstoneRepository;
+    private final Duration safetyLag;
+    private final Duration tombstoneRetention;
+
+    /**
+     * Constructs a new {@code SyncService}.
+     *
+     * @param targetRepository          the {@link TargetRepository}
+     * @param serviceOrderRepository    the {@link ServiceOrderRepository}
+     * @param contractAccountRepository the {@link ContractAccountRepository}
+     * @param addressRepository         the {@link AddressRepository}
+     * @param tombstoneRepository       the {@link SyncTombstoneRepository}
+     * @param safetyLag                 how long recent changes are held back
+     * @param tombstoneRetention        how long deletions are remembered
+     */
+    public SyncService(TargetRepository targetRepository,
+            ServiceOrderRepository serviceOrderRepository,
+            ContractAccountRepository contractAccountRepository,
+            AddressRepository addressRepository,
+            SyncTombstoneRepository tombstoneRepository,
+            @Value("${sync.safety-lag:PT2S}") Duration safetyLag,
+            @Value("${sync.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.targetRepository = targetRepository;
+        this.serviceOrderRepository = serviceOrderRepository;
+        this.contractAccountRepository = contractAccountRepository;
+        this.addressRepository = addressRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.safetyLag = safetyLag;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Returns the targets changed after a token.
+     *
+     * @param token the {@code nextToken} of the previous page, or {@code null}
+     *              for a full download
+     * @param limit maximum number of rows and of deleted IDs
+     * @return the page
+     * @throws InvalidDataException if the token is malformed or {@code limit}
+     *                              is outside {@code [1, MAX_LIMIT]}
+     */
+    @Transactional(readOnly = true)
+    public SyncPageDTO<TargetDTO> syncTargets(String token, int limit) {
+        return sync(Target.class, token, limit, targetRepository::findChangedSince,
+                Target::getId, Target::getUpdatedAt, TargetDTO::fromEntity);
+    }
+
+    /**
+     * Returns the service orders changed after a token.
+     *
+     * @param token the {@code nextToken} of the previous page, or {@code null}
+     *              for a full download
+     * @param limit maximum number of rows and of deleted IDs
+     * @return the page
+     * @throws InvalidDataException if the token is malformed or {@code limit}
+     *                              is outside {@code [1, MAX_LIMIT]}
+     */
+    @Transactional(readOnly = true)
+    public SyncPageDTO<ServiceOrderDTO> syncServiceOrders(String token, int limit) {
+        return sync(ServiceOrder.class, token, limit, serviceOrderRepository::findChangedSince,
+                ServiceOrder::getId, ServiceOrder::getUpdatedAt, ServiceOrderDTO::fromEntity);
+    }
+
+    /**
+     * Returns the contract accounts changed after a token, without
+     * installation details (installations and addresses sync separately).
+     *
+     * @param token the {@code nextToken} of the previous page, or {@code null}
+     *              for a full download
+     * @param limit maximum number of rows and of deleted IDs
+     * @return the page
+     * @throws InvalidDataException if the token is malformed or {@code limit}
+     *                              is outside {@code [1, MAX_LIMIT]}
+     */
+    @Transactional(readOnly = true)
+    public SyncPageDTO<ContractAccountDTO> syncContractAccounts(String token, int limit) {
+        return sync(ContractAccount.class, token, limit, contractAccountRepository::findChangedSince,
+                ContractAccount::getId, ContractAccount::getUpdatedAt,
+                ContractAccountDTO::fromEntityWithoutInstallation);
+    }
+
+    /**
+     * Returns the addresses changed after a token.
+     *
+     * @param token the {@code nextToken} of the previous page, or {@code null}
+     *              for a full download
+     * @param limit maximum number of rows and of deleted IDs
+     * @return the page
+     * @throws InvalidDataException if the token is malformed or {@code limit}
+     *                              is outside {@code [1, MAX_LIMIT]}
+     */
+    @Transactional(readOnly = true)
+    public SyncPageDTO<AddressDTO> syncAddresses(String token, int limit) {
+        return sync(Address.class, token, limit, addressRepository::findChangedSince,
+                Address::getId, Address::getUpdatedAt, AddressDTO::fromEntity);
+    }
+
+    /**
+     * Deletes tombstones older than the retention period.
+     */
+    @Scheduled(cron = "${sync.tombstone-purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        int deleted = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        if (deleted > 0) {
+            logger.info("Purged {} sync tombstones", deleted);
+        }
+    }
+
+    private <E, D> SyncPageDTO<D> sync(Class<E> type, String token, int limit, ChangeQuery<E> query,
+            Function<E, Integer> idOf, Function<E, LocalDateTime> updatedAtOf, Function<E, D> mapper) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidDataException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.minus(safetyLag);
+        Cursor cursor = token == null || token.isBlank()
+                ? new Cursor(ORIGIN, 0, until, 0)
+                : Cursor.decode(token);
+        if (cursor.deletedAt().isBefore(now.minus(tombstoneRetention))) {
+            return SyncPageDTO.reset();
+        }
+
+        Pageable page = PageRequest.of(0, limit);
+        List<E> rows = query.find(cursor.updatedAt(), cursor.rowId(), until, page);
+        List<SyncTombstone> tombstones = tombstoneRepository.findAfter(type.getSimpleName(),
+                cursor.deletedAt(), cursor.tombstoneId(), until, page);
+
+        // A short page means everything before 'until' was returned, so the
+        // cursor can move up to it; rows stamped exactly at 'until' are > (until, 0)
+        LocalDateTime nextUpdatedAt = until;
+        int nextRowId = 0;
+        if (rows.size() == limit) {
+            E last = rows.get(rows.size() - 1);
+            nextUpdatedAt = updatedAtOf.apply(last);
+            nextRowId = idOf.apply(last);
+        }
+        LocalDateTime nextDeletedAt = until;
+        long nextTombstoneId = 0;
+        if (tombstones.size() == limit) {
+            SyncTombstone last = tombstones.get(tombstones.size() - 1);
+            nextDeletedAt = last.getDeletedAt();
+            nextTombstoneId = last.getId();
+        }
+
+        Cursor next = new Cursor(nextUpdatedAt, nextRowId, nextDeletedAt, nextTombstoneId);
+        return new SyncPageDTO<>(
+                rows.stream().map(mapper).toList(),
+                tombstones.stream().map(SyncTombstone::getEntityId).toList(),
+                next.encode(),
+                rows.size() == limit || tombstones.size() == limit,
+                false);
+    }
+
+    /**
+     * Keyset query of one entity type, e.g.
+     * {@code TargetRepository::findChangedSince}.
+     */
+    @FunctionalInterface
+    interface ChangeQuery<E> {
+        List<E> find(LocalDateTime since, int afterId, LocalDateTime until, Pageable pageable);
+    }
+
+    /**
+     * Position of a client in the rows and in the tombstones of one entity
+     * type.
+     */
+    record Cursor(LocalDateTime updatedAt, int rowId, LocalDateTime deletedAt, long tombstoneId) {
+
+        String encode() {
+            String raw = toMicros(updatedAt) + ":" + rowId + ":" + toMicros(deletedAt) + ":" + tombstoneId;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+                String[] parts = raw.split(":");
+                if (parts.length != 4) {
+                    throw new IllegalArgumentException("Expected 4 fields");
+                }
+                return new Cursor(fromMicros(Long.parseLong(parts[0])), Integer.parseInt(parts[1]),
+                        fromMicros(Long.parseLong(parts[2])), Long.parseLong(parts[3]));
+            } catch (IllegalArgumentException | DateTimeException e) {
+                throw new InvalidDataException("Invalid sync token: " + token);
+            }
+        }
+
+        private static long toMicros(LocalDateTime time) {
+            return ChronoUnit.MICROS.between(ORIGIN, time);
+        }
+
+        private static LocalDateTime fromMicros(long micros) {
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                    (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package com.mqped.fims.service;
 
+import com.mqped.fims.exceptions.ForeignKeyViolations;
 import com.mqped.fims.exceptions.InvalidDataException;
 import com.mqped.fims.exceptions.ResourceNotFoundException;
+import com.mqped.fims.model.dto.SearchPageDTO;
+import com.mqped.fims.model.dto.TargetDTO;
 import com.mqped.fims.model.entity.Target;
 import com.mqped.fims.model.enums.TargetType;
-import com.mqped.fims.repository.ContractAccountRepository;
 import com.mqped.fims.repository.TargetRepository;
+import com.mqped.fims.service.projection.FieldProjection;
+import com.mqped.fims.service.search.EntitySearch;
+import jakarta.persistence.EntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service class responsible for managing {@link Target} entities.
@@ -19,11 +29,28 @@ import java.util.List;
  * constraints.
  * </p>
  *
+ * <p>
+ * Open-session-in-view is disabled, so the persistence context closes with
+ * the service transaction. Methods serving the API therefore return
+ * {@link TargetDTO}s mapped inside a {@code @Transactional(readOnly = true)}
+ * boundary, where the lazy contract account can still be loaded; read-only
+ * transactions also put the Hibernate session in read-only mode, so loaded
+ * entities keep no dirty-checking snapshots and are never flushed.
+ * </p>
+ *
+ * <p>
+ * Writes run in a single transaction and do not look up the contract account
+ * first; a missing one is reported by the foreign key and translated into a
+ * {@link ResourceNotFoundException}.
+ * </p>
+ *
  * <h3>Responsibilities:</h3>
  * <ul>
  * <li>Create, update, delete, and query {@link Target} records</li>
  * <li>Validate required fields and numerical constraints</li>
  * <li>Filter targets by client, contract, score, distance, and type</li>
+ * <li>Search targets with composable filters, sort keys and keyset paging
+ * ({@link #search(String, String, String, int)})</li>
  * </ul>
  *
  * <h3>Exception Handling:</h3>
@@ -37,6 +64,7 @@ import java.util.List;
  * @see com.mqped.fims.model.entity.Target
  * @see com.mqped.fims.model.enums.TargetType
  * @see com.mqped.fims.repository.TargetRepository
+ * @see ForeignKeyViolations
  * @see CrudService
  *
  * @since 1.0
@@ -44,25 +72,56 @@ import java.util.List;
 @Service
 public class TargetService implements CrudService<Target, Integer> {
 
+    /** Fields of {@link TargetDTO} available to sparse fieldsets. */
+    static final FieldProjection FIELDS = FieldProjection.builder("Target")
+            .field("contractAccountId", "contractAccount.id")
+            .field("contractAccountNumber", "contractAccount.accountNumber")
+            .field("type")
+            .field("signature")
+            .field("score")
+            .field("expectedCNR")
+            .field("expectedTicket")
+            .field("distanceFromBase")
+            .field("createdAt")
+            .field("active")
+            .build();
+
     private final TargetRepository repository;
-    private final ContractAccountRepository contractAccountRepository;
+    private final AggregateDeletionService aggregateDeletions;
+    private final EntityManager entityManager;
+    private final EntitySearch<Target> targetSearch = EntitySearch
+            .builder(Target.class, "SELECT t FROM Target t JOIN FETCH t.contractAccount ca", "t.id", Target::getId)
+            .field("contractAccountId", Integer.class, "ca.id")
+            .field("clientId", Integer.class, "ca.client.id")
+            .field("type", TargetType.class, "t.type")
+            .field("signature", String.class, "t.signature")
+            .field("active", Boolean.class, "t.active")
+            // Targets without a score sort below every scored one
+            .nullableSortableField("score", Double.class, "t.score", "COALESCE(t.score, -1.0)",
+                    t -> t.getScore() != null ? t.getScore() : -1.0)
+            .sortableField("expectedCNR", Double.class, "t.expectedCNR", Target::getExpectedCNR)
+            .sortableField("expectedTicket", Double.class, "t.expectedTicket", Target::getExpectedTicket)
+            .sortableField("distanceFromBase", Double.class, "t.distanceFromBase", Target::getDistanceFromBase)
+            .sortableField("createdAt", LocalDateTime.class, "t.createdAt", Target::getCreatedAt)
+            .sortableField("updatedAt", LocalDateTime.class, "t.updatedAt", Target::getUpdatedAt)
+            .build();
 
     /**
      * Constructs a new {@code TargetService} instance.
      *
-     * @param repository                the repository managing {@link Target}
-     *                                  entities
-     * @param contractAccountRepository the repository managing associated contract
-     *                                  accounts
+     * @param repository         the repository managing {@link Target} entities
+     * @param aggregateDeletions deletes targets with their service orders
+     * @param entityManager      the shared entity manager, for searches
      */
-    public TargetService(TargetRepository repository, ContractAccountRepository contractAccountRepository) {
+    public TargetService(TargetRepository repository, AggregateDeletionService aggregateDeletions,
+            EntityManager entityManager) {
         this.repository = repository;
-        this.contractAccountRepository = contractAccountRepository;
+        this.aggregateDeletions = aggregateDeletions;
+        this.entityManager = entityManager;
     }
 
     /**
-     * Creates a new {@link Target} after validating its data and contract
-     * association.
+     * Creates a new {@link Target} after validating its data.
      *
      * @param target the target to persist
      * @return the persisted {@link Target}
@@ -70,15 +129,10 @@ public class TargetService implements CrudService<Target, Integer> {
      * @throws ResourceNotFoundException if the associated contract does not exist
      */
     @Override
+    @Transactional
     public Target add(Target target) {
         validate(target);
-
-        Integer contractId = target.getContractAccount().getId();
-        if (contractId == null || !contractAccountRepository.existsById(contractId)) {
-            throw new ResourceNotFoundException("ContractAccount with id " + contractId + " not found");
-        }
-
-        return repository.save(target);
+        return saveAndFlush(target);
     }
 
     /**
@@ -115,16 +169,12 @@ public class TargetService implements CrudService<Target, Integer> {
      *                                   does not exist
      */
     @Override
+    @Transactional
     public Target update(Integer id, Target target) {
         validate(target);
 
         Target existing = findById(id); // throws if not found
 
-        Integer contractId = target.getContractAccount().getId();
-        if (contractId == null || !contractAccountRepository.existsById(contractId)) {
-            throw new ResourceNotFoundException("ContractAccount with id " + contractId + " not found");
-        }
-
         existing.setContractAccount(target.getContractAccount());
         existing.setType(target.getType());
         existing.setExpectedCNR(target.getExpectedCNR());
@@ -134,21 +184,32 @@ public class TargetService implements CrudService<Target, Integer> {
         existing.setScore(target.getScore());
         existing.setActive(target.getActive());
 
-        return repository.save(existing);
+        return saveAndFlush(existing);
     }
 
     /**
-     * Deletes a {@link Target} by ID.
+     * Deletes a target and its service orders with set-based statements.
      *
-     * @param id the target ID
+     * @param id the ID of the target to delete
      * @throws ResourceNotFoundException if the target does not exist
+     * @see AggregateDeletionService#deleteTarget(Integer)
      */
     @Override
     public void deleteById(Integer id) {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException("Target with id " + id + " not found");
-        }
-        repository.deleteById(id);
+        aggregateDeletions.deleteTarget(id);
+    }
+
+    /**
+     * Deletes a target and its service orders, in the background when the subtree
+     * exceeds {@code deletes.async-threshold} rows.
+     *
+     * @param id the ID of the target to delete
+     * @return a future completed once the delete has committed; already
+     *         completed when the delete ran inline
+     * @throws ResourceNotFoundException if the target does not exist
+     */
+    public CompletableFuture<Void> deleteByIdAsync(Integer id) {
+        return aggregateDeletions.deleteTargetAsync(id);
     }
 
     /**
@@ -172,6 +233,75 @@ public class TargetService implements CrudService<Target, Integer> {
         return repository.count();
     }
 
+    // -------------------------------------------------------------
+    // DTO Methods
+    // -------------------------------------------------------------
+
+    /**
+     * Creates a new {@link Target} and maps it inside the same transaction.
+     *
+     * @param target the target to persist
+     * @return the persisted target as a {@link TargetDTO}
+     * @throws InvalidDataException      if the target is invalid
+     * @throws ResourceNotFoundException if the associated contract does not exist
+     */
+    @Transactional
+    public TargetDTO addAsDTO(Target target) {
+        return TargetDTO.fromEntity(add(target));
+    }
+
+    /**
+     * Retrieves all targets, mapped inside a read-only transaction.
+     *
+     * @return all targets as {@link TargetDTO}s
+     */
+    @Transactional(readOnly = true)
+    public List<TargetDTO> findAllAsDTO() {
+        return toDTOs(repository.findAll());
+    }
+
+    /**
+     * Retrieves only the requested fields of all targets, read with a
+     * single projection query instead of loading the entities.
+     *
+     * @param fields the requested fields, separated by commas
+     * @return one map per target holding the requested fields
+     * @throws InvalidDataException if a field is unknown
+     * @see #FIELDS
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllFields(String fields) {
+        return FIELDS.findAll(entityManager, fields);
+    }
+
+    /**
+     * Retrieves a target by ID, mapped inside a read-only transaction.
+     *
+     * @param id the target ID
+     * @return the matching target as a {@link TargetDTO}
+     * @throws ResourceNotFoundException if no target exists with the given ID
+     */
+    @Transactional(readOnly = true)
+    public TargetDTO findByIdAsDTO(Integer id) {
+        return TargetDTO.fromEntity(findById(id));
+    }
+
+    /**
+     * Updates an existing {@link Target} and maps it inside the same
+     * transaction.
+     *
+     * @param id     the ID of the target to update
+     * @param target the new target data
+     * @return the updated target as a {@link TargetDTO}
+     * @throws InvalidDataException      if the new data is invalid
+     * @throws ResourceNotFoundException if the target or its associated contract
+     *                                   does not exist
+     */
+    @Transactional
+    public TargetDTO updateAsDTO(Integer id, Target target) {
+        return TargetDTO.fromEntity(update(id, target));
+    }
+
     // -------------------------------------------------------------
     // Query Methods
     // -------------------------------------------------------------
@@ -180,70 +310,77 @@ public class TargetService implements CrudService<Target, Integer> {
      * Retrieves all targets associated with a specific contract account.
      *
      * @param contractAccountId the contract account ID
-     * @return a list of matching {@link Target} entities
+     * @return the matching targets as {@link TargetDTO}s
      */
-    public List<Target> findByContractAccountId(Integer contractAccountId) {
-        return repository.findByContractAccountId(contractAccountId);
+    @Transactional(readOnly = true)
+    public List<TargetDTO> findByContractAccountId(Integer contractAccountId) {
+        return toDTOs(repository.findByContractAccountId(contractAccountId));
     }
 
     /**
      * Retrieves all targets associated with a specific client.
      *
      * @param clientId the client ID
-     * @return a list of matching {@link Target} entities
+     * @return the matching targets as {@link TargetDTO}s
      */
-    public List<Target> findByClientId(Integer clientId) {
-        return repository.findByContractAccountClientId(clientId);
+    @Transactional(readOnly = true)
+    public List<TargetDTO> findByClientId(Integer clientId) {
+        return toDTOs(repository.findByContractAccountClientId(clientId));
     }
 
     /**
      * Finds targets by their {@link TargetType}.
      *
      * @param type the target type
-     * @return a list of targets with the given type
+     * @return the targets with the given type as {@link TargetDTO}s
      */
-    public List<Target> findByType(TargetType type) {
-        return repository.findByType(type);
+    @Transactional(readOnly = true)
+    public List<TargetDTO> findByType(TargetType type) {
+        return toDTOs(repository.findByType(type));
     }
 
     /**
      * Finds targets matching a specific signature.
      *
      * @param signature the signature to search for
-     * @return a list of matching {@link Target} entities
+     * @return the matching targets as {@link TargetDTO}s
      */
-    public List<Target> findBySignature(String signature) {
-        return repository.findBySignature(signature);
+    @Transactional(readOnly = true)
+    public List<TargetDTO> findBySignature(String signature) {
+        return toDTOs(repository.findBySignature(signature));
     }
 
     /**
      * Finds targets whose signature contains a specific substring.
      *
      * @param partialSignature a partial signature string
-     * @return a list of matching {@link Target} entities
+     * @return the matching targets as {@link TargetDTO}s
      */
-    public List<Target> findBySignatureContaining(String partialSignature) {
-        return repository.findBySignatureContaining(partialSignature);
+    @Transactional(readOnly = true)
+    public List<TargetDTO> findBySignatureContaining(String partialSignature) {
+        return toDTOs(repository.findBySignatureContaining(partialSignature));
     }
 
     /**
      * Finds targets with a score greater than the specified value.
      *
      * @param score the minimum score
-     * @return a list of matching {@link Target} entities
+     * @return the matching targets as {@link TargetDTO}s
      */
-    public List<Target> findByScoreGreater(Double score) {
-        return repository.findByScoreGreaterThan(score);
+    @Transactional(readOnly = true)
+    public List<TargetDTO> findByScoreGreater(Double score) {
+        return toDTOs(repository.findByScoreGreaterThan(score));
     }
 
     /**
      * Finds targets with a score less than the specified value.
      *
      * @param score the maximum score
-     * @return a list of matching {@link Target} entities
+     * @return the matching targets as {@link TargetDTO}s
      */
-    public List<Target> findByScoreLess(Double score) {
-        return repository.findByScoreLessThan(score);
+    @Transactional(readOnly = true)
+    public List<TargetDTO> findByScoreLess(Double score) {
+        return toDTOs(repository.findByScoreLessThan(score));
     }
 
     /**
@@ -251,30 +388,34 @@ public class TargetService implements CrudService<Target, Integer> {
      *
      * @param min the minimum score
      * @param max the maximum score
-     * @return a list of targets whose score is between {@code min} and {@code max}
+     * @return the targets whose score is between {@code min} and {@code max}, as
+     *         {@link TargetDTO}s
      */
-    public List<Target> findByScoreBetween(Double min, Double max) {
-        return repository.findByScoreBetween(min, max);
+    @Transactional(readOnly = true)
+    public List<TargetDTO> findByScoreBetween(Double min, Double max) {
+        return toDTOs(repository.findByScoreBetween(min, max));
     }
 
     /**
      * Finds targets whose distance from base is less than the specified maximum.
      *
      * @param maxDistance the maximum distance
-     * @return a list of matching {@link Target} entities
+     * @return the matching targets as {@link TargetDTO}s
      */
-    public List<Target> findByDistanceLess(Double maxDistance) {
-        return repository.findByDistanceFromBaseLessThan(maxDistance);
+    @Transactional(readOnly = true)
+    public List<TargetDTO> findByDistanceLess(Double maxDistance) {
+        return toDTOs(repository.findByDistanceFromBaseLessThan(maxDistance));
     }
 
     /**
      * Finds targets whose distance from base is greater than the specified minimum.
      *
      * @param minDistance the minimum distance
-     * @return a list of matching {@link Target} entities
+     * @return the matching targets as {@link TargetDTO}s
      */
-    public List<Target> findByDistanceGreater(Double minDistance) {
-        return repository.findByDistanceFromBaseGreaterThan(minDistance);
+    @Transactional(readOnly = true)
+    public List<TargetDTO> findByDistanceGreater(Double minDistance) {
+        return toDTOs(repository.findByDistanceFromBaseGreaterThan(minDistance));
     }
 
     /**
@@ -282,10 +423,66 @@ public class TargetService implements CrudService<Target, Integer> {
      *
      * @param minDistance the minimum distance
      * @param maxDistance the maximum distance
-     * @return a list of matching {@link Target} entities
+     * @return the matching targets as {@link TargetDTO}s
+     */
+    @Transactional(readOnly = true)
+    public List<TargetDTO> findByDistanceBetween(Double minDistance, Double maxDistance) {
+        return toDTOs(repository.findByDistanceFromBaseBetween(minDistance, maxDistance));
+    }
+
+    /**
+     * Searches targets with any combination of filters in one query.
+     * <p>
+     * Filterable fields are {@code id}, {@code contractAccountId},
+     * {@code clientId}, {@code type}, {@code signature}, {@code active},
+     * {@code score}, {@code expectedCNR}, {@code expectedTicket},
+     * {@code distanceFromBase}, {@code createdAt} and {@code updatedAt}. Of
+     * these, {@code id}, {@code score} and the fields after it are sortable.
+     * </p>
+     *
+     * @param filter the filter clauses, e.g.
+     *               {@code type:eq:MACHINE_LEARNING;active:eq:true;score:gt:0.8}
+     * @param sort   the sort keys, e.g. {@code -score}; {@code null} for ID
+     *               order
+     * @param after  the {@code nextToken} of the previous page, or {@code null}
+     * @param limit  the maximum number of targets, at most
+     *               {@value EntitySearch#MAX_LIMIT}
+     * @return one page of matching targets as {@link TargetDTO}s
+     * @throws InvalidDataException if a parameter does not follow the grammar
+     * @see EntitySearch
+     */
+    @Transactional(readOnly = true)
+    public SearchPageDTO<TargetDTO> search(String filter, String sort, String after, int limit) {
+        EntitySearch.Page<Target> page = targetSearch.find(entityManager, filter, sort, after, limit);
+        return new SearchPageDTO<>(toDTOs(page.rows()), page.nextToken());
+    }
+
+    /**
+     * Writes a target and flushes, so a missing contract account surfaces here
+     * as a foreign key violation rather than at commit.
+     *
+     * @param target the target to write
+     * @return the saved target
+     * @throws ResourceNotFoundException if the contract account does not exist
+     */
+    private Target saveAndFlush(Target target) {
+        try {
+            return repository.saveAndFlush(target);
+        } catch (DataIntegrityViolationException e) {
+            if (ForeignKeyViolations.violates(e, ForeignKeyViolations.TARGET_CONTRACT_ACCOUNT)) {
+                throw new ResourceNotFoundException(
+                        "ContractAccount with id " + target.getContractAccount().getId() + " not found", e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Maps targets to DTOs; must run inside the caller's transaction, since
+     * {@link TargetDTO#fromEntity(Target)} reads the lazy contract account.
      */
-    public List<Target> findByDistanceBetween(Double minDistance, Double maxDistance) {
-        return repository.findByDistanceFromBaseBetween(minDistance, maxDistance);
+    private static List<TargetDTO> toDTOs(List<Target> targets) {
+        return targets.stream().map(TargetDTO::fromEntity).toList();
     }
 
     // -------------------------------------------------------------
@@ -303,7 +500,7 @@ public class TargetService implements CrudService<Target, Integer> {
         if (target == null) {
             throw new InvalidDataException("Target cannot be null");
         }
-        if (target.getContractAccount() == null) {
+        if (target.getContractAccount() == null || target.getContractAccount().getId() == null) {
             throw new InvalidDataException("ContractAccount is required");
         }
         if (target.getType() == null) {
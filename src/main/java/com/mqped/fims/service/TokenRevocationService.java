@@ -0,0 +1,142 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.model.entity.TokenRevocation;
+import com.mqped.fims.model.entity.TokenRevocationCounter;
+import com.mqped.fims.repository.TokenRevocationCounterRepository;
+import com.mqped.fims.repository.TokenRevocationRepository;
+import com.mqped.fims.security.TokenRevocationList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Service class for revoking access tokens before they expire.
+ * <p>
+ * Access tokens are checked without a database lookup, so logging out or
+ * locking an account has to be recorded for the
+ * {@link TokenRevocationList} to reject the tokens already handed out. A
+ * revocation covers either one token (by its {@code jti}) or every token a
+ * user was issued up to now. Rows are kept only until the tokens they cover
+ * would have expired.
+ * </p>
+ *
+ * <p>
+ * The revocation counter row is created while the application context starts,
+ * before the web server accepts requests and before the data loaders run, so
+ * logouts and account locks work from the first request.
+ * </p>
+ *
+ * @see TokenRevocation
+ * @since 1.0
+ */
+@Service
+public class TokenRevocationService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final TokenRevocationRepository revocationRepository;
+    private final TokenRevocationCounterRepository counterRepository;
+    private final TokenRevocationList revocationList;
+    private final Duration accessTokenLifetime;
+
+    /**
+     * Constructs a new {@code TokenRevocationService}.
+     *
+     * @param revocationRepository  the repository for revocations
+     * @param counterRepository     the repository for the revocation counter
+     * @param revocationList        the list checked by the JWT filter
+     * @param accessTokenLifetimeMs how long access tokens are valid, in
+     *                              milliseconds
+     */
+    public TokenRevocationService(TokenRevocationRepository revocationRepository,
+            TokenRevocationCounterRepository counterRepository, TokenRevocationList revocationList,
+            @Value("${jwt.expiration}") long accessTokenLifetimeMs) {
+        this.revocationRepository = revocationRepository;
+        this.counterRepository = counterRepository;
+        this.revocationList = revocationList;
+        this.accessTokenLifetime = Duration.ofMillis(accessTokenLifetimeMs);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        createCounter();
+    }
+
+    /**
+     * Creates the revocation counter row if it does not exist yet.
+     */
+    public void createCounter() {
+        if (counterRepository.existsById(TokenRevocationCounter.ID)) {
+            return;
+        }
+        try {
+            counterRepository.saveAndFlush(new TokenRevocationCounter(0));
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Token revocation counter created by another instance");
+        }
+    }
+
+    /**
+     * Revokes one access token.
+     *
+     * @param tokenId   the token's {@code jti}
+     * @param userId    the user the token was issued to
+     * @param expiresAt when the token expires
+     */
+    @Transactional
+    public void revokeToken(String tokenId, Integer userId, Instant expiresAt) {
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setTokenId(tokenId);
+        revocation.setUserId(userId);
+        revocation.setExpiresAt(LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()));
+        save(revocation);
+    }
+
+    /**
+     * Revokes every access token issued to a user until now.
+     *
+     * @param userId the user's ID
+     */
+    @Transactional
+    public void revokeUser(Integer userId) {
+        // Tokens carry their issue time in whole seconds
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        TokenRevocation revocation = new TokenRevocation();
+        revocation.setUserId(userId);
+        revocation.setNotBefore(now);
+        revocation.setExpiresAt(now.plus(accessTokenLifetime).plusSeconds(1));
+        save(revocation);
+    }
+
+    /**
+     * Deletes revocations whose tokens have all expired.
+     */
+    @Scheduled(cron = "${auth.revocation-purge-cron:0 50 3 * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = revocationRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Purged {} expired token revocations", deleted);
+        }
+    }
+
+    private void save(TokenRevocation revocation) {
+        if (counterRepository.increment() == 0) {
+            throw new IllegalStateException("Token revocation counter is missing");
+        }
+        revocation.setVersion(counterRepository.findCurrentVersion().orElseThrow());
+        revocationRepository.save(revocation);
+        revocationList.add(revocation);
+    }
+}
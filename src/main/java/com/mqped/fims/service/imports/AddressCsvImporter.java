@@ -0,0 +1,72 @@
+package com.mqped.fims.service.imports;
+
+import org.springframework.stereotype.Component;
+
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.enums.ImportType;
+import com.mqped.fims.service.AddressService;
+import com.mqped.fims.util.CsvRow;
+
+/**
+ * {@link CsvImporter} for CNEFE address extracts.
+ * <p>
+ * Columns: address ID, state, municipality, district, subdistrict,
+ * neighborhood, zip code, street type, street, number, complement, latitude,
+ * longitude.
+ * </p>
+ *
+ * @since 1.0
+ */
+@Component
+public class AddressCsvImporter implements CsvImporter {
+
+    static final int COLUMNS = 13;
+
+    private final AddressService addressService;
+
+    public AddressCsvImporter(AddressService addressService) {
+        this.addressService = addressService;
+    }
+
+    @Override
+    public ImportType type() {
+        return ImportType.ADDRESSES;
+    }
+
+    @Override
+    public RowHandler open() {
+        return this::importRow;
+    }
+
+    private void importRow(CsvRow row) {
+        CsvImporter.requireFields(row, COLUMNS);
+
+        Address address = new Address();
+        address.setAddressId(row.getString(0));
+        address.setState(row.getString(1));
+        address.setMunicipality(row.getString(2));
+        address.setDistrict(row.getString(3));
+        address.setSubdistrict(row.getString(4));
+        address.setNeighborhood(row.getString(5));
+        address.setZipCode(row.getString(6));
+        address.setStreetType(row.getString(7));
+        address.setStreet(row.getString(8));
+        address.setNumber(row.getString(9));
+        address.setComplement(row.getString(10));
+        address.setLatitude(parseCoordinate(row, 11));
+        address.setLongitude(parseCoordinate(row, 12));
+
+        addressService.add(address);
+    }
+
+    private static Double parseCoordinate(CsvRow row, int index) {
+        if (row.isEmpty(index)) {
+            return null;
+        }
+        try {
+            return row.getDouble(index);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid coordinate: " + row.getString(index));
+        }
+    }
+}
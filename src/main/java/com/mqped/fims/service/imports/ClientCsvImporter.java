@@ -0,0 +1,94 @@
+package com.mqped.fims.service.imports;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.mqped.fims.model.entity.Client;
+import com.mqped.fims.model.enums.ImportType;
+import com.mqped.fims.service.ClientService;
+import com.mqped.fims.util.CsvRow;
+import com.mqped.fims.util.LongHashSet;
+import com.mqped.fims.util.StringNormalizer;
+
+/**
+ * {@link CsvImporter} for client registry extracts.
+ * <p>
+ * Columns: name, CPF, birth date, mother's name, CNPJ, genre, creation date.
+ * Clients whose CPF or CNPJ is already known are reported but still
+ * imported: contract rows reference clients by position, so dropping one
+ * would shift every later client.
+ * </p>
+ *
+ * @since 1.0
+ */
+@Component
+public class ClientCsvImporter implements CsvImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientCsvImporter.class);
+
+    static final int COLUMNS = 7;
+
+    private final ClientService clientService;
+
+    public ClientCsvImporter(ClientService clientService) {
+        this.clientService = clientService;
+    }
+
+    @Override
+    public ImportType type() {
+        return ImportType.CLIENTS;
+    }
+
+    @Override
+    public RowHandler open() {
+        // Existing keys are loaded once; each row is then checked in memory
+        LongHashSet cpfKeys = clientService.loadCpfKeys();
+        LongHashSet cnpjKeys = clientService.loadCnpjKeys();
+        return row -> {
+            Client client = parse(row);
+            if (isDuplicate(client, cpfKeys, cnpjKeys)) {
+                logger.warn("Duplicate CPF/CNPJ for client '{}'", client.getName());
+            }
+            clientService.importClient(client);
+        };
+    }
+
+    private static Client parse(CsvRow row) {
+        CsvImporter.requireFields(row, COLUMNS);
+
+        Client client = new Client();
+        client.setName(StringNormalizer.normalize(row.getString(0)));
+        client.setCpf(row.getString(1));
+        client.setBirthDate(row.isEmpty(2)
+                ? LocalDateTime.of(1900, 1, 1, 0, 0)
+                : parseDateTime(row, 2));
+        client.setMotherName(StringNormalizer.normalize(row.getString(3)));
+        client.setCnpj(row.getString(4));
+        client.setGenre(row.isEmpty(5) ? "Desconhecido" : StringNormalizer.normalize(row.getString(5)));
+        client.setCreatedAt(row.isEmpty(6) ? LocalDateTime.now() : parseDateTime(row, 6));
+        return client;
+    }
+
+    private static LocalDateTime parseDateTime(CsvRow row, int index) {
+        try {
+            return row.getDateTime(index);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + row.getString(index));
+        }
+    }
+
+    /**
+     * Records the client's keys, reporting whether one was already present.
+     */
+    static boolean isDuplicate(Client client, LongHashSet cpfKeys, LongHashSet cnpjKeys) {
+        boolean duplicate = client.getCpfKey() != null && !cpfKeys.add(client.getCpfKey());
+        if (client.getCnpjKey() != null && !cnpjKeys.add(client.getCnpjKey())) {
+            duplicate = true;
+        }
+        return duplicate;
+    }
+}
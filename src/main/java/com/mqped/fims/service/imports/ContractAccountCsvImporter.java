@@ -0,0 +1,235 @@
+package com.mqped.fims.service.imports;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.mqped.fims.exceptions.ResourceNotFoundException;
+import com.mqped.fims.model.entity.Client;
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.Installation;
+import com.mqped.fims.model.enums.ImportType;
+import com.mqped.fims.model.enums.StatusType;
+import com.mqped.fims.service.ClientService;
+import com.mqped.fims.service.ContractAccountService;
+import com.mqped.fims.service.InstallationService;
+import com.mqped.fims.util.CsvRow;
+
+/**
+ * {@link CsvImporter} for contract account extracts.
+ * <p>
+ * Columns: account number, client ID, client name, address ID, contract
+ * creation and deletion dates, installation creation and deletion dates,
+ * status, status start and end. Dates use
+ * {@code yyyy-MM-dd HH:mm:ss.SSSSSS}.
+ * </p>
+ *
+ * <p>
+ * This importer ONLY searches for existing clients and installations and
+ * does NOT create them; a row referencing a missing one is rejected. Both
+ * are cached for the whole run to minimize database queries.
+ * </p>
+ *
+ * @since 1.0
+ */
+@Component
+public class ContractAccountCsvImporter implements CsvImporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContractAccountCsvImporter.class);
+
+    static final int COLUMNS = 11;
+
+    private final ContractAccountService contractAccountService;
+    private final ClientService clientService;
+    private final InstallationService installationService;
+
+    public ContractAccountCsvImporter(ContractAccountService contractAccountService,
+            ClientService clientService,
+            InstallationService installationService) {
+        this.contractAccountService = contractAccountService;
+        this.clientService = clientService;
+        this.installationService = installationService;
+    }
+
+    @Override
+    public ImportType type() {
+        return ImportType.CONTRACT_ACCOUNTS;
+    }
+
+    @Override
+    public RowHandler open() {
+        // Caches to minimize database queries
+        Map<Integer, Client> clientCache = new HashMap<>();
+        Map<String, List<Installation>> installationCache = new HashMap<>();
+        return row -> processContractLine(row, clientCache, installationCache);
+    }
+
+    /**
+     * Process a single contract line from the CSV.
+     * Throws exceptions if required entities don't exist.
+     */
+    private void processContractLine(CsvRow row,
+            Map<Integer, Client> clientCache,
+            Map<String, List<Installation>> installationCache) {
+        CsvImporter.requireFields(row, COLUMNS);
+
+        // Parse CSV fields
+        String accountNumber = row.getString(0);
+        int clientId = parseClientId(row, 1);
+        String clientName = row.getString(2); // Only used for logging/validation
+        String addressId = row.getString(3);
+
+        LocalDateTime contractCreatedAt = parseDateTime(row, 4, "contract creation date");
+        LocalDateTime contractDeletedAt = parseOptionalDateTime(row, 5);
+        LocalDateTime installationCreatedAt = parseOptionalDateTime(row, 6);
+        LocalDateTime installationDeletedAt = parseOptionalDateTime(row, 7);
+
+        StatusType status = parseStatus(row.getString(8));
+        LocalDateTime statusStart = parseOptionalDateTime(row, 9);
+        LocalDateTime statusEnd = parseOptionalDateTime(row, 10);
+
+        // --- Fetch Client (MUST exist) ---
+        Client client = findOrCacheClient(clientId, clientName, clientCache);
+
+        // --- Fetch Installation (MUST exist) ---
+        Installation installation = findOrCacheInstallation(
+                addressId,
+                installationCreatedAt,
+                installationCache);
+
+        // --- Create ContractAccount ---
+        ContractAccount contractAccount = buildContractAccount(
+                accountNumber, client, installation,
+                contractCreatedAt, contractDeletedAt,
+                status, statusStart, statusEnd);
+
+        contractAccountService.add(contractAccount);
+        logger.debug("Loaded contract: {} for client: {} at address: {}",
+                accountNumber, client.getName(), addressId);
+    }
+
+    /**
+     * Find or cache a Client entity. Throws exception if not found.
+     */
+    private Client findOrCacheClient(int clientId, String clientName, Map<Integer, Client> cache) {
+        // Check if clientId is valid
+        if (clientId <= 0) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid clientId: %d for client '%s'. Client must exist before loading contracts.",
+                            clientId, clientName));
+        }
+
+        // Return from cache or fetch from database
+        return cache.computeIfAbsent(clientId, id -> {
+            try {
+                return clientService.findById(id);
+            } catch (ResourceNotFoundException e) {
+                throw new IllegalArgumentException(
+                        String.format("Client with id %d (name: '%s') not found. Ensure clients are loaded first.",
+                                id, clientName));
+            }
+        });
+    }
+
+    /**
+     * Find or cache an Installation for the given address.
+     * Throws exception if no installation exists for this address.
+     */
+    private Installation findOrCacheInstallation(String addressId,
+            LocalDateTime createdAt,
+            Map<String, List<Installation>> cache) {
+        List<Installation> installations = cache.computeIfAbsent(addressId,
+                id -> installationService.findByAddressIdWithContracts(id));
+
+        if (installations.isEmpty()) {
+            throw new IllegalArgumentException(
+                    String.format("No installation found for addressId: %s. Ensure installations are loaded first.",
+                            addressId));
+        }
+
+        // Find installation that matches the creation timestamp (if available)
+        // or return the first one as fallback
+        if (createdAt != null) {
+            return installations.stream()
+                    .filter(inst -> inst.getCreatedAt() != null &&
+                            inst.getCreatedAt().equals(createdAt))
+                    .findFirst()
+                    .orElse(installations.get(0));
+        }
+
+        return installations.get(0);
+    }
+
+    /**
+     * Build a ContractAccount entity from parsed data.
+     */
+    private ContractAccount buildContractAccount(String accountNumber,
+            Client client,
+            Installation installation,
+            LocalDateTime createdAt,
+            LocalDateTime deletedAt,
+            StatusType status,
+            LocalDateTime statusStart,
+            LocalDateTime statusEnd) {
+        ContractAccount contractAccount = new ContractAccount();
+        contractAccount.setAccountNumber(accountNumber);
+        contractAccount.setClient(client);
+        contractAccount.setInstallation(installation);
+        contractAccount.setCreatedAt(createdAt);
+        contractAccount.setDeletedAt(deletedAt);
+        contractAccount.setStatus(status);
+        contractAccount.setStatusStart(statusStart);
+        contractAccount.setStatusEnd(statusEnd);
+
+        return contractAccount;
+    }
+
+    // === Parsing Helper Methods ===
+
+    private int parseClientId(CsvRow row, int index) {
+        try {
+            return row.getInt(index);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid clientId: " + row.getString(index));
+        }
+    }
+
+    private LocalDateTime parseDateTime(CsvRow row, int index, String fieldName) {
+        if (row.isBlank(index)) {
+            throw new IllegalArgumentException(fieldName + " is required but was empty");
+        }
+        try {
+            return row.getDateTime(index);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(
+                    "Invalid " + fieldName + ": " + row.getString(index) + " - " + e.getMessage());
+        }
+    }
+
+    private LocalDateTime parseOptionalDateTime(CsvRow row, int index) {
+        try {
+            return row.getDateTime(index);
+        } catch (DateTimeParseException e) {
+            logger.warn("Invalid datetime format: {}, returning null", row.getString(index));
+            return null;
+        }
+    }
+
+    private StatusType parseStatus(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return StatusType.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid status type: {}, returning null", value);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.mqped.fims.service.imports;
+
+import com.mqped.fims.model.enums.ImportType;
+import com.mqped.fims.util.CsvReader;
+import com.mqped.fims.util.CsvRow;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+
+/**
+ * Turns the rows of one kind of CSV extract into entities.
+ * <p>
+ * Implementations hold the column layout and row rules shared by the
+ * development loaders and the import jobs. Reading the file, transactions
+ * and error accounting are left to the caller.
+ * </p>
+ *
+ * @see com.mqped.fims.service.ImportJobService
+ * @since 1.0
+ */
+public interface CsvImporter {
+
+    /** @return the kind of extract this importer reads */
+    ImportType type();
+
+    /**
+     * Starts an import run.
+     * <p>
+     * The returned handler may keep lookups cached for the whole run, so a
+     * new one must be opened for each file.
+     * </p>
+     *
+     * @return the handler for the rows of one file
+     */
+    RowHandler open();
+
+    /**
+     * Imports rows one at a time.
+     */
+    @FunctionalInterface
+    interface RowHandler {
+
+        /**
+         * Imports one row.
+         *
+         * @param row the cursor positioned on the row, header excluded; only
+         *            valid until it moves
+         * @throws IllegalArgumentException if the row is malformed or refers
+         *                                  to missing entities
+         */
+        void importRow(CsvRow row);
+    }
+
+    /**
+     * Checks that a row is well formed and has at least the expected number of
+     * fields.
+     *
+     * @param row      the row
+     * @param expected the number of columns of the layout
+     * @throws IllegalArgumentException if the row is shorter or has a broken
+     *                                  quoted field
+     */
+    static void requireFields(CsvRow row, int expected) {
+        if (row.size() < expected) {
+            throw new IllegalArgumentException(
+                    "Malformed CSV line - expected " + expected + " fields, got " + row.size());
+        }
+        if (row.isMalformed()) {
+            throw new IllegalArgumentException("Malformed CSV line - unbalanced quotes");
+        }
+    }
+
+    /**
+     * Opens a resource for reading, memory-mapping it when it is a file.
+     *
+     * @param resource the CSV resource
+     * @return the reader; close it when done
+     * @throws IOException if the resource cannot be read
+     */
+    static CsvReader reader(Resource resource) throws IOException {
+        if (resource.isFile()) {
+            return CsvReader.open(resource.getFile().toPath());
+        }
+        return CsvReader.of(resource.getContentAsByteArray());
+    }
+}
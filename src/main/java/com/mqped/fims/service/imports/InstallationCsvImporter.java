@@ -0,0 +1,72 @@
+package com.mqped.fims.service.imports;
+
+import java.time.format.DateTimeParseException;
+
+import org.springframework.stereotype.Component;
+
+import com.mqped.fims.exceptions.ResourceNotFoundException;
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.entity.Installation;
+import com.mqped.fims.model.enums.ImportType;
+import com.mqped.fims.service.AddressService;
+import com.mqped.fims.service.InstallationService;
+import com.mqped.fims.util.CsvRow;
+
+/**
+ * {@link CsvImporter} for installation extracts.
+ * <p>
+ * The extract has 15 columns; only the address ID (first column), creation
+ * date (14th) and deletion date (15th) are read. The address must already
+ * exist.
+ * </p>
+ *
+ * @since 1.0
+ */
+@Component
+public class InstallationCsvImporter implements CsvImporter {
+
+    static final int COLUMNS = 15;
+
+    private final InstallationService installationService;
+    private final AddressService addressService;
+
+    public InstallationCsvImporter(InstallationService installationService, AddressService addressService) {
+        this.installationService = installationService;
+        this.addressService = addressService;
+    }
+
+    @Override
+    public ImportType type() {
+        return ImportType.INSTALLATIONS;
+    }
+
+    @Override
+    public RowHandler open() {
+        return this::importRow;
+    }
+
+    private void importRow(CsvRow row) {
+        CsvImporter.requireFields(row, COLUMNS);
+
+        // --- Fetch existing Address ---
+        String addressId = row.getString(0);
+        Address address;
+        try {
+            address = addressService.findByAddressId(addressId);
+        } catch (ResourceNotFoundException e) {
+            throw new IllegalArgumentException("Address not found for addressId: " + addressId);
+        }
+
+        // --- Build Installation ---
+        Installation installation = new Installation();
+        installation.setAddress(address);
+        try {
+            installation.setCreatedAt(row.getDateTime(13));
+            installation.setDeletedAt(row.getDateTime(14));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date format - " + e.getMessage());
+        }
+
+        installationService.add(installation);
+    }
+}
@@ -0,0 +1,350 @@
+package com.mqped.fims.service.projection;
+
+import com.mqped.fims.exceptions.InvalidDataException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sparse fieldsets over one entity type: the requested DTO fields, and only
+ * those, are selected in SQL and written to the response.
+ *
+ * <h2>Grammar</h2>
+ * <p>
+ * {@code fields} lists DTO property names separated by {@code ,}; nested
+ * properties are addressed with {@code .}, e.g.
+ * {@code accountNumber,status,installation.address.municipality}, and naming
+ * a nested object, e.g. {@code installation.address}, selects all of its
+ * properties. The root {@code id} is always included. Unknown names are
+ * rejected with {@link InvalidDataException}.
+ * </p>
+ *
+ * <h2>Projection</h2>
+ * <p>
+ * Every field is declared with the property path it is read from, relative
+ * to the root entity. A request compiles into one JPQL tuple query selecting
+ * just those paths; an association is {@code LEFT JOIN}ed only when a
+ * requested path reads past it, and a path ending in {@code .id} reads the
+ * foreign key without joining. The entity is never loaded, so there are no
+ * lazy loads nor persistence context entries. The JPQL is cached per field
+ * set (up to {@value #MAX_CACHED_PLANS} sets).
+ * </p>
+ *
+ * <h2>Output</h2>
+ * <p>
+ * Each row becomes a map holding the requested properties in declaration
+ * order, nested objects as nested maps; a nested object whose association is
+ * null is written as {@code null}. Unrequested properties are absent from
+ * the map, so they are neither serialized nor sent.
+ * </p>
+ *
+ * @since 1.0
+ */
+public final class FieldProjection {
+
+    /** Largest number of compiled field sets kept per projection. */
+    static final int MAX_CACHED_PLANS = 256;
+
+    private final String entityName;
+    private final List<Field> fields;
+    private final Map<String, String> embeds;
+    private final Map<String, Plan> plans = new ConcurrentHashMap<>();
+
+    private FieldProjection(Builder builder) {
+        this.entityName = builder.entityName;
+        this.fields = List.copyOf(builder.fields);
+        this.embeds = Map.copyOf(builder.embeds);
+    }
+
+    /**
+     * Starts the definition of a projection.
+     *
+     * @param entityName the JPQL name of the root entity, e.g.
+     *                   {@code ContractAccount}
+     * @return the builder, with the {@code id} field already declared
+     */
+    public static Builder builder(String entityName) {
+        return new Builder(entityName).field("id");
+    }
+
+    /**
+     * Reads the requested fields of every row, ordered by ID.
+     *
+     * @param entityManager the entity manager of the caller's transaction
+     * @param fields        the requested fields
+     * @return one map per row
+     * @throws InvalidDataException if a field is unknown
+     */
+    public List<Map<String, Object>> findAll(EntityManager entityManager, String fields) {
+        Plan plan = plan(select(fields));
+        TypedQuery<Tuple> query = entityManager.createQuery(plan.jpql(), Tuple.class);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+
+        List<Tuple> tuples = query.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            rows.add(toMap(plan.columns(), tuple));
+        }
+        return rows;
+    }
+
+    /** @return the number of field sets whose JPQL is cached */
+    int cachedPlans() {
+        return plans.size();
+    }
+
+    // ---------------------------------------------------------------------
+    // Parsing
+    // ---------------------------------------------------------------------
+
+    private Set<String> select(String requested) {
+        Set<String> names = new TreeSet<>();
+        names.add("id");
+        if (requested == null || requested.isBlank()) {
+            return names;
+        }
+        for (String token : requested.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            boolean matched = false;
+            for (Field field : fields) {
+                if (field.name().equals(name) || field.name().startsWith(name + ".")) {
+                    names.add(field.name());
+                    matched = true;
+                }
+            }
+            if (!matched) {
+                Set<String> known = new TreeSet<>(embeds.keySet());
+                fields.forEach(field -> known.add(field.name()));
+                throw new InvalidDataException("Unknown field '" + name + "'; expected one of " + known);
+            }
+        }
+        return names;
+    }
+
+    // ---------------------------------------------------------------------
+    // Compilation
+    // ---------------------------------------------------------------------
+
+    private Plan plan(Set<String> names) {
+        String key = String.join(",", names);
+        Plan plan = plans.get(key);
+        if (plan == null) {
+            plan = compile(names);
+            if (plans.size() < MAX_CACHED_PLANS) {
+                plans.putIfAbsent(key, plan);
+            }
+        }
+        return plan;
+    }
+
+    private Plan compile(Set<String> names) {
+        Map<String, String> aliases = new LinkedHashMap<>();
+        List<Column> columns = new ArrayList<>();
+        List<String> expressions = new ArrayList<>();
+        Set<String> presentEmbeds = new LinkedHashSet<>();
+
+        for (Field field : fields) {
+            if (!names.contains(field.name())) {
+                continue;
+            }
+            // A nested object is null when its association is, which the
+            // foreign key tells without a join
+            String[] parts = field.name().split("\\.");
+            StringBuilder prefix = new StringBuilder();
+            for (int i = 0; i < parts.length - 1; i++) {
+                prefix.append(i == 0 ? "" : ".").append(parts[i]);
+                String embed = prefix.toString();
+                if (presentEmbeds.add(embed)) {
+                    columns.add(new Column(embed.split("\\."), true,
+                            select(expressions, expression(embeds.get(embed) + ".id", aliases))));
+                }
+            }
+            columns.add(new Column(parts, false, select(expressions, expression(field.path(), aliases))));
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT ").append(String.join(", ", expressions))
+                .append(" FROM ").append(entityName).append(" r");
+        aliases.forEach((path, alias) -> {
+            int dot = path.lastIndexOf('.');
+            String owner = dot < 0 ? "r" : aliases.get(path.substring(0, dot));
+            jpql.append(" LEFT JOIN ").append(owner).append('.').append(path.substring(dot + 1))
+                    .append(' ').append(alias);
+        });
+        jpql.append(" ORDER BY r.id");
+        return new Plan(jpql.toString(), List.copyOf(columns));
+    }
+
+    /** @return the position of an expression in the select list, adding it if new */
+    private static int select(List<String> expressions, String expression) {
+        int index = expressions.indexOf(expression);
+        if (index < 0) {
+            expressions.add(expression);
+            index = expressions.size() - 1;
+        }
+        return index;
+    }
+
+    /**
+     * Translates a property path into a select expression, joining every
+     * association it reads past except the last one when only its ID is read.
+     */
+    private static String expression(String path, Map<String, String> aliases) {
+        String[] segments = path.split("\\.");
+        int joined = segments.length - 1;
+        if (segments.length > 1 && segments[segments.length - 1].equals("id")) {
+            joined--;
+        }
+        String owner = "r";
+        StringBuilder association = new StringBuilder();
+        for (int i = 0; i < joined; i++) {
+            association.append(i == 0 ? "" : ".").append(segments[i]);
+            owner = aliases.computeIfAbsent(association.toString(), p -> "j" + aliases.size());
+        }
+        StringBuilder expression = new StringBuilder(owner);
+        for (int i = joined; i < segments.length; i++) {
+            expression.append('.').append(segments[i]);
+        }
+        return expression.toString();
+    }
+
+    // ---------------------------------------------------------------------
+    // Output
+    // ---------------------------------------------------------------------
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toMap(List<Column> columns, Tuple tuple) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        Set<String> absent = new HashSet<>();
+        for (Column column : columns) {
+            String[] name = column.name();
+            if (isUnderAbsent(name, absent)) {
+                continue;
+            }
+            Map<String, Object> parent = row;
+            for (int j = 0; j < name.length - 1; j++) {
+                parent = (Map<String, Object>) parent.computeIfAbsent(name[j], k -> new LinkedHashMap<>());
+            }
+            Object value = tuple.get(column.index());
+            String leaf = name[name.length - 1];
+            if (column.presence()) {
+                if (value == null) {
+                    parent.put(leaf, null);
+                    absent.add(String.join(".", name));
+                } else {
+                    parent.put(leaf, new LinkedHashMap<String, Object>());
+                }
+            } else {
+                parent.put(leaf, value);
+            }
+        }
+        return row;
+    }
+
+    private static boolean isUnderAbsent(String[] name, Set<String> absent) {
+        if (absent.isEmpty()) {
+            return false;
+        }
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < name.length - 1; i++) {
+            prefix.append(i == 0 ? "" : ".").append(name[i]);
+            if (absent.contains(prefix.toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ---------------------------------------------------------------------
+    // Types
+    // ---------------------------------------------------------------------
+
+    /** A selectable property: its DTO name and the entity path it is read from. */
+    private record Field(String name, String path) {
+    }
+
+    /**
+     * An output slot: a property, or the marker of a nested object, and the
+     * position of its value in the select list.
+     */
+    private record Column(String[] name, boolean presence, int index) {
+    }
+
+    /** The compiled query of a field set and the output slot of each column. */
+    private record Plan(String jpql, List<Column> columns) {
+    }
+
+    /**
+     * Declares the fields of a {@link FieldProjection}, in output order.
+     */
+    public static final class Builder {
+
+        private final String entityName;
+        private final List<Field> fields = new ArrayList<>();
+        private final Map<String, String> embeds = new LinkedHashMap<>();
+
+        private Builder(String entityName) {
+            this.entityName = entityName;
+        }
+
+        /**
+         * Declares a field read from the property of the same name.
+         *
+         * @param name the DTO property name
+         * @return this builder
+         */
+        public Builder field(String name) {
+            return field(name, name);
+        }
+
+        /**
+         * Declares a field read from a property path.
+         *
+         * @param name the DTO property name
+         * @param path the property path relative to the root entity, e.g.
+         *             {@code client.name}
+         * @return this builder
+         */
+        public Builder field(String name, String path) {
+            fields.add(new Field(name, path));
+            return this;
+        }
+
+        /**
+         * Declares a nested object holding the fields of another projection,
+         * read through an association.
+         *
+         * @param name        the DTO property name of the nested object
+         * @param association the association path relative to the root
+         *                    entity
+         * @param nested      the projection of the associated entity
+         * @return this builder
+         */
+        public Builder embed(String name, String association, FieldProjection nested) {
+            embeds.put(name, association);
+            nested.embeds.forEach((nestedName, path) -> embeds.put(name + "." + nestedName, association + "." + path));
+            for (Field field : nested.fields) {
+                fields.add(new Field(name + "." + field.name(), association + "." + field.path()));
+            }
+            return this;
+        }
+
+        /** @return the projection */
+        public FieldProjection build() {
+            return new FieldProjection(this);
+        }
+    }
+}
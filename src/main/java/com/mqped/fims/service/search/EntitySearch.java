@@ -0,0 +1,566 @@
+package com.mqped.fims.service.search;
+
+import com.mqped.fims.exceptions.InvalidDataException;
+import com.mqped.fims.util.TimestampParser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Composable search over one entity type: typed filters and sort keys
+ * compiled into a single JPQL query, paged by keyset.
+ *
+ * <h2>Grammar</h2>
+ * <ul>
+ * <li>{@code filter}: clauses separated by {@code ;}, each
+ * {@code field:operator[:value]}, all of which must match. {@code in} and
+ * {@code between} take values separated by {@code |}; {@code null} and
+ * {@code notnull} take none. For example
+ * {@code type:eq:MACHINE_LEARNING;active:eq:true;score:gt:0.8;distanceFromBase:lte:5}.</li>
+ * <li>{@code sort}: sortable fields separated by {@code ,}, prefixed with
+ * {@code -} for descending order, e.g. {@code -score,distanceFromBase}. The ID
+ * is always the last key, so the order is total.</li>
+ * <li>{@code after}: the {@code nextToken} of the previous page.</li>
+ * <li>{@code limit}: rows per page, at most {@value #MAX_LIMIT}.</li>
+ * </ul>
+ * <p>
+ * Values are converted to the field's type; unknown fields, operators that do
+ * not apply to a field and malformed values are rejected with
+ * {@link InvalidDataException}.
+ * </p>
+ *
+ * <h2>Query plans</h2>
+ * <p>
+ * The JPQL text depends only on the shape of a request — the fields and
+ * operators of its filters, its sort keys and whether it continues a previous
+ * page — never on values, which are bound as parameters. The text is compiled
+ * once per shape and cached (up to {@value #MAX_CACHED_PLANS} shapes), and
+ * because it is identical for every request of a shape, Hibernate's query
+ * plan cache, keyed by query text, reuses the parsed and translated SQL as
+ * well.
+ * </p>
+ *
+ * <h2>Keyset paging</h2>
+ * <p>
+ * A page ends with a token holding the sort key values of its last row; the
+ * next page starts strictly after them with a
+ * {@code (k1 > :v1) OR (k1 = :v1 AND k2 > :v2) OR ...} condition, so deep
+ * pages cost the same as the first and rows inserted meanwhile neither shift
+ * nor repeat results. A token is only valid with the sort it was issued for.
+ * </p>
+ *
+ * @param <E> the entity type
+ * @since 1.0
+ */
+public final class EntitySearch<E> {
+
+    /** Rows returned when the request does not give a limit. */
+    public static final int DEFAULT_LIMIT = 100;
+
+    /** Largest number of rows returned by one page. */
+    public static final int MAX_LIMIT = 1000;
+
+    /** Largest number of clauses in one filter. */
+    public static final int MAX_FILTERS = 16;
+
+    /** Largest number of values of one {@code in} clause. */
+    public static final int MAX_VALUES = 100;
+
+    /** Largest number of compiled shapes kept per entity type. */
+    static final int MAX_CACHED_PLANS = 256;
+
+    private static final Set<Class<?>> SUPPORTED_TYPES = Set.of(
+            String.class, Integer.class, Double.class, Boolean.class, LocalDateTime.class);
+
+    private final Class<E> type;
+    private final String select;
+    private final Map<String, Field<E>> fields;
+    private final Field<E> id;
+    private final Map<String, String> plans = new ConcurrentHashMap<>();
+
+    private EntitySearch(Builder<E> builder) {
+        this.type = builder.type;
+        this.select = builder.select;
+        this.fields = Map.copyOf(builder.fields);
+        this.id = builder.fields.get("id");
+    }
+
+    /**
+     * Starts the definition of a search.
+     *
+     * @param <E>    the entity type
+     * @param type   the entity class
+     * @param select the {@code SELECT ... FROM ...} clause, with any fetch
+     *               joins, e.g. {@code SELECT t FROM Target t}
+     * @param idPath the JPQL path of the ID, e.g. {@code t.id}
+     * @param idOf   reads the ID of a row
+     * @return the builder
+     */
+    public static <E> Builder<E> builder(Class<E> type, String select, String idPath, Function<E, Integer> idOf) {
+        return new Builder<>(type, select).sortableField("id", Integer.class, idPath, idOf);
+    }
+
+    /**
+     * Runs a search.
+     *
+     * @param entityManager the entity manager of the caller's transaction
+     * @param filter        the filter clauses, or {@code null} for none
+     * @param sort          the sort keys, or {@code null} to sort by ID
+     * @param after         the token of the previous page, or {@code null}
+     *                      for the first page
+     * @param limit         the maximum number of rows
+     * @return the rows of the page and the token of the next one
+     * @throws InvalidDataException if a parameter does not follow the grammar
+     */
+    public Page<E> find(EntityManager entityManager, String filter, String sort, String after, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new InvalidDataException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        List<Filter<E>> filters = parseFilters(filter);
+        List<SortKey<E>> keys = parseSort(sort);
+        String sortSpec = sortSpec(keys);
+        List<Object> cursor = after == null || after.isBlank() ? null : decode(after, sortSpec, keys);
+
+        TypedQuery<E> query = entityManager.createQuery(plan(filters, keys, sortSpec, cursor != null), type);
+        for (int i = 0; i < filters.size(); i++) {
+            bind(query, i, filters.get(i));
+        }
+        if (cursor != null) {
+            for (int i = 0; i < cursor.size(); i++) {
+                query.setParameter("k" + i, cursor.get(i));
+            }
+        }
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        query.setMaxResults(limit + 1);
+
+        List<E> rows = query.getResultList();
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<E> page = new ArrayList<>(rows.subList(0, limit));
+        return new Page<>(page, encode(sortSpec, keys, page.get(limit - 1)));
+    }
+
+    /** @return the number of shapes whose JPQL is cached */
+    int cachedPlans() {
+        return plans.size();
+    }
+
+    // ---------------------------------------------------------------------
+    // Parsing
+    // ---------------------------------------------------------------------
+
+    private List<Filter<E>> parseFilters(String filter) {
+        if (filter == null || filter.isBlank()) {
+            return List.of();
+        }
+        List<Filter<E>> filters = new ArrayList<>();
+        for (String clause : filter.split(";")) {
+            if (clause.isBlank()) {
+                continue;
+            }
+            if (filters.size() == MAX_FILTERS) {
+                throw new InvalidDataException("At most " + MAX_FILTERS + " filter clauses are allowed");
+            }
+            filters.add(parseFilter(clause.trim()));
+        }
+        // Clauses in any order share one plan
+        filters.sort(Comparator.comparing((Filter<E> f) -> f.field().name()).thenComparing(Filter::operator));
+        return filters;
+    }
+
+    private Filter<E> parseFilter(String clause) {
+        int first = clause.indexOf(':');
+        if (first < 0) {
+            throw new InvalidDataException("Invalid filter '" + clause + "'; expected field:operator[:value]");
+        }
+        int second = clause.indexOf(':', first + 1);
+        String name = clause.substring(0, first);
+        String token = second < 0 ? clause.substring(first + 1) : clause.substring(first + 1, second);
+        String raw = second < 0 ? null : clause.substring(second + 1);
+
+        Field<E> field = fields.get(name);
+        if (field == null) {
+            throw new InvalidDataException("Unknown search field '" + name + "'; expected one of "
+                    + new TreeSet<>(fields.keySet()));
+        }
+        SearchOperator operator = SearchOperator.fromToken(token);
+        if (operator == null) {
+            throw new InvalidDataException("Unknown search operator '" + token + "'; expected one of "
+                    + Arrays.stream(SearchOperator.values()).map(SearchOperator::token).toList());
+        }
+        if (operator.isRange() && !isComparable(field.type())
+                || operator == SearchOperator.CONTAINS && field.type() != String.class
+                || operator.isNullCheck() && !field.nullable()) {
+            throw new InvalidDataException("Operator '" + operator.token() + "' does not apply to field '"
+                    + name + "'");
+        }
+
+        if (operator.isNullCheck()) {
+            if (raw != null) {
+                throw new InvalidDataException("Operator '" + operator.token() + "' takes no value");
+            }
+            return new Filter<>(field, operator, List.of());
+        }
+        if (raw == null || raw.isEmpty()) {
+            throw new InvalidDataException("Filter '" + clause + "' needs a value");
+        }
+        List<String> values = operator == SearchOperator.IN || operator == SearchOperator.BETWEEN
+                ? List.of(raw.split("\\|", -1))
+                : List.of(raw);
+        if (operator == SearchOperator.BETWEEN && values.size() != 2) {
+            throw new InvalidDataException("Operator 'between' takes two values separated by '|'");
+        }
+        if (values.size() > MAX_VALUES) {
+            throw new InvalidDataException("Operator 'in' takes at most " + MAX_VALUES + " values");
+        }
+        return new Filter<>(field, operator, values.stream().map(value -> convert(field, value)).toList());
+    }
+
+    private List<SortKey<E>> parseSort(String sort) {
+        List<SortKey<E>> keys = new ArrayList<>();
+        if (sort != null && !sort.isBlank()) {
+            Set<String> seen = new HashSet<>();
+            for (String token : sort.split(",")) {
+                String key = token.trim();
+                boolean descending = key.startsWith("-");
+                String name = descending || key.startsWith("+") ? key.substring(1) : key;
+                Field<E> field = fields.get(name);
+                if (field == null || !field.sortable()) {
+                    throw new InvalidDataException("Cannot sort by '" + name + "'; sortable fields are "
+                            + fields.values().stream().filter(Field::sortable).map(Field::name).sorted().toList());
+                }
+                if (!seen.add(name)) {
+                    throw new InvalidDataException("Duplicate sort key '" + name + "'");
+                }
+                if (!keys.isEmpty() && keys.get(keys.size() - 1).field() == id) {
+                    throw new InvalidDataException("'id' must be the last sort key");
+                }
+                keys.add(new SortKey<>(field, descending));
+            }
+        }
+        if (keys.isEmpty() || keys.get(keys.size() - 1).field() != id) {
+            keys.add(new SortKey<>(id, false));
+        }
+        return keys;
+    }
+
+    private static boolean isComparable(Class<?> type) {
+        return Number.class.isAssignableFrom(type) || type == LocalDateTime.class;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object convert(Field<?> field, String value) {
+        Class<?> type = field.type();
+        try {
+            if (type == String.class) {
+                return value;
+            }
+            if (type == Integer.class) {
+                return Integer.valueOf(value.trim());
+            }
+            if (type == Double.class) {
+                double number = Double.parseDouble(value.trim());
+                if (!Double.isFinite(number)) {
+                    throw new NumberFormatException(value);
+                }
+                return number;
+            }
+            if (type == Boolean.class) {
+                if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                    throw new IllegalArgumentException(value);
+                }
+                return Boolean.valueOf(value);
+            }
+            if (type == LocalDateTime.class) {
+                LocalDateTime time = TimestampParser.parse(value);
+                if (time == null) {
+                    throw new IllegalArgumentException(value);
+                }
+                return time;
+            }
+            return Enum.valueOf((Class) type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            String expected = type.isEnum() ? Arrays.toString(type.getEnumConstants())
+                    : "a " + type.getSimpleName();
+            throw new InvalidDataException("Invalid value '" + value + "' for field '" + field.name()
+                    + "'; expected " + expected);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Compilation
+    // ---------------------------------------------------------------------
+
+    private String plan(List<Filter<E>> filters, List<SortKey<E>> keys, String sortSpec, boolean keyset) {
+        String shape = filters.stream()
+                .map(f -> f.field().name() + ":" + f.operator().token())
+                .collect(Collectors.joining(";"))
+                + "|" + sortSpec + (keyset ? "|after" : "");
+        String jpql = plans.get(shape);
+        if (jpql == null) {
+            jpql = compile(filters, keys, keyset);
+            if (plans.size() < MAX_CACHED_PLANS) {
+                plans.putIfAbsent(shape, jpql);
+            }
+        }
+        return jpql;
+    }
+
+    private String compile(List<Filter<E>> filters, List<SortKey<E>> keys, boolean keyset) {
+        List<String> conditions = new ArrayList<>();
+        for (int i = 0; i < filters.size(); i++) {
+            conditions.add(condition(filters.get(i), "f" + i));
+        }
+        if (keyset) {
+            conditions.add(keysetCondition(keys));
+        }
+
+        StringBuilder jpql = new StringBuilder(select);
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY ").append(keys.stream()
+                .map(key -> key.field().sortExpression() + (key.descending() ? " DESC" : " ASC"))
+                .collect(Collectors.joining(", ")));
+        return jpql.toString();
+    }
+
+    private static String condition(Filter<?> filter, String parameter) {
+        String path = filter.field().path();
+        return switch (filter.operator()) {
+            case EQ -> path + " = :" + parameter;
+            case NE -> path + " <> :" + parameter;
+            case GT -> path + " > :" + parameter;
+            case GTE -> path + " >= :" + parameter;
+            case LT -> path + " < :" + parameter;
+            case LTE -> path + " <= :" + parameter;
+            case BETWEEN -> path + " BETWEEN :" + parameter + "a AND :" + parameter + "b";
+            case IN -> path + " IN :" + parameter;
+            case CONTAINS -> "LOWER(" + path + ") LIKE :" + parameter + " ESCAPE '\\'";
+            case NULL -> path + " IS NULL";
+            case NOT_NULL -> path + " IS NOT NULL";
+        };
+    }
+
+    /** Rows strictly after the cursor in the sort order. */
+    private static String keysetCondition(List<? extends SortKey<?>> keys) {
+        List<String> alternatives = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            StringBuilder alternative = new StringBuilder("(");
+            for (int j = 0; j < i; j++) {
+                alternative.append(keys.get(j).field().sortExpression()).append(" = :k").append(j).append(" AND ");
+            }
+            SortKey<?> key = keys.get(i);
+            alternative.append(key.field().sortExpression())
+                    .append(key.descending() ? " < :k" : " > :k").append(i).append(')');
+            alternatives.add(alternative.toString());
+        }
+        return "(" + String.join(" OR ", alternatives) + ")";
+    }
+
+    private static void bind(TypedQuery<?> query, int index, Filter<?> filter) {
+        String parameter = "f" + index;
+        List<Object> values = filter.values();
+        switch (filter.operator()) {
+            case BETWEEN -> {
+                query.setParameter(parameter + "a", values.get(0));
+                query.setParameter(parameter + "b", values.get(1));
+            }
+            case IN -> query.setParameter(parameter, values);
+            case CONTAINS -> query.setParameter(parameter,
+                    "%" + escapeLike(((String) values.get(0)).toLowerCase(Locale.ROOT)) + "%");
+            case NULL, NOT_NULL -> {
+                // no parameter
+            }
+            default -> query.setParameter(parameter, values.get(0));
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // ---------------------------------------------------------------------
+    // Page tokens
+    // ---------------------------------------------------------------------
+
+    private static String sortSpec(List<? extends SortKey<?>> keys) {
+        return keys.stream()
+                .map(key -> (key.descending() ? "-" : "") + key.field().name())
+                .collect(Collectors.joining(","));
+    }
+
+    private String encode(String sortSpec, List<SortKey<E>> keys, E last) {
+        StringBuilder raw = new StringBuilder(sortSpec);
+        for (SortKey<E> key : keys) {
+            raw.append('|').append(key.field().sortValue().apply(last));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Object> decode(String token, String sortSpec, List<? extends SortKey<?>> keys) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != keys.size() + 1 || !parts[0].equals(sortSpec)) {
+                throw new IllegalArgumentException("Token issued for another sort");
+            }
+            List<Object> values = new ArrayList<>(keys.size());
+            for (int i = 0; i < keys.size(); i++) {
+                values.add(convert(keys.get(i).field(), parts[i + 1]));
+            }
+            return values;
+        } catch (IllegalArgumentException | InvalidDataException e) {
+            throw new InvalidDataException("Invalid search token: " + token);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Types
+    // ---------------------------------------------------------------------
+
+    /**
+     * One page of results.
+     *
+     * @param <E>       the entity type
+     * @param rows      the rows, in sort order
+     * @param nextToken the token of the next page, or {@code null} on the last
+     *                  page
+     */
+    public record Page<E>(List<E> rows, String nextToken) {
+    }
+
+    /**
+     * A searchable property.
+     *
+     * @param name           the name used in filters and sort keys
+     * @param type           the Java type values are converted to
+     * @param path           the JPQL path filters apply to
+     * @param nullable       whether {@code null} and {@code notnull} apply
+     * @param sortExpression the JPQL expression sorted on, never null-valued;
+     *                       {@code null} if the field is not sortable
+     * @param sortValue      reads the value of {@code sortExpression} from a
+     *                       row, for page tokens
+     */
+    record Field<E>(String name, Class<?> type, String path, boolean nullable, String sortExpression,
+            Function<E, ?> sortValue) {
+
+        boolean sortable() {
+            return sortExpression != null;
+        }
+    }
+
+    private record Filter<E>(Field<E> field, SearchOperator operator, List<Object> values) {
+    }
+
+    private record SortKey<E>(Field<E> field, boolean descending) {
+    }
+
+    /**
+     * Declares the fields of an {@link EntitySearch}.
+     *
+     * @param <E> the entity type
+     */
+    public static final class Builder<E> {
+
+        private final Class<E> type;
+        private final String select;
+        private final Map<String, Field<E>> fields = new LinkedHashMap<>();
+
+        private Builder(Class<E> type, String select) {
+            this.type = type;
+            this.select = select;
+        }
+
+        /**
+         * Adds a filterable, non-null field.
+         *
+         * @param name      the field name
+         * @param fieldType the value type: {@code String}, {@code Integer},
+         *                  {@code Double}, {@code Boolean},
+         *                  {@code LocalDateTime} or an enum
+         * @param path      the JPQL path
+         * @return this builder
+         */
+        public Builder<E> field(String name, Class<?> fieldType, String path) {
+            return add(new Field<>(name, fieldType, path, false, null, null));
+        }
+
+        /**
+         * Adds a filterable field that may be null.
+         *
+         * @param name      the field name
+         * @param fieldType the value type
+         * @param path      the JPQL path
+         * @return this builder
+         */
+        public Builder<E> nullableField(String name, Class<?> fieldType, String path) {
+            return add(new Field<>(name, fieldType, path, true, null, null));
+        }
+
+        /**
+         * Adds a filterable and sortable non-null field.
+         *
+         * @param name      the field name
+         * @param fieldType the value type
+         * @param path      the JPQL path
+         * @param value     reads the field from a row
+         * @return this builder
+         */
+        public Builder<E> sortableField(String name, Class<?> fieldType, String path, Function<E, ?> value) {
+            return add(new Field<>(name, fieldType, path, false, path, value));
+        }
+
+        /**
+         * Adds a filterable field that may be null, sorted on an expression
+         * that never is, e.g. {@code COALESCE(t.score, -1.0)}.
+         *
+         * @param name           the field name
+         * @param fieldType      the value type
+         * @param path           the JPQL path
+         * @param sortExpression the JPQL expression sorted on
+         * @param sortValue      reads the value of {@code sortExpression}
+         *                       from a row
+         * @return this builder
+         */
+        public Builder<E> nullableSortableField(String name, Class<?> fieldType, String path,
+                String sortExpression, Function<E, ?> sortValue) {
+            return add(new Field<>(name, fieldType, path, true, sortExpression, sortValue));
+        }
+
+        private Builder<E> add(Field<E> field) {
+            if (!SUPPORTED_TYPES.contains(field.type()) && !field.type().isEnum()) {
+                throw new IllegalArgumentException("Unsupported search field type " + field.type());
+            }
+            if (fields.putIfAbsent(field.name(), field) != null) {
+                throw new IllegalArgumentException("Duplicate search field " + field.name());
+            }
+            return this;
+        }
+
+        /** @return the search */
+        public EntitySearch<E> build() {
+            return new EntitySearch<>(this);
+        }
+    }
+}
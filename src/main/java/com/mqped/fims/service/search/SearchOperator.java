@@ -0,0 +1,86 @@
+package com.mqped.fims.service.search;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Operators of the search filter grammar.
+ * <p>
+ * A filter clause is written {@code field:operator[:value]}; see
+ * {@link EntitySearch} for the full grammar.
+ * </p>
+ *
+ * @since 1.0
+ */
+public enum SearchOperator {
+
+    /** Equal to the value. */
+    EQ("eq"),
+
+    /** Different from the value; rows where the field is null do not match. */
+    NE("ne"),
+
+    /** Greater than the value. */
+    GT("gt"),
+
+    /** Greater than or equal to the value. */
+    GTE("gte"),
+
+    /** Less than the value. */
+    LT("lt"),
+
+    /** Less than or equal to the value. */
+    LTE("lte"),
+
+    /** Between two values separated by {@code |}, both inclusive. */
+    BETWEEN("between"),
+
+    /** Equal to one of the values separated by {@code |}. */
+    IN("in"),
+
+    /** Contains the value, ignoring case. */
+    CONTAINS("contains"),
+
+    /** The field is null; takes no value. */
+    NULL("null"),
+
+    /** The field is not null; takes no value. */
+    NOT_NULL("notnull");
+
+    private static final Map<String, SearchOperator> BY_TOKEN = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(SearchOperator::token, Function.identity()));
+
+    private final String token;
+
+    SearchOperator(String token) {
+        this.token = token;
+    }
+
+    /** @return the name of the operator in filter clauses, e.g. {@code gte} */
+    public String token() {
+        return token;
+    }
+
+    /**
+     * Resolves an operator from its token.
+     *
+     * @param token the token, in any case
+     * @return the operator, or {@code null} if there is none
+     */
+    static SearchOperator fromToken(String token) {
+        return BY_TOKEN.get(token.toLowerCase(Locale.ROOT));
+    }
+
+    /** @return whether the operator orders values, which needs a comparable field */
+    boolean isRange() {
+        return this == GT || this == GTE || this == LT || this == LTE || this == BETWEEN;
+    }
+
+    /** @return whether the operator takes no value */
+    boolean isNullCheck() {
+        return this == NULL || this == NOT_NULL;
+    }
+}
@@ -0,0 +1,137 @@
+package com.mqped.fims.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compact probabilistic set of strings.
+ * <p>
+ * {@link #mightContain} never returns {@code false} for an added key, and
+ * returns {@code true} for a key that was not added with about the false
+ * positive rate given at creation, as long as no more than the expected
+ * number of keys were added. Keys cannot be removed; a filter is rebuilt to
+ * drop them. Each key sets {@code k} bits chosen by double hashing one 64-bit
+ * hash. Safe for concurrent use: bits are set atomically and never cleared.
+ * </p>
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final int expectedInsertions;
+    private final AtomicInteger insertions = new AtomicInteger();
+
+    private BloomFilter(long bitCount, int hashCount, int expectedInsertions) {
+        this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    /**
+     * Creates a filter sized for a number of keys and a false positive rate.
+     *
+     * @param expectedInsertions the number of keys the filter is sized for
+     * @param falsePositiveRate  the false positive rate at that number of keys,
+     *                           between 0 and 1 exclusive
+     * @return an empty filter
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public static BloomFilter create(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        double ln2 = Math.log(2);
+        long bits = Math.max(64, (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        if (bits > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Filter too large for " + expectedInsertions + " keys");
+        }
+        int hashes = Math.max(1, (int) Math.round((double) bits / expectedInsertions * ln2));
+        return new BloomFilter(bits, hashes, expectedInsertions);
+    }
+
+    /**
+     * Adds a key.
+     *
+     * @param key the key
+     */
+    public void add(CharSequence key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+        insertions.incrementAndGet();
+    }
+
+    /**
+     * @param key the key to look up
+     * @return {@code false} if the key was certainly never added
+     */
+    public boolean mightContain(CharSequence key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return the number of {@link #add} calls, counting repeated keys */
+    public int insertions() {
+        return insertions.get();
+    }
+
+    /** @return the number of keys the filter was sized for */
+    public int expectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /** @return {@code true} once more keys were added than it was sized for */
+    public boolean isSaturated() {
+        return insertions.get() > expectedInsertions;
+    }
+
+    /** @return the number of bits */
+    public long bitCount() {
+        return bitCount;
+    }
+
+    /** @return the number of bits set per key */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    private long index(int combined) {
+        return (combined & Integer.MAX_VALUE) % bitCount;
+    }
+
+    /** FNV-1a over the characters, then the MurmurHash3 finalizer to spread the bits. */
+    private static long hash(CharSequence key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe53ec94bL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
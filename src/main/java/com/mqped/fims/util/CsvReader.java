@@ -0,0 +1,196 @@
+package com.mqped.fims.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads comma-separated files by tokenizing their bytes in place.
+ * <p>
+ * Files are memory-mapped, and {@link CsvRow} cursors record where each field
+ * starts and ends in the mapping instead of copying lines and fields into
+ * strings. Numbers and timestamps are parsed straight from those bytes; only
+ * fields read as text are decoded (UTF-8).
+ * </p>
+ *
+ * <p>
+ * Quoting follows RFC 4180: a field enclosed in double quotes may contain
+ * commas, line breaks and doubled quotes ({@code ""}). Rows end with
+ * {@code \n}, {@code \r\n} or {@code \r}; a leading UTF-8 byte order mark is
+ * skipped.
+ * </p>
+ *
+ * <h2>Large files and parallel reads</h2>
+ * <p>
+ * A mapping cannot exceed 2 GiB, so files are mapped in segments of
+ * {@value #SEGMENT_SIZE} bytes, each extended by {@value #MAX_ROW_BYTES}
+ * bytes so a row starting in a segment can be read whole from it; longer
+ * rows are rejected. {@link #split(long, int)} cuts the file at row
+ * boundaries so ranges can be read by separate cursors on separate threads.
+ * </p>
+ *
+ * <p>
+ * Mappings are released by the garbage collector; {@link #close()} only
+ * closes the file channel. Cursors must not be used after the reader is
+ * closed.
+ * </p>
+ */
+public final class CsvReader implements Closeable {
+
+    /** Bytes of the file covered by one mapping, excluding the overlap. */
+    static final int SEGMENT_SIZE = 1 << 30;
+
+    /** Longest row that can be read. */
+    static final int MAX_ROW_BYTES = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer[] segments;
+    private final int segmentSize;
+    private final long size;
+    private final long dataStart;
+
+    private CsvReader(FileChannel channel, ByteBuffer[] segments, int segmentSize, long size) {
+        this.channel = channel;
+        this.segments = segments;
+        this.segmentSize = segmentSize;
+        this.size = size;
+        this.dataStart = size >= 3 && segments[0].get(0) == (byte) 0xEF && segments[0].get(1) == (byte) 0xBB
+                && segments[0].get(2) == (byte) 0xBF ? 3 : 0;
+    }
+
+    /**
+     * Memory-maps a file for reading.
+     *
+     * @param file the file
+     * @return the reader; close it when done
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public static CsvReader open(Path file) throws IOException {
+        return open(file, SEGMENT_SIZE, MAX_ROW_BYTES);
+    }
+
+    static CsvReader open(Path file, int segmentSize, int maxRowBytes) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            int count = (int) Math.max(1, (size + segmentSize - 1) / segmentSize);
+            ByteBuffer[] segments = new ByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long start = (long) i * segmentSize;
+                long length = Math.min(size - start, (long) segmentSize + maxRowBytes);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.max(0, length));
+            }
+            return new CsvReader(channel, segments, segmentSize, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Wraps CSV content already in memory, e.g. a classpath resource.
+     *
+     * @param content the file content
+     * @return the reader
+     */
+    public static CsvReader of(byte[] content) {
+        return new CsvReader(null, new ByteBuffer[] { ByteBuffer.wrap(content) }, Integer.MAX_VALUE,
+                content.length);
+    }
+
+    /** @return the file size in bytes */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return a cursor over every row, header included, starting after the
+     *         byte order mark if any
+     */
+    public CsvRow rows() {
+        return rows(dataStart, size);
+    }
+
+    /**
+     * Returns a cursor over the rows starting in a byte range.
+     *
+     * @param from offset of the first row; must be a row boundary, such as
+     *             {@link CsvRow#end()} of a previous row or a value returned by
+     *             {@link #split(long, int)}
+     * @param to   rows starting at or after this offset are not read
+     * @return the cursor
+     */
+    public CsvRow rows(long from, long to) {
+        if (from < 0 || from > size || to < from) {
+            throw new IllegalArgumentException("Invalid row range [" + from + ", " + to + ") for " + size + " bytes");
+        }
+        return new CsvRow(this, Math.max(from, dataStart), Math.min(to, size));
+    }
+
+    /**
+     * Cuts the rows starting at {@code from} into ranges of roughly equal size.
+     * <p>
+     * Boundaries are placed after line breaks that are outside quoted fields,
+     * which takes a single sequential pass counting quotes. Ranges may be
+     * fewer than requested when the file has fewer rows.
+     * </p>
+     *
+     * @param from  a row boundary, e.g. the {@link CsvRow#end()} of the header
+     * @param parts the number of ranges wanted
+     * @return ascending boundaries, from {@code from} to {@link #size()}; range
+     *         {@code i} is {@code [bounds[i], bounds[i + 1])}
+     */
+    public long[] split(long from, int parts) {
+        if (parts < 1) {
+            throw new IllegalArgumentException("Parts must be positive");
+        }
+        from = Math.max(from, dataStart);
+        long[] bounds = new long[parts + 1];
+        bounds[0] = from;
+        int found = 1;
+        long step = Math.max(1, (size - from) / parts);
+        long target = from + step;
+        boolean quoted = false;
+        for (long pos = from; pos < size && found < parts; pos++) {
+            byte b = byteAt(pos);
+            if (b == '"') {
+                quoted = !quoted;
+            } else if (b == '\n' && !quoted && pos + 1 >= target && pos + 1 < size) {
+                bounds[found++] = pos + 1;
+                target = pos + 1 + step;
+            }
+        }
+        bounds[found] = size;
+        return found == parts ? bounds : Arrays.copyOf(bounds, found + 1);
+    }
+
+    /** Closes the file channel. */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private byte byteAt(long pos) {
+        int segment = (int) (pos / segmentSize);
+        return segments[segment].get((int) (pos - (long) segment * segmentSize));
+    }
+
+    /**
+     * @return a private view of the segment holding rows that start at
+     *         {@code pos}, safe to read from one thread
+     */
+    ByteBuffer segmentFor(long pos) {
+        return segments[(int) (pos / segmentSize)].duplicate();
+    }
+
+    /** @return the file offset of the first byte of the segment holding {@code pos} */
+    long segmentBase(long pos) {
+        return pos / segmentSize * segmentSize;
+    }
+}
@@ -0,0 +1,434 @@
+package com.mqped.fims.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Cursor over the rows of a {@link CsvReader}, exposing the fields of the
+ * current row.
+ * <p>
+ * {@link #next()} tokenizes one row, recording field boundaries in reused
+ * arrays; nothing is allocated per row or per field unless a field is read
+ * as a {@link String}. Integers, decimals and timestamps are parsed from the
+ * bytes directly, falling back to the JDK parsers for unusual notations
+ * (exponents, very long mantissas, offsets).
+ * </p>
+ *
+ * <p>
+ * A cursor is not thread-safe; read separate ranges with separate cursors.
+ * </p>
+ *
+ * <h2>Example</h2>
+ *
+ * <pre>{@code
+ * try (CsvReader csv = CsvReader.open(path)) {
+ *     CsvRow row = csv.rows();
+ *     row.next(); // header
+ *     while (row.next()) {
+ *         Double latitude = row.getDoubleOrNull(11);
+ *     }
+ * }
+ * }</pre>
+ */
+public final class CsvRow {
+
+    /** Largest mantissa converted exactly by a {@code double}. */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    private static final byte PLAIN = 0;
+    private static final byte QUOTED = 1;
+    private static final byte ESCAPED = 2;
+
+    private final CsvReader reader;
+    private final long limit;
+    private long position;
+
+    private ByteBuffer buffer;
+    private long base;
+    private long start;
+    private long end;
+    private long number;
+    private boolean malformed;
+
+    private int count;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private byte[] kinds = new byte[16];
+    private byte[] scratch = new byte[256];
+
+    CsvRow(CsvReader reader, long from, long limit) {
+        this.reader = reader;
+        this.position = from;
+        this.limit = limit;
+    }
+
+    /**
+     * Moves to the next row.
+     *
+     * @return {@code false} if there are no more rows in the range
+     * @throws IllegalStateException if a row is longer than the reader allows
+     */
+    public boolean next() {
+        if (position >= limit) {
+            count = 0;
+            return false;
+        }
+        long segmentBase = reader.segmentBase(position);
+        if (buffer == null || segmentBase != base) {
+            // Rows starting in a segment are read whole from its overlap
+            buffer = reader.segmentFor(position);
+            base = segmentBase;
+        }
+        tokenize((int) (position - base));
+        number++;
+        return true;
+    }
+
+    private void tokenize(int i) {
+        int bufferEnd = buffer.limit();
+        boolean atFileEnd = base + bufferEnd >= reader.size();
+        start = base + i;
+        count = 0;
+        malformed = false;
+
+        while (true) {
+            if (i < bufferEnd && buffer.get(i) == '"') {
+                int fieldStart = ++i;
+                byte kind = QUOTED;
+                while (true) {
+                    if (i >= bufferEnd) {
+                        if (!atFileEnd) {
+                            throw tooLong();
+                        }
+                        malformed = true; // unterminated quote
+                        break;
+                    }
+                    if (buffer.get(i) == '"') {
+                        if (i + 1 < bufferEnd && buffer.get(i + 1) == '"') {
+                            kind = ESCAPED;
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                addField(fieldStart, i, kind);
+                if (i < bufferEnd) {
+                    i++; // closing quote
+                }
+                while (i < bufferEnd && !isDelimiter(buffer.get(i))) {
+                    malformed = true; // text after the closing quote
+                    i++;
+                }
+            } else {
+                int fieldStart = i;
+                while (i < bufferEnd && !isDelimiter(buffer.get(i))) {
+                    i++;
+                }
+                addField(fieldStart, i, PLAIN);
+            }
+
+            if (i >= bufferEnd) {
+                if (!atFileEnd) {
+                    throw tooLong();
+                }
+                end = base + i;
+                position = end;
+                return;
+            }
+            byte b = buffer.get(i);
+            if (b == ',') {
+                i++;
+                continue;
+            }
+            i++;
+            if (b == '\r' && i < bufferEnd && buffer.get(i) == '\n') {
+                i++;
+            }
+            end = base + i;
+            position = end;
+            return;
+        }
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ',' || b == '\n' || b == '\r';
+    }
+
+    private void addField(int fieldStart, int fieldEnd, byte kind) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+            kinds = Arrays.copyOf(kinds, count * 2);
+        }
+        starts[count] = fieldStart;
+        ends[count] = fieldEnd;
+        kinds[count] = kind;
+        count++;
+    }
+
+    private IllegalStateException tooLong() {
+        return new IllegalStateException("CSV row at offset " + start + " is longer than "
+                + CsvReader.MAX_ROW_BYTES + " bytes");
+    }
+
+    /** @return the file offset of the current row */
+    public long start() {
+        return start;
+    }
+
+    /**
+     * @return the file offset right after the current row and its line break,
+     *         i.e. where the next row starts
+     */
+    public long end() {
+        return end;
+    }
+
+    /** @return the 1-based position of the current row within this cursor */
+    public long number() {
+        return number;
+    }
+
+    /** @return the number of fields in the current row */
+    public int size() {
+        return count;
+    }
+
+    /** @return {@code true} if the row is an empty line */
+    public boolean isBlank() {
+        return count == 1 && starts[0] == ends[0] && kinds[0] == PLAIN;
+    }
+
+    /**
+     * @return {@code true} if a quoted field is unterminated or followed by
+     *         text before the next delimiter
+     */
+    public boolean isMalformed() {
+        return malformed;
+    }
+
+    /**
+     * @param index the field index
+     * @return {@code true} if the field has no characters
+     */
+    public boolean isEmpty(int index) {
+        Objects.checkIndex(index, count);
+        return starts[index] == ends[index];
+    }
+
+    /**
+     * @param index the field index
+     * @return {@code true} if the field is empty or only spaces
+     */
+    public boolean isBlank(int index) {
+        Objects.checkIndex(index, count);
+        return trimStart(index) == trimEnd(index);
+    }
+
+    /**
+     * Decodes a field as UTF-8 text, unescaping doubled quotes.
+     *
+     * @param index the field index
+     * @return the field text
+     */
+    public String getString(int index) {
+        Objects.checkIndex(index, count);
+        int from = starts[index];
+        int length = ends[index] - from;
+        if (length == 0) {
+            return "";
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        if (kinds[index] != ESCAPED) {
+            buffer.get(from, scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        int n = 0;
+        for (int i = from; i < ends[index]; i++) {
+            byte b = buffer.get(i);
+            scratch[n++] = b;
+            if (b == '"') {
+                i++; // skip the second quote of the pair
+            }
+        }
+        return new String(scratch, 0, n, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses a field as an {@code int}, ignoring surrounding spaces.
+     *
+     * @param index the field index
+     * @return the value
+     * @throws NumberFormatException if the field is not a decimal integer in
+     *                               range
+     */
+    public int getInt(int index) {
+        long value = getLong(index);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value out of int range: \"" + getString(index) + "\"");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Parses a field as a {@code long}, ignoring surrounding spaces.
+     *
+     * @param index the field index
+     * @return the value
+     * @throws NumberFormatException if the field is not a decimal integer in
+     *                               range
+     */
+    public long getLong(int index) {
+        Objects.checkIndex(index, count);
+        int i = trimStart(index);
+        int to = trimEnd(index);
+        boolean negative = false;
+        if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        if (i == to) {
+            throw new NumberFormatException("Not an integer: \"" + getString(index) + "\"");
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Not an integer: \"" + getString(index) + "\"");
+            }
+            // Accumulate negatively so Long.MIN_VALUE is representable
+            if (value < (Long.MIN_VALUE + digit) / 10) {
+                throw new NumberFormatException("Value out of range: \"" + getString(index) + "\"");
+            }
+            value = value * 10 - digit;
+        }
+        if (!negative) {
+            if (value == Long.MIN_VALUE) {
+                throw new NumberFormatException("Value out of range: \"" + getString(index) + "\"");
+            }
+            return -value;
+        }
+        return value;
+    }
+
+    /**
+     * Parses a field as a {@code double}, ignoring surrounding spaces.
+     * <p>
+     * Plain decimals with up to 15 significant digits, such as coordinates,
+     * are converted from the bytes with a single correctly rounded division;
+     * anything else goes through {@link Double#parseDouble(String)}, so results
+     * are always identical to it.
+     * </p>
+     *
+     * @param index the field index
+     * @return the value
+     * @throws NumberFormatException if the field is not a number
+     */
+    public double getDouble(int index) {
+        Objects.checkIndex(index, count);
+        int i = trimStart(index);
+        int to = trimEnd(index);
+        boolean negative = false;
+        if (i < to && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negative = buffer.get(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+                if (++digits > 15) {
+                    return Double.parseDouble(getString(index).trim());
+                }
+            } else if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return Double.parseDouble(getString(index).trim());
+            }
+        }
+        if (digits == 0 || mantissa >= MAX_EXACT_MANTISSA) {
+            return Double.parseDouble(getString(index).trim());
+        }
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    /**
+     * @param index the field index
+     * @return the field as a {@code double}, or {@code null} if it is blank
+     * @throws NumberFormatException if the field is not a number
+     */
+    public Double getDoubleOrNull(int index) {
+        return isBlank(index) ? null : getDouble(index);
+    }
+
+    /**
+     * Parses a field as a timestamp, ignoring surrounding spaces.
+     * <p>
+     * Accepts {@code yyyy-MM-dd'T'HH:mm[:ss[.fraction]]} (ISO) and
+     * {@code yyyy-MM-dd HH:mm:ss[.SSSSSS]}, the two layouts of the extracts,
+     * with up to nine fraction digits, through {@link TimestampParser}.
+     * </p>
+     *
+     * @param index the field index
+     * @return the timestamp, or {@code null} if the field is blank
+     * @throws DateTimeParseException if the field is not a timestamp
+     */
+    public LocalDateTime getDateTime(int index) {
+        Objects.checkIndex(index, count);
+        int from = trimStart(index);
+        int to = trimEnd(index);
+        if (from == to) {
+            return null;
+        }
+        LocalDateTime parsed = TimestampParser.parseFixed(buffer, from, to);
+        return parsed != null ? parsed : TimestampParser.parseWithFormatters(getString(index).trim());
+    }
+
+    private int trimStart(int index) {
+        int i = starts[index];
+        while (i < ends[index] && buffer.get(i) == ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    private int trimEnd(int index) {
+        int i = ends[index];
+        while (i > starts[index] && buffer.get(i - 1) == ' ') {
+            i--;
+        }
+        return i;
+    }
+
+    /** @return the fields of the current row, decoded, for messages and debugging */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(getString(i));
+        }
+        return text.toString();
+    }
+}
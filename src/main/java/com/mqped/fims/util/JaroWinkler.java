@@ -0,0 +1,143 @@
+package com.mqped.fims.util;
+
+/**
+ * Jaro-Winkler string similarity.
+ * <p>
+ * Returns a score between {@code 0.0} (nothing in common) and {@code 1.0}
+ * (identical), boosting strings that share a prefix of up to four characters.
+ * Comparison is exact; callers normalize case and accents beforehand.
+ * </p>
+ *
+ * <p>
+ * Strings of up to 64 characters — virtually every person name — track
+ * matched positions in {@code long} bit masks, so scoring a pair does not
+ * allocate. Longer strings fall back to boolean arrays.
+ * </p>
+ */
+public final class JaroWinkler {
+
+    /** Weight given to each character of the common prefix. */
+    private static final double PREFIX_SCALE = 0.1;
+
+    /** Longest prefix taken into account. */
+    private static final int MAX_PREFIX = 4;
+
+    private JaroWinkler() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Computes the Jaro-Winkler similarity of two strings.
+     *
+     * @param a the first string
+     * @param b the second string
+     * @return the similarity, from {@code 0.0} to {@code 1.0}
+     */
+    public static double similarity(CharSequence a, CharSequence b) {
+        double jaro = jaro(a, b);
+        int prefix = 0;
+        int limit = Math.min(MAX_PREFIX, Math.min(a.length(), b.length()));
+        while (prefix < limit && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * PREFIX_SCALE * (1.0 - jaro);
+    }
+
+    /**
+     * Computes the plain Jaro similarity of two strings.
+     *
+     * @param a the first string
+     * @param b the second string
+     * @return the similarity, from {@code 0.0} to {@code 1.0}
+     */
+    public static double jaro(CharSequence a, CharSequence b) {
+        int la = a.length();
+        int lb = b.length();
+        if (la == 0 || lb == 0) {
+            return la == lb ? 1.0 : 0.0;
+        }
+        return la <= Long.SIZE && lb <= Long.SIZE ? jaroMasked(a, b) : jaroArrays(a, b);
+    }
+
+    private static double jaroMasked(CharSequence a, CharSequence b) {
+        int la = a.length();
+        int lb = b.length();
+        int window = Math.max(0, Math.max(la, lb) / 2 - 1);
+        long matchedA = 0;
+        long matchedB = 0;
+        int matches = 0;
+
+        for (int i = 0; i < la; i++) {
+            char c = a.charAt(i);
+            int end = Math.min(i + window + 1, lb);
+            for (int j = Math.max(0, i - window); j < end; j++) {
+                if ((matchedB & (1L << j)) == 0 && b.charAt(j) == c) {
+                    matchedA |= 1L << i;
+                    matchedB |= 1L << j;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+
+        int transpositions = 0;
+        long restB = matchedB;
+        for (long restA = matchedA; restA != 0; restA &= restA - 1) {
+            int i = Long.numberOfTrailingZeros(restA);
+            int j = Long.numberOfTrailingZeros(restB);
+            restB &= restB - 1;
+            if (a.charAt(i) != b.charAt(j)) {
+                transpositions++;
+            }
+        }
+        return score(matches, transpositions, la, lb);
+    }
+
+    private static double jaroArrays(CharSequence a, CharSequence b) {
+        int la = a.length();
+        int lb = b.length();
+        int window = Math.max(0, Math.max(la, lb) / 2 - 1);
+        boolean[] matchedA = new boolean[la];
+        boolean[] matchedB = new boolean[lb];
+        int matches = 0;
+
+        for (int i = 0; i < la; i++) {
+            char c = a.charAt(i);
+            int end = Math.min(i + window + 1, lb);
+            for (int j = Math.max(0, i - window); j < end; j++) {
+                if (!matchedB[j] && b.charAt(j) == c) {
+                    matchedA[i] = true;
+                    matchedB[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+
+        int transpositions = 0;
+        int j = 0;
+        for (int i = 0; i < la; i++) {
+            if (matchedA[i]) {
+                while (!matchedB[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+        return score(matches, transpositions, la, lb);
+    }
+
+    private static double score(int matches, int transpositions, int la, int lb) {
+        double m = matches;
+        return (m / la + m / lb + (m - transpositions / 2.0) / m) / 3.0;
+    }
+}
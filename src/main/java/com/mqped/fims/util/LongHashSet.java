@@ -0,0 +1,123 @@
+package com.mqped.fims.util;
+
+import java.util.Arrays;
+
+/**
+ * Set of primitive {@code long} values backed by an open-addressing table.
+ * <p>
+ * Used to hold large numbers of keys (e.g. every CPF already stored) without
+ * boxing each one into a {@link Long}. Collisions are resolved by linear
+ * probing and the table doubles once it is half full. Not thread-safe.
+ * </p>
+ */
+public final class LongHashSet {
+
+    /** Marks an empty slot; zero itself is tracked by {@link #containsZero}. */
+    private static final long EMPTY = 0L;
+
+    private long[] table;
+    private int mask;
+    private int size;
+    private boolean containsZero;
+
+    /** Creates an empty set. */
+    public LongHashSet() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty set sized to hold {@code expected} values without
+     * resizing.
+     *
+     * @param expected the expected number of values
+     */
+    public LongHashSet(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1;
+        table = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Adds a value to the set.
+     *
+     * @param value the value to add
+     * @return {@code true} if the value was not already present
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int slot = slot(value);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        if (++size * 2 > table.length) {
+            grow();
+        }
+        return true;
+    }
+
+    /**
+     * @param value the value to look up
+     * @return {@code true} if the set contains {@code value}
+     */
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int slot = slot(value);
+        while (table[slot] != EMPTY) {
+            if (table[slot] == value) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /** @return the number of values in the set */
+    public int size() {
+        return size;
+    }
+
+    /** @return {@code true} if the set holds no values */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Removes every value, keeping the current capacity. */
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        containsZero = false;
+        size = 0;
+    }
+
+    private int slot(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void grow() {
+        long[] old = table;
+        table = new long[old.length << 1];
+        mask = table.length - 1;
+        for (long value : old) {
+            if (value != EMPTY) {
+                int slot = slot(value);
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = value;
+            }
+        }
+    }
+}
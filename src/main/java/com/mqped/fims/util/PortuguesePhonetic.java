@@ -0,0 +1,158 @@
+package com.mqped.fims.util;
+
+/**
+ * Phonetic encoding of Brazilian Portuguese names.
+ * <p>
+ * Produces a short consonant skeleton so that spellings that sound alike get
+ * the same code: {@code "Conceição"}, {@code "Conseição"} and
+ * {@code "Comceissão"} all encode to {@code "KNSS"}, {@code "Helena"} and
+ * {@code "Elena"} to {@code "ELN"}, {@code "Walter"} and {@code "Valter"} to
+ * {@code "VLTR"}. Accents are folded first (see {@link StringNormalizer}).
+ * </p>
+ *
+ * <p>
+ * Rules, applied left to right:
+ * </p>
+ * <ul>
+ * <li>a leading vowel is kept ({@code Y} reads as {@code I}); other vowels are
+ * dropped</li>
+ * <li>{@code CH}, {@code SH}, {@code X} → {@code X}; {@code PH} → {@code F};
+ * {@code LH} → {@code L}; {@code NH} → {@code N}; other {@code H}s are
+ * silent</li>
+ * <li>{@code C} before {@code E/I/Y}, {@code Ç}, {@code Z}, {@code SC} before
+ * {@code E/I} → {@code S}; other {@code C}s, {@code K}, {@code Q(U)} →
+ * {@code K}</li>
+ * <li>{@code G} before {@code E/I/Y} → {@code J}; {@code GU} before
+ * {@code E/I} → {@code G}</li>
+ * <li>{@code M} before a consonant or at the end → {@code N}; {@code W} →
+ * {@code V}</li>
+ * <li>repeated codes collapse, so {@code SS}, {@code RR}, {@code LL} count
+ * once</li>
+ * </ul>
+ * The code is truncated to {@link #MAX_LENGTH} characters.
+ */
+public final class PortuguesePhonetic {
+
+    /** Maximum length of a code. */
+    public static final int MAX_LENGTH = 6;
+
+    private PortuguesePhonetic() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Encodes a single word.
+     *
+     * @param word the word to encode; characters other than letters are
+     *             ignored
+     * @return the phonetic code, empty if {@code word} is null or has no letters
+     */
+    public static String encode(CharSequence word) {
+        if (word == null) {
+            return "";
+        }
+        // Ç must become S before accents are folded, or it would read as a hard C
+        String text = StringNormalizer.normalize(word.toString().replace('ç', 's').replace('Ç', 'S'));
+        int n = text.length();
+        char[] out = new char[MAX_LENGTH];
+        int length = 0;
+        char last = 0;
+
+        for (int i = 0; i < n && length < MAX_LENGTH; i++) {
+            char c = letterAt(text, i);
+            if (c == 0) {
+                continue;
+            }
+            char next = letterAt(text, i + 1);
+            char code;
+            switch (c) {
+                case 'A', 'E', 'I', 'O', 'U', 'Y' -> {
+                    if (length == 0) {
+                        out[length++] = c == 'Y' ? 'I' : c;
+                    }
+                    last = 0; // a vowel separates repeated consonants
+                    continue;
+                }
+                case 'H' -> {
+                    continue; // silent unless consumed by CH, LH, NH, PH, SH
+                }
+                case 'C' -> {
+                    if (next == 'H') {
+                        code = 'X';
+                        i++;
+                    } else {
+                        code = isFrontVowel(next) ? 'S' : 'K';
+                    }
+                }
+                case 'G' -> {
+                    if (next == 'U' && isFrontVowel(letterAt(text, i + 2))) {
+                        code = 'G';
+                        i++;
+                    } else {
+                        code = isFrontVowel(next) ? 'J' : 'G';
+                    }
+                }
+                case 'L', 'N' -> {
+                    code = c;
+                    if (next == 'H') {
+                        i++;
+                    }
+                }
+                case 'M' -> code = next == 0 || !isVowel(next) ? 'N' : 'M';
+                case 'P' -> {
+                    if (next == 'H') {
+                        code = 'F';
+                        i++;
+                    } else {
+                        code = 'P';
+                    }
+                }
+                case 'Q' -> {
+                    code = 'K';
+                    if (next == 'U') {
+                        i++;
+                    }
+                }
+                case 'S' -> {
+                    if (next == 'H') {
+                        code = 'X';
+                        i++;
+                    } else {
+                        code = 'S';
+                        if (next == 'C' && isFrontVowel(letterAt(text, i + 2))) {
+                            i++;
+                        }
+                    }
+                }
+                case 'Z' -> code = 'S';
+                case 'W' -> code = 'V';
+                default -> code = c;
+            }
+            if (code != last) {
+                out[length++] = code;
+                last = code;
+            }
+        }
+        return new String(out, 0, length);
+    }
+
+    /** @return the upper-case ASCII letter at {@code index}, or {@code 0} */
+    private static char letterAt(String text, int index) {
+        if (index >= text.length()) {
+            return 0;
+        }
+        char c = text.charAt(index);
+        if (c >= 'a' && c <= 'z') {
+            return (char) (c - ('a' - 'A'));
+        }
+        return c >= 'A' && c <= 'Z' ? c : 0;
+    }
+
+    private static boolean isVowel(char c) {
+        return c == 'A' || c == 'E' || c == 'I' || c == 'O' || c == 'U' || c == 'Y';
+    }
+
+    private static boolean isFrontVowel(char c) {
+        return c == 'E' || c == 'I' || c == 'Y';
+    }
+}
@@ -1,9 +1,33 @@
 package com.mqped.fims.util;
 
 import java.text.Normalizer;
+import java.util.regex.Pattern;
 
+/**
+ * Removes diacritics (accents) from text.
+ * <p>
+ * Characters up to the end of Latin Extended-B (U+024F) are folded through a
+ * lookup table computed once from {@link Normalizer} decompositions, and
+ * combining marks (U+0300–U+036F) are dropped. Pure ASCII input is returned
+ * as-is without allocating. Only text containing other code points (e.g.
+ * Latin Extended Additional or Greek) falls back to the full NFD path, so the
+ * result is always identical to NFD followed by removal of all marks.
+ * </p>
+ */
 public class StringNormalizer {
 
+    /** Marks stripped on the NFD fallback path. */
+    private static final Pattern MARKS = Pattern.compile("\\p{M}");
+
+    /** End (exclusive) of the range covered by {@link #FOLD}. */
+    private static final int TABLE_END = 0x0250;
+
+    /** Table entry for characters that do not fold to a single character. */
+    private static final char NO_FOLD = '\uFFFF';
+
+    /** Folded form of each character below {@link #TABLE_END}. */
+    private static final char[] FOLD = buildFoldTable();
+
     private StringNormalizer() {
         // Utility class - prevent instantiation
     }
@@ -17,10 +41,62 @@ public class StringNormalizer {
             return text;
         }
 
+        int length = text.length();
+        int i = 0;
+        while (i < length && text.charAt(i) < 0x80) {
+            i++;
+        }
+        if (i == length) {
+            return text; // ASCII fast path
+        }
+
+        StringBuilder folded = new StringBuilder(length);
+        folded.append(text, 0, i);
+        if (!fold(text, i, length, folded)) {
+            return normalizeSlow(text);
+        }
+        return folded.toString();
+    }
+
+    /**
+     * Folds {@code [start, end)} into {@code target} using the table.
+     *
+     * @return {@code false} if a character needs the NFD fallback; in that case
+     *         {@code target} holds a partial result
+     */
+    private static boolean fold(String source, int start, int end, StringBuilder target) {
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            if (c < 0x80) {
+                target.append(c);
+            } else if (c < TABLE_END) {
+                char f = FOLD[c];
+                if (f == NO_FOLD) {
+                    return false;
+                }
+                target.append(f);
+            } else if (c < 0x0300 || c > 0x036F) {
+                return false;
+            }
+            // combining diacritical marks are dropped
+        }
+        return true;
+    }
+
+    private static String normalizeSlow(String text) {
         // Decompose characters into base + diacritic marks
         String normalized = Normalizer.normalize(text, Normalizer.Form.NFD);
 
         // Remove diacritic marks (Unicode category Mn = Mark, Nonspacing)
-        return normalized.replaceAll("\\p{M}", "");
+        return MARKS.matcher(normalized).replaceAll("");
+    }
+
+    private static char[] buildFoldTable() {
+        char[] table = new char[TABLE_END];
+        for (char c = 0; c < TABLE_END; c++) {
+            String folded = normalizeSlow(String.valueOf(c));
+            table[c] = folded.length() == 1 ? folded.charAt(0) : NO_FOLD;
+        }
+        return table;
     }
-}
\ No newline at end of file
+}
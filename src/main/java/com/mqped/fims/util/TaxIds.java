@@ -0,0 +1,193 @@
+package com.mqped.fims.util;
+
+/**
+ * Parses and validates Brazilian taxpayer identifiers (CPF and CNPJ).
+ * <p>
+ * Identifiers are reduced to a canonical {@code long} key holding their
+ * digits, so {@code "123.456.789-09"}, {@code "12345678909"} and
+ * {@code "123 456 789 09"} all map to {@code 12345678909L}. Punctuation
+ * ({@code '.'}, {@code '-'}, {@code '/'}) and spaces are ignored; any other
+ * character, a wrong number of digits, a repeated-digit sequence (e.g.
+ * {@code 111.111.111-11}) or a modulo-11 check-digit mismatch makes the input
+ * invalid.
+ * </p>
+ *
+ * <p>
+ * Parsing walks the {@link CharSequence} once, accumulating the key and the
+ * weighted check-digit sums as it goes, and never allocates.
+ * </p>
+ */
+public final class TaxIds {
+
+    /** Returned by the parse methods when the input is not a valid identifier. */
+    public static final long INVALID = -1L;
+
+    /** Number of digits in a CPF. */
+    public static final int CPF_DIGITS = 11;
+
+    /** Number of digits in a CNPJ. */
+    public static final int CNPJ_DIGITS = 14;
+
+    /** Weights for the first CNPJ check digit; the second uses {@code 6} followed by these. */
+    private static final int[] CNPJ_WEIGHTS = { 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2 };
+
+    private TaxIds() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Parses a CPF into its canonical key.
+     *
+     * @param cpf the CPF, formatted or not
+     * @return the 11-digit key, or {@link #INVALID} if {@code cpf} is null,
+     *         malformed or fails check-digit verification
+     */
+    public static long parseCpf(CharSequence cpf) {
+        if (cpf == null) {
+            return INVALID;
+        }
+        long key = 0;
+        int count = 0;
+        int first = -1;
+        boolean repeated = true;
+        int sum1 = 0;
+        int sum2 = 0;
+        for (int i = 0, n = cpf.length(); i < n; i++) {
+            char c = cpf.charAt(i);
+            if (isSeparator(c)) {
+                continue;
+            }
+            int d = c - '0';
+            if (d < 0 || d > 9 || count == CPF_DIGITS) {
+                return INVALID;
+            }
+            if (count < 9) {
+                sum1 += d * (10 - count);
+                sum2 += d * (11 - count);
+            } else if (count == 9) {
+                if (d != checkDigit(sum1)) {
+                    return INVALID;
+                }
+                sum2 += d * 2;
+            } else if (d != checkDigit(sum2)) {
+                return INVALID;
+            }
+            if (first < 0) {
+                first = d;
+            } else if (d != first) {
+                repeated = false;
+            }
+            key = key * 10 + d;
+            count++;
+        }
+        return count == CPF_DIGITS && !repeated ? key : INVALID;
+    }
+
+    /**
+     * Parses a CNPJ into its canonical key.
+     *
+     * @param cnpj the CNPJ, formatted or not
+     * @return the 14-digit key, or {@link #INVALID} if {@code cnpj} is null,
+     *         malformed or fails check-digit verification
+     */
+    public static long parseCnpj(CharSequence cnpj) {
+        if (cnpj == null) {
+            return INVALID;
+        }
+        long key = 0;
+        int count = 0;
+        int first = -1;
+        boolean repeated = true;
+        int sum1 = 0;
+        int sum2 = 0;
+        for (int i = 0, n = cnpj.length(); i < n; i++) {
+            char c = cnpj.charAt(i);
+            if (isSeparator(c)) {
+                continue;
+            }
+            int d = c - '0';
+            if (d < 0 || d > 9 || count == CNPJ_DIGITS) {
+                return INVALID;
+            }
+            if (count < 12) {
+                sum1 += d * CNPJ_WEIGHTS[count];
+                sum2 += d * (count == 0 ? 6 : CNPJ_WEIGHTS[count - 1]);
+            } else if (count == 12) {
+                if (d != checkDigit(sum1)) {
+                    return INVALID;
+                }
+                sum2 += d * 2;
+            } else if (d != checkDigit(sum2)) {
+                return INVALID;
+            }
+            if (first < 0) {
+                first = d;
+            } else if (d != first) {
+                repeated = false;
+            }
+            key = key * 10 + d;
+            count++;
+        }
+        return count == CNPJ_DIGITS && !repeated ? key : INVALID;
+    }
+
+    /**
+     * @param cpf the CPF to check
+     * @return {@code true} if {@code cpf} parses to a valid key
+     */
+    public static boolean isValidCpf(CharSequence cpf) {
+        return parseCpf(cpf) != INVALID;
+    }
+
+    /**
+     * @param cnpj the CNPJ to check
+     * @return {@code true} if {@code cnpj} parses to a valid key
+     */
+    public static boolean isValidCnpj(CharSequence cnpj) {
+        return parseCnpj(cnpj) != INVALID;
+    }
+
+    /**
+     * Formats a CPF key as {@code XXX.XXX.XXX-XX}.
+     *
+     * @param key a key returned by {@link #parseCpf(CharSequence)}
+     * @return the formatted CPF
+     */
+    public static String formatCpf(long key) {
+        char[] out = "000.000.000-00".toCharArray();
+        fill(out, key);
+        return new String(out);
+    }
+
+    /**
+     * Formats a CNPJ key as {@code XX.XXX.XXX/XXXX-XX}.
+     *
+     * @param key a key returned by {@link #parseCnpj(CharSequence)}
+     * @return the formatted CNPJ
+     */
+    public static String formatCnpj(long key) {
+        char[] out = "00.000.000/0000-00".toCharArray();
+        fill(out, key);
+        return new String(out);
+    }
+
+    /** Writes the digits of {@code key} right to left over the digit slots of {@code out}. */
+    private static void fill(char[] out, long key) {
+        long rest = key;
+        for (int i = out.length - 1; i >= 0; i--) {
+            if (out[i] == '0') {
+                out[i] = (char) ('0' + rest % 10);
+                rest /= 10;
+            }
+        }
+    }
+
+    private static int checkDigit(int sum) {
+        int remainder = sum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == '-' || c == '/' || c == ' ';
+    }
+}
@@ -0,0 +1,202 @@
+package com.mqped.fims.util;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parses the timestamps of the CSV extracts and of API payloads.
+ * <p>
+ * Both use fixed layouts: ISO {@code yyyy-MM-dd'T'HH:mm[:ss[.fraction]]} and
+ * the contract extracts' {@code yyyy-MM-dd HH:mm:ss.SSSSSS}. These are read
+ * by position, straight from a character or byte range, with no intermediate
+ * objects; {@link DateTimeFormatter} builds a field map and a resolver for
+ * every value and dominated import profiles. Anything else (offsets, missing
+ * seconds digits, out-of-range fields) falls back to the formatters, so
+ * results and errors are the same as before.
+ * </p>
+ *
+ * <p>
+ * The {@code parseFixed} methods return {@code null} instead of throwing when
+ * the input does not follow a fixed layout, so callers can fall back without
+ * an exception on their hot path.
+ * </p>
+ */
+public final class TimestampParser {
+
+    /** Layout of the contract extracts. */
+    private static final DateTimeFormatter SPACE_SEPARATED = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd HH:mm:ss[.SSSSSS]");
+
+    /** Length of {@code yyyy-MM-ddTHH:mm}, the shortest fixed layout. */
+    private static final int MIN_LENGTH = 16;
+
+    private static final int[] NANO_SCALE = {
+            0, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1 };
+
+    private TimestampParser() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Parses a timestamp, ignoring surrounding spaces.
+     *
+     * @param text the timestamp
+     * @return the timestamp, or {@code null} if {@code text} is null or blank
+     * @throws DateTimeParseException if {@code text} is not a timestamp in
+     *                                either layout
+     */
+    public static LocalDateTime parse(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        int from = 0;
+        int to = text.length();
+        while (from < to && text.charAt(from) == ' ') {
+            from++;
+        }
+        while (to > from && text.charAt(to - 1) == ' ') {
+            to--;
+        }
+        if (from == to) {
+            return null;
+        }
+        LocalDateTime parsed = parseFixed(text, from, to);
+        return parsed != null ? parsed : parseWithFormatters(text.subSequence(from, to));
+    }
+
+    /**
+     * Parses a timestamp in a fixed layout from a character range.
+     *
+     * @param text the characters
+     * @param from index of the first character
+     * @param to   index after the last character
+     * @return the timestamp, or {@code null} if the range does not hold a
+     *         valid timestamp in a fixed layout
+     */
+    public static LocalDateTime parseFixed(CharSequence text, int from, int to) {
+        int length = to - from;
+        if (length < MIN_LENGTH || text.charAt(from + 4) != '-' || text.charAt(from + 7) != '-'
+                || text.charAt(from + 13) != ':') {
+            return null;
+        }
+        char separator = text.charAt(from + 10);
+        if (separator != 'T' && separator != ' ') {
+            return null;
+        }
+        int second = 0;
+        int nanos = 0;
+        if (length > MIN_LENGTH) {
+            if (length < 19 || text.charAt(from + 16) != ':') {
+                return null;
+            }
+            second = digits(text, from + 17, 2);
+            if (length > 19) {
+                int fraction = length - 20;
+                if (text.charAt(from + 19) != '.' || fraction < 1 || fraction > 9) {
+                    return null;
+                }
+                nanos = digits(text, from + 20, fraction) * NANO_SCALE[fraction];
+            }
+        }
+        return of(digits(text, from, 4), digits(text, from + 5, 2), digits(text, from + 8, 2),
+                digits(text, from + 11, 2), digits(text, from + 14, 2), second, nanos);
+    }
+
+    /**
+     * Parses a timestamp in a fixed layout from a byte range holding ASCII
+     * (or UTF-8) text.
+     *
+     * @param bytes the buffer; its position is not used or changed
+     * @param from  index of the first byte
+     * @param to    index after the last byte
+     * @return the timestamp, or {@code null} if the range does not hold a
+     *         valid timestamp in a fixed layout
+     */
+    public static LocalDateTime parseFixed(ByteBuffer bytes, int from, int to) {
+        int length = to - from;
+        if (length < MIN_LENGTH || bytes.get(from + 4) != '-' || bytes.get(from + 7) != '-'
+                || bytes.get(from + 13) != ':') {
+            return null;
+        }
+        byte separator = bytes.get(from + 10);
+        if (separator != 'T' && separator != ' ') {
+            return null;
+        }
+        int second = 0;
+        int nanos = 0;
+        if (length > MIN_LENGTH) {
+            if (length < 19 || bytes.get(from + 16) != ':') {
+                return null;
+            }
+            second = digits(bytes, from + 17, 2);
+            if (length > 19) {
+                int fraction = length - 20;
+                if (bytes.get(from + 19) != '.' || fraction < 1 || fraction > 9) {
+                    return null;
+                }
+                nanos = digits(bytes, from + 20, fraction) * NANO_SCALE[fraction];
+            }
+        }
+        return of(digits(bytes, from, 4), digits(bytes, from + 5, 2), digits(bytes, from + 8, 2),
+                digits(bytes, from + 11, 2), digits(bytes, from + 14, 2), second, nanos);
+    }
+
+    /**
+     * Parses a timestamp with the formatters, for values outside the fixed
+     * layouts.
+     *
+     * @param text the timestamp, without surrounding spaces
+     * @return the timestamp
+     * @throws DateTimeParseException if {@code text} is not a timestamp in
+     *                                either layout
+     */
+    public static LocalDateTime parseWithFormatters(CharSequence text) {
+        try {
+            return LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.parse(text, SPACE_SEPARATED);
+        }
+    }
+
+    /** @return the timestamp, or {@code null} if a field is negative or out of range */
+    private static LocalDateTime of(int year, int month, int day, int hour, int minute, int second, int nanos) {
+        // digits() returns -1 for a non-digit, which makes the whole OR negative
+        if ((year | month | day | hour | minute | second | nanos) < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nanos);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /** @return the value of {@code n} decimal digits, or -1 if one is not a digit */
+    private static int digits(CharSequence text, int from, int n) {
+        int value = 0;
+        for (int i = from; i < from + n; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /** @return the value of {@code n} decimal digits, or -1 if one is not a digit */
+    private static int digits(ByteBuffer bytes, int from, int n) {
+        int value = 0;
+        for (int i = from; i < from + n; i++) {
+            int digit = bytes.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -27,8 +27,10 @@ import java.lang.annotation.*;
  * <h3>Validator Contract:</h3>
  * The validation logic is implemented by
  * {@link com.mqped.fims.validation.validator.ChronologicalDatesValidator}.
- * It uses reflection to access the two fields and compares their values
- * if both are non-null.
+ * It reads the two fields through cached accessors and compares their values
+ * if both are non-null. Both fields must exist and share the same comparable
+ * date-time type; otherwise a
+ * {@link jakarta.validation.ConstraintDeclarationException} is raised.
  *
  * <h3>Default Behavior:</h3>
  * <ul>
@@ -1,12 +1,11 @@
 package com.mqped.fims.validation.validator;
 
 import com.mqped.fims.validation.annotation.ChronologicalDates;
+import com.mqped.fims.validation.validator.TemporalFieldAccessors.Accessor;
+import jakarta.validation.ConstraintDeclarationException;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
-import java.lang.reflect.Field;
-import java.time.LocalDateTime;
-
 /**
  * Validates that two date-time fields in a class are in chronological order,
  * based on the {@link ChronologicalDates} annotation.
@@ -26,19 +25,31 @@ import java.time.LocalDateTime;
  * <p>
  * The validation passes if:
  * <ul>
- * <li>Both dates are null (other constraints handle nullability)</li>
+ * <li>Either date is null (other constraints handle nullability)</li>
  * <li>End date is equal to or after start date (depending on
  * {@code allowEqual})</li>
- * <li>The fields cannot be found (treated as misconfiguration → validation
- * skipped)</li>
  * </ul>
  * </p>
+ *
+ * <p>
+ * Field getters are resolved once per class through
+ * {@link TemporalFieldAccessors}, and the pair used last is kept on the
+ * validator, so validating the same entity type repeatedly costs one class
+ * comparison plus two handle invocations. Fields that do not exist or are not
+ * comparable date-times of the same type raise a
+ * {@link ConstraintDeclarationException} instead of being skipped.
+ * </p>
  */
 public class ChronologicalDatesValidator implements ConstraintValidator<ChronologicalDates, Object> {
 
+    /** Accessors resolved for one validated class. */
+    private record Resolved(Class<?> type, Accessor start, Accessor end) {
+    }
+
     private String startField;
     private String endField;
     private boolean allowEqual;
+    private volatile Resolved resolved;
 
     @Override
     public void initialize(ChronologicalDates constraintAnnotation) {
@@ -48,45 +59,74 @@ public class ChronologicalDatesValidator implements ConstraintValidator<Chronolo
     }
 
     @Override
+    @SuppressWarnings({ "unchecked", "rawtypes" })
     public boolean isValid(Object value, ConstraintValidatorContext context) {
         if (value == null)
             return true; // null object → skip validation
 
-        try {
-            Field start = getField(value, startField);
-            Field end = getField(value, endField);
+        Resolved accessors = resolve(value.getClass());
 
-            LocalDateTime startDate = getLocalDateTime(start, value);
-            LocalDateTime endDate = getLocalDateTime(end, value);
+        Comparable startDate = (Comparable) accessors.start().get(value);
+        Comparable endDate = (Comparable) accessors.end().get(value);
 
-            // Null fields should be handled elsewhere (e.g., @NotNull)
-            if (startDate == null || endDate == null)
-                return true;
+        // Null fields should be handled elsewhere (e.g., @NotNull)
+        if (startDate == null || endDate == null)
+            return true;
 
-            // Chronological check
-            return allowEqual ? !endDate.isBefore(startDate) : endDate.isAfter(startDate);
+        // Chronological check
+        int order = endDate.compareTo(startDate);
+        return allowEqual ? order >= 0 : order > 0;
+    }
 
-        } catch (ReflectiveOperationException e) {
-            // Misconfiguration (field not found or inaccessible)
-            // Log a warning in real projects (via SLF4J)
-            return true;
+    private Resolved resolve(Class<?> type) {
+        Resolved current = resolved;
+        if (current != null && current.type() == type) {
+            return current;
         }
+        current = verify(type, startField, endField);
+        resolved = current;
+        return current;
     }
 
     /**
-     * Fetches a declared field and ensures it’s accessible.
+     * Resolves and checks the accessors of a {@link ChronologicalDates}
+     * declaration.
+     *
+     * @param type       the annotated class
+     * @param startField name of the start field
+     * @param endField   name of the end field
+     * @return the resolved accessors
+     * @throws ConstraintDeclarationException if either field is missing, not a
+     *                                        comparable date-time, or the two
+     *                                        fields have different types
      */
-    private Field getField(Object target, String name) throws NoSuchFieldException {
-        Field field = target.getClass().getDeclaredField(name);
-        field.setAccessible(true);
-        return field;
+    private static Resolved verify(Class<?> type, String startField, String endField) {
+        Accessor start = TemporalFieldAccessors.of(type, startField);
+        Accessor end = TemporalFieldAccessors.of(type, endField);
+        if (start.type() != end.type()) {
+            throw new ConstraintDeclarationException("@ChronologicalDates on " + type.getName() + " compares '"
+                    + startField + "' (" + start.type().getSimpleName() + ") with '" + endField + "' ("
+                    + end.type().getSimpleName() + ")");
+        }
+        return new Resolved(type, start, end);
     }
 
     /**
-     * Safely retrieves a LocalDateTime value from a field.
+     * Checks every {@link ChronologicalDates} declaration on {@code type}.
+     * <p>
+     * Called at startup so that misconfigured constraints fail fast instead of
+     * on the first validation.
+     * </p>
+     *
+     * @param type the class to check
+     * @return the number of declarations checked
+     * @throws ConstraintDeclarationException if a declaration is invalid
      */
-    private LocalDateTime getLocalDateTime(Field field, Object target) throws IllegalAccessException {
-        Object value = field.get(target);
-        return (value instanceof LocalDateTime) ? (LocalDateTime) value : null;
+    public static int verify(Class<?> type) {
+        ChronologicalDates[] declarations = type.getAnnotationsByType(ChronologicalDates.class);
+        for (ChronologicalDates declaration : declarations) {
+            verify(type, declaration.start(), declaration.end());
+        }
+        return declarations.length;
     }
 }
@@ -0,0 +1,128 @@
+package com.mqped.fims.validation.validator;
+
+import jakarta.validation.ConstraintDeclarationException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.Temporal;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves and caches getters for the date fields referenced by
+ * {@link com.mqped.fims.validation.annotation.ChronologicalDates}.
+ * <p>
+ * Each {@code (class, field)} pair is resolved once into a
+ * {@link MethodHandle} adapted to {@code (Object)Object}, so reading a field
+ * afterwards is a single {@code invokeExact} without
+ * {@code getDeclaredField}/{@code setAccessible} on every call. Handles are kept
+ * in a {@link ClassValue}, which ties the cache entries to the lifetime of the
+ * class.
+ * </p>
+ *
+ * <p>
+ * Fields are looked up through the class hierarchy, so entity subclasses
+ * resolve the fields declared on their superclasses. Hibernate proxies are not
+ * unwrapped: their copies of the fields are never populated, so they read as
+ * {@code null}. A field that does not exist, is static, or is not a
+ * {@link Temporal} {@link Comparable} is reported with a
+ * {@link ConstraintDeclarationException}.
+ * </p>
+ */
+public final class TemporalFieldAccessors {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<ConcurrentMap<String, Accessor>> CACHE = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<String, Accessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>(4);
+        }
+    };
+
+    /**
+     * Getter for one temporal field.
+     *
+     * @param type   the declared type of the field
+     * @param getter handle of type {@code (Object)Object}
+     */
+    public record Accessor(Class<?> type, MethodHandle getter) {
+
+        /**
+         * Reads the field value from {@code target}.
+         *
+         * @param target instance of the class the accessor was resolved for
+         * @return the field value, possibly {@code null}
+         */
+        public Object get(Object target) {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot read temporal field", e);
+            }
+        }
+    }
+
+    private TemporalFieldAccessors() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Returns the cached accessor for {@code field} on {@code type}, resolving
+     * it on first use.
+     *
+     * @param type  the class holding the field (or a subclass of it)
+     * @param field the field name
+     * @return the accessor
+     * @throws ConstraintDeclarationException if the field cannot be used
+     */
+    public static Accessor of(Class<?> type, String field) {
+        ConcurrentMap<String, Accessor> accessors = CACHE.get(type);
+        Accessor accessor = accessors.get(field);
+        if (accessor == null) {
+            accessor = accessors.computeIfAbsent(field, name -> resolve(type, name));
+        }
+        return accessor;
+    }
+
+    private static Accessor resolve(Class<?> type, String name) {
+        Field field = findField(type, name);
+        if (field == null) {
+            throw new ConstraintDeclarationException(
+                    "@ChronologicalDates on " + type.getName() + " references unknown field '" + name + "'");
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            throw new ConstraintDeclarationException(
+                    "@ChronologicalDates on " + type.getName() + " references static field '" + name + "'");
+        }
+        if (!Temporal.class.isAssignableFrom(field.getType()) || !Comparable.class.isAssignableFrom(field.getType())) {
+            throw new ConstraintDeclarationException("@ChronologicalDates on " + type.getName() + " references field '"
+                    + name + "' of type " + field.getType().getName() + ", which is not a comparable date-time");
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(),
+                    MethodHandles.lookup());
+            MethodHandle getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+            return new Accessor(field.getType(), getter);
+        } catch (IllegalAccessException e) {
+            throw new ConstraintDeclarationException(
+                    "Cannot access field '" + name + "' of " + field.getDeclaringClass().getName(), e);
+        }
+    }
+
+    private static Field findField(Class<?> type, String name) {
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.getName().equals(name)) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,130 @@
+package com.mqped.fims.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mqped.fims.config.BinaryEncodingConfig;
+import com.mqped.fims.config.DtoSerializers;
+import com.mqped.fims.model.dto.ServiceOrderDTO;
+import com.mqped.fims.model.dto.TargetDTO;
+import com.mqped.fims.model.enums.ServiceOrderStatus;
+import com.mqped.fims.model.enums.ServiceOrderType;
+import com.mqped.fims.model.enums.TargetType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the encoded size and the encode and decode time of a sync page
+ * (targets and their service orders) in JSON and in the Smile and CBOR
+ * encodings of {@link BinaryEncodingConfig}.
+ * <p>
+ * The sizes are printed before the run. Run with:
+ * </p>
+ *
+ * <pre>{@code
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mqped.fims.benchmark.BinaryEncodingBenchmark
+ * }</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BinaryEncodingBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private SyncPage page;
+    private ObjectMapper mapper;
+    private byte[] encoded;
+
+    /** The body of a sync response. */
+    public record SyncPage(List<TargetDTO> targets, List<ServiceOrderDTO> serviceOrders) {
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        page = page();
+        mapper = mapper(format);
+        encoded = mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public JsonNode decode() throws IOException {
+        return mapper.readTree(encoded);
+    }
+
+    static ObjectMapper mapper(String format) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        DtoSerializers.registerAll(builder);
+        return switch (format) {
+            case "smile" -> BinaryEncodingConfig.smileMapper(builder);
+            case "cbor" -> BinaryEncodingConfig.cborMapper(builder);
+            default -> builder.build();
+        };
+    }
+
+    static SyncPage page() {
+        LocalDateTime now = LocalDateTime.now();
+        TargetType[] targetTypes = TargetType.values();
+        ServiceOrderStatus[] statuses = ServiceOrderStatus.values();
+        List<TargetDTO> targets = new ArrayList<>(ROWS);
+        List<ServiceOrderDTO> orders = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            TargetDTO target = new TargetDTO();
+            target.setId(50_000 + i * 3);
+            target.setContractAccountId(20_000 + i);
+            target.setContractAccountNumber("ACC-" + (20_000 + i));
+            target.setType(targetTypes[i % targetTypes.length]);
+            target.setSignature("SIG-" + i);
+            target.setScore(i % 100 / 100.0);
+            target.setExpectedCNR(100.0 + i);
+            target.setExpectedTicket(50.0 + i % 7);
+            target.setDistanceFromBase(i % 50 * 0.37);
+            target.setCreatedAt(now.minusMinutes(i));
+            target.setActive(true);
+            targets.add(target);
+
+            ServiceOrderDTO order = new ServiceOrderDTO();
+            order.setId(90_000 + i);
+            order.setTargetId(target.getId());
+            order.setStatus(statuses[i % statuses.length]);
+            order.setType(i % 2 == 0 ? ServiceOrderType.IS_ON : ServiceOrderType.IS_CUT);
+            order.setTeam("team-" + i % 4);
+            order.setCreatedAt(now.minusMinutes(i));
+            order.setVersion(1L);
+            orders.add(order);
+        }
+        return new SyncPage(targets, orders);
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        SyncPage page = page();
+        for (String format : List.of("json", "smile", "cbor")) {
+            System.out.printf("%-5s %,d bytes%n", format, mapper(format).writeValueAsBytes(page).length);
+        }
+        Options options = new OptionsBuilder()
+                .include(BinaryEncodingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,115 @@
+package com.mqped.fims.benchmark;
+
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.validation.annotation.ChronologicalDates;
+import com.mqped.fims.validation.validator.ChronologicalDatesValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of validating the three {@link ChronologicalDates}
+ * declarations of a {@link ContractAccount}, comparing the cached accessor
+ * validator with the previous per-call {@code getDeclaredField} +
+ * {@code setAccessible} implementation.
+ * <p>
+ * Run with:
+ * </p>
+ *
+ * <pre>{@code
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mqped.fims.benchmark.ChronologicalDatesValidatorBenchmark
+ * }</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChronologicalDatesValidatorBenchmark {
+
+    /** The validator as it was before accessors were cached. */
+    static final class ReflectiveValidator {
+        private final String startField;
+        private final String endField;
+        private final boolean allowEqual;
+
+        ReflectiveValidator(ChronologicalDates annotation) {
+            this.startField = annotation.start();
+            this.endField = annotation.end();
+            this.allowEqual = annotation.allowEqual();
+        }
+
+        boolean isValid(Object value) {
+            try {
+                Field start = value.getClass().getDeclaredField(startField);
+                start.setAccessible(true);
+                Field end = value.getClass().getDeclaredField(endField);
+                end.setAccessible(true);
+                Object startDate = start.get(value);
+                Object endDate = end.get(value);
+                if (!(startDate instanceof LocalDateTime s) || !(endDate instanceof LocalDateTime e)) {
+                    return true;
+                }
+                return allowEqual ? !e.isBefore(s) : e.isAfter(s);
+            } catch (ReflectiveOperationException e) {
+                return true;
+            }
+        }
+    }
+
+    private ContractAccount account;
+    private ChronologicalDatesValidator[] cached;
+    private ReflectiveValidator[] reflective;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        account = new ContractAccount();
+        account.setCreatedAt(now.minusDays(30));
+        account.setStatusStart(now.minusDays(20));
+        account.setStatusEnd(now.minusDays(10));
+        account.setDeletedAt(now.minusDays(5));
+
+        ChronologicalDates[] declarations = ContractAccount.class.getAnnotationsByType(ChronologicalDates.class);
+        cached = new ChronologicalDatesValidator[declarations.length];
+        reflective = new ReflectiveValidator[declarations.length];
+        for (int i = 0; i < declarations.length; i++) {
+            cached[i] = new ChronologicalDatesValidator();
+            cached[i].initialize(declarations[i]);
+            reflective[i] = new ReflectiveValidator(declarations[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean cachedAccessors() {
+        boolean valid = true;
+        for (ChronologicalDatesValidator validator : cached) {
+            valid &= validator.isValid(account, null);
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public boolean reflectionPerCall() {
+        boolean valid = true;
+        for (ReflectiveValidator validator : reflective) {
+            valid &= validator.isValid(account);
+        }
+        return valid;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ChronologicalDatesValidatorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,100 @@
+package com.mqped.fims.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mqped.fims.config.DtoSerializers;
+import com.mqped.fims.model.dto.TargetDTO;
+import com.mqped.fims.model.enums.TargetType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of writing a page of {@link TargetDTO}s to a response
+ * stream, comparing the hand-written serializers of {@link DtoSerializers}
+ * with the reflective bean serializers of a default {@code ObjectMapper}.
+ * <p>
+ * Run with:
+ * </p>
+ *
+ * <pre>{@code
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.mqped.fims.benchmark.DtoSerializationBenchmark
+ * }</pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DtoSerializationBenchmark {
+
+    @Param({"1000"})
+    private int rows;
+
+    private List<TargetDTO> page;
+    private ObjectMapper reflective;
+    private ObjectMapper specialized;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        page = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            TargetDTO target = new TargetDTO();
+            target.setId(i);
+            target.setContractAccountId(i / 3);
+            target.setContractAccountNumber("ACC-" + i / 3);
+            target.setType(TargetType.values()[i % TargetType.values().length]);
+            target.setSignature("SIG-" + i);
+            target.setScore(i % 100 / 100.0);
+            target.setExpectedCNR(100.0 + i);
+            target.setExpectedTicket(50.0 + i % 7);
+            target.setDistanceFromBase(i % 50 * 0.37);
+            target.setCreatedAt(now.minusMinutes(i));
+            target.setActive(i % 5 != 0);
+            page.add(target);
+        }
+
+        reflective = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        DtoSerializers.registerAll(builder);
+        specialized = builder.build();
+        out = new ByteArrayOutputStream(256 * rows);
+    }
+
+    @Benchmark
+    public int beanSerializers() throws IOException {
+        out.reset();
+        reflective.writeValue(out, page);
+        return out.size();
+    }
+
+    @Benchmark
+    public int specializedSerializers() throws IOException {
+        out.reset();
+        specialized.writeValue(out, page);
+        return out.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DtoSerializationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
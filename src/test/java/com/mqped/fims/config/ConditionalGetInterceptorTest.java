@@ -0,0 +1,178 @@
+package com.mqped.fims.config;
+
+import com.mqped.fims.controller.ConditionalGet;
+import com.mqped.fims.event.ChangeType;
+import com.mqped.fims.event.EntityChangeEvent;
+import com.mqped.fims.event.ResourceVersions;
+import com.mqped.fims.model.dto.ChangeEventDTO;
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.Target;
+import com.mqped.fims.service.OutboxService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ConditionalGetInterceptorTest {
+
+    /** Handlers standing in for controller methods. */
+    static final class Handlers {
+        @ConditionalGet({Target.class, ContractAccount.class})
+        public void targets() {
+        }
+
+        @ConditionalGet(value = Address.class, id = "id")
+        public void address() {
+        }
+
+        public void plain() {
+        }
+    }
+
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final ResourceVersions versions = new ResourceVersions(outboxService, Duration.ofMinutes(1));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ConditionalGetInterceptor interceptor = new ConditionalGetInterceptor(versions, registry);
+
+    @BeforeEach
+    void setUp() {
+        when(outboxService.getHead()).thenReturn(10L);
+        when(outboxService.findAfter(anyLong(), anyInt())).thenReturn(List.of());
+        versions.afterSingletonsInstantiated();
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getMethod(name));
+    }
+
+    private static MockHttpServletRequest get(String id, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/test");
+        if (id != null) {
+            request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("id", id));
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return request;
+    }
+
+    private void change(Class<?> type, Object id) {
+        versions.onEntityChange(new EntityChangeEvent(type, id, ChangeType.UPDATED, Map.of(), Map.of(), Instant.now()));
+    }
+
+    private double count(String resource, String result) {
+        return registry.counter("fims.http.conditional.requests", "resource", resource, "result", result).count();
+    }
+
+    @Test
+    void testCurrentTagIsAnsweredWithNotModified() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(get(null, null), first, handler("targets")));
+        String etag = first.getHeader("ETag");
+        assertNotNull(etag);
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(get(null, etag), second, handler("targets")));
+        assertEquals(304, second.getStatus());
+
+        assertEquals(1, count("Target", "unconditional"));
+        assertEquals(1, count("Target", "hit"));
+    }
+
+    @Test
+    void testChangeToAnyListedTypeInvalidatesTag() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        interceptor.preHandle(get(null, null), first, handler("targets"));
+        String etag = first.getHeader("ETag");
+
+        change(Address.class, 1);
+        assertFalse(interceptor.preHandle(get(null, etag), new MockHttpServletResponse(), handler("targets")));
+
+        change(ContractAccount.class, 1);
+        MockHttpServletResponse stale = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(get(null, etag), stale, handler("targets")));
+        assertNotEquals(etag, stale.getHeader("ETag"));
+        assertEquals(1, count("Target", "miss"));
+    }
+
+    @Test
+    void testDetailTagFollowsItsEntity() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        interceptor.preHandle(get("7", null), first, handler("address"));
+        String etag = first.getHeader("ETag");
+
+        change(Address.class, 8);
+        assertFalse(interceptor.preHandle(get("7", etag), new MockHttpServletResponse(), handler("address")));
+
+        change(Address.class, 7);
+        assertTrue(interceptor.preHandle(get("7", etag), new MockHttpServletResponse(), handler("address")));
+    }
+
+    @Test
+    void testChangeFromAnotherInstanceInvalidatesTag() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        interceptor.preHandle(get("7", null), first, handler("address"));
+        String etag = first.getHeader("ETag");
+
+        ChangeEventDTO remote = new ChangeEventDTO();
+        remote.setPosition(11L);
+        remote.setAggregateType("Address");
+        remote.setAggregateId("7");
+        remote.setChangeType(ChangeType.UPDATED);
+        when(outboxService.findAfter(10L, 500)).thenReturn(List.of(remote));
+        versions.poll();
+
+        assertTrue(interceptor.preHandle(get("7", etag), new MockHttpServletResponse(), handler("address")));
+        verify(outboxService).findAfter(10L, 500);
+    }
+
+    @Test
+    void testUnreadChangeStreamDisablesConditionalAnswers() throws Exception {
+        ResourceVersions unsynchronized = new ResourceVersions(outboxService, Duration.ofMinutes(1));
+        when(outboxService.getHead()).thenThrow(new DataAccessResourceFailureException("down"));
+        unsynchronized.afterSingletonsInstantiated();
+        ConditionalGetInterceptor passThrough = new ConditionalGetInterceptor(unsynchronized, registry);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(passThrough.preHandle(get(null, "*"), response, handler("targets")));
+        assertNull(response.getHeader("ETag"));
+    }
+
+    @Test
+    void testTagDependsOnRepresentation() throws Exception {
+        MockHttpServletRequest json = get(null, null);
+        json.addHeader("Accept", "application/json");
+        MockHttpServletResponse jsonResponse = new MockHttpServletResponse();
+        interceptor.preHandle(json, jsonResponse, handler("targets"));
+
+        MockHttpServletRequest smile = get(null, jsonResponse.getHeader("ETag"));
+        smile.addHeader("Accept", "application/x-jackson-smile");
+        assertTrue(interceptor.preHandle(smile, new MockHttpServletResponse(), handler("targets")));
+    }
+
+    @Test
+    void testUnannotatedAndMalformedRequestsPassThrough() throws Exception {
+        MockHttpServletResponse plain = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(get(null, "*"), plain, handler("plain")));
+        assertNull(plain.getHeader("ETag"));
+
+        MockHttpServletResponse malformed = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(get("abc", "*"), malformed, handler("address")));
+        assertNull(malformed.getHeader("ETag"));
+    }
+}
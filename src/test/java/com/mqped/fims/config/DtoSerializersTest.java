@@ -0,0 +1,193 @@
+package com.mqped.fims.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mqped.fims.model.dto.AddressDTO;
+import com.mqped.fims.model.dto.ClientDTO;
+import com.mqped.fims.model.dto.ContractAccountDTO;
+import com.mqped.fims.model.dto.InstallationDTO;
+import com.mqped.fims.model.dto.ServiceOrderDTO;
+import com.mqped.fims.model.dto.TargetDTO;
+import com.mqped.fims.model.enums.ServiceOrderStatus;
+import com.mqped.fims.model.enums.ServiceOrderType;
+import com.mqped.fims.model.enums.StatusType;
+import com.mqped.fims.model.enums.TargetType;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DtoSerializersTest {
+
+    private static final LocalDateTime WITH_NANOS = LocalDateTime.of(2024, 5, 1, 8, 30, 0, 250_000_000);
+    private static final LocalDateTime WITHOUT_NANOS = LocalDateTime.of(2023, 12, 31, 23, 59);
+
+    /** The bean serializers, with the null suppression of the hand-written ones. */
+    private final ObjectMapper reflective = Jackson2ObjectMapperBuilder.json()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .build();
+
+    private final ObjectMapper specialized = specializedMapper();
+
+    private static ObjectMapper specializedMapper() {
+        return specializedBuilder().build();
+    }
+
+    private static Jackson2ObjectMapperBuilder specializedBuilder() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        DtoSerializers.registerAll(builder);
+        return builder;
+    }
+
+    private void assertSameJson(Object value) throws Exception {
+        assertEquals(reflective.readTree(reflective.writeValueAsString(value)),
+                specialized.readTree(specialized.writeValueAsString(value)));
+    }
+
+    private AddressDTO address() {
+        AddressDTO address = new AddressDTO();
+        address.setId(1);
+        address.setAddressId("ADDR-1");
+        address.setState("PA");
+        address.setMunicipality("Belém");
+        address.setDistrict("Icoaraci");
+        address.setSubdistrict("Sede");
+        address.setNeighborhood("Cruzeiro");
+        address.setStreet("Rua \"Teste\"");
+        address.setStreetType("Rua");
+        address.setNumber("10");
+        address.setComplement("Casa");
+        address.setZipCode("66810-000");
+        address.setLatitude(-1.2956);
+        address.setLongitude(-48.4876);
+        return address;
+    }
+
+    private InstallationDTO installation() {
+        InstallationDTO installation = new InstallationDTO();
+        installation.setId(2);
+        installation.setAddressId(1);
+        installation.setAddress(address());
+        installation.setCreatedAt(WITH_NANOS);
+        installation.setDeletedAt(WITHOUT_NANOS);
+        return installation;
+    }
+
+    @Test
+    void testPopulatedDtosMatchBeanSerializer() throws Exception {
+        ClientDTO client = new ClientDTO();
+        client.setId(3);
+        client.setName("Test Client");
+        client.setCpf("111.111.111-11");
+        client.setBirthDate(WITHOUT_NANOS.minusYears(30));
+        client.setMotherName("Mother");
+        client.setCnpj("11.111.111/0001-11");
+        client.setGenre("F");
+        client.setCreatedAt(WITH_NANOS);
+
+        ContractAccountDTO account = new ContractAccountDTO();
+        account.setId(4);
+        account.setAccountNumber("ACC-4");
+        account.setClientId(3);
+        account.setClientName("Test Client");
+        account.setInstallationId(2);
+        account.setInstallation(installation());
+        account.setCreatedAt(WITHOUT_NANOS);
+        account.setDeletedAt(WITH_NANOS);
+        account.setStatus(StatusType.ON);
+        account.setStatusStart(WITHOUT_NANOS);
+        account.setStatusEnd(WITH_NANOS);
+
+        TargetDTO target = new TargetDTO();
+        target.setId(5);
+        target.setContractAccountId(4);
+        target.setContractAccountNumber("ACC-4");
+        target.setType(TargetType.RULES);
+        target.setSignature("SIG-5");
+        target.setScore(0.875);
+        target.setExpectedCNR(120.5);
+        target.setExpectedTicket(42.0);
+        target.setDistanceFromBase(3.2);
+        target.setCreatedAt(WITH_NANOS);
+        target.setActive(true);
+
+        ServiceOrderDTO order = new ServiceOrderDTO();
+        order.setId(6);
+        order.setTargetId(5);
+        order.setStatus(ServiceOrderStatus.EXECUTED);
+        order.setType(ServiceOrderType.IS_CUT);
+        order.setAssignee("inspector");
+        order.setTeam("north");
+        order.setCreatedAt(WITHOUT_NANOS);
+        order.setExecutedAt(WITH_NANOS);
+        order.setVersion(7L);
+
+        assertSameJson(client);
+        assertSameJson(account);
+        assertSameJson(target);
+        assertSameJson(order);
+        assertSameJson(List.of(target, target));
+    }
+
+    @Test
+    void testNullPropertiesAreOmitted() throws Exception {
+        ContractAccountDTO account = new ContractAccountDTO();
+        account.setId(4);
+        InstallationDTO installation = new InstallationDTO();
+        installation.setId(2);
+        account.setInstallation(installation);
+
+        assertSameJson(account);
+        assertSameJson(new TargetDTO());
+        assertSameJson(new ServiceOrderDTO());
+        assertEquals("{\"id\":4,\"installation\":{\"id\":2}}", specialized.writeValueAsString(account));
+    }
+
+    @Test
+    void testTimestampsMatchIsoFormatter() {
+        char[] buffer = new char[29];
+        for (LocalDateTime value : List.of(WITH_NANOS, WITHOUT_NANOS,
+                LocalDateTime.of(1, 1, 1, 0, 0, 0, 1),
+                LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999),
+                LocalDateTime.of(2024, 2, 29, 12, 0, 5, 120_000))) {
+            int length = TimestampSerializer.format(value, buffer);
+            assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value), new String(buffer, 0, length));
+        }
+    }
+
+    private TargetDTO target(Integer id) {
+        TargetDTO target = new TargetDTO();
+        target.setId(id);
+        target.setType(TargetType.METER_READER_INDICATION);
+        target.setSignature("SIG-" + id);
+        return target;
+    }
+
+    @Test
+    void testBinaryListsWriteIdDeltas() throws Exception {
+        List<TargetDTO> page = List.of(target(100), target(101), target(null), target(105), target(98));
+        ContractAccountDTO account = new ContractAccountDTO();
+        account.setId(4);
+        account.setInstallation(installation());
+
+        for (ObjectMapper binary : List.of(BinaryEncodingConfig.smileMapper(specializedBuilder()),
+                BinaryEncodingConfig.cborMapper(specializedBuilder()))) {
+            JsonNode tree = binary.readTree(binary.writeValueAsBytes(page));
+            assertEquals(List.of(100, 1, 4, -7),
+                    tree.findValues("id").stream().map(JsonNode::asInt).toList());
+            assertEquals("METER_READER_INDICATION", tree.get(4).get("type").asText());
+
+            JsonNode accounts = binary.readTree(binary.writeValueAsBytes(List.of(account)));
+            assertEquals(specialized.readTree(specialized.writeValueAsString(List.of(account))), accounts);
+
+            assertTrue(binary.writeValueAsBytes(page).length < specialized.writeValueAsBytes(page).length);
+        }
+        assertEquals(List.of(100, 101, 105, 98), specialized.readTree(specialized.writeValueAsString(page))
+                .findValues("id").stream().map(JsonNode::asInt).toList());
+    }
+}
@@ -0,0 +1,88 @@
+package com.mqped.fims.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.mqped.fims.model.entity.Role;
+import com.mqped.fims.model.enums.RoleName;
+import com.mqped.fims.repository.AddressRepository;
+import com.mqped.fims.repository.InstallationRepository;
+import com.mqped.fims.repository.RoleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Boots the persistence layer with the second-level cache settings of the
+ * main {@code application.properties}, which the test properties shadow.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+        "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+        "spring.jpa.properties.hibernate.javax.cache.uri=caffeine.conf",
+        "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=create",
+        "spring.jpa.properties.jakarta.persistence.sharedCache.mode=ENABLE_SELECTIVE",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private InstallationRepository installationRepository;
+
+    private CacheManager cacheManager() {
+        JCacheRegionFactory regionFactory = (JCacheRegionFactory) entityManagerFactory
+                .unwrap(SessionFactoryImplementor.class).getCache().getRegionFactory();
+        return regionFactory.getCacheManager();
+    }
+
+    @Test
+    void testEveryRegionUsesItsConfiguredCache() {
+        CacheManager cacheManager = cacheManager();
+        for (String region : CacheRegions.ALL) {
+            Cache<?, ?> cache = cacheManager.getCache(region);
+            assertNotNull(cache, region);
+            @SuppressWarnings("unchecked")
+            CaffeineConfiguration<?, ?> configuration = cache.getConfiguration(CaffeineConfiguration.class);
+            // The default section holds 1000 entries; every region overrides it
+            assertNotEquals(1000L, configuration.getMaximumSize().orElse(1000L), region);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void testCacheableQueriesRunAndHitTheQueryCache() {
+        // Outside a test transaction, so the query cache sees the role committed
+        Role role = roleRepository.save(new Role(RoleName.ROLE_MODERATOR));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertTrue(roleRepository.findByName(RoleName.ROLE_MODERATOR).isPresent());
+        assertTrue(roleRepository.findByName(RoleName.ROLE_MODERATOR).isPresent());
+        assertTrue(addressRepository.findByAddressId("ADDR-NONE").isEmpty());
+        assertTrue(installationRepository.findByAddress_AddressId("ADDR-NONE").isEmpty());
+
+        assertEquals(1, statistics.getCacheRegionStatistics(CacheRegions.ROLE_BY_NAME).getHitCount());
+        roleRepository.delete(role);
+    }
+}
@@ -0,0 +1,49 @@
+package com.mqped.fims.config;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimestampDeserializerTest {
+
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .deserializerByType(LocalDateTime.class, new TimestampDeserializer())
+            .build();
+
+    private LocalDateTime read(String value) throws Exception {
+        return mapper.readValue("\"" + value + "\"", LocalDateTime.class);
+    }
+
+    @Test
+    void testReadsIsoLayouts() throws Exception {
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), read("2024-01-01T10:00"));
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0, 30), read("2024-01-01T10:00:30"));
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0, 0, 500_000_000), read("2024-01-01T10:00:00.5"));
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_456_789), read("2024-01-01T10:00:00.123456789"));
+    }
+
+    @Test
+    void testRejectsSpaceSeparatedLayouts() {
+        assertThrows(JsonMappingException.class, () -> read("2024-01-01 10:00"));
+        assertThrows(JsonMappingException.class, () -> read("2024-01-01 10:00:00"));
+        assertThrows(JsonMappingException.class, () -> read("2024-01-01 10:00:00.5"));
+    }
+
+    @Test
+    void testRejectsInvalidValues() {
+        assertThrows(JsonMappingException.class, () -> read("2024-13-01T10:00"));
+        assertThrows(JsonMappingException.class, () -> read("2024-01-01T25:00:00"));
+        assertThrows(JsonMappingException.class, () -> read("2024-01-01T10:00+01:00"));
+    }
+
+    @Test
+    void testFallsBackForOtherTokens() throws Exception {
+        assertNull(mapper.readValue("null", LocalDateTime.class));
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), mapper.readValue("[2024,1,1,10,0]", LocalDateTime.class));
+    }
+}
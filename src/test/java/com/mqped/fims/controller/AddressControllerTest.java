@@ -4,6 +4,7 @@ import com.mqped.fims.exceptions.ResourceNotFoundException;
 import com.mqped.fims.model.dto.AddressDTO;
 import com.mqped.fims.model.entity.Address;
 import com.mqped.fims.service.AddressService;
+import com.mqped.fims.service.SyncService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -14,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,6 +25,9 @@ class AddressControllerTest {
     @Mock
     private AddressService service;
 
+    @Mock
+    private SyncService syncService;
+
     @InjectMocks
     private AddressController controller;
 
@@ -75,7 +80,7 @@ class AddressControllerTest {
     @Test
     void testGetAllAddresses_returnsAllAddressDTOs() {
         List<Address> addresses = Arrays.asList(address1, address2);
-        when(service.findAll()).thenReturn(addresses);
+        when(service.findAllAsDTO()).thenReturn(addresses.stream().map(AddressDTO::fromEntity).toList());
 
         ResponseEntity<List<AddressDTO>> response = controller.getAllAddresses();
 
@@ -84,12 +89,12 @@ class AddressControllerTest {
         assertEquals(2, response.getBody().size());
         assertEquals("Street 1", response.getBody().get(0).getStreet());
         assertEquals("Street 2", response.getBody().get(1).getStreet());
-        verify(service, times(1)).findAll();
+        verify(service, times(1)).findAllAsDTO();
     }
 
     @Test
     void testGetAddressById_returnsAddressDTOWhenFound() {
-        when(service.findById(1)).thenReturn(address1);
+        when(service.findByIdAsDTO(1)).thenReturn(AddressDTO.fromEntity(address1));
 
         ResponseEntity<AddressDTO> response = controller.getAddressById(1);
 
@@ -97,15 +102,15 @@ class AddressControllerTest {
         assertNotNull(response.getBody());
         assertEquals(address1.getId(), response.getBody().getId());
         assertEquals(address1.getStreet(), response.getBody().getStreet());
-        verify(service, times(1)).findById(1);
+        verify(service, times(1)).findByIdAsDTO(1);
     }
 
     @Test
     void testGetAddressById_throwsExceptionWhenNotFound() {
-        when(service.findById(3)).thenThrow(new ResourceNotFoundException("Address with id 3 not found"));
+        when(service.findByIdAsDTO(3)).thenThrow(new ResourceNotFoundException("Address with id 3 not found"));
 
         assertThrows(ResourceNotFoundException.class, () -> controller.getAddressById(3));
-        verify(service, times(1)).findById(3);
+        verify(service, times(1)).findByIdAsDTO(3);
     }
 
     @Test
@@ -138,20 +143,30 @@ class AddressControllerTest {
 
     @Test
     void testDeleteAddress_returnsNoContentWhenFound() {
-        doNothing().when(service).deleteById(1);
+        when(service.deleteByIdAsync(1)).thenReturn(CompletableFuture.completedFuture(null));
 
         ResponseEntity<Void> response = controller.deleteAddress(1);
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
-        verify(service, times(1)).deleteById(1);
+        verify(service, times(1)).deleteByIdAsync(1);
+    }
+
+    @Test
+    void testDeleteAddress_returnsAcceptedWhenDeletedInBackground() {
+        when(service.deleteByIdAsync(2)).thenReturn(new CompletableFuture<>());
+
+        ResponseEntity<Void> response = controller.deleteAddress(2);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        verify(service, times(1)).deleteByIdAsync(2);
     }
 
     @Test
     void testDeleteAddress_throwsExceptionWhenNotFound() {
         doThrow(new ResourceNotFoundException("Address with id 3 not found"))
-            .when(service).deleteById(3);
+            .when(service).deleteByIdAsync(3);
 
         assertThrows(ResourceNotFoundException.class, () -> controller.deleteAddress(3));
-        verify(service, times(1)).deleteById(3);
+        verify(service, times(1)).deleteByIdAsync(3);
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.mqped.fims.controller;
+
+import com.mqped.fims.exceptions.ServiceUnavailableException;
+import com.mqped.fims.exceptions.handler.GlobalExceptionHandler;
+import com.mqped.fims.model.dto.JwtResponseDTO;
+import com.mqped.fims.repository.RoleRepository;
+import com.mqped.fims.repository.UserRepository;
+import com.mqped.fims.service.AuthService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class AuthControllerTest {
+
+    private static final String LOGIN = "{\"username\":\"maria\",\"password\":\"secret\"}";
+
+    @Mock
+    private AuthService authService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @InjectMocks
+    private AuthController controller;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    /** Logs in with a future failed the way thenApplyAsync fails it. */
+    private void assertLoginFailsWith(RuntimeException cause, ResultMatcher status) throws Exception {
+        when(authService.login("maria", "secret"))
+                .thenReturn(CompletableFuture.failedFuture(new CompletionException(cause)));
+
+        MvcResult started = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(LOGIN))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started)).andExpect(status);
+    }
+
+    @Test
+    void testLoginAnswersTokensAsynchronously() throws Exception {
+        JwtResponseDTO tokens = new JwtResponseDTO("access", 900L, "refresh", 1, "maria", "maria@email.com",
+                Set.of("ROLE_USER"));
+        when(authService.login("maria", "secret")).thenReturn(CompletableFuture.completedFuture(tokens));
+
+        MvcResult started = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(LOGIN))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("access"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh"));
+    }
+
+    @Test
+    void testLoginMapsWrongCredentialsToUnauthorized() throws Exception {
+        assertLoginFailsWith(new BadCredentialsException("Invalid username or password"), status().isUnauthorized());
+    }
+
+    @Test
+    void testLoginMapsLockedAccountToForbidden() throws Exception {
+        assertLoginFailsWith(new LockedException("Account is locked"), status().isForbidden());
+    }
+
+    @Test
+    void testLoginMapsFullHashingQueueToServiceUnavailable() throws Exception {
+        assertLoginFailsWith(new ServiceUnavailableException("Too many logins in progress"),
+                status().isServiceUnavailable());
+    }
+
+    @Test
+    void testLoginRefusedBeforeHashingIsServiceUnavailable() throws Exception {
+        when(authService.login("maria", "secret"))
+                .thenThrow(new ServiceUnavailableException("Too many logins in progress"));
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(LOGIN))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+}
@@ -2,7 +2,9 @@ package com.mqped.fims.controller;
 
 import com.mqped.fims.exceptions.ResourceNotFoundException;
 import com.mqped.fims.model.dto.ClientDTO;
+import com.mqped.fims.model.dto.ClientDuplicateReportDTO;
 import com.mqped.fims.model.entity.Client;
+import com.mqped.fims.service.ClientDedupService;
 import com.mqped.fims.service.ClientService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +17,7 @@ import org.springframework.http.ResponseEntity;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -24,6 +27,9 @@ class ClientControllerTest {
     @Mock
     private ClientService service;
 
+    @Mock
+    private ClientDedupService dedupService;
+
     @InjectMocks
     private ClientController controller;
 
@@ -74,7 +80,7 @@ class ClientControllerTest {
     @Test
     void testGetAllClients_returnsAllClientDTOs() {
         List<Client> clients = Arrays.asList(client1, client2);
-        when(service.findAll()).thenReturn(clients);
+        when(service.findAllAsDTO()).thenReturn(clients.stream().map(ClientDTO::fromEntity).toList());
 
         ResponseEntity<List<ClientDTO>> response = controller.getAllClients();
 
@@ -83,12 +89,12 @@ class ClientControllerTest {
         assertEquals(2, response.getBody().size());
         assertEquals("Alice", response.getBody().get(0).getName());
         assertEquals("Bob", response.getBody().get(1).getName());
-        verify(service, times(1)).findAll();
+        verify(service, times(1)).findAllAsDTO();
     }
 
     @Test
     void testGetClientById_returnsClientDTOWhenFound() {
-        when(service.findById(1)).thenReturn(client1);
+        when(service.findByIdAsDTO(1)).thenReturn(ClientDTO.fromEntity(client1));
 
         ResponseEntity<ClientDTO> response = controller.getClientById(1);
 
@@ -96,15 +102,15 @@ class ClientControllerTest {
         assertNotNull(response.getBody());
         assertEquals(client1.getId(), response.getBody().getId());
         assertEquals(client1.getName(), response.getBody().getName());
-        verify(service, times(1)).findById(1);
+        verify(service, times(1)).findByIdAsDTO(1);
     }
 
     @Test
     void testGetClientById_throwsExceptionWhenNotFound() {
-        when(service.findById(3)).thenThrow(new ResourceNotFoundException("Client with id 3 not found"));
+        when(service.findByIdAsDTO(3)).thenThrow(new ResourceNotFoundException("Client with id 3 not found"));
 
         assertThrows(ResourceNotFoundException.class, () -> controller.getClientById(3));
-        verify(service, times(1)).findById(3);
+        verify(service, times(1)).findByIdAsDTO(3);
     }
 
     @Test
@@ -136,20 +142,33 @@ class ClientControllerTest {
 
     @Test
     void testDeleteClient_returnsNoContentWhenFound() {
-        doNothing().when(service).deleteById(1);
+        when(service.deleteByIdAsync(1)).thenReturn(CompletableFuture.completedFuture(null));
 
         ResponseEntity<Void> response = controller.deleteClient(1);
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
-        verify(service, times(1)).deleteById(1);
+        verify(service, times(1)).deleteByIdAsync(1);
     }
 
     @Test
     void testDeleteClient_throwsExceptionWhenNotFound() {
         doThrow(new ResourceNotFoundException("Client with id 3 not found"))
-            .when(service).deleteById(3);
+            .when(service).deleteByIdAsync(3);
 
         assertThrows(ResourceNotFoundException.class, () -> controller.deleteClient(3));
-        verify(service, times(1)).deleteById(3);
+        verify(service, times(1)).deleteByIdAsync(3);
+    }
+
+    @Test
+    void testGetDuplicates_returnsReport() {
+        ClientDuplicateReportDTO report = new ClientDuplicateReportDTO();
+        report.setTotalPairs(0);
+        when(dedupService.getReport(0.9, true, 10)).thenReturn(report);
+
+        ResponseEntity<ClientDuplicateReportDTO> response = controller.getDuplicates(0.9, 10, true);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(report, response.getBody());
+        verify(dedupService, times(1)).getReport(0.9, true, 10);
     }
-}
\ No newline at end of file
+}
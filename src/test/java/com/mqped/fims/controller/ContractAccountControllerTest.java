@@ -2,10 +2,15 @@ package com.mqped.fims.controller;
 
 import com.mqped.fims.exceptions.ResourceNotFoundException;
 import com.mqped.fims.model.dto.ContractAccountDTO;
+import com.mqped.fims.model.dto.ContractStatusHistoryDTO;
 import com.mqped.fims.model.entity.Client;
 import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.ContractStatusHistory;
 import com.mqped.fims.model.entity.Installation;
+import com.mqped.fims.model.enums.StatusType;
 import com.mqped.fims.service.ContractAccountService;
+import com.mqped.fims.service.ContractStatusHistoryService;
+import com.mqped.fims.service.SyncService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -26,6 +31,12 @@ class ContractAccountControllerTest {
     @Mock
     private ContractAccountService service;
 
+    @Mock
+    private ContractStatusHistoryService historyService;
+
+    @Mock
+    private SyncService syncService;
+
     @InjectMocks
     private ContractAccountController controller;
 
@@ -69,7 +80,7 @@ class ContractAccountControllerTest {
 
     @Test
     void testCreateContractAccount_returnsCreatedAccountDTO() {
-        when(service.add(account1)).thenReturn(account1);
+        when(service.addAsDTO(account1)).thenReturn(ContractAccountDTO.fromEntity(account1));
 
         ResponseEntity<ContractAccountDTO> response = controller.createContractAccount(account1);
 
@@ -78,13 +89,13 @@ class ContractAccountControllerTest {
         assertEquals(account1.getId(), response.getBody().getId());
         assertEquals(account1.getAccountNumber(), response.getBody().getAccountNumber());
         assertEquals("John Doe", response.getBody().getClientName());
-        verify(service, times(1)).add(account1);
+        verify(service, times(1)).addAsDTO(account1);
     }
 
     @Test
     void testGetAllContractAccounts_returnsAllAccountDTOs() {
         List<ContractAccount> accounts = Arrays.asList(account1, account2);
-        when(service.findAll()).thenReturn(accounts);
+        when(service.findAllAsDTO()).thenReturn(accounts.stream().map(ContractAccountDTO::fromEntity).toList());
 
         ResponseEntity<List<ContractAccountDTO>> response = controller.getAllContractAccounts();
 
@@ -93,13 +104,14 @@ class ContractAccountControllerTest {
         assertEquals(2, response.getBody().size());
         assertEquals("ACC123", response.getBody().get(0).getAccountNumber());
         assertEquals("ACC456", response.getBody().get(1).getAccountNumber());
-        verify(service, times(1)).findAll();
+        verify(service, times(1)).findAllAsDTO();
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     void testGetAllContractAccountsMinimal_returnsMinimalDTOs() {
         List<ContractAccount> accounts = Arrays.asList(account1, account2);
-        when(service.findAll()).thenReturn(accounts);
+        when(service.findAllWithoutInstallationAsDTO()).thenReturn(accounts.stream().map(ContractAccountDTO::fromEntityWithoutInstallation).toList());
 
         ResponseEntity<List<ContractAccountDTO>> response = controller.getAllContractAccountsMinimal();
 
@@ -109,12 +121,12 @@ class ContractAccountControllerTest {
         // Minimal version should have installationId but not full installation object
         assertEquals(1, response.getBody().get(0).getInstallationId());
         assertNull(response.getBody().get(0).getInstallation());
-        verify(service, times(1)).findAll();
+        verify(service, times(1)).findAllWithoutInstallationAsDTO();
     }
 
     @Test
     void testGetContractAccountById_returnsAccountDTOWhenFound() {
-        when(service.findById(1)).thenReturn(account1);
+        when(service.findByIdAsDTO(1)).thenReturn(ContractAccountDTO.fromEntity(account1));
 
         ResponseEntity<ContractAccountDTO> response = controller.getContractAccountById(1);
 
@@ -122,15 +134,15 @@ class ContractAccountControllerTest {
         assertNotNull(response.getBody());
         assertEquals(account1.getId(), response.getBody().getId());
         assertEquals("John Doe", response.getBody().getClientName());
-        verify(service, times(1)).findById(1);
+        verify(service, times(1)).findByIdAsDTO(1);
     }
 
     @Test
     void testGetContractAccountById_throwsExceptionWhenNotFound() {
-        when(service.findById(3)).thenThrow(new ResourceNotFoundException("ContractAccount with id 3 not found"));
+        when(service.findByIdAsDTO(3)).thenThrow(new ResourceNotFoundException("ContractAccount with id 3 not found"));
 
         assertThrows(ResourceNotFoundException.class, () -> controller.getContractAccountById(3));
-        verify(service, times(1)).findById(3);
+        verify(service, times(1)).findByIdAsDTO(3);
     }
 
     @Test
@@ -142,22 +154,22 @@ class ContractAccountControllerTest {
         updated.setInstallation(installation1);
         updated.setCreatedAt(account1.getCreatedAt());
         
-        when(service.update(1, account1)).thenReturn(updated);
+        when(service.updateAsDTO(1, account1)).thenReturn(ContractAccountDTO.fromEntity(updated));
 
         ResponseEntity<ContractAccountDTO> response = controller.updateContractAccount(1, account1);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
         assertEquals("ACC123-UPDATED", response.getBody().getAccountNumber());
-        verify(service, times(1)).update(1, account1);
+        verify(service, times(1)).updateAsDTO(1, account1);
     }
 
     @Test
     void testUpdateContractAccount_throwsExceptionWhenNotFound() {
-        when(service.update(3, account1)).thenThrow(new ResourceNotFoundException("ContractAccount with id 3 not found"));
+        when(service.updateAsDTO(3, account1)).thenThrow(new ResourceNotFoundException("ContractAccount with id 3 not found"));
 
         assertThrows(ResourceNotFoundException.class, () -> controller.updateContractAccount(3, account1));
-        verify(service, times(1)).update(3, account1);
+        verify(service, times(1)).updateAsDTO(3, account1);
     }
 
     @Test
@@ -178,4 +190,21 @@ class ContractAccountControllerTest {
         assertThrows(ResourceNotFoundException.class, () -> controller.deleteContractAccount(3));
         verify(service, times(1)).deleteById(3);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetStatusAsOf_returnsIntervalDTOs() {
+        LocalDateTime at = LocalDateTime.of(2025, 1, 1, 0, 0);
+        ContractStatusHistory interval = new ContractStatusHistory();
+        interval.setContractAccountId(1);
+        interval.setMunicipality("Marituba");
+        interval.setStatus(StatusType.CUT);
+        interval.setValidFrom(at.minusMonths(1));
+        when(historyService.findAsOf("Marituba", at)).thenReturn(List.of(interval));
+
+        ResponseEntity<List<ContractStatusHistoryDTO>> response = controller.getStatusAsOf("Marituba", at);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals(StatusType.CUT, response.getBody().get(0).getStatus());
+    }
+}
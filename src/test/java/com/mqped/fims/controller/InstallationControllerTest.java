@@ -16,6 +16,7 @@ import org.springframework.http.ResponseEntity;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -93,7 +94,7 @@ class InstallationControllerTest {
     @Test
     void testGetAllInstallations_returnsAllInstallationDTOs() {
         List<Installation> installations = Arrays.asList(installation1, installation2);
-        when(service.findAll()).thenReturn(installations);
+        when(service.findAllAsDTO()).thenReturn(installations.stream().map(InstallationDTO::fromEntity).toList());
 
         ResponseEntity<List<InstallationDTO>> response = controller.getAllInstallations();
 
@@ -102,13 +103,14 @@ class InstallationControllerTest {
         assertEquals(2, response.getBody().size());
         assertEquals("Marituba", response.getBody().get(0).getAddress().getMunicipality());
         assertEquals("Belém", response.getBody().get(1).getAddress().getMunicipality());
-        verify(service, times(1)).findAll();
+        verify(service, times(1)).findAllAsDTO();
     }
 
     @Test
+    @SuppressWarnings("deprecation")
     void testGetAllInstallationsMinimal_returnsMinimalDTOs() {
         List<Installation> installations = Arrays.asList(installation1, installation2);
-        when(service.findAll()).thenReturn(installations);
+        when(service.findAllWithoutAddressAsDTO()).thenReturn(installations.stream().map(InstallationDTO::fromEntityWithoutAddress).toList());
 
         ResponseEntity<List<InstallationDTO>> response = controller.getAllInstallationsMinimal();
 
@@ -118,12 +120,12 @@ class InstallationControllerTest {
         // Minimal version should have addressId but not full address object
         assertEquals(1, response.getBody().get(0).getAddressId());
         assertNull(response.getBody().get(0).getAddress());
-        verify(service, times(1)).findAll();
+        verify(service, times(1)).findAllWithoutAddressAsDTO();
     }
 
     @Test
     void testGetInstallationById_returnsInstallationDTOWhenFound() {
-        when(service.findById(1)).thenReturn(installation1);
+        when(service.findByIdAsDTO(1)).thenReturn(InstallationDTO.fromEntity(installation1));
 
         ResponseEntity<InstallationDTO> response = controller.getInstallationById(1);
 
@@ -131,15 +133,15 @@ class InstallationControllerTest {
         assertNotNull(response.getBody());
         assertEquals(installation1.getId(), response.getBody().getId());
         assertNotNull(response.getBody().getAddress());
-        verify(service, times(1)).findById(1);
+        verify(service, times(1)).findByIdAsDTO(1);
     }
 
     @Test
     void testGetInstallationById_throwsExceptionWhenNotFound() {
-        when(service.findById(3)).thenThrow(new ResourceNotFoundException("Installation with id 3 not found"));
+        when(service.findByIdAsDTO(3)).thenThrow(new ResourceNotFoundException("Installation with id 3 not found"));
 
         assertThrows(ResourceNotFoundException.class, () -> controller.getInstallationById(3));
-        verify(service, times(1)).findById(3);
+        verify(service, times(1)).findByIdAsDTO(3);
     }
 
     @Test
@@ -169,20 +171,20 @@ class InstallationControllerTest {
 
     @Test
     void testDeleteInstallation_returnsNoContentWhenFound() {
-        doNothing().when(service).deleteById(1);
+        when(service.deleteByIdAsync(1)).thenReturn(CompletableFuture.completedFuture(null));
 
         ResponseEntity<Void> response = controller.deleteInstallation(1);
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
-        verify(service, times(1)).deleteById(1);
+        verify(service, times(1)).deleteByIdAsync(1);
     }
 
     @Test
     void testDeleteInstallation_throwsExceptionWhenNotFound() {
         doThrow(new ResourceNotFoundException("Installation with id 3 not found"))
-            .when(service).deleteById(3);
+            .when(service).deleteByIdAsync(3);
 
         assertThrows(ResourceNotFoundException.class, () -> controller.deleteInstallation(3));
-        verify(service, times(1)).deleteById(3);
+        verify(service, times(1)).deleteByIdAsync(3);
     }
 }
\ No newline at end of file
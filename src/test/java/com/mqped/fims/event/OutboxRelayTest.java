@@ -0,0 +1,121 @@
+package com.mqped.fims.event;
+
+import com.mqped.fims.event.outbox.InMemoryOutboxSink;
+import com.mqped.fims.event.outbox.OutboxRelay;
+import com.mqped.fims.event.outbox.OutboxSink;
+import com.mqped.fims.model.dto.ChangeEventDTO;
+import com.mqped.fims.service.OutboxService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    /** Sink that fails until told otherwise. */
+    private static final class FlakySink implements OutboxSink {
+        boolean failing = true;
+        final List<ChangeEventDTO> received = new ArrayList<>();
+
+        @Override
+        public String name() {
+            return "flaky";
+        }
+
+        @Override
+        public void publish(List<ChangeEventDTO> events) throws IOException {
+            if (failing) {
+                throw new IOException("unavailable");
+            }
+            received.addAll(events);
+        }
+    }
+
+    @Mock
+    private OutboxService outboxService;
+
+    private InMemoryOutboxSink memorySink;
+    private FlakySink flakySink;
+    private OutboxRelay relay;
+
+    private final List<ChangeEventDTO> stream = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        memorySink = new InMemoryOutboxSink();
+        flakySink = new FlakySink();
+        relay = new OutboxRelay(outboxService, List.of(memorySink, flakySink), 2, Duration.ofDays(7));
+
+        for (long position = 1; position <= 5; position++) {
+            ChangeEventDTO event = new ChangeEventDTO();
+            event.setPosition(position);
+            event.setAggregateType("ServiceOrder");
+            event.setAggregateId("1");
+            event.setChangeType(ChangeType.UPDATED);
+            stream.add(event);
+        }
+        when(outboxService.findAfter(anyLong(), anyInt())).thenAnswer(invocation -> {
+            long after = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return stream.stream().filter(e -> e.getPosition() > after).limit(limit).toList();
+        });
+        when(outboxService.getHead()).thenReturn(5L);
+    }
+
+    @Test
+    void testSequencesUntilDrained() {
+        when(outboxService.sequencePending(2)).thenReturn(2, 2, 1);
+
+        relay.relay();
+
+        verify(outboxService, times(3)).sequencePending(2);
+    }
+
+    @Test
+    void testEachSinkAdvancesItsOwnOffset() {
+        relay.relay();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L),
+                memorySink.getReceived().stream().map(ChangeEventDTO::getPosition).toList());
+        verify(outboxService).commitSinkOffset("in-memory", 2L);
+        verify(outboxService).commitSinkOffset("in-memory", 4L);
+        verify(outboxService).commitSinkOffset("in-memory", 5L);
+        verify(outboxService, never()).commitSinkOffset(eq("flaky"), anyLong());
+    }
+
+    @Test
+    void testFailedSinkResumesFromItsOffset() {
+        relay.relay();
+        flakySink.failing = false;
+        when(outboxService.getOffset("sink:in-memory")).thenReturn(5L);
+
+        relay.relay();
+
+        assertEquals(5, flakySink.received.size());
+        assertEquals(5, memorySink.getReceived().size(), "the healthy sink is not fed twice");
+    }
+
+    @Test
+    void testPurgeKeepsWhatTheSlowestSinkHasNotDelivered() {
+        when(outboxService.getOffset("sink:in-memory")).thenReturn(5L);
+        when(outboxService.getOffset("sink:flaky")).thenReturn(3L);
+
+        relay.purge();
+
+        verify(outboxService).purge(any(LocalDateTime.class), eq(3L));
+    }
+}
@@ -0,0 +1,265 @@
+package com.mqped.fims.event.push;
+
+import com.mqped.fims.event.ChangeType;
+import com.mqped.fims.event.EntityChangeEvent;
+import com.mqped.fims.model.dto.ServiceOrderPushDTO;
+import com.mqped.fims.model.entity.ServiceOrder;
+import com.mqped.fims.model.enums.ServiceOrderStatus;
+import com.mqped.fims.model.enums.ServiceOrderType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceOrderPushHubTest {
+
+    /** Emitter recording what would be written to the socket. */
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<String> frames = new ArrayList<>();
+        final List<ServiceOrderPushDTO> pushes = new ArrayList<>();
+        boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder frame = new StringBuilder();
+            for (var part : builder.build()) {
+                if (part.getData() instanceof ServiceOrderPushDTO push) {
+                    pushes.add(push);
+                } else {
+                    frame.append(part.getData());
+                }
+            }
+            frames.add(frame.toString());
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        boolean received(String eventName) {
+            return frames.stream().anyMatch(f -> f.contains("event:" + eventName + "\n"));
+        }
+    }
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        tasks.clear();
+    }
+
+    private ServiceOrderPushHub hub(int bufferSize, OverflowPolicy policy, int maxPerUser) {
+        return new ServiceOrderPushHub(registry, bufferSize, policy, maxPerUser, Duration.ofMinutes(5), tasks::add);
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static Map<String, Object> state(ServiceOrderStatus status, String assignee, String team) {
+        Map<String, Object> state = new HashMap<>();
+        state.put("target", 7);
+        state.put("type", ServiceOrderType.IS_CUT);
+        state.put("status", status);
+        state.put("assignee", assignee);
+        state.put("team", team);
+        state.put("version", 0);
+        return state;
+    }
+
+    private static EntityChangeEvent created(int id, String assignee, String team) {
+        return new EntityChangeEvent(ServiceOrder.class, id, ChangeType.CREATED,
+                state(ServiceOrderStatus.CREATED, assignee, team), Map.of(), Instant.now());
+    }
+
+    private static EntityChangeEvent updated(int id, Map<String, Object> previous, Map<String, Object> current) {
+        return new EntityChangeEvent(ServiceOrder.class, id, ChangeType.UPDATED, current, previous, Instant.now());
+    }
+
+    @Test
+    void testRoutesToAssigneeAndTeam() {
+        ServiceOrderPushHub hub = hub(16, OverflowPolicy.DROP_OLDEST, 3);
+        RecordingEmitter ana = new RecordingEmitter();
+        RecordingEmitter bruno = new RecordingEmitter();
+        RecordingEmitter northTeam = new RecordingEmitter();
+        hub.register("ana", null, ana);
+        hub.register("bruno", null, bruno);
+        hub.register("carla", "north", northTeam);
+
+        hub.onEntityChange(created(1, "ana", "north"));
+        runTasks();
+
+        assertEquals(1, ana.pushes.size());
+        assertEquals(ServiceOrderPushDTO.Kind.CREATED, ana.pushes.get(0).getKind());
+        assertEquals(7, ana.pushes.get(0).getTargetId());
+        assertTrue(ana.received(ServiceOrderPushHub.EVENT_NAME));
+        assertTrue(bruno.pushes.isEmpty());
+        assertEquals(1, northTeam.pushes.size());
+        assertEquals(2.0, registry.get("fims.push.events.sent").counter().count());
+    }
+
+    @Test
+    void testConnectionMatchingUserAndTeamReceivesOnce() {
+        ServiceOrderPushHub hub = hub(16, OverflowPolicy.DROP_OLDEST, 3);
+        RecordingEmitter ana = new RecordingEmitter();
+        hub.register("ana", "north", ana);
+
+        hub.onEntityChange(created(1, "ana", "north"));
+        runTasks();
+
+        assertEquals(1, ana.pushes.size());
+    }
+
+    @Test
+    void testStatusChangeCarriesPreviousStatus() {
+        ServiceOrderPushHub hub = hub(16, OverflowPolicy.DROP_OLDEST, 3);
+        RecordingEmitter ana = new RecordingEmitter();
+        hub.register("ana", null, ana);
+
+        hub.onEntityChange(updated(1, state(ServiceOrderStatus.CREATED, "ana", null),
+                state(ServiceOrderStatus.IN_EXECUTION, "ana", null)));
+        runTasks();
+
+        ServiceOrderPushDTO push = ana.pushes.get(0);
+        assertEquals(ServiceOrderPushDTO.Kind.STATUS_CHANGED, push.getKind());
+        assertEquals(ServiceOrderStatus.CREATED, push.getPreviousStatus());
+        assertEquals(ServiceOrderStatus.IN_EXECUTION, push.getStatus());
+    }
+
+    @Test
+    void testReassignmentNotifiesPreviousAssignee() {
+        ServiceOrderPushHub hub = hub(16, OverflowPolicy.DROP_OLDEST, 3);
+        RecordingEmitter ana = new RecordingEmitter();
+        RecordingEmitter bruno = new RecordingEmitter();
+        hub.register("ana", null, ana);
+        hub.register("bruno", null, bruno);
+
+        hub.onEntityChange(updated(1, state(ServiceOrderStatus.CREATED, "ana", null),
+                state(ServiceOrderStatus.CREATED, "bruno", null)));
+        runTasks();
+
+        assertEquals(ServiceOrderPushDTO.Kind.ASSIGNED, ana.pushes.get(0).getKind());
+        assertEquals("bruno", ana.pushes.get(0).getAssignee());
+        assertEquals("ana", ana.pushes.get(0).getPreviousAssignee());
+        assertEquals(1, bruno.pushes.size());
+    }
+
+    @Test
+    void testIgnoresOtherChanges() {
+        ServiceOrderPushHub hub = hub(16, OverflowPolicy.DROP_OLDEST, 3);
+        RecordingEmitter ana = new RecordingEmitter();
+        hub.register("ana", null, ana);
+
+        Map<String, Object> current = state(ServiceOrderStatus.CREATED, "ana", null);
+        current.put("version", 1);
+        hub.onEntityChange(updated(1, state(ServiceOrderStatus.CREATED, "ana", null), current));
+        hub.onEntityChange(new EntityChangeEvent(ServiceOrder.class, 1, ChangeType.DELETED,
+                Map.of(), state(ServiceOrderStatus.CREATED, "ana", null), Instant.now()));
+        runTasks();
+
+        assertTrue(tasks.isEmpty());
+        assertTrue(ana.frames.isEmpty());
+    }
+
+    @Test
+    void testDropOldestSendsResync() {
+        ServiceOrderPushHub hub = hub(2, OverflowPolicy.DROP_OLDEST, 3);
+        RecordingEmitter ana = new RecordingEmitter();
+        hub.register("ana", null, ana);
+
+        for (int id = 1; id <= 4; id++) {
+            hub.onEntityChange(created(id, "ana", null));
+        }
+        assertEquals(2, hub.getBufferedCount());
+        runTasks();
+
+        assertTrue(ana.received(ServiceOrderPushHub.RESYNC_EVENT_NAME));
+        assertEquals(List.of(3, 4), ana.pushes.stream().map(ServiceOrderPushDTO::getId).toList());
+        assertEquals(2.0, registry.get("fims.push.events.dropped").counter().count());
+        assertFalse(ana.completed);
+    }
+
+    @Test
+    void testDisconnectPolicyClosesSlowConsumer() {
+        ServiceOrderPushHub hub = hub(2, OverflowPolicy.DISCONNECT, 3);
+        RecordingEmitter ana = new RecordingEmitter();
+        hub.register("ana", null, ana);
+
+        for (int id = 1; id <= 3; id++) {
+            hub.onEntityChange(created(id, "ana", null));
+        }
+        runTasks();
+
+        assertTrue(ana.completed);
+        assertTrue(ana.pushes.isEmpty());
+        assertEquals(0, hub.getConnectionCount());
+        assertEquals(1.0, registry.get("fims.push.disconnects").tag("reason", "slow-consumer").counter().count());
+    }
+
+    @Test
+    void testOldestConnectionReplacedBeyondLimit() {
+        ServiceOrderPushHub hub = hub(16, OverflowPolicy.DROP_OLDEST, 2);
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        RecordingEmitter third = new RecordingEmitter();
+        hub.register("ana", null, first);
+        hub.register("ana", null, second);
+        hub.register("ana", null, third);
+
+        assertTrue(first.completed);
+        assertFalse(second.completed);
+        assertEquals(2, hub.getConnectionCount());
+
+        hub.onEntityChange(created(1, "ana", null));
+        runTasks();
+        assertTrue(first.pushes.isEmpty());
+        assertEquals(1, third.pushes.size());
+    }
+
+    @Test
+    void testHeartbeatOnlyOnIdleConnections() {
+        ServiceOrderPushHub hub = hub(16, OverflowPolicy.DROP_OLDEST, 3);
+        RecordingEmitter ana = new RecordingEmitter();
+        RecordingEmitter bruno = new RecordingEmitter();
+        hub.register("ana", null, ana);
+        hub.register("bruno", null, bruno);
+
+        hub.onEntityChange(created(1, "ana", null));
+        hub.heartbeat();
+        runTasks();
+
+        assertEquals(1, ana.frames.size());
+        assertEquals(1, bruno.frames.size());
+        assertTrue(bruno.frames.get(0).contains(":heartbeat"));
+    }
+
+    @Test
+    void testClosedConnectionIsUnregistered() {
+        ServiceOrderPushHub hub = hub(16, OverflowPolicy.DROP_OLDEST, 3);
+        RecordingEmitter ana = new RecordingEmitter();
+        ServiceOrderPushHub.Connection connection = hub.register("ana", null, ana);
+
+        connection.close("completed");
+        hub.onEntityChange(created(1, "ana", null));
+
+        assertEquals(0, hub.getConnectionCount());
+        assertTrue(tasks.isEmpty());
+    }
+}
@@ -0,0 +1,33 @@
+package com.mqped.fims.model;
+
+import org.junit.jupiter.api.Test;
+
+import com.mqped.fims.model.enums.ServiceOrderStatus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceOrderStatusTest {
+
+    @Test
+    void testCreatedTransitions() {
+        assertTrue(ServiceOrderStatus.CREATED.canTransitionTo(ServiceOrderStatus.IN_EXECUTION));
+        assertTrue(ServiceOrderStatus.CREATED.canTransitionTo(ServiceOrderStatus.CANCELED));
+        assertFalse(ServiceOrderStatus.CREATED.canTransitionTo(ServiceOrderStatus.EXECUTED));
+        assertFalse(ServiceOrderStatus.CREATED.canTransitionTo(ServiceOrderStatus.CREATED));
+    }
+
+    @Test
+    void testInExecutionTransitions() {
+        assertTrue(ServiceOrderStatus.IN_EXECUTION.canTransitionTo(ServiceOrderStatus.EXECUTED));
+        assertTrue(ServiceOrderStatus.IN_EXECUTION.canTransitionTo(ServiceOrderStatus.CANCELED));
+        assertFalse(ServiceOrderStatus.IN_EXECUTION.canTransitionTo(ServiceOrderStatus.CREATED));
+    }
+
+    @Test
+    void testFinalStatesHaveNoTransitions() {
+        for (ServiceOrderStatus next : ServiceOrderStatus.values()) {
+            assertFalse(ServiceOrderStatus.EXECUTED.canTransitionTo(next));
+            assertFalse(ServiceOrderStatus.CANCELED.canTransitionTo(next));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.mqped.fims.security;
+
+import com.mqped.fims.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ThreadPoolExecutor pool;
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder encoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        pool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        executor = new PasswordHashingExecutor(encoder, registry, pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testMatchesOffCallerThread() throws Exception {
+        release.countDown();
+
+        assertTrue(executor.matches("secret", "secret").get(5, TimeUnit.SECONDS));
+        assertFalse(executor.matches("wrong", "secret").get(5, TimeUnit.SECONDS));
+        assertEquals(2, registry.get("fims.auth.hashing.duration").timer().count());
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() throws Exception {
+        CompletableFuture<Boolean> running = executor.matches("a", "a");
+        CompletableFuture<Boolean> queued = executor.matches("b", "b");
+
+        assertThrows(ServiceUnavailableException.class, () -> executor.matches("c", "c"));
+        assertEquals(1.0, registry.get("fims.auth.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -3,26 +3,35 @@ package com.mqped.fims.service;
 import com.mqped.fims.exceptions.ResourceNotFoundException;
 import com.mqped.fims.model.entity.Address;
 import com.mqped.fims.repository.AddressRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import(AggregateDeletionService.class)
 class AddressServiceTest {
 
+    @Autowired
+    private AggregateDeletionService aggregateDeletions;
+
     private AddressService service;
 
     @Autowired
     private AddressRepository repository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @BeforeEach
     void setUp() {
-        service = new AddressService(repository);
+        service = new AddressService(repository, aggregateDeletions, entityManager);
         repository.deleteAll(); // Ensure clean DB before each test
     }
 
@@ -0,0 +1,235 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.event.ChangeType;
+import com.mqped.fims.event.EntityChangeEvent;
+import com.mqped.fims.exceptions.BusinessRuleException;
+import com.mqped.fims.exceptions.ResourceNotFoundException;
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.entity.Client;
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.Installation;
+import com.mqped.fims.model.entity.ServiceOrder;
+import com.mqped.fims.model.entity.Target;
+import com.mqped.fims.model.enums.ServiceOrderStatus;
+import com.mqped.fims.model.enums.ServiceOrderType;
+import com.mqped.fims.model.enums.TargetType;
+import com.mqped.fims.repository.AddressRepository;
+import com.mqped.fims.repository.ClientRepository;
+import com.mqped.fims.repository.ContractAccountRepository;
+import com.mqped.fims.repository.InstallationRepository;
+import com.mqped.fims.repository.ServiceOrderRepository;
+import com.mqped.fims.repository.TargetRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+class AggregateDeletionServiceTest {
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private InstallationRepository installationRepository;
+
+    @Autowired
+    private ContractAccountRepository contractAccountRepository;
+
+    @Autowired
+    private TargetRepository targetRepository;
+
+    @Autowired
+    private ServiceOrderRepository serviceOrderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Queue<Runnable> queued = new ArrayDeque<>();
+
+    private ApplicationEventPublisher publisher;
+    private Client client;
+    private Address address;
+    private Installation installation;
+    private ContractAccount account;
+
+    @BeforeEach
+    void setUp() {
+        publisher = mock(ApplicationEventPublisher.class);
+
+        client = new Client();
+        client.setName("Test Client");
+        client.setCpf("987.654.321-00");
+        client.setBirthDate(LocalDateTime.now().minusYears(18));
+        client.setCreatedAt(LocalDateTime.now());
+        client = clientRepository.save(client);
+
+        address = new Address();
+        address.setAddressId("ADDR-AGG");
+        address.setState("PA");
+        address.setMunicipality("Belém");
+        address.setNeighborhood("Icoaraci");
+        address.setStreet("Rua Teste");
+        address.setZipCode("66810-000");
+        address.setNumber("0");
+        address = addressRepository.save(address);
+
+        installation = new Installation();
+        installation.setAddress(address);
+        installation.setCreatedAt(LocalDateTime.now());
+        installation = installationRepository.save(installation);
+
+        account = new ContractAccount();
+        account.setAccountNumber("ACC-AGG");
+        account.setInstallation(installation);
+        account.setClient(client);
+        account.setCreatedAt(LocalDateTime.now());
+        account = contractAccountRepository.save(account);
+    }
+
+    private AggregateDeletionService service(int asyncThreshold) {
+        return new AggregateDeletionService(addressRepository, clientRepository, installationRepository,
+                contractAccountRepository, targetRepository, serviceOrderRepository, entityManager, publisher,
+                transactionManager, queued::add, asyncThreshold);
+    }
+
+    private Target createTarget() {
+        Target target = new Target();
+        target.setContractAccount(account);
+        target.setType(TargetType.RULES);
+        target.setSignature("SIG-DEL");
+        target.setExpectedCNR(0.5);
+        target.setExpectedTicket(100.0);
+        target.setDistanceFromBase(10.0);
+        target.setCreatedAt(LocalDateTime.now());
+        return targetRepository.save(target);
+    }
+
+    private ServiceOrder createOrder(Target target) {
+        ServiceOrder order = new ServiceOrder();
+        order.setTarget(target);
+        order.setStatus(ServiceOrderStatus.CREATED);
+        order.setType(ServiceOrderType.IS_CUT);
+        order.setCreatedAt(LocalDateTime.now());
+        return serviceOrderRepository.save(order);
+    }
+
+    private List<EntityChangeEvent> publishedEvents(int count) {
+        ArgumentCaptor<EntityChangeEvent> captor = ArgumentCaptor.forClass(EntityChangeEvent.class);
+        verify(publisher, times(count)).publishEvent(captor.capture());
+        return captor.getAllValues();
+    }
+
+    @Test
+    void testDeleteAddress_DeletesSubtreeBottomUpAndPublishesEvents() {
+        Installation second = new Installation();
+        second.setAddress(address);
+        second.setCreatedAt(LocalDateTime.now());
+        second = installationRepository.save(second);
+
+        service(10).deleteAddress(address.getId());
+
+        assertFalse(addressRepository.existsById(address.getId()));
+        assertFalse(installationRepository.existsById(installation.getId()));
+        assertFalse(installationRepository.existsById(second.getId()));
+        assertFalse(contractAccountRepository.existsById(account.getId()));
+        assertTrue(clientRepository.existsById(client.getId()));
+
+        List<EntityChangeEvent> events = publishedEvents(4);
+        assertEquals(List.of(ContractAccount.class, Installation.class, Installation.class, Address.class),
+                events.stream().map(EntityChangeEvent::entityType).toList());
+        EntityChangeEvent accountDeleted = events.get(0);
+        assertEquals(account.getId(), accountDeleted.entityId());
+        assertEquals(ChangeType.DELETED, accountDeleted.changeType());
+        assertTrue(accountDeleted.state().isEmpty());
+        assertEquals("ACC-AGG", accountDeleted.previousState().get("accountNumber"));
+        assertEquals(installation.getId(), accountDeleted.previousState().get("installation"));
+        assertEquals(client.getId(), accountDeleted.previousState().get("client"));
+    }
+
+    @Test
+    void testDeleteTarget_DeletesServiceOrders() {
+        Target target = createTarget();
+        ServiceOrder order = createOrder(target);
+
+        service(10).deleteTarget(target.getId());
+
+        assertFalse(targetRepository.existsById(target.getId()));
+        assertFalse(serviceOrderRepository.existsById(order.getId()));
+        assertTrue(contractAccountRepository.existsById(account.getId()));
+
+        EntityChangeEvent orderDeleted = publishedEvents(2).get(0);
+        assertEquals(ServiceOrder.class, orderDeleted.entityType());
+        assertEquals(ServiceOrderStatus.CREATED, orderDeleted.previousState().get("status"));
+        assertEquals(ServiceOrderType.IS_CUT, orderDeleted.previousState().get("type"));
+        assertEquals(target.getId(), orderDeleted.previousState().get("target"));
+    }
+
+    @Test
+    void testDeleteClient_WithTargetsIsRejected() {
+        createTarget();
+
+        BusinessRuleException exception = assertThrows(BusinessRuleException.class,
+                () -> service(10).deleteClient(client.getId()));
+        assertEquals("Client with id " + client.getId()
+                + " has contract accounts that still have targets; delete the targets first",
+                exception.getMessage());
+        verify(publisher, never()).publishEvent(any(EntityChangeEvent.class));
+    }
+
+    @Test
+    void testDeleteMissingRoot_ThrowsNotFound() {
+        AggregateDeletionService service = service(10);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> service.deleteInstallation(999));
+        assertEquals("Installation with id 999 not found", exception.getMessage());
+        assertThrows(ResourceNotFoundException.class, () -> service.deleteAddressAsync(999));
+        assertTrue(queued.isEmpty());
+    }
+
+    @Test
+    void testDeleteAsync_SmallSubtreeRunsInline() {
+        CompletableFuture<Void> deletion = service(2).deleteInstallationAsync(installation.getId());
+
+        assertTrue(deletion.isDone());
+        assertTrue(queued.isEmpty());
+        assertFalse(installationRepository.existsById(installation.getId()));
+        assertFalse(contractAccountRepository.existsById(account.getId()));
+    }
+
+    @Test
+    void testDeleteAsync_LargeSubtreeRunsInBackground() {
+        CompletableFuture<Void> deletion = service(1).deleteInstallationAsync(installation.getId());
+
+        assertFalse(deletion.isDone());
+        assertTrue(installationRepository.existsById(installation.getId()));
+
+        queued.poll().run();
+
+        assertTrue(deletion.isDone());
+        assertFalse(deletion.isCompletedExceptionally());
+        assertFalse(installationRepository.existsById(installation.getId()));
+        assertFalse(contractAccountRepository.existsById(account.getId()));
+        publishedEvents(2);
+    }
+}
@@ -0,0 +1,98 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.exceptions.InvalidDataException;
+import com.mqped.fims.model.dto.ClientDuplicatePairDTO;
+import com.mqped.fims.model.dto.ClientDuplicateReportDTO;
+import com.mqped.fims.repository.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ClientDedupServiceTest {
+
+    private static final LocalDateTime BORN_1990 = LocalDateTime.of(1990, 5, 10, 0, 0);
+
+    @Mock
+    private ClientRepository repository;
+
+    private ClientDedupService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new ClientDedupService(repository, 0.9, 500, 2);
+
+        // Pages of two rows, read by keyset on the last ID
+        when(repository.findDedupRows(eq(0), any(Pageable.class))).thenReturn(List.of(
+                row(1, "Maria da Conceição Souza", "Ana Souza", BORN_1990, 12345678909L),
+                row(2, "MARIA DA CONCEICAO SOUZA", "Ana Souza", BORN_1990, null)));
+        when(repository.findDedupRows(eq(2), any(Pageable.class))).thenReturn(List.of(
+                row(3, "Maria da Conseição Sousa", "Ana de Souza", BORN_1990, 12345678909L),
+                row(4, "Mario Sergio Souza", "Ana Souza", BORN_1990, null)));
+        when(repository.findDedupRows(eq(4), any(Pageable.class))).thenReturn(List.<Object[]>of(
+                row(5, "Maria da Conceição Souza", "Ana Souza", LocalDateTime.of(1975, 1, 1, 0, 0), null)));
+    }
+
+    private static Object[] row(int id, String name, String motherName, LocalDateTime birthDate, Long cpfKey) {
+        return new Object[] { id, name, motherName, birthDate, cpfKey, null };
+    }
+
+    @Test
+    void testFindsAccentCaseAndSpellingVariants() {
+        ClientDuplicateReportDTO report = service.getReport(null, false, 10);
+
+        assertEquals(5, report.getClientsScanned());
+        assertEquals(0.9, report.getThreshold());
+        List<ClientDuplicatePairDTO> pairs = report.getPairs();
+        assertEquals(3, report.getTotalPairs());
+        assertTrue(pairs.stream().anyMatch(p -> p.getClientId() == 1 && p.getOtherClientId() == 2));
+        assertTrue(pairs.stream().anyMatch(p -> p.getClientId() == 1 && p.getOtherClientId() == 3 && p.isSameTaxId()));
+        assertTrue(pairs.stream().anyMatch(p -> p.getClientId() == 2 && p.getOtherClientId() == 3));
+        // Mario shares the phonetic block but scores below the threshold;
+        // a different birth year never shares a block
+        assertTrue(pairs.stream().noneMatch(p -> p.getOtherClientId() == 4 || p.getOtherClientId() == 5));
+        for (int i = 1; i < pairs.size(); i++) {
+            assertTrue(pairs.get(i - 1).getScore() >= pairs.get(i).getScore());
+        }
+    }
+
+    @Test
+    void testPairSharingBothBlocksIsReportedOnce() {
+        ClientDuplicateReportDTO report = service.getReport(0.5, false, 10);
+
+        long pairsOneTwo = report.getPairs().stream()
+                .filter(p -> p.getClientId() == 1 && p.getOtherClientId() == 2)
+                .count();
+        assertEquals(1, pairsOneTwo);
+    }
+
+    @Test
+    void testReportIsReusedUntilRefreshOrNewThreshold() {
+        service.getReport(null, false, 10);
+        service.getReport(null, false, 1);
+        verify(repository, times(1)).findDedupRows(eq(0), any(Pageable.class));
+
+        assertEquals(1, service.getReport(null, false, 1).getPairs().size());
+
+        service.getReport(null, true, 10);
+        service.getReport(0.95, false, 10);
+        verify(repository, times(3)).findDedupRows(eq(0), any(Pageable.class));
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThrows(InvalidDataException.class, () -> service.getReport(1.5, false, 10));
+        assertThrows(InvalidDataException.class, () -> service.getReport(null, false, 0));
+        verifyNoInteractions(repository);
+    }
+}
@@ -1,12 +1,17 @@
 package com.mqped.fims.service;
 
+import com.mqped.fims.exceptions.DuplicateResourceException;
+import com.mqped.fims.exceptions.InvalidDataException;
 import com.mqped.fims.exceptions.ResourceNotFoundException;
 import com.mqped.fims.model.entity.Client;
 import com.mqped.fims.repository.ClientRepository;
+import jakarta.persistence.EntityManager;
+import com.mqped.fims.util.LongHashSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -14,8 +19,15 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import(AggregateDeletionService.class)
 class ClientServiceTest {
 
+    @Autowired
+    private AggregateDeletionService aggregateDeletions;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private ClientService service;
 
     @Autowired
@@ -23,7 +35,7 @@ class ClientServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new ClientService(repository);
+        service = new ClientService(repository, aggregateDeletions, entityManager);
         repository.deleteAll();
     }
 
@@ -39,13 +51,62 @@ class ClientServiceTest {
 
     @Test
     void testAdd_AssignsIdAndStoresClient() {
-        Client client = createValidClient("Ana Clara", "123.456.789-00");
+        Client client = createValidClient("Ana Clara", "123.456.789-09");
 
         Client result = service.add(client);
 
         assertNotNull(result.getId(), "ID should be auto-assigned");
         assertEquals("Ana Clara", result.getName());
-        assertEquals("123.456.789-00", result.getCpf());
+        assertEquals("123.456.789-09", result.getCpf());
+    }
+
+    @Test
+    void testAdd_StoresCanonicalCpfKey() {
+        Client result = service.add(createValidClient("Ana Clara", "123.456.789-09"));
+
+        assertEquals(12345678909L, result.getCpfKey());
+        assertTrue(repository.existsByCpf("12345678909"));
+    }
+
+    @Test
+    void testAdd_InvalidCheckDigits_ThrowsException() {
+        assertThrows(InvalidDataException.class,
+                () -> service.add(createValidClient("Ana Clara", "123.456.789-00")));
+        assertThrows(InvalidDataException.class,
+                () -> service.add(createValidClient("Ana Clara", "111.111.111-11")));
+    }
+
+    @Test
+    void testAdd_DuplicateCpf_ThrowsException() {
+        service.add(createValidClient("Ana Clara", "123.456.789-09"));
+
+        DuplicateResourceException exception = assertThrows(DuplicateResourceException.class,
+                () -> service.add(createValidClient("Ana Souza", "12345678909")));
+        assertEquals("Client with CPF 123.456.789-09 already exists", exception.getMessage());
+    }
+
+    @Test
+    void testUpdate_KeepingOwnCpf_IsNotDuplicate() {
+        Client saved = service.add(createValidClient("Ana Clara", "123.456.789-09"));
+        service.add(createValidClient("Carlos Eduardo", "987.654.321-00"));
+
+        Client result = service.update(saved.getId(), createValidClient("Ana Clara Souza", "123.456.789-09"));
+        assertEquals("Ana Clara Souza", result.getName());
+
+        assertThrows(DuplicateResourceException.class,
+                () -> service.update(saved.getId(), createValidClient("Ana Clara", "987.654.321-00")));
+    }
+
+    @Test
+    void testLoadCpfKeys() {
+        service.add(createValidClient("Ana Clara", "123.456.789-09"));
+        service.add(createValidClient("Carlos Eduardo", "987.654.321-00"));
+
+        LongHashSet keys = service.loadCpfKeys();
+
+        assertEquals(2, keys.size());
+        assertTrue(keys.contains(12345678909L));
+        assertTrue(keys.contains(98765432100L));
     }
 
     @Test
@@ -66,8 +127,8 @@ class ClientServiceTest {
 
     @Test
     void testFindAll_MultipleClients() {
-        service.add(createValidClient("Ana Clara", "111.111.111-11"));
-        service.add(createValidClient("Carlos Eduardo", "222.222.222-22"));
+        service.add(createValidClient("Ana Clara", "111.444.777-35"));
+        service.add(createValidClient("Carlos Eduardo", "222.555.888-46"));
 
         List<Client> result = service.findAll();
 
@@ -78,9 +139,9 @@ class ClientServiceTest {
 
     @Test
     void testUpdate_ExistingClient() {
-        Client saved = service.add(createValidClient("João Silva", "111.111.111-11"));
+        Client saved = service.add(createValidClient("João Silva", "111.444.777-35"));
 
-        Client updated = createValidClient("Mariana Souza", "222.222.222-22");
+        Client updated = createValidClient("Mariana Souza", "222.555.888-46");
         updated.setMotherName("Clara Souza");
 
         Client result = service.update(saved.getId(), updated);
@@ -88,21 +149,21 @@ class ClientServiceTest {
         assertNotNull(result);
         assertEquals(saved.getId(), result.getId());
         assertEquals("Mariana Souza", result.getName());
-        assertEquals("222.222.222-22", result.getCpf());
+        assertEquals("222.555.888-46", result.getCpf());
         assertEquals("F", result.getGenre());
         assertEquals("Clara Souza", result.getMotherName());
     }
 
     @Test
     void testUpdate_NonExistingClient_ThrowsException() {
-        Client client = createValidClient("Pedro Alves", "333.333.333-33");
+        Client client = createValidClient("Pedro Alves", "333.666.999-57");
         
         assertThrows(ResourceNotFoundException.class, () -> service.update(999, client));
     }
 
     @Test
     void testDeleteById_ExistingClient() {
-        Client saved = service.add(createValidClient("Lucas Ferreira", "444.444.444-44"));
+        Client saved = service.add(createValidClient("Lucas Ferreira", "444.777.000-83"));
 
         service.deleteById(saved.getId());
         assertFalse(service.existsById(saved.getId()));
@@ -117,7 +178,7 @@ class ClientServiceTest {
 
     @Test
     void testExistsById() {
-        Client saved = service.add(createValidClient("Gabriela Martins", "555.555.555-55"));
+        Client saved = service.add(createValidClient("Gabriela Martins", "529.982.247-25"));
 
         assertTrue(service.existsById(saved.getId()));
         assertFalse(service.existsById(999));
@@ -127,8 +188,8 @@ class ClientServiceTest {
     void testCount() {
         assertEquals(0, service.count());
 
-        service.add(createValidClient("Rafael Lima", "666.666.666-66"));
-        service.add(createValidClient("Fernanda Rocha", "777.777.777-77"));
+        service.add(createValidClient("Rafael Lima", "390.533.447-05"));
+        service.add(createValidClient("Fernanda Rocha", "168.995.350-09"));
 
         assertEquals(2, service.count());
     }
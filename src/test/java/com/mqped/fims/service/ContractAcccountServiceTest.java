@@ -1,14 +1,19 @@
 package com.mqped.fims.service;
 
+import com.mqped.fims.exceptions.InvalidDataException;
 import com.mqped.fims.exceptions.ResourceNotFoundException;
 import com.mqped.fims.model.entity.Address;
 import com.mqped.fims.model.entity.Client;
 import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.ContractStatusHistory;
 import com.mqped.fims.model.entity.Installation;
+import com.mqped.fims.model.enums.StatusType;
 import com.mqped.fims.repository.ClientRepository;
 import com.mqped.fims.repository.ContractAccountRepository;
+import com.mqped.fims.repository.ContractStatusHistoryRepository;
 import com.mqped.fims.repository.InstallationRepository;
 import com.mqped.fims.repository.AddressRepository;
+import jakarta.persistence.EntityManager;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,7 +21,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,6 +42,12 @@ class ContractAccountServiceTest {
     @Autowired
     private AddressRepository addressRepository;
 
+    @Autowired
+    private ContractStatusHistoryRepository historyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private ContractAccountService service;
 
     @BeforeEach
@@ -42,7 +55,9 @@ class ContractAccountServiceTest {
         service = new ContractAccountService(
                 contractAccountRepository,
                 clientRepository,
-                installationRepository);
+                installationRepository,
+                new ContractStatusHistoryService(historyRepository, installationRepository),
+                entityManager);
 
         // Clear all repositories to start fresh
         contractAccountRepository.deleteAll();
@@ -109,6 +124,30 @@ class ContractAccountServiceTest {
         assertTrue(result2.getId() > result1.getId());
     }
 
+    @Test
+    void testAdd_MissingClientReportedByForeignKey() {
+        ContractAccount account = createValidContractAccount();
+        Client missing = new Client();
+        missing.setId(999);
+        account.setClient(missing);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> service.add(account));
+        assertEquals("Client with id 999 not found", exception.getMessage());
+    }
+
+    @Test
+    void testAdd_MissingInstallationReportedByForeignKey() {
+        ContractAccount account = createValidContractAccount();
+        Installation missing = new Installation();
+        missing.setId(999);
+        account.setInstallation(missing);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> service.add(account));
+        assertEquals("Installation with id 999 not found", exception.getMessage());
+    }
+
     @Test
     void testFindById_ExistingAccount() {
         ContractAccount account = createValidContractAccount();
@@ -160,6 +199,36 @@ class ContractAccountServiceTest {
         assertNotNull(result.getDeletedAt());
     }
 
+    @Test
+    void testUpdate_StatusChangeAppendsHistory() {
+        LocalDateTime cutStart = LocalDateTime.now().minusDays(10).truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime onStart = LocalDateTime.now().minusDays(2).truncatedTo(ChronoUnit.MICROS);
+
+        ContractAccount original = createValidContractAccount();
+        original.setAccountNumber("ACC-020");
+        original.setCreatedAt(cutStart.minusDays(1));
+        original.setStatus(StatusType.CUT);
+        original.setStatusStart(cutStart);
+        ContractAccount saved = service.add(original);
+
+        ContractAccount reconnected = createValidContractAccount();
+        reconnected.setStatus(StatusType.ON);
+        reconnected.setStatusStart(onStart);
+        service.update(saved.getId(), reconnected);
+
+        List<ContractStatusHistory> history = historyRepository
+                .findByContractAccountIdOrderByValidFromAscIdAsc(saved.getId());
+        assertEquals(2, history.size());
+        assertEquals(StatusType.CUT, history.get(0).getStatus());
+        assertEquals(StatusType.ON, history.get(1).getStatus());
+        assertEquals("Belém", history.get(1).getMunicipality());
+        assertEquals(1, historyRepository.findAsOf(ContractStatusHistory.municipalityKey("belém"),
+                onStart.minusDays(1)).size());
+        // Accents are folded on both sides, as in the in-memory timeline
+        assertEquals(StatusType.ON, historyRepository.findAsOf(ContractStatusHistory.municipalityKey(" BELEM"),
+                onStart).get(0).getStatus());
+    }
+
     @Test
     void testUpdate_NonExistingAccount_ThrowsException() {
         ContractAccount account = createValidContractAccount();
@@ -208,4 +277,44 @@ class ContractAccountServiceTest {
         service.add(ca2);
         assertEquals(2, service.count());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindAllFields_ReturnsOnlyRequestedFields() {
+        ContractAccount account = createValidContractAccount();
+        account.setAccountNumber("ACC-001");
+        account.setStatus(StatusType.ON);
+        ContractAccount saved = service.add(account);
+
+        List<Map<String, Object>> rows = service.findAllFields("accountNumber,status,installation.address.municipality");
+
+        assertEquals(1, rows.size());
+        Map<String, Object> row = rows.get(0);
+        assertEquals(List.of("id", "accountNumber", "installation", "status"), List.copyOf(row.keySet()));
+        assertEquals(saved.getId(), row.get("id"));
+        assertEquals("ACC-001", row.get("accountNumber"));
+        assertEquals(StatusType.ON, row.get("status"));
+        assertEquals(Map.of("address", Map.of("municipality", "Belém")), row.get("installation"));
+    }
+
+    @Test
+    void testFindAllFields_NestedObjectSelectsAllOfItsFields() {
+        ContractAccount saved = service.add(createValidContractAccount());
+
+        Map<String, Object> row = service.findAllFields("clientName,installation").get(0);
+
+        assertEquals("Test Client", row.get("clientName"));
+        Map<?, ?> installation = (Map<?, ?>) row.get("installation");
+        assertEquals(saved.getInstallation().getId(), installation.get("id"));
+        Map<?, ?> address = (Map<?, ?>) installation.get("address");
+        assertEquals("ADDR-001", address.get("addressId"));
+        assertTrue(address.containsKey("latitude"));
+        assertFalse(row.containsKey("accountNumber"));
+    }
+
+    @Test
+    void testFindAllFields_UnknownFieldThrowsException() {
+        InvalidDataException exception = assertThrows(InvalidDataException.class,
+                () -> service.findAllFields("accountNumber,owner"));
+        assertTrue(exception.getMessage().startsWith("Unknown field 'owner'; expected one of ["));
+    }
+}
@@ -0,0 +1,139 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.exceptions.InvalidDataException;
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.ContractStatusHistory;
+import com.mqped.fims.model.entity.Installation;
+import com.mqped.fims.model.enums.StatusType;
+import com.mqped.fims.repository.ContractStatusHistoryRepository;
+import com.mqped.fims.repository.InstallationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ContractStatusHistoryServiceTest {
+
+    private static final LocalDateTime JAN_2025 = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Mock
+    private ContractStatusHistoryRepository repository;
+
+    @Mock
+    private InstallationRepository installationRepository;
+
+    private ContractStatusHistoryService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        AtomicLong ids = new AtomicLong();
+        when(repository.save(any(ContractStatusHistory.class))).thenAnswer(invocation -> {
+            ContractStatusHistory history = invocation.getArgument(0);
+            history.setId(ids.incrementAndGet());
+            return history;
+        });
+        when(installationRepository.findMunicipalityById(10)).thenReturn(Optional.of("Marituba"));
+        when(installationRepository.findMunicipalityById(20)).thenReturn(Optional.of("Belém"));
+        when(repository.findAccountsWithoutHistory()).thenReturn(List.of());
+        when(repository.findAllOrdered()).thenReturn(List.of());
+
+        service = new ContractStatusHistoryService(repository, installationRepository);
+        service.load();
+    }
+
+    private void record(int accountId, int installationId, StatusType status, LocalDateTime start,
+            LocalDateTime end) {
+        Installation installation = new Installation();
+        installation.setId(installationId);
+
+        ContractAccount account = new ContractAccount();
+        account.setId(accountId);
+        account.setAccountNumber("ACC-" + accountId);
+        account.setInstallation(installation);
+        account.setStatus(status);
+        account.setStatusStart(start);
+        account.setStatusEnd(end);
+        service.record(account);
+    }
+
+    @Test
+    void testAsOfReturnsIntervalInEffect() {
+        record(1, 10, StatusType.CUT, JAN_2025.minusMonths(3), null);
+        record(1, 10, StatusType.ON, JAN_2025.plusMonths(2), null);
+
+        List<ContractStatusHistory> before = service.findAsOf("Marituba", JAN_2025);
+        List<ContractStatusHistory> after = service.findAsOf("Marituba", JAN_2025.plusMonths(3));
+
+        assertEquals(StatusType.CUT, before.get(0).getStatus());
+        assertEquals(StatusType.ON, after.get(0).getStatus());
+        verify(repository, never()).findAsOf(any(), any());
+    }
+
+    @Test
+    void testAsOfFiltersByMunicipalityIgnoringCaseAndAccents() {
+        record(1, 10, StatusType.ON, JAN_2025.minusDays(5), null);
+        record(2, 20, StatusType.OFF, JAN_2025.minusDays(5), null);
+
+        List<ContractStatusHistory> result = service.findAsOf("belem", JAN_2025);
+
+        assertEquals(1, result.size());
+        assertEquals(2, result.get(0).getContractAccountId());
+    }
+
+    @Test
+    void testClosedIntervalsAndLaterCorrectionsAreRespected() {
+        record(1, 10, StatusType.CUT, JAN_2025.minusMonths(1), null);
+        record(1, 10, StatusType.CUT, JAN_2025.minusMonths(1), JAN_2025.minusDays(1));
+        record(2, 10, StatusType.ON, JAN_2025.plusDays(1), null);
+
+        assertTrue(service.findAsOf("Marituba", JAN_2025).isEmpty());
+        assertEquals(1, service.findAsOf("Marituba", JAN_2025.minusDays(2)).size());
+    }
+
+    @Test
+    void testAccountWithoutStatusIsNotRecorded() {
+        ContractAccount account = new ContractAccount();
+        account.setId(1);
+
+        assertNull(service.record(account));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testAsOfFallsBackToDatabaseWithFoldedMunicipality() {
+        ContractStatusHistoryService unloaded = new ContractStatusHistoryService(repository, installationRepository);
+        when(repository.findAsOf("belem", JAN_2025)).thenReturn(List.of());
+
+        assertTrue(unloaded.findAsOf(" Belém ", JAN_2025).isEmpty());
+        verify(repository).findAsOf("belem", JAN_2025);
+    }
+
+    @Test
+    void testLoadKeysRowsStoredBeforeTheKeyColumn() {
+        ContractStatusHistory legacy = mock(ContractStatusHistory.class);
+        when(legacy.getContractAccountId()).thenReturn(1);
+        when(legacy.getMunicipality()).thenReturn("Belém");
+        when(legacy.getValidFrom()).thenReturn(JAN_2025);
+        when(repository.findAllOrdered()).thenReturn(List.of(legacy));
+
+        new ContractStatusHistoryService(repository, installationRepository).load();
+
+        verify(repository).saveAll(List.of(legacy));
+    }
+
+    @Test
+    void testAsOfRequiresMunicipalityAndInstant() {
+        assertThrows(InvalidDataException.class, () -> service.findAsOf(" ", JAN_2025));
+        assertThrows(InvalidDataException.class, () -> service.findAsOf("Marituba", null));
+    }
+}
@@ -0,0 +1,204 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.event.ChangeType;
+import com.mqped.fims.event.EntityChangeEvent;
+import com.mqped.fims.model.dto.DashboardSummaryDTO;
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.Installation;
+import com.mqped.fims.model.entity.ServiceOrder;
+import com.mqped.fims.model.entity.Target;
+import com.mqped.fims.model.enums.ServiceOrderStatus;
+import com.mqped.fims.model.enums.ServiceOrderType;
+import com.mqped.fims.model.enums.StatusType;
+import com.mqped.fims.model.enums.TargetType;
+import com.mqped.fims.repository.AddressRepository;
+import com.mqped.fims.repository.ContractAccountRepository;
+import com.mqped.fims.repository.InstallationRepository;
+import com.mqped.fims.repository.ServiceOrderRepository;
+import com.mqped.fims.repository.TargetRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DashboardServiceTest {
+
+    @Mock
+    private ServiceOrderRepository serviceOrderRepository;
+
+    @Mock
+    private TargetRepository targetRepository;
+
+    @Mock
+    private ContractAccountRepository contractAccountRepository;
+
+    @Mock
+    private InstallationRepository installationRepository;
+
+    @Mock
+    private AddressRepository addressRepository;
+
+    private DashboardService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new DashboardService(serviceOrderRepository, targetRepository, contractAccountRepository,
+                installationRepository, addressRepository, new SimpleMeterRegistry());
+    }
+
+    private static Map<String, Object> state(Object... keyValues) {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static EntityChangeEvent event(Class<?> type, ChangeType changeType,
+            Map<String, Object> state, Map<String, Object> previous) {
+        return event(type, 1, changeType, state, previous);
+    }
+
+    private static EntityChangeEvent event(Class<?> type, Integer id, ChangeType changeType,
+            Map<String, Object> state, Map<String, Object> previous) {
+        return new EntityChangeEvent(type, id, changeType, state, previous, Instant.now());
+    }
+
+    @Test
+    void testServiceOrderCreateAndStatusChange() {
+        service.onEntityChange(event(ServiceOrder.class, ChangeType.CREATED,
+                state("status", ServiceOrderStatus.CREATED, "type", ServiceOrderType.IS_CUT), Map.of()));
+        service.onEntityChange(event(ServiceOrder.class, ChangeType.UPDATED,
+                state("status", ServiceOrderStatus.EXECUTED, "type", ServiceOrderType.IS_CUT),
+                state("status", ServiceOrderStatus.CREATED, "type", ServiceOrderType.IS_CUT)));
+
+        DashboardSummaryDTO summary = service.getSummary(null);
+        assertEquals(0L, summary.getServiceOrdersByStatus().get(ServiceOrderStatus.CREATED));
+        assertEquals(1L, summary.getServiceOrdersByStatus().get(ServiceOrderStatus.EXECUTED));
+        assertEquals(1L, summary.getServiceOrders().get(ServiceOrderStatus.EXECUTED).get(ServiceOrderType.IS_CUT));
+    }
+
+    @Test
+    void testTargetDeactivationAndDeletion() {
+        service.onEntityChange(event(Target.class, ChangeType.CREATED,
+                state("type", TargetType.RULES, "active", true), Map.of()));
+        service.onEntityChange(event(Target.class, ChangeType.UPDATED,
+                state("type", TargetType.RULES, "active", false),
+                state("type", TargetType.RULES, "active", true)));
+
+        DashboardSummaryDTO summary = service.getSummary(null);
+        assertEquals(0L, summary.getActiveTargetsByType().get(TargetType.RULES));
+        assertEquals(1L, summary.getInactiveTargetsByType().get(TargetType.RULES));
+
+        service.onEntityChange(event(Target.class, ChangeType.DELETED, Map.of(),
+                state("type", TargetType.RULES, "active", false)));
+        assertEquals(0L, service.getSummary(null).getInactiveTargetsByType().get(TargetType.RULES));
+    }
+
+    @Test
+    void testContractCountsResolveMunicipalityFromAddressEvents() {
+        service.onEntityChange(event(Address.class, 20, ChangeType.CREATED,
+                state("municipality", "Marituba"), Map.of()));
+        service.onEntityChange(event(Installation.class, 10, ChangeType.CREATED,
+                state("address", 20), Map.of()));
+        service.onEntityChange(event(ContractAccount.class, ChangeType.CREATED,
+                state("installation", 10, "status", StatusType.ON), Map.of()));
+        service.onEntityChange(event(ContractAccount.class, ChangeType.UPDATED,
+                state("installation", 10, "status", StatusType.CUT),
+                state("installation", 10, "status", StatusType.ON)));
+
+        Map<StatusType, Long> marituba = service.getSummary("marituba").getContractsByMunicipality().get("Marituba");
+        assertEquals(0L, marituba.get(StatusType.ON));
+        assertEquals(1L, marituba.get(StatusType.CUT));
+        verify(installationRepository, never()).findMunicipalityById(any());
+    }
+
+    @Test
+    void testAggregateDeleteAfterRestartDecrementsSeededContracts() {
+        when(addressRepository.findAllMunicipalities()).thenReturn(List.<Object[]>of(
+                new Object[] { 20, "Belém" }));
+        when(installationRepository.findAllAddressIds()).thenReturn(List.<Object[]>of(
+                new Object[] { 10, 20 }));
+        when(contractAccountRepository.countGroupedByMunicipalityAndStatus()).thenReturn(List.<Object[]>of(
+                new Object[] { "Belém", StatusType.ON, 2L }));
+        service.reconcile();
+
+        // The address delete of the aggregate is applied before its contracts'
+        service.onEntityChange(event(Address.class, 20, ChangeType.DELETED,
+                Map.of(), state("municipality", "Belém")));
+        service.onEntityChange(event(ContractAccount.class, ChangeType.DELETED,
+                Map.of(), state("installation", 10, "status", StatusType.ON)));
+
+        assertEquals(1L, service.getSummary(null).getContractsByMunicipality().get("Belém").get(StatusType.ON));
+        verify(installationRepository, never()).findMunicipalityById(any());
+    }
+
+    @Test
+    void testContractOfUnknownInstallationIsLeftToReconcile() {
+        service.onEntityChange(event(ContractAccount.class, ChangeType.CREATED,
+                state("installation", 10, "status", StatusType.ON), Map.of()));
+
+        assertTrue(service.getSummary(null).getContractsByMunicipality().isEmpty());
+        verifyNoInteractions(installationRepository, addressRepository);
+    }
+
+    @Test
+    void testUpdateWithoutPreviousStateIsIgnored() {
+        service.onEntityChange(event(ServiceOrder.class, ChangeType.UPDATED,
+                state("status", ServiceOrderStatus.EXECUTED, "type", ServiceOrderType.IS_ON), Map.of()));
+
+        assertEquals(0L, service.getSummary(null).getServiceOrdersByStatus().get(ServiceOrderStatus.EXECUTED));
+    }
+
+    @Test
+    void testReconcileCorrectsDrift() {
+        service.onEntityChange(event(ServiceOrder.class, ChangeType.CREATED,
+                state("status", ServiceOrderStatus.CREATED, "type", ServiceOrderType.IS_ON), Map.of()));
+
+        when(serviceOrderRepository.countGroupedByStatusAndType()).thenReturn(List.of(
+                new Object[] { ServiceOrderStatus.CREATED, ServiceOrderType.IS_ON, 5L },
+                new Object[] { ServiceOrderStatus.CANCELED, ServiceOrderType.IS_OFF, 2L }));
+        when(targetRepository.countGroupedByTypeAndActive()).thenReturn(List.<Object[]>of(
+                new Object[] { TargetType.COMPLAINTS, Boolean.TRUE, 3L }));
+        when(contractAccountRepository.countGroupedByMunicipalityAndStatus()).thenReturn(List.<Object[]>of(
+                new Object[] { "Belém", StatusType.OFF, 7L }));
+
+        service.reconcile();
+
+        DashboardSummaryDTO summary = service.getSummary(null);
+        assertEquals(5L, summary.getServiceOrders().get(ServiceOrderStatus.CREATED).get(ServiceOrderType.IS_ON));
+        assertEquals(2L, summary.getServiceOrdersByStatus().get(ServiceOrderStatus.CANCELED));
+        assertEquals(3L, summary.getActiveTargetsByType().get(TargetType.COMPLAINTS));
+        assertEquals(7L, summary.getContractsByMunicipality().get("Belém").get(StatusType.OFF));
+        assertNotNull(summary.getReconciledAt());
+    }
+
+    @Test
+    void testReconcileKeepsChangesCommittedDuringQuery() {
+        // The order is created after the query read the rows
+        when(serviceOrderRepository.countGroupedByStatusAndType()).thenAnswer(invocation -> {
+            service.onEntityChange(event(ServiceOrder.class, ChangeType.CREATED,
+                    state("status", ServiceOrderStatus.CREATED, "type", ServiceOrderType.IS_ON), Map.of()));
+            return List.<Object[]>of(new Object[] { ServiceOrderStatus.CREATED, ServiceOrderType.IS_ON, 4L });
+        });
+        when(targetRepository.countGroupedByTypeAndActive()).thenReturn(List.of());
+        when(contractAccountRepository.countGroupedByMunicipalityAndStatus()).thenReturn(List.of());
+
+        service.reconcile();
+
+        assertEquals(5L, service.getSummary(null).getServiceOrders()
+                .get(ServiceOrderStatus.CREATED).get(ServiceOrderType.IS_ON));
+    }
+}
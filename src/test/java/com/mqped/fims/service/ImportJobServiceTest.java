@@ -0,0 +1,230 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.exceptions.BusinessRuleException;
+import com.mqped.fims.exceptions.InvalidDataException;
+import com.mqped.fims.model.dto.ImportJobDTO;
+import com.mqped.fims.model.dto.ImportJobErrorDTO;
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.entity.ImportJob;
+import com.mqped.fims.model.enums.ImportJobStatus;
+import com.mqped.fims.model.enums.ImportType;
+import com.mqped.fims.repository.AddressRepository;
+import com.mqped.fims.repository.ImportJobErrorRepository;
+import com.mqped.fims.repository.ImportJobRepository;
+import com.mqped.fims.service.imports.AddressCsvImporter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Chunks commit on their own, so tests run outside the rollback-only test
+// transaction and clean up after themselves
+@DataJpaTest
+@Import(AggregateDeletionService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ImportJobServiceTest {
+
+    private static final String HEADER = "id,uf,municipio,distrito,subdistrito,bairro,cep,tipo,logradouro,numero,complemento,lat,lon";
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private AggregateDeletionService aggregateDeletions;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ImportJobRepository jobRepository;
+
+    @Autowired
+    private ImportJobErrorRepository errorRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Queue<Runnable> queued = new ArrayDeque<>();
+
+    @AfterEach
+    void tearDown() {
+        errorRepository.deleteAll();
+        jobRepository.deleteAll();
+        addressRepository.deleteAll();
+    }
+
+    private ImportJobService newService(Executor executor, int chunkSize, int maxRecordedErrors) {
+        AddressCsvImporter importer = new AddressCsvImporter(
+                new AddressService(addressRepository, aggregateDeletions, entityManager));
+        return new ImportJobService(jobRepository, errorRepository, List.of(importer), transactionManager,
+                directory, executor, chunkSize, 0, maxRecordedErrors);
+    }
+
+    private static String row(String id, String municipality, String street, String latitude) {
+        return id + ",PA," + municipality + ",,,Centro,66000-000,RUA," + street + ",1,," + latitude + ",-48.49";
+    }
+
+    private void writeFile(String name, String... rows) throws IOException {
+        Files.write(directory.resolve(name), Stream.concat(Stream.of(HEADER), Stream.of(rows)).toList());
+    }
+
+    private List<String> importedStreets() {
+        return addressRepository.findAll().stream().map(Address::getStreet).sorted().toList();
+    }
+
+    @Test
+    void testImportsFileAndRecordsRejectedRows() throws IOException {
+        writeFile("addresses.csv",
+                row("A1", "Belém", "Rua A", "-1.45"),
+                row("A2", "", "Rua B", "-1.45"),
+                row("A3", "Belém", "Rua C", "-1.45"),
+                row("A4", "Belém", "Rua D", "abc"),
+                row("A5", "Belém", "Rua E", ""));
+        ImportJobService service = newService(Runnable::run, 2, 100);
+
+        ImportJobDTO created = service.createFromPath(ImportType.ADDRESSES, "addresses.csv", "admin");
+        ImportJobDTO job = service.findById(created.getId());
+
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(5, job.getRowsRead());
+        assertEquals(3, job.getRowsImported());
+        assertEquals(2, job.getRowsFailed());
+        assertEquals(100.0, job.getPercent());
+        assertEquals("admin", job.getCreatedBy());
+        assertNotNull(job.getFinishedAt());
+        assertEquals(List.of("Rua A", "Rua C", "Rua E"), importedStreets());
+
+        List<ImportJobErrorDTO> errors = service.findErrors(job.getId(), 10);
+        assertEquals(List.of(3L, 5L), errors.stream().map(ImportJobErrorDTO::getLineNumber).toList());
+        assertTrue(errors.get(0).getMessage().contains("Municipality"));
+        assertTrue(errors.get(1).getMessage().contains("coordinate"));
+    }
+
+    @Test
+    void testRejectsShortRows() throws IOException {
+        writeFile("short.csv", "A1,PA,Belém", row("A2", "Belém", "Rua B", ""));
+        ImportJobService service = newService(Runnable::run, 10, 100);
+
+        ImportJobDTO job = service.findById(service.createFromPath(ImportType.ADDRESSES, "short.csv", null).getId());
+
+        assertEquals(1, job.getRowsImported());
+        assertEquals(1, job.getRowsFailed());
+        assertTrue(service.findErrors(job.getId(), 10).get(0).getMessage().contains("expected 13 fields"));
+    }
+
+    @Test
+    void testResumesInterruptedJobAtCheckpoint() throws IOException {
+        writeFile("resume.csv",
+                row("A1", "Belém", "Rua A", ""),
+                row("A2", "Belém", "Rua B", ""),
+                row("A3", "Belém", "Rua C", ""),
+                row("A4", "Belém", "Rua D", ""));
+        ImportJob interrupted = new ImportJob();
+        interrupted.setType(ImportType.ADDRESSES);
+        interrupted.setStatus(ImportJobStatus.RUNNING);
+        interrupted.setFileName("resume.csv");
+        interrupted.setFilePath(directory.resolve("resume.csv").toString());
+        interrupted.setFileSize(Files.size(directory.resolve("resume.csv")));
+        interrupted.setLinesRead(2);
+        interrupted.setRowsImported(2);
+        Long id = jobRepository.save(interrupted).getId();
+
+        newService(Runnable::run, 10, 100).resumeInterrupted();
+
+        ImportJob job = jobRepository.findById(id).orElseThrow();
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(4, job.getLinesRead());
+        assertEquals(4, job.getRowsImported());
+        assertEquals(List.of("Rua C", "Rua D"), importedStreets());
+    }
+
+    @Test
+    void testResumesAtCheckpointOffset() throws IOException {
+        writeFile("offset.csv",
+                row("A1", "Belém", "Rua A", ""),
+                row("A2", "Belém", "\"Rua B, 10\"", ""));
+        Path file = directory.resolve("offset.csv");
+        ImportJob interrupted = new ImportJob();
+        interrupted.setType(ImportType.ADDRESSES);
+        interrupted.setStatus(ImportJobStatus.RUNNING);
+        interrupted.setFileName("offset.csv");
+        interrupted.setFilePath(file.toString());
+        interrupted.setFileSize(Files.size(file));
+        interrupted.setLinesRead(1);
+        String firstRows = HEADER + System.lineSeparator() + row("A1", "Belém", "Rua A", "") + System.lineSeparator();
+        interrupted.setBytesRead(firstRows.getBytes(StandardCharsets.UTF_8).length);
+        Long id = jobRepository.save(interrupted).getId();
+
+        newService(Runnable::run, 10, 100).resumeInterrupted();
+
+        ImportJob job = jobRepository.findById(id).orElseThrow();
+        assertEquals(ImportJobStatus.COMPLETED, job.getStatus());
+        assertEquals(2, job.getLinesRead());
+        assertEquals(Files.size(file), job.getBytesRead());
+        assertEquals(List.of("Rua B, 10"), importedStreets());
+    }
+
+    @Test
+    void testCapsRecordedErrors() throws IOException {
+        writeFile("bad.csv", row("A1", "", "Rua A", ""), row("A2", "", "Rua B", ""));
+        ImportJobService service = newService(Runnable::run, 10, 1);
+
+        ImportJobDTO job = service.findById(service.createFromPath(ImportType.ADDRESSES, "bad.csv", null).getId());
+
+        assertEquals(2, job.getRowsFailed());
+        assertEquals(1, service.findErrors(job.getId(), 10).size());
+    }
+
+    @Test
+    void testRejectsPathsOutsideDirectory() {
+        ImportJobService service = newService(Runnable::run, 10, 100);
+
+        assertThrows(InvalidDataException.class,
+                () -> service.createFromPath(ImportType.ADDRESSES, "../outside.csv", null));
+        assertThrows(InvalidDataException.class,
+                () -> service.createFromPath(ImportType.ADDRESSES, "missing.csv", null));
+        assertThrows(InvalidDataException.class, () -> service.createFromPath(null, "missing.csv", null));
+    }
+
+    @Test
+    void testCancelAndResumeQueuedJob() throws IOException {
+        writeFile("queued.csv", row("A1", "Belém", "Rua A", ""));
+        ImportJobService service = newService(queued::add, 10, 100);
+
+        Long id = service.createFromPath(ImportType.ADDRESSES, "queued.csv", null).getId();
+        assertEquals(ImportJobStatus.QUEUED, service.findById(id).getStatus());
+
+        assertEquals(ImportJobStatus.CANCELED, service.cancel(id).getStatus());
+        queued.poll().run();
+        assertTrue(importedStreets().isEmpty());
+
+        assertEquals(ImportJobStatus.QUEUED, service.resume(id).getStatus());
+        queued.poll().run();
+        assertEquals(ImportJobStatus.COMPLETED, service.findById(id).getStatus());
+        assertEquals(List.of("Rua A"), importedStreets());
+
+        assertThrows(BusinessRuleException.class, () -> service.cancel(id));
+        assertThrows(BusinessRuleException.class, () -> service.resume(id));
+    }
+}
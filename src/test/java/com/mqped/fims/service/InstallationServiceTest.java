@@ -5,10 +5,12 @@ import com.mqped.fims.model.entity.Address;
 import com.mqped.fims.model.entity.Installation;
 import com.mqped.fims.repository.AddressRepository;
 import com.mqped.fims.repository.InstallationRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,8 +18,15 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import(AggregateDeletionService.class)
 class InstallationServiceTest {
 
+    @Autowired
+    private AggregateDeletionService aggregateDeletions;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private InstallationService service;
 
     @Autowired
@@ -28,7 +37,7 @@ class InstallationServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new InstallationService(repository, addressRepository);
+        service = new InstallationService(repository, addressRepository, aggregateDeletions, entityManager);
         repository.deleteAll();
         addressRepository.deleteAll();
     }
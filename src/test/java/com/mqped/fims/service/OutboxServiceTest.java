@@ -0,0 +1,116 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.event.ChangeType;
+import com.mqped.fims.event.HibernateEntityChangeBridge;
+import com.mqped.fims.event.outbox.OutboxWriter;
+import com.mqped.fims.exceptions.InvalidDataException;
+import com.mqped.fims.model.dto.ChangeEventDTO;
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.repository.AddressRepository;
+import com.mqped.fims.repository.OutboxConsumerOffsetRepository;
+import com.mqped.fims.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ HibernateEntityChangeBridge.class, OutboxWriter.class, JacksonAutoConfiguration.class })
+class OutboxServiceTest {
+
+    private OutboxService service;
+
+    @Autowired
+    private OutboxEventRepository repository;
+
+    @Autowired
+    private OutboxConsumerOffsetRepository offsetRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @BeforeEach
+    void setUp() {
+        service = new OutboxService(repository, offsetRepository);
+    }
+
+    private Address saveAddress(String street) {
+        Address address = new Address();
+        address.setAddressId("ADDR-" + System.nanoTime());
+        address.setState("PA");
+        address.setMunicipality("Belém");
+        address.setNeighborhood("Centro");
+        address.setStreet(street);
+        address.setNumber("123");
+        address.setZipCode("66000-000");
+        address.setLatitude(-1.455833);
+        address.setLongitude(-48.504444);
+        return addressRepository.saveAndFlush(address);
+    }
+
+    @Test
+    void testChangesAreWrittenInTheSameTransactionAndSequenced() {
+        long head = service.getHead();
+        Address address = saveAddress("Rua dos Mundurucus");
+        address.setStreet("Avenida Nazaré");
+        addressRepository.saveAndFlush(address);
+        addressRepository.delete(address);
+        addressRepository.flush();
+
+        assertTrue(service.findAfter(head, 10).isEmpty(), "rows are not visible before sequencing");
+        assertEquals(3, service.sequencePending(10));
+        assertEquals(0, service.sequencePending(10));
+
+        List<ChangeEventDTO> changes = service.findByAggregate("Address", String.valueOf(address.getId()));
+        assertEquals(List.of(ChangeType.CREATED, ChangeType.UPDATED, ChangeType.DELETED),
+                changes.stream().map(ChangeEventDTO::getChangeType).toList());
+        assertTrue(changes.get(1).getPayload().contains("Avenida Nazaré"));
+        assertTrue(changes.get(2).getPayload().contains("Avenida Nazaré"), "deletions carry the last state");
+        for (int i = 1; i < changes.size(); i++) {
+            assertEquals(changes.get(i - 1).getPosition() + 1, changes.get(i).getPosition());
+        }
+    }
+
+    @Test
+    void testFindAfterPagesByPosition() {
+        saveAddress("Rua A");
+        saveAddress("Rua B");
+        saveAddress("Rua C");
+        service.sequencePending(2);
+        service.sequencePending(2);
+
+        long head = service.getHead();
+        List<ChangeEventDTO> tail = service.findAfter(head - 2, 10);
+
+        assertEquals(2, tail.size());
+        assertEquals(head, tail.get(1).getPosition());
+        assertThrows(InvalidDataException.class, () -> service.findAfter(-1, 10));
+        assertThrows(InvalidDataException.class, () -> service.findAfter(0, OutboxService.MAX_LIMIT + 1));
+    }
+
+    @Test
+    void testConsumerOffsets() {
+        saveAddress("Rua A");
+        saveAddress("Rua B");
+        service.sequencePending(10);
+        long head = service.getHead();
+
+        assertEquals(0, service.getOffset("billing"));
+        service.commitOffset("billing", head - 1);
+
+        assertEquals(head - 1, service.getOffset("billing"));
+        List<ChangeEventDTO> next = service.poll("billing", 10);
+        assertEquals(1, next.size());
+        assertEquals(head, next.get(0).getPosition());
+
+        assertThrows(InvalidDataException.class, () -> service.commitOffset("billing", head + 1));
+        assertThrows(InvalidDataException.class, () -> service.commitOffset("sink:sse", 0));
+        assertThrows(InvalidDataException.class, () -> service.commitOffset(" ", 0));
+    }
+}
@@ -0,0 +1,138 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.exceptions.UnauthorizedException;
+import com.mqped.fims.model.entity.RefreshToken;
+import com.mqped.fims.model.entity.User;
+import com.mqped.fims.model.enums.RefreshTokenRevocation;
+import com.mqped.fims.repository.RefreshTokenRepository;
+import com.mqped.fims.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.security.authentication.LockedException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private TokenRevocationService tokenRevocationService;
+    private RefreshTokenService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = mock(TokenRevocationService.class);
+        service = new RefreshTokenService(refreshTokenRepository, tokenRevocationService, 60_000);
+        user = userRepository.save(new User("technician01", "technician01@example.com", "encoded-password"));
+    }
+
+    @Test
+    void testStoresOnlyHash() {
+        String token = service.issue(user);
+
+        RefreshToken stored = refreshTokenRepository.findAll().get(0);
+        assertNotEquals(token, stored.getTokenHash());
+        assertEquals(64, stored.getTokenHash().length());
+        assertNull(stored.getRevokedAt());
+    }
+
+    @Test
+    void testRotateReplacesToken() {
+        String token = service.issue(user);
+
+        RefreshTokenService.Rotation rotation = service.rotate(token);
+
+        assertEquals(user.getId(), rotation.user().getId());
+        assertNotEquals(token, rotation.refreshToken());
+        assertDoesNotThrow(() -> service.rotate(rotation.refreshToken()));
+    }
+
+    @Test
+    void testReuseRevokesAllTokens() {
+        String token = service.issue(user);
+        String next = service.rotate(token).refreshToken();
+        String other = service.issue(user);
+
+        assertThrows(UnauthorizedException.class, () -> service.rotate(token));
+        verify(tokenRevocationService).revokeUser(user.getId());
+        entityManager.clear();
+
+        assertThrows(UnauthorizedException.class, () -> service.rotate(next));
+        assertThrows(UnauthorizedException.class, () -> service.rotate(other));
+    }
+
+    @Test
+    void testConcurrentRotationOfSameTokenIsReuse() {
+        String token = service.issue(user);
+        // Load the row while it is unrevoked, as a racing request would
+        RefreshToken loaded = refreshTokenRepository.findAll().get(0);
+        assertNull(loaded.getRevokedAt());
+        // The other request's claim commits behind this persistence context
+        assertEquals(1, refreshTokenRepository.claim(loaded.getId(), LocalDateTime.now(),
+                RefreshTokenRevocation.ROTATED));
+
+        assertThrows(UnauthorizedException.class, () -> service.rotate(token));
+        verify(tokenRevocationService).revokeUser(user.getId());
+        assertEquals(1, refreshTokenRepository.count());
+    }
+
+    @Test
+    void testTokenPresentedAfterLogoutDoesNotRevokeOtherSessions() {
+        String loggedOut = service.issue(user);
+        String otherDevice = service.issue(user);
+        service.revoke(loggedOut);
+
+        UnauthorizedException refused = assertThrows(UnauthorizedException.class, () -> service.rotate(loggedOut));
+
+        assertFalse(refused.getMessage().contains("already been used"));
+        verify(tokenRevocationService, never()).revokeUser(any());
+        entityManager.clear();
+        assertDoesNotThrow(() -> service.rotate(otherDevice));
+    }
+
+    @Test
+    void testRejectsUnknownAndExpiredTokens() {
+        assertThrows(UnauthorizedException.class, () -> service.rotate("unknown"));
+
+        String token = service.issue(user);
+        refreshTokenRepository.findAll().forEach(t -> t.setExpiresAt(LocalDateTime.now().minusSeconds(1)));
+
+        assertThrows(UnauthorizedException.class, () -> service.rotate(token));
+    }
+
+    @Test
+    void testRejectsLockedAccount() {
+        String token = service.issue(user);
+        user.setAccountNonLocked(false);
+
+        assertThrows(LockedException.class, () -> service.rotate(token));
+    }
+
+    @Test
+    void testRevokeAndPurge() {
+        String token = service.issue(user);
+        service.revoke(token);
+        service.revoke("unknown");
+
+        assertThrows(UnauthorizedException.class, () -> service.rotate(token));
+
+        refreshTokenRepository.findAll().forEach(t -> t.setExpiresAt(LocalDateTime.now().minusSeconds(1)));
+        service.purgeExpired();
+        assertEquals(0, refreshTokenRepository.count());
+    }
+}
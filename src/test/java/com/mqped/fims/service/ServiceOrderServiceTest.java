@@ -0,0 +1,231 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.event.ChangeType;
+import com.mqped.fims.event.EntityChangeEvent;
+import com.mqped.fims.exceptions.BusinessRuleException;
+import com.mqped.fims.exceptions.ConcurrentUpdateException;
+import com.mqped.fims.exceptions.ResourceNotFoundException;
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.entity.Client;
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.Installation;
+import com.mqped.fims.model.entity.ServiceOrder;
+import com.mqped.fims.model.entity.Target;
+import com.mqped.fims.model.enums.ServiceOrderStatus;
+import com.mqped.fims.model.enums.ServiceOrderType;
+import com.mqped.fims.model.enums.TargetType;
+import com.mqped.fims.repository.AddressRepository;
+import com.mqped.fims.repository.ClientRepository;
+import com.mqped.fims.repository.ContractAccountRepository;
+import com.mqped.fims.repository.InstallationRepository;
+import com.mqped.fims.repository.ServiceOrderRepository;
+import com.mqped.fims.repository.TargetRepository;
+import jakarta.persistence.EntityManager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+class ServiceOrderServiceTest {
+
+    @Autowired
+    private ServiceOrderRepository serviceOrderRepository;
+
+    @Autowired
+    private TargetRepository targetRepository;
+
+    @Autowired
+    private ContractAccountRepository contractAccountRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private InstallationRepository installationRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ApplicationEventPublisher publisher;
+    private ServiceOrderService service;
+    private Target target;
+
+    @BeforeEach
+    void setUp() {
+        publisher = mock(ApplicationEventPublisher.class);
+        service = new ServiceOrderService(serviceOrderRepository, publisher, entityManager);
+        target = createTarget();
+    }
+
+    private Target createTarget() {
+        Client client = new Client();
+        client.setName("Test Client");
+        client.setCpf("987.654.321-00");
+        client.setBirthDate(LocalDateTime.now().minusYears(18));
+        client.setCreatedAt(LocalDateTime.now());
+        client = clientRepository.save(client);
+
+        Address address = new Address();
+        address.setAddressId("ADDR-001");
+        address.setState("PA");
+        address.setMunicipality("Belém");
+        address.setNeighborhood("Icoaraci");
+        address.setStreet("Rua Teste");
+        address.setZipCode("66810-000");
+        address.setNumber("0");
+        address = addressRepository.save(address);
+
+        Installation installation = new Installation();
+        installation.setAddress(address);
+        installation.setCreatedAt(LocalDateTime.now());
+        installation = installationRepository.save(installation);
+
+        ContractAccount account = new ContractAccount();
+        account.setAccountNumber("ACC-001");
+        account.setInstallation(installation);
+        account.setClient(client);
+        account.setCreatedAt(LocalDateTime.now());
+        account = contractAccountRepository.save(account);
+
+        Target newTarget = new Target();
+        newTarget.setContractAccount(account);
+        newTarget.setType(TargetType.RULES);
+        newTarget.setSignature("SIG-SO");
+        newTarget.setExpectedCNR(0.5);
+        newTarget.setExpectedTicket(100.0);
+        newTarget.setDistanceFromBase(10.0);
+        newTarget.setCreatedAt(LocalDateTime.now());
+        return targetRepository.save(newTarget);
+    }
+
+    private ServiceOrder createOrder() {
+        ServiceOrder order = new ServiceOrder();
+        order.setTarget(target);
+        order.setType(ServiceOrderType.IS_CUT);
+        order.setCreatedAt(LocalDateTime.now().minusHours(1));
+        return service.add(order);
+    }
+
+    @Test
+    void testAdd_StartsAtVersionZero() {
+        ServiceOrder order = createOrder();
+        serviceOrderRepository.flush();
+
+        assertEquals(0L, order.getVersion());
+        assertEquals(ServiceOrderStatus.CREATED, order.getStatus());
+    }
+
+    @Test
+    void testStartAndExecute_FollowLifecycle() {
+        ServiceOrder order = createOrder();
+
+        ServiceOrder started = service.start(order.getId());
+        assertEquals(ServiceOrderStatus.IN_EXECUTION, started.getStatus());
+        assertEquals(1L, started.getVersion());
+        assertNull(started.getExecutedAt());
+
+        ServiceOrder executed = service.execute(order.getId());
+        assertEquals(ServiceOrderStatus.EXECUTED, executed.getStatus());
+        assertEquals(2L, executed.getVersion());
+        assertNotNull(executed.getExecutedAt());
+    }
+
+    @Test
+    void testTransition_PublishesChangeEvent() {
+        ServiceOrder order = createOrder();
+
+        service.cancel(order.getId());
+
+        ArgumentCaptor<EntityChangeEvent> captor = ArgumentCaptor.forClass(EntityChangeEvent.class);
+        verify(publisher).publishEvent(captor.capture());
+        EntityChangeEvent event = captor.getValue();
+        assertEquals(ChangeType.UPDATED, event.changeType());
+        assertEquals(ServiceOrderStatus.CANCELED, event.value("status"));
+        assertEquals(ServiceOrderStatus.CREATED, event.previousValue("status"));
+        assertEquals(target.getId(), event.value("target"));
+    }
+
+    @Test
+    void testRepeatedTransition_IsIdempotent() {
+        ServiceOrder order = createOrder();
+        service.start(order.getId());
+
+        ServiceOrder again = service.start(order.getId());
+
+        assertEquals(ServiceOrderStatus.IN_EXECUTION, again.getStatus());
+        assertEquals(1L, again.getVersion());
+        verify(publisher, times(1)).publishEvent(any(EntityChangeEvent.class));
+    }
+
+    @Test
+    void testExecute_FromCreatedIsRejected() {
+        ServiceOrder order = createOrder();
+
+        assertThrows(BusinessRuleException.class, () -> service.execute(order.getId()));
+        assertEquals(ServiceOrderStatus.CREATED, service.findById(order.getId()).getStatus());
+    }
+
+    @Test
+    void testCancel_FinishedOrderIsRejected() {
+        ServiceOrder order = createOrder();
+        service.start(order.getId());
+        service.execute(order.getId());
+
+        assertThrows(BusinessRuleException.class, () -> service.cancel(order.getId()));
+    }
+
+    @Test
+    void testTransition_NonExistingOrderThrows() {
+        assertThrows(ResourceNotFoundException.class, () -> service.start(999));
+    }
+
+    @Test
+    void testConditionalUpdate_DoesNothingWhenStatusChanged() {
+        ServiceOrder order = createOrder();
+        service.start(order.getId());
+
+        int updated = serviceOrderRepository.transitionStatus(order.getId(), ServiceOrderStatus.CREATED,
+                ServiceOrderStatus.CANCELED, null, LocalDateTime.now());
+
+        assertEquals(0, updated);
+        assertEquals(ServiceOrderStatus.IN_EXECUTION, service.findById(order.getId()).getStatus());
+    }
+
+    @Test
+    void testUpdate_StaleVersionIsRejected() {
+        ServiceOrder order = createOrder();
+        service.start(order.getId());
+
+        ServiceOrder stale = new ServiceOrder();
+        stale.setTarget(target);
+        stale.setType(ServiceOrderType.IS_ON);
+        stale.setStatus(ServiceOrderStatus.IN_EXECUTION);
+        stale.setVersion(0L);
+
+        assertThrows(ConcurrentUpdateException.class, () -> service.update(order.getId(), stale));
+    }
+
+    @Test
+    void testUpdate_DisallowedStatusChangeIsRejected() {
+        ServiceOrder order = createOrder();
+
+        ServiceOrder change = new ServiceOrder();
+        change.setTarget(target);
+        change.setType(ServiceOrderType.IS_CUT);
+        change.setStatus(ServiceOrderStatus.EXECUTED);
+
+        assertThrows(BusinessRuleException.class, () -> service.update(order.getId(), change));
+    }
+}
@@ -0,0 +1,181 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.event.ChangeType;
+import com.mqped.fims.event.EntityChangeEvent;
+import com.mqped.fims.event.ServiceOrderSlaBreachEvent;
+import com.mqped.fims.model.entity.ServiceOrder;
+import com.mqped.fims.model.enums.ServiceOrderStatus;
+import com.mqped.fims.model.enums.ServiceOrderType;
+import com.mqped.fims.repository.ServiceOrderRepository;
+import com.mqped.fims.service.ServiceOrderSlaMonitor.OpenServiceOrder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ServiceOrderSlaMonitorTest {
+
+    /** Clock that tests can move forward. */
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 10, 12, 0);
+
+    @Mock
+    private ServiceOrderRepository repository;
+
+    @Mock
+    private ApplicationEventPublisher publisher;
+
+    private MutableClock clock;
+    private SimpleMeterRegistry registry;
+    private ServiceOrderSlaMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        clock = new MutableClock(START.toInstant(ZoneOffset.UTC));
+        registry = new SimpleMeterRegistry();
+        monitor = new ServiceOrderSlaMonitor(repository, publisher, registry,
+                List.of(Duration.ofDays(3), Duration.ofDays(1)), Duration.ofHours(1), clock);
+    }
+
+    private static OpenServiceOrder order(int id, LocalDateTime createdAt) {
+        return new OpenServiceOrder(id, 100 + id, ServiceOrderType.IS_CUT, ServiceOrderStatus.CREATED, createdAt);
+    }
+
+    private double overdue(String threshold) {
+        return registry.get("fims.service_orders.sla.overdue").tag("threshold", threshold).gauge().value();
+    }
+
+    @Test
+    void testThresholdsAreSorted() {
+        assertEquals(List.of(Duration.ofDays(1), Duration.ofDays(3)), monitor.getThresholds());
+    }
+
+    @Test
+    void testSubSecondBucketWidthIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ServiceOrderSlaMonitor(repository, publisher,
+                new SimpleMeterRegistry(), List.of(Duration.ofDays(1)), Duration.ofMillis(500), clock));
+    }
+
+    @Test
+    void testStartupLoadsEveryActiveStatus() {
+        when(repository.findActiveSnapshots(anyList())).thenReturn(List.<Object[]>of(
+                new Object[] { 1, 101, ServiceOrderType.IS_CUT, ServiceOrderStatus.IN_EXECUTION, START }));
+
+        monitor.onApplicationReady();
+
+        List<ServiceOrderStatus> active = Arrays.stream(ServiceOrderStatus.values())
+                .filter(ServiceOrderStatus::isActive)
+                .toList();
+        verify(repository).findActiveSnapshots(active);
+        assertEquals(1, monitor.getOpenCount());
+    }
+
+    @Test
+    void testScanEmitsBreachOncePerThreshold() {
+        monitor.track(order(1, START.minusHours(2)));
+        monitor.scan();
+        verify(publisher, never()).publishEvent(any(Object.class));
+
+        clock.advance(Duration.ofHours(23));
+        monitor.scan();
+        monitor.scan();
+
+        ArgumentCaptor<ServiceOrderSlaBreachEvent> captor = ArgumentCaptor.forClass(ServiceOrderSlaBreachEvent.class);
+        verify(publisher, times(1)).publishEvent(captor.capture());
+        assertEquals(1, captor.getValue().serviceOrderId());
+        assertEquals(Duration.ofDays(1), captor.getValue().threshold());
+        assertEquals(1.0, overdue("PT24H"));
+        assertEquals(0.0, overdue("PT72H"));
+    }
+
+    @Test
+    void testOrderAlreadyPastThresholdsIsReportedWhenTracked() {
+        monitor.track(order(1, START.minusDays(5)));
+
+        verify(publisher, times(2)).publishEvent(any(ServiceOrderSlaBreachEvent.class));
+        assertEquals(1.0, overdue("PT72H"));
+    }
+
+    @Test
+    void testFindOverdueUsesIndexOnly() {
+        monitor.track(order(1, START.minusDays(4)));
+        monitor.track(order(2, START.minusDays(2)));
+        monitor.track(order(3, START.minusHours(1)));
+
+        List<OpenServiceOrder> overdue = monitor.findOverdue(Duration.ofDays(1));
+
+        assertEquals(List.of(1, 2), overdue.stream().map(OpenServiceOrder::id).toList());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testClosingOrderRemovesItAndReleasesOverdueCount() {
+        monitor.track(order(1, START.minusDays(2)));
+        assertEquals(1.0, overdue("PT24H"));
+
+        Map<String, Object> state = new HashMap<>();
+        state.put("status", ServiceOrderStatus.EXECUTED);
+        state.put("createdAt", START.minusDays(2));
+        monitor.onEntityChange(new EntityChangeEvent(ServiceOrder.class, 1, ChangeType.UPDATED,
+                state, Map.of("status", ServiceOrderStatus.CREATED), Instant.now()));
+
+        assertTrue(monitor.findOverdue(Duration.ZERO).isEmpty());
+        assertEquals(0, monitor.getOpenCount());
+        assertEquals(0.0, overdue("PT24H"));
+    }
+
+    @Test
+    void testStatusChangeKeepsBreachLevel() {
+        monitor.track(order(1, START.minusDays(2)));
+        monitor.track(new OpenServiceOrder(1, 101, ServiceOrderType.IS_CUT, ServiceOrderStatus.IN_EXECUTION,
+                START.minusDays(2)));
+
+        verify(publisher, times(1)).publishEvent(any(ServiceOrderSlaBreachEvent.class));
+        assertEquals(1.0, overdue("PT24H"));
+        assertEquals(ServiceOrderStatus.IN_EXECUTION, monitor.findOverdue(Duration.ZERO).get(0).status());
+    }
+}
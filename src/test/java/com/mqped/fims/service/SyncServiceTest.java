@@ -0,0 +1,164 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.event.HibernateEntityChangeBridge;
+import com.mqped.fims.event.SyncTombstoneWriter;
+import com.mqped.fims.exceptions.InvalidDataException;
+import com.mqped.fims.model.dto.AddressDTO;
+import com.mqped.fims.model.dto.SyncPageDTO;
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.repository.AddressRepository;
+import com.mqped.fims.repository.ContractAccountRepository;
+import com.mqped.fims.repository.ServiceOrderRepository;
+import com.mqped.fims.repository.SyncTombstoneRepository;
+import com.mqped.fims.repository.TargetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({ HibernateEntityChangeBridge.class, SyncTombstoneWriter.class })
+class SyncServiceTest {
+
+    private SyncService service;
+
+    @Autowired
+    private TargetRepository targetRepository;
+
+    @Autowired
+    private ServiceOrderRepository serviceOrderRepository;
+
+    @Autowired
+    private ContractAccountRepository contractAccountRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private SyncTombstoneRepository tombstoneRepository;
+
+    @BeforeEach
+    void setUp() {
+        service = newService(Duration.ofDays(30));
+    }
+
+    private SyncService newService(Duration tombstoneRetention) {
+        return new SyncService(targetRepository, serviceOrderRepository, contractAccountRepository,
+                addressRepository, tombstoneRepository, Duration.ZERO, tombstoneRetention);
+    }
+
+    private Address saveAddress(String street) {
+        Address address = new Address();
+        address.setAddressId("ADDR-" + System.nanoTime());
+        address.setState("PA");
+        address.setMunicipality("Belém");
+        address.setNeighborhood("Centro");
+        address.setStreet(street);
+        address.setNumber("123");
+        address.setZipCode("66000-000");
+        return addressRepository.saveAndFlush(address);
+    }
+
+    /** Lets the clock move past the last stamp, since the sync upper bound is exclusive. */
+    private static void settle() throws InterruptedException {
+        Thread.sleep(5);
+    }
+
+    private static List<String> streets(SyncPageDTO<AddressDTO> page) {
+        return page.getItems().stream().map(AddressDTO::getStreet).toList();
+    }
+
+    @Test
+    void testFirstSyncReturnsEverythingAndNextSyncNothing() throws Exception {
+        saveAddress("Rua A");
+        saveAddress("Rua B");
+        settle();
+
+        SyncPageDTO<AddressDTO> first = service.syncAddresses(null, 100);
+        assertEquals(List.of("Rua A", "Rua B"), streets(first));
+        assertFalse(first.isHasMore());
+        assertNotNull(first.getNextToken());
+
+        SyncPageDTO<AddressDTO> second = service.syncAddresses(first.getNextToken(), 100);
+        assertTrue(second.getItems().isEmpty());
+        assertTrue(second.getDeletedIds().isEmpty());
+    }
+
+    @Test
+    void testOnlyUpdatedRowsAreReturned() throws Exception {
+        Address a = saveAddress("Rua A");
+        saveAddress("Rua B");
+        settle();
+        String token = service.syncAddresses(null, 100).getNextToken();
+
+        a.setStreet("Rua A2");
+        addressRepository.saveAndFlush(a);
+        settle();
+
+        SyncPageDTO<AddressDTO> delta = service.syncAddresses(token, 100);
+        assertEquals(List.of("Rua A2"), streets(delta));
+    }
+
+    @Test
+    void testDeletionsAreReturnedAsTombstones() throws Exception {
+        Address a = saveAddress("Rua A");
+        settle();
+        String token = service.syncAddresses(null, 100).getNextToken();
+
+        addressRepository.delete(a);
+        addressRepository.flush();
+        settle();
+
+        SyncPageDTO<AddressDTO> delta = service.syncAddresses(token, 100);
+        assertTrue(delta.getItems().isEmpty());
+        assertEquals(List.of(a.getId()), delta.getDeletedIds());
+        assertTrue(service.syncAddresses(delta.getNextToken(), 100).getDeletedIds().isEmpty());
+    }
+
+    @Test
+    void testContinuationTokenPagesThroughChanges() throws Exception {
+        for (String street : List.of("Rua A", "Rua B", "Rua C", "Rua D", "Rua E")) {
+            saveAddress(street);
+        }
+        settle();
+
+        SyncPageDTO<AddressDTO> page = service.syncAddresses(null, 2);
+        List<String> seen = new ArrayList<>(streets(page));
+        int requests = 1;
+        while (page.isHasMore()) {
+            page = service.syncAddresses(page.getNextToken(), 2);
+            seen.addAll(streets(page));
+            requests++;
+        }
+
+        assertEquals(List.of("Rua A", "Rua B", "Rua C", "Rua D", "Rua E"), seen);
+        assertEquals(3, requests);
+    }
+
+    @Test
+    void testTokenOlderThanRetentionRequiresReset() throws Exception {
+        saveAddress("Rua A");
+        settle();
+        String token = service.syncAddresses(null, 100).getNextToken();
+        settle();
+
+        SyncPageDTO<AddressDTO> page = newService(Duration.ofMillis(1)).syncAddresses(token, 100);
+
+        assertTrue(page.isResetRequired());
+        assertNull(page.getNextToken());
+    }
+
+    @Test
+    void testInvalidTokenOrLimitIsRejected() {
+        assertThrows(InvalidDataException.class, () -> service.syncAddresses("not a token", 100));
+        assertThrows(InvalidDataException.class, () -> service.syncAddresses(null, 0));
+        assertThrows(InvalidDataException.class, () -> service.syncAddresses(null, SyncService.MAX_LIMIT + 1));
+    }
+}
@@ -0,0 +1,242 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.exceptions.InvalidDataException;
+import com.mqped.fims.exceptions.ResourceNotFoundException;
+import com.mqped.fims.model.dto.SearchPageDTO;
+import com.mqped.fims.model.dto.TargetDTO;
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.entity.Client;
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.Installation;
+import com.mqped.fims.model.entity.Target;
+import com.mqped.fims.model.enums.TargetType;
+import com.mqped.fims.repository.AddressRepository;
+import com.mqped.fims.repository.ClientRepository;
+import com.mqped.fims.repository.ContractAccountRepository;
+import com.mqped.fims.repository.InstallationRepository;
+import com.mqped.fims.repository.TargetRepository;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a test transaction, like a request with open-session-in-view
+ * disabled: entities returned by repositories are detached, so any lazy load
+ * outside a service transaction fails.
+ */
+@DataJpaTest
+@Import({ TargetService.class, AggregateDeletionService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TargetServiceTest {
+
+    @Autowired
+    private TargetService service;
+
+    @Autowired
+    private TargetRepository targetRepository;
+
+    @Autowired
+    private ContractAccountRepository contractAccountRepository;
+
+    @Autowired
+    private InstallationRepository installationRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    private Target target;
+
+    @BeforeEach
+    void setUp() {
+        Client client = new Client();
+        client.setName("Test Client");
+        client.setCpf("111.111.111-11");
+        client.setBirthDate(LocalDateTime.now().minusYears(18));
+        client.setCreatedAt(LocalDateTime.now());
+        client = clientRepository.save(client);
+
+        Address address = new Address();
+        address.setAddressId("ADDR-001");
+        address.setState("PA");
+        address.setMunicipality("Belém");
+        address.setNeighborhood("Icoaraci");
+        address.setStreet("Rua Teste");
+        address.setZipCode("66810-000");
+        address.setNumber("0");
+        address = addressRepository.save(address);
+
+        Installation installation = new Installation();
+        installation.setAddress(address);
+        installation.setCreatedAt(LocalDateTime.now());
+        installation = installationRepository.save(installation);
+
+        ContractAccount account = new ContractAccount();
+        account.setAccountNumber("ACC-LAZY");
+        account.setClient(client);
+        account.setInstallation(installation);
+        account.setCreatedAt(LocalDateTime.now());
+        account = contractAccountRepository.save(account);
+
+        Target newTarget = new Target();
+        newTarget.setContractAccount(account);
+        newTarget.setType(TargetType.RULES);
+        newTarget.setSignature("SIG-LAZY");
+        newTarget.setScore(0.8);
+        newTarget.setExpectedCNR(10.0);
+        newTarget.setExpectedTicket(100.0);
+        newTarget.setDistanceFromBase(5.0);
+        newTarget.setCreatedAt(LocalDateTime.now());
+        target = targetRepository.save(newTarget);
+    }
+
+    @AfterEach
+    void tearDown() {
+        targetRepository.deleteAll();
+        contractAccountRepository.deleteAll();
+        installationRepository.deleteAll();
+        addressRepository.deleteAll();
+        clientRepository.deleteAll();
+    }
+
+    @Test
+    void testLazyLoadOutsideTransactionFails() {
+        Target detached = targetRepository.findById(target.getId()).orElseThrow();
+
+        assertThrows(LazyInitializationException.class,
+                () -> detached.getContractAccount().getAccountNumber());
+        assertThrows(LazyInitializationException.class, () -> TargetDTO.fromEntity(detached));
+    }
+
+    @Test
+    void testFindByIdAsDTOMapsInsideTransaction() {
+        TargetDTO dto = service.findByIdAsDTO(target.getId());
+
+        assertEquals(target.getId(), dto.getId());
+        assertEquals("ACC-LAZY", dto.getContractAccountNumber());
+    }
+
+    @Test
+    void testAddWithMissingContractAccountReportedByForeignKey() {
+        ContractAccount missing = new ContractAccount();
+        missing.setId(999);
+        Target orphan = new Target();
+        orphan.setContractAccount(missing);
+        orphan.setType(TargetType.RULES);
+        orphan.setSignature("SIG-ORPHAN");
+        orphan.setExpectedCNR(1.0);
+        orphan.setExpectedTicket(1.0);
+        orphan.setDistanceFromBase(1.0);
+        orphan.setCreatedAt(LocalDateTime.now());
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> service.add(orphan));
+        assertEquals("ContractAccount with id 999 not found", exception.getMessage());
+        assertEquals(1, targetRepository.count());
+    }
+
+    @Test
+    void testDeleteById() {
+        service.deleteById(target.getId());
+
+        assertFalse(targetRepository.existsById(target.getId()));
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> service.deleteById(target.getId()));
+        assertEquals("Target with id " + target.getId() + " not found", exception.getMessage());
+    }
+
+    @Test
+    void testQueryMethodsMapInsideTransaction() {
+        List<TargetDTO> all = service.findAllAsDTO();
+        List<TargetDTO> bySignature = service.findBySignatureContaining("LAZY");
+
+        assertEquals(1, all.size());
+        assertEquals("ACC-LAZY", all.get(0).getContractAccountNumber());
+        assertEquals(1, bySignature.size());
+        assertEquals("ACC-LAZY", bySignature.get(0).getContractAccountNumber());
+    }
+
+    private Target createTarget(String signature, Double score, double distance) {
+        Target other = new Target();
+        other.setContractAccount(target.getContractAccount());
+        other.setType(TargetType.MACHINE_LEARNING);
+        other.setSignature(signature);
+        other.setScore(score);
+        other.setExpectedCNR(10.0);
+        other.setExpectedTicket(100.0);
+        other.setDistanceFromBase(distance);
+        other.setCreatedAt(LocalDateTime.now());
+        return targetRepository.save(other);
+    }
+
+    @Test
+    void testSearchCombinesFiltersAndSorts() {
+        Target high = createTarget("SIG-HIGH", 0.95, 2.0);
+        Target far = createTarget("SIG-FAR", 0.9, 50.0);
+        createTarget("SIG-UNSCORED", null, 1.0);
+
+        SearchPageDTO<TargetDTO> page = service.search(
+                "type:eq:machine_learning;score:gt:0.5;distanceFromBase:lte:10", "-score", null, 10);
+
+        assertEquals(List.of(high.getId()), page.getItems().stream().map(TargetDTO::getId).toList());
+        assertEquals("ACC-LAZY", page.getItems().get(0).getContractAccountNumber());
+        assertFalse(page.isHasMore());
+
+        SearchPageDTO<TargetDTO> byScore = service.search("score:notnull", "-score", null, 10);
+        assertEquals(List.of(high.getId(), far.getId(), target.getId()),
+                byScore.getItems().stream().map(TargetDTO::getId).toList());
+    }
+
+    @Test
+    void testSearchPagesByKeyset() {
+        Target second = createTarget("SIG-2", 0.8, 1.0);
+        Target unscored = createTarget("SIG-3", null, 1.0);
+
+        SearchPageDTO<TargetDTO> first = service.search(null, "-score", null, 2);
+        assertEquals(List.of(target.getId(), second.getId()),
+                first.getItems().stream().map(TargetDTO::getId).toList());
+        assertTrue(first.isHasMore());
+
+        SearchPageDTO<TargetDTO> last = service.search(null, "-score", first.getNextToken(), 2);
+        assertEquals(List.of(unscored.getId()), last.getItems().stream().map(TargetDTO::getId).toList());
+        assertFalse(last.isHasMore());
+        assertNull(last.getNextToken());
+    }
+
+    @Test
+    void testSearchRejectsInvalidInput() {
+        assertEquals("Unknown search field 'owner'; expected one of [active, clientId, contractAccountId, "
+                + "createdAt, distanceFromBase, expectedCNR, expectedTicket, id, score, signature, type, updatedAt]",
+                assertThrows(InvalidDataException.class,
+                        () -> service.search("owner:eq:x", null, null, 10)).getMessage());
+        assertEquals("Operator 'contains' does not apply to field 'score'",
+                assertThrows(InvalidDataException.class,
+                        () -> service.search("score:contains:1", null, null, 10)).getMessage());
+        assertEquals("Invalid value 'abc' for field 'score'; expected a Double",
+                assertThrows(InvalidDataException.class,
+                        () -> service.search("score:gt:abc", null, null, 10)).getMessage());
+        assertEquals("Cannot sort by 'signature'; sortable fields are [createdAt, distanceFromBase, "
+                + "expectedCNR, expectedTicket, id, score, updatedAt]",
+                assertThrows(InvalidDataException.class,
+                        () -> service.search(null, "signature", null, 10)).getMessage());
+        assertThrows(InvalidDataException.class, () -> service.search(null, null, null, 0));
+
+        createTarget("SIG-2", 0.5, 1.0);
+        String token = service.search(null, "-score", null, 1).getNextToken();
+        assertThrows(InvalidDataException.class, () -> service.search(null, "score", token, 1));
+        assertThrows(InvalidDataException.class, () -> service.search(null, null, "not-a-token", 1));
+    }
+}
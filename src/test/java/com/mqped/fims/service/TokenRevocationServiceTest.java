@@ -0,0 +1,104 @@
+package com.mqped.fims.service;
+
+import com.mqped.fims.repository.TokenRevocationCounterRepository;
+import com.mqped.fims.repository.TokenRevocationRepository;
+import com.mqped.fims.security.TokenRevocationList;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TokenRevocationServiceTest {
+
+    @Autowired
+    private TokenRevocationRepository revocationRepository;
+
+    @Autowired
+    private TokenRevocationCounterRepository counterRepository;
+
+    private TokenRevocationList list;
+    private TokenRevocationService service;
+
+    @BeforeEach
+    void setUp() {
+        list = newList();
+        service = new TokenRevocationService(revocationRepository, counterRepository, list, 900_000);
+        service.createCounter();
+    }
+
+    private TokenRevocationList newList() {
+        return new TokenRevocationList(revocationRepository, counterRepository, new SimpleMeterRegistry(), 1_000, 0.01);
+    }
+
+    @Test
+    void testCounterIsCreatedWhenSingletonsAreReady() {
+        counterRepository.deleteAll();
+        TokenRevocationService starting = new TokenRevocationService(revocationRepository, counterRepository, list,
+                900_000);
+
+        // The context calls this before the web server starts and before ApplicationReadyEvent
+        starting.afterSingletonsInstantiated();
+        starting.revokeUser(3);
+
+        assertTrue(list.isRevoked("token-1", 3, Instant.now().minusSeconds(5)));
+        assertEquals(1L, counterRepository.findCurrentVersion().orElseThrow());
+    }
+
+    @Test
+    void testRevokesSingleToken() {
+        Instant now = Instant.now();
+        assertFalse(list.isRevoked("token-1", 1, now));
+
+        service.revokeToken("token-1", 1, now.plusSeconds(900));
+
+        assertTrue(list.isRevoked("token-1", 1, now));
+        assertFalse(list.isRevoked("token-2", 1, now));
+        assertFalse(list.isRevoked("token-1-other", 2, now));
+    }
+
+    @Test
+    void testRevokesUserTokensIssuedBefore() {
+        Instant before = Instant.now().truncatedTo(ChronoUnit.SECONDS).minusSeconds(5);
+
+        service.revokeUser(7);
+
+        assertTrue(list.isRevoked("token-1", 7, before));
+        assertFalse(list.isRevoked("token-2", 7, Instant.now().plusSeconds(1)));
+        assertFalse(list.isRevoked("token-3", 8, before));
+    }
+
+    @Test
+    void testOtherInstancePicksUpRevocationsByVersion() {
+        TokenRevocationList other = newList();
+        other.poll();
+        Instant now = Instant.now();
+        assertFalse(other.isRevoked("token-1", 1, now));
+
+        service.revokeToken("token-1", 1, now.plusSeconds(900));
+        service.revokeUser(2);
+        assertEquals(2L, counterRepository.findCurrentVersion().orElseThrow());
+
+        other.poll();
+        assertTrue(other.isRevoked("token-1", 1, now));
+        assertTrue(other.isRevoked("token-9", 2, now.minusSeconds(5)));
+    }
+
+    @Test
+    void testPurgeAndRebuildDropExpiredRevocations() {
+        Instant now = Instant.now();
+        service.revokeToken("token-1", 1, now.minusSeconds(1));
+
+        service.purgeExpired();
+        list.rebuild();
+
+        assertEquals(0, revocationRepository.count());
+        assertFalse(list.isRevoked("token-1", 1, now));
+    }
+}
@@ -0,0 +1,92 @@
+package com.mqped.fims.service.projection;
+
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.entity.Installation;
+import com.mqped.fims.repository.AddressRepository;
+import com.mqped.fims.repository.InstallationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class FieldProjectionTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private InstallationRepository installationRepository;
+
+    private final FieldProjection addressFields = FieldProjection.builder("Address")
+            .field("municipality")
+            .field("zipCode")
+            .build();
+
+    private final FieldProjection installationFields = FieldProjection.builder("Installation")
+            .field("addressId", "address.id")
+            .embed("address", "address", addressFields)
+            .field("createdAt")
+            .build();
+
+    private Address address;
+    private Installation installation;
+
+    @BeforeEach
+    void setUp() {
+        address = new Address();
+        address.setAddressId("ADDR-PROJ");
+        address.setState("PA");
+        address.setMunicipality("Belém");
+        address.setNeighborhood("Icoaraci");
+        address.setStreet("Rua Teste");
+        address.setZipCode("66810-000");
+        address.setNumber("0");
+        address = addressRepository.save(address);
+
+        installation = new Installation();
+        installation.setAddress(address);
+        installation.setCreatedAt(LocalDateTime.now());
+        installation = installationRepository.save(installation);
+    }
+
+    @Test
+    void testSameFieldSetReusesPlan() {
+        List<Map<String, Object>> first = installationFields.findAll(entityManager, "createdAt,address.zipCode");
+        List<Map<String, Object>> reordered = installationFields.findAll(entityManager, " address.zipCode , createdAt");
+
+        assertEquals(first, reordered);
+        assertEquals(1, installationFields.cachedPlans());
+
+        installationFields.findAll(entityManager, "createdAt");
+        assertEquals(2, installationFields.cachedPlans());
+    }
+
+    @Test
+    void testOnlyIdWithoutFields() {
+        List<Map<String, Object>> rows = installationFields.findAll(entityManager, null);
+
+        assertEquals(List.of(Map.of("id", installation.getId())), rows);
+    }
+
+    @Test
+    void testForeignKeyAndNestedFields() {
+        Map<String, Object> row = installationFields.findAll(entityManager, "addressId,address").get(0);
+
+        assertEquals(installation.getId(), row.get("id"));
+        assertEquals(address.getId(), row.get("addressId"));
+        assertEquals(Map.of("id", address.getId(), "municipality", "Belém", "zipCode", "66810-000"),
+                row.get("address"));
+        assertFalse(row.containsKey("createdAt"));
+    }
+}
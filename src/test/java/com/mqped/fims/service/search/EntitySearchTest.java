@@ -0,0 +1,155 @@
+package com.mqped.fims.service.search;
+
+import com.mqped.fims.model.entity.Address;
+import com.mqped.fims.model.entity.Client;
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.Installation;
+import com.mqped.fims.model.entity.Target;
+import com.mqped.fims.model.enums.TargetType;
+import com.mqped.fims.repository.AddressRepository;
+import com.mqped.fims.repository.ClientRepository;
+import com.mqped.fims.repository.ContractAccountRepository;
+import com.mqped.fims.repository.InstallationRepository;
+import com.mqped.fims.repository.TargetRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class EntitySearchTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TargetRepository targetRepository;
+
+    @Autowired
+    private ContractAccountRepository contractAccountRepository;
+
+    @Autowired
+    private InstallationRepository installationRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    private final EntitySearch<Target> search = EntitySearch
+            .builder(Target.class, "SELECT t FROM Target t", "t.id", Target::getId)
+            .field("type", TargetType.class, "t.type")
+            .field("signature", String.class, "t.signature")
+            .sortableField("distanceFromBase", Double.class, "t.distanceFromBase", Target::getDistanceFromBase)
+            .build();
+
+    private ContractAccount account;
+
+    @BeforeEach
+    void setUp() {
+        Client client = new Client();
+        client.setName("Test Client");
+        client.setCpf("222.222.222-22");
+        client.setBirthDate(LocalDateTime.now().minusYears(18));
+        client.setCreatedAt(LocalDateTime.now());
+        client = clientRepository.save(client);
+
+        Address address = new Address();
+        address.setAddressId("ADDR-SEARCH");
+        address.setState("PA");
+        address.setMunicipality("Belém");
+        address.setNeighborhood("Icoaraci");
+        address.setStreet("Rua Teste");
+        address.setZipCode("66810-000");
+        address.setNumber("0");
+        address = addressRepository.save(address);
+
+        Installation installation = new Installation();
+        installation.setAddress(address);
+        installation.setCreatedAt(LocalDateTime.now());
+        installation = installationRepository.save(installation);
+
+        account = new ContractAccount();
+        account.setAccountNumber("ACC-SEARCH");
+        account.setClient(client);
+        account.setInstallation(installation);
+        account.setCreatedAt(LocalDateTime.now());
+        account = contractAccountRepository.save(account);
+    }
+
+    private Target createTarget(String signature, TargetType type, double distance) {
+        Target target = new Target();
+        target.setContractAccount(account);
+        target.setType(type);
+        target.setSignature(signature);
+        target.setExpectedCNR(1.0);
+        target.setExpectedTicket(1.0);
+        target.setDistanceFromBase(distance);
+        target.setCreatedAt(LocalDateTime.now());
+        return targetRepository.save(target);
+    }
+
+    private List<Integer> ids(EntitySearch.Page<Target> page) {
+        return page.rows().stream().map(Target::getId).toList();
+    }
+
+    @Test
+    void testSameShapeReusesPlan() {
+        Target near = createTarget("SIG-A", TargetType.RULES, 1.0);
+        Target far = createTarget("SIG-B", TargetType.RULES, 9.0);
+
+        EntitySearch.Page<Target> first = search.find(entityManager, "type:eq:RULES;signature:in:SIG-A|SIG-B",
+                "-distanceFromBase", null, 10);
+        EntitySearch.Page<Target> reordered = search.find(entityManager, "signature:in:SIG-A;type:eq:RULES",
+                "-distanceFromBase", null, 10);
+
+        assertEquals(List.of(far.getId(), near.getId()), ids(first));
+        assertEquals(List.of(near.getId()), ids(reordered));
+        assertEquals(1, search.cachedPlans());
+
+        search.find(entityManager, "type:eq:RULES", "-distanceFromBase", null, 10);
+        assertEquals(2, search.cachedPlans());
+    }
+
+    @Test
+    void testContainsEscapesWildcards() {
+        Target percent = createTarget("SIG-100%", TargetType.RULES, 1.0);
+        createTarget("SIG-1000", TargetType.RULES, 1.0);
+        Target underscore = createTarget("sig_x", TargetType.RULES, 1.0);
+        createTarget("SIGAX", TargetType.RULES, 1.0);
+
+        assertEquals(List.of(percent.getId()),
+                ids(search.find(entityManager, "signature:contains:0%", null, null, 10)));
+        assertEquals(List.of(underscore.getId()),
+                ids(search.find(entityManager, "signature:contains:G_X", null, null, 10)));
+    }
+
+    @Test
+    void testKeysetPagingVisitsEveryRowOnce() {
+        for (int i = 0; i < 7; i++) {
+            createTarget("SIG-" + i, TargetType.RULES, i % 3);
+        }
+
+        List<Integer> visited = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            EntitySearch.Page<Target> page = search.find(entityManager, null, "distanceFromBase", token, 3);
+            visited.addAll(ids(page));
+            token = page.nextToken();
+            pages++;
+        } while (token != null);
+
+        assertEquals(3, pages);
+        assertEquals(7, visited.stream().distinct().count());
+        assertEquals(2, search.cachedPlans());
+    }
+}
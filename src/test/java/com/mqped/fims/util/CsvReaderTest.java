@@ -0,0 +1,218 @@
+package com.mqped.fims.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    @TempDir
+    Path directory;
+
+    private static CsvReader reader(String content) {
+        return CsvReader.of(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<List<String>> readAll(CsvRow row) {
+        List<List<String>> rows = new ArrayList<>();
+        while (row.next()) {
+            List<String> fields = new ArrayList<>();
+            for (int i = 0; i < row.size(); i++) {
+                fields.add(row.getString(i));
+            }
+            rows.add(fields);
+        }
+        return rows;
+    }
+
+    @Test
+    void testSplitsPlainAndEmptyFields() {
+        CsvRow row = reader("a,b,c\n1,,3\n,,\n").rows();
+
+        assertEquals(List.of(List.of("a", "b", "c"), List.of("1", "", "3"), List.of("", "", "")), readAll(row));
+    }
+
+    @Test
+    void testQuotedFields() {
+        CsvRow row = reader("\"Rua A, 10\",\"diz \"\"oi\"\"\",\"linha 1\nlinha 2\",x\n\"\",São Paulo").rows();
+
+        assertTrue(row.next());
+        assertEquals(4, row.size());
+        assertEquals("Rua A, 10", row.getString(0));
+        assertEquals("diz \"oi\"", row.getString(1));
+        assertEquals("linha 1\nlinha 2", row.getString(2));
+        assertEquals("x", row.getString(3));
+        assertFalse(row.isMalformed());
+
+        assertTrue(row.next());
+        assertTrue(row.isEmpty(0));
+        assertEquals("São Paulo", row.getString(1));
+        assertFalse(row.next());
+    }
+
+    @Test
+    void testFlagsMalformedQuotes() {
+        CsvRow row = reader("\"a\"b,c\n\"open,d").rows();
+
+        assertTrue(row.next());
+        assertTrue(row.isMalformed());
+        assertEquals("c", row.getString(1));
+
+        assertTrue(row.next());
+        assertTrue(row.isMalformed());
+        assertEquals("open,d", row.getString(0));
+    }
+
+    @Test
+    void testLineEndingsAndByteOrderMark() {
+        byte[] content = "\uFEFFid,nome\r\n1,Ana\r2,Bia\n\n3,Caio".getBytes(StandardCharsets.UTF_8);
+        CsvRow row = CsvReader.of(content).rows();
+
+        assertEquals(List.of(List.of("id", "nome"), List.of("1", "Ana"), List.of("2", "Bia"), List.of(""),
+                List.of("3", "Caio")), readAll(CsvReader.of(content).rows()));
+
+        row.next();
+        assertEquals(3, row.start());
+        row.next();
+        row.next();
+        row.next();
+        assertTrue(row.isBlank());
+    }
+
+    @Test
+    void testParsesIntegers() {
+        CsvRow row = reader("42, -7 ,+3,2147483648,-9223372036854775808,1a,").rows();
+        row.next();
+
+        assertEquals(42, row.getInt(0));
+        assertEquals(-7, row.getInt(1));
+        assertEquals(3, row.getInt(2));
+        assertThrows(NumberFormatException.class, () -> row.getInt(3));
+        assertEquals(2147483648L, row.getLong(3));
+        assertEquals(Long.MIN_VALUE, row.getLong(4));
+        assertThrows(NumberFormatException.class, () -> row.getInt(5));
+        assertThrows(NumberFormatException.class, () -> row.getInt(6));
+    }
+
+    @Test
+    void testParsesDoublesLikeJdk() {
+        Random random = new Random(42);
+        StringBuilder content = new StringBuilder();
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String value = switch (i % 4) {
+                case 0 -> String.format("%.6f", (random.nextDouble() - 0.5) * 180).replace(',', '.');
+                case 1 -> String.valueOf(random.nextDouble() * 1e6);
+                case 2 -> String.valueOf(random.nextLong());
+                default -> String.valueOf(random.nextGaussian() * 1e-9);
+            };
+            values.add(value);
+            content.append(value).append('\n');
+        }
+        CsvRow row = reader(content.toString()).rows();
+
+        for (String value : values) {
+            assertTrue(row.next());
+            assertEquals(Double.parseDouble(value), row.getDouble(0), value);
+        }
+    }
+
+    @Test
+    void testDoubleEdgeCases() {
+        CsvRow row = reader("-1.4567,.5,1.,-0.0,,abc, -48.49 ,1e3").rows();
+        row.next();
+
+        assertEquals(-1.4567, row.getDouble(0));
+        assertEquals(0.5, row.getDouble(1));
+        assertEquals(1.0, row.getDouble(2));
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(row.getDouble(3)));
+        assertNull(row.getDoubleOrNull(4));
+        assertThrows(NumberFormatException.class, () -> row.getDouble(5));
+        assertEquals(-48.49, row.getDoubleOrNull(6));
+        assertEquals(1000.0, row.getDouble(7));
+    }
+
+    @Test
+    void testParsesBothTimestampLayouts() {
+        CsvRow row = reader("2023-05-10T08:30:15,2023-05-10 08:30:15.123456,2023-05-10T08:30,,"
+                + "2023-05-10T08:30:15.5Z,2023-02-30T00:00:00,x").rows();
+        row.next();
+
+        assertEquals(LocalDateTime.of(2023, 5, 10, 8, 30, 15), row.getDateTime(0));
+        assertEquals(LocalDateTime.of(2023, 5, 10, 8, 30, 15, 123_456_000), row.getDateTime(1));
+        assertEquals(LocalDateTime.of(2023, 5, 10, 8, 30), row.getDateTime(2));
+        assertNull(row.getDateTime(3));
+        assertThrows(RuntimeException.class, () -> row.getDateTime(4));
+        assertThrows(RuntimeException.class, () -> row.getDateTime(5));
+        assertThrows(RuntimeException.class, () -> row.getDateTime(6));
+    }
+
+    @Test
+    void testReadsRowsAcrossSegments() throws IOException {
+        StringBuilder content = new StringBuilder("id,nome\n");
+        for (int i = 0; i < 200; i++) {
+            content.append(i).append(",\"Cliente ").append(i).append(i % 7 == 0 ? "\nfilial" : "").append("\"\n");
+        }
+        Path file = directory.resolve("clients.csv");
+        Files.writeString(file, content);
+
+        List<List<String>> expected = readAll(reader(content.toString()).rows());
+        try (CsvReader csv = CsvReader.open(file, 16, 64)) {
+            assertEquals(expected, readAll(csv.rows()));
+        }
+    }
+
+    @Test
+    void testRejectsRowsLongerThanOverlap() throws IOException {
+        Path file = directory.resolve("long.csv");
+        Files.writeString(file, "a,b\n" + "x".repeat(100) + "\nc,d\n");
+
+        try (CsvReader csv = CsvReader.open(file, 16, 8)) {
+            CsvRow row = csv.rows();
+            assertTrue(row.next());
+            assertThrows(IllegalStateException.class, row::next);
+        }
+    }
+
+    @Test
+    void testSplitRangesCoverAllRows() {
+        StringBuilder content = new StringBuilder("id,nome\n");
+        for (int i = 0; i < 1000; i++) {
+            content.append(i).append(",\"linha\n").append(i).append("\"\n");
+        }
+        CsvReader csv = reader(content.toString());
+        CsvRow header = csv.rows();
+        header.next();
+        List<List<String>> expected = readAll(csv.rows(header.end(), csv.size()));
+
+        long[] bounds = csv.split(header.end(), 8);
+        List<List<String>> rows = new ArrayList<>();
+        for (int i = 0; i + 1 < bounds.length; i++) {
+            rows.addAll(readAll(csv.rows(bounds[i], bounds[i + 1])));
+        }
+
+        assertEquals(9, bounds.length);
+        assertEquals(csv.size(), bounds[8]);
+        assertEquals(expected, rows);
+    }
+
+    @Test
+    void testResumesFromRowEnd() {
+        CsvReader csv = reader("a\nb\nc\nd\n");
+        CsvRow row = csv.rows();
+        row.next();
+        row.next();
+
+        assertEquals(List.of(List.of("c"), List.of("d")), readAll(csv.rows(row.end(), csv.size())));
+    }
+}
@@ -0,0 +1,36 @@
+package com.mqped.fims.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JaroWinklerTest {
+
+    @Test
+    void testReferenceValues() {
+        assertEquals(0.9611, JaroWinkler.similarity("MARTHA", "MARHTA"), 1e-4);
+        assertEquals(0.8133, JaroWinkler.similarity("DIXON", "DICKSONX"), 1e-4);
+        assertEquals(0.8400, JaroWinkler.similarity("DWAYNE", "DUANE"), 1e-4);
+    }
+
+    @Test
+    void testIdenticalAndDisjoint() {
+        assertEquals(1.0, JaroWinkler.similarity("ANA CLARA", "ANA CLARA"));
+        assertEquals(0.0, JaroWinkler.similarity("ABC", "XYZ"));
+        assertEquals(1.0, JaroWinkler.similarity("", ""));
+        assertEquals(0.0, JaroWinkler.similarity("ANA", ""));
+    }
+
+    @Test
+    void testLongStringsMatchShortPath() {
+        String a = "MARIA APARECIDA DOS SANTOS OLIVEIRA DE SOUZA CONCEICAO FERREIRA";
+        String b = "MARIA APARECIDA DOS SANTOS OLIVIERA DE SOUZA CONCEICAO FERREIRA";
+        assertTrue(a.length() <= 64);
+        double shortPath = JaroWinkler.similarity(a, b);
+        double longPath = JaroWinkler.similarity(a + " JUNIOR", b + " JUNIOR");
+
+        assertTrue(shortPath > 0.98);
+        assertTrue(longPath > 0.98);
+        assertEquals(longPath, JaroWinkler.similarity(b + " JUNIOR", a + " JUNIOR"), 1e-12);
+    }
+}
@@ -0,0 +1,55 @@
+package com.mqped.fims.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongHashSetTest {
+
+    @Test
+    void testAddReportsDuplicates() {
+        LongHashSet set = new LongHashSet();
+
+        assertTrue(set.add(12345678909L));
+        assertFalse(set.add(12345678909L));
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(0L));
+        assertFalse(set.contains(98765432100L));
+    }
+
+    @Test
+    void testGrowsAndMatchesHashSet() {
+        LongHashSet set = new LongHashSet(4);
+        Set<Long> reference = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            long value = random.nextInt(15_000) * 1_000_003L;
+            assertEquals(reference.add(value), set.add(value));
+        }
+
+        assertEquals(reference.size(), set.size());
+        for (long value : reference) {
+            assertTrue(set.contains(value));
+        }
+    }
+
+    @Test
+    void testClear() {
+        LongHashSet set = new LongHashSet();
+        set.add(1L);
+        set.add(0L);
+
+        set.clear();
+
+        assertTrue(set.isEmpty());
+        assertFalse(set.contains(1L));
+        assertFalse(set.contains(0L));
+    }
+}
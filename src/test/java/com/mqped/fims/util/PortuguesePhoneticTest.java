@@ -0,0 +1,42 @@
+package com.mqped.fims.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PortuguesePhoneticTest {
+
+    private static void assertSameCode(String expected, String... words) {
+        for (String word : words) {
+            assertEquals(expected, PortuguesePhonetic.encode(word), word);
+        }
+    }
+
+    @Test
+    void testSpellingVariantsShareCode() {
+        assertSameCode("KNSS", "Conceição", "CONSEIÇÃO", "Comceissão");
+        assertSameCode("ELN", "Helena", "Elena");
+        assertSameCode("VLTR", "Walter", "Valter");
+        assertSameCode("TG", "Thiago", "Tiago");
+        assertSameCode("RFL", "Rafael", "Raphael");
+        assertSameCode("SS", "Souza", "Sousa");
+        assertSameCode("ISMN", "Yasmin", "Iasmin");
+        assertSameCode("JSK", "Jéssica", "Jessika", "Gessica");
+        assertSameCode("KRS", "Queiroz", "Keiroz");
+        assertSameCode("XVR", "Xavier", "Chavier");
+        assertSameCode("KNPS", "Campos", "Canpos");
+    }
+
+    @Test
+    void testDifferentNamesDiffer() {
+        assertNotEquals(PortuguesePhonetic.encode("Maria"), PortuguesePhonetic.encode("Mario Sergio"));
+        assertNotEquals(PortuguesePhonetic.encode("Ana"), PortuguesePhonetic.encode("Ina"));
+    }
+
+    @Test
+    void testEmptyAndLength() {
+        assertEquals("", PortuguesePhonetic.encode(null));
+        assertEquals("", PortuguesePhonetic.encode("  - "));
+        assertTrue(PortuguesePhonetic.encode("Bartolomeu Dias Fernandes").length() <= PortuguesePhonetic.MAX_LENGTH);
+    }
+}
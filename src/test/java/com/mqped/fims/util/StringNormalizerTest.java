@@ -0,0 +1,47 @@
+package com.mqped.fims.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.text.Normalizer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringNormalizerTest {
+
+    private static String reference(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+
+    @Test
+    void testNullAndEmpty() {
+        assertNull(StringNormalizer.normalize(null));
+        assertEquals("", StringNormalizer.normalize(""));
+    }
+
+    @Test
+    void testAsciiIsReturnedUnchanged() {
+        String text = "Aylla Cardoso";
+        assertSame(text, StringNormalizer.normalize(text));
+    }
+
+    @Test
+    void testPortugueseAccents() {
+        assertEquals("Joao Conceicao", StringNormalizer.normalize("João Conceição"));
+        assertEquals("Belem", StringNormalizer.normalize("Belém"));
+        assertEquals("AEIOU aeiou", StringNormalizer.normalize("ÁÊÍÕÜ àêíôú"));
+    }
+
+    @Test
+    void testMatchesNfdForEveryTableCharacter() {
+        for (char c = 0; c < 0x0370; c++) {
+            String text = "a" + c + "b";
+            assertEquals(reference(text), StringNormalizer.normalize(text), "U+" + Integer.toHexString(c));
+        }
+    }
+
+    @Test
+    void testDecomposedInputAndFallback() {
+        assertEquals("e", StringNormalizer.normalize("é"));
+        assertEquals(reference("Nguyễn Ωμέγα"), StringNormalizer.normalize("Nguyễn Ωμέγα"));
+    }
+}
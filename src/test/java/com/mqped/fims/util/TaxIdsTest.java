@@ -0,0 +1,50 @@
+package com.mqped.fims.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaxIdsTest {
+
+    @Test
+    void testCpfFormattedAndPlainShareKey() {
+        assertEquals(12345678909L, TaxIds.parseCpf("123.456.789-09"));
+        assertEquals(12345678909L, TaxIds.parseCpf("12345678909"));
+        assertEquals(12345678909L, TaxIds.parseCpf(new StringBuilder("123 456 789 09")));
+    }
+
+    @Test
+    void testCpfLeadingZeroIsKept() {
+        long key = TaxIds.parseCpf("024.638.197-31");
+        assertEquals(2463819731L, key);
+        assertEquals("024.638.197-31", TaxIds.formatCpf(key));
+    }
+
+    @Test
+    void testInvalidCpf() {
+        assertEquals(TaxIds.INVALID, TaxIds.parseCpf(null));
+        assertEquals(TaxIds.INVALID, TaxIds.parseCpf(""));
+        assertEquals(TaxIds.INVALID, TaxIds.parseCpf("123.456.789-00"));
+        assertEquals(TaxIds.INVALID, TaxIds.parseCpf("111.111.111-11"));
+        assertEquals(TaxIds.INVALID, TaxIds.parseCpf("123.456.789-0"));
+        assertEquals(TaxIds.INVALID, TaxIds.parseCpf("123.456.789-091"));
+        assertEquals(TaxIds.INVALID, TaxIds.parseCpf("123.456.789-0X"));
+    }
+
+    @Test
+    void testCnpj() {
+        long key = TaxIds.parseCnpj("11.222.333/0001-81");
+        assertEquals(11222333000181L, key);
+        assertEquals(key, TaxIds.parseCnpj("11222333000181"));
+        assertEquals("11.222.333/0001-81", TaxIds.formatCnpj(key));
+        assertTrue(TaxIds.isValidCnpj("12.345.678/0001-95"));
+    }
+
+    @Test
+    void testInvalidCnpj() {
+        assertEquals(TaxIds.INVALID, TaxIds.parseCnpj("11.222.333/0001-80"));
+        assertEquals(TaxIds.INVALID, TaxIds.parseCnpj("00.000.000/0000-00"));
+        assertEquals(TaxIds.INVALID, TaxIds.parseCnpj("123.456.789-09"));
+        assertFalse(TaxIds.isValidCnpj(null));
+    }
+}
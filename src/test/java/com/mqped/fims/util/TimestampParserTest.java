@@ -0,0 +1,76 @@
+package com.mqped.fims.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimestampParserTest {
+
+    @Test
+    void testParsesFixedLayouts() {
+        assertEquals(LocalDateTime.of(2023, 5, 10, 8, 30, 15), TimestampParser.parse("2023-05-10T08:30:15"));
+        assertEquals(LocalDateTime.of(2023, 5, 10, 8, 30), TimestampParser.parse("2023-05-10T08:30"));
+        assertEquals(LocalDateTime.of(2023, 5, 10, 8, 30, 15, 123_456_000),
+                TimestampParser.parse("2023-05-10 08:30:15.123456"));
+        assertEquals(LocalDateTime.of(2023, 5, 10, 8, 30, 15, 500_000_000),
+                TimestampParser.parse(" 2023-05-10T08:30:15.5 "));
+        assertEquals(LocalDateTime.of(2023, 5, 10, 8, 30, 15, 123_456_789),
+                TimestampParser.parse("2023-05-10T08:30:15.123456789"));
+    }
+
+    @Test
+    void testBlankIsNull() {
+        assertNull(TimestampParser.parse(null));
+        assertNull(TimestampParser.parse(""));
+        assertNull(TimestampParser.parse("   "));
+    }
+
+    @Test
+    void testRejectsInvalidValuesLikeFormatter() {
+        assertThrows(DateTimeParseException.class, () -> TimestampParser.parse("2023-02-30T00:00:00"));
+        assertThrows(DateTimeParseException.class, () -> TimestampParser.parse("2023-05-10T24:00:00"));
+        assertThrows(DateTimeParseException.class, () -> TimestampParser.parse("2023-05-10T08:30:15Z"));
+        assertThrows(DateTimeParseException.class, () -> TimestampParser.parse("10/05/2023 08:30"));
+        assertThrows(DateTimeParseException.class, () -> TimestampParser.parse("2023-05-10"));
+    }
+
+    @Test
+    void testFixedReturnsNullOutsideLayouts() {
+        assertNull(TimestampParser.parseFixed("2023-05-10T08:30:15.", 0, 20));
+        assertNull(TimestampParser.parseFixed("2023-05-10T08:30:15.1234567890", 0, 30));
+        assertNull(TimestampParser.parseFixed("2023-05-1xT08:30:15", 0, 19));
+        assertNull(TimestampParser.parseFixed("2023-05-10_08:30:15", 0, 19));
+    }
+
+    @Test
+    void testParsesRanges() {
+        String text = "id,2023-05-10 08:30:15.000001,x";
+        ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+        LocalDateTime expected = LocalDateTime.of(2023, 5, 10, 8, 30, 15, 1_000);
+
+        assertEquals(expected, TimestampParser.parseFixed(text, 3, 29));
+        assertEquals(expected, TimestampParser.parseFixed(bytes, 3, 29));
+        assertEquals(0, bytes.position());
+    }
+
+    @Test
+    void testMatchesFormatters() {
+        DateTimeFormatter extract = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+        Random random = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            LocalDateTime value = LocalDateTime.of(1900 + random.nextInt(200), 1 + random.nextInt(12),
+                    1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60),
+                    random.nextInt(1_000_000) * 1_000);
+
+            assertEquals(value, TimestampParser.parse(value.format(extract)));
+            assertEquals(value, TimestampParser.parse(value.toString()));
+        }
+    }
+}
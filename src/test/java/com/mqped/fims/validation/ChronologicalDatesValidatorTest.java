@@ -0,0 +1,82 @@
+package com.mqped.fims.validation;
+
+import com.mqped.fims.model.entity.ContractAccount;
+import com.mqped.fims.model.entity.ServiceOrder;
+import com.mqped.fims.validation.annotation.ChronologicalDates;
+import com.mqped.fims.validation.validator.ChronologicalDatesValidator;
+import jakarta.validation.ConstraintDeclarationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChronologicalDatesValidatorTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @ChronologicalDates(start = "start", end = "missing")
+    static class MissingField {
+        LocalDateTime start = LocalDateTime.now();
+    }
+
+    @ChronologicalDates(start = "start", end = "end")
+    static class MixedTypes {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDate end = LocalDate.now();
+    }
+
+    @ChronologicalDates(start = "start", end = "end", allowEqual = false)
+    static class Period {
+        LocalDate start;
+        LocalDate end;
+    }
+
+    static class SubPeriod extends Period {
+    }
+
+    @Test
+    void testEntitiesAreWellDeclared() {
+        assertEquals(3, ChronologicalDatesValidator.verify(ContractAccount.class));
+        assertEquals(1, ChronologicalDatesValidator.verify(ServiceOrder.class));
+    }
+
+    @Test
+    void testMisconfigurationIsReported() {
+        assertThrows(ConstraintDeclarationException.class, () -> ChronologicalDatesValidator.verify(MissingField.class));
+        assertThrows(ConstraintDeclarationException.class, () -> ChronologicalDatesValidator.verify(MixedTypes.class));
+    }
+
+    @Test
+    void testOrderIsChecked() {
+        Period period = new Period();
+        period.start = LocalDate.of(2025, 1, 1);
+        period.end = LocalDate.of(2025, 1, 1);
+        assertEquals(1, validator.validate(period).size());
+
+        period.end = LocalDate.of(2025, 1, 2);
+        assertTrue(validator.validate(period).isEmpty());
+    }
+
+    @Test
+    void testInheritedFieldsAreResolved() {
+        SubPeriod period = new SubPeriod();
+        period.start = LocalDate.of(2025, 1, 2);
+        period.end = LocalDate.of(2025, 1, 1);
+
+        assertEquals(1, validator.validate(period).size());
+    }
+
+    @Test
+    void testContractAccountDatesAreValidated() {
+        ContractAccount account = new ContractAccount();
+        account.setCreatedAt(LocalDateTime.now().minusDays(2));
+        account.setStatusStart(LocalDateTime.now().minusDays(3));
+
+        assertTrue(validator.validate(account).stream()
+                .anyMatch(v -> v.getMessage().equals("Status start date must be after creation date.")));
+    }
+}